@@ -0,0 +1,55 @@
+package com.example.HotelBooking.availability;
+
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remove do cache de disponibilidade apenas as buscas afetadas por uma reserva criada ou com status
+ * alterado. Roda depois do {@link RoomAvailabilityIndex} (ordem padrão), para que a próxima carga já
+ * enxergue o índice atualizado.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityCacheInvalidator {
+
+    private final BoundedCache<AvailabilityKey, List<IndexedRoom>> availabilityCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        List<BookingChange> affected = new ArrayList<>();
+        for (BookingChange change : event.getChanges()) {
+            if (!change.isCreated() && !change.isBookingStatusChanged()) {
+                continue; // mudanças só de pagamento não alteram a disponibilidade
+            }
+            if (change.getCheckInDate() == null || change.getCheckOutDate() == null) {
+                availabilityCache.invalidateAll();
+                return;
+            }
+            affected.add(change);
+        }
+        if (!affected.isEmpty()) {
+            // Uma passada pelo cache para o evento inteiro, mesmo em atualizações em lote
+            availabilityCache.invalidateIf(key -> affected.stream()
+                    .anyMatch(change -> key.overlaps(change.getCheckInDate(), change.getCheckOutDate())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        availabilityCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        availabilityCache.invalidateAll();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.HotelBooking.availability;
+
+import com.example.HotelBooking.enums.RoomType;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Chave do cache de buscas de disponibilidade.
+ */
+@Value
+public class AvailabilityKey {
+
+    LocalDate checkInDate;
+    LocalDate checkOutDate;
+    RoomType roomType;
+
+    /**
+     * Se a busca divide alguma noite com a estadia [from, to). Mesma regra semiaberta do índice, das consultas
+     * e da restrição bookings_no_overlap: a saída de um dia é livre para a entrada no mesmo dia.
+     */
+    public boolean overlaps(LocalDate from, LocalDate to) {
+        return checkInDate.isBefore(to) && checkOutDate.isAfter(from);
+    }
+}
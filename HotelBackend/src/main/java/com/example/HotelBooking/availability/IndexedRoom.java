@@ -0,0 +1,38 @@
+package com.example.HotelBooking.availability;
+
+import com.example.HotelBooking.dtos.RoomAvailableProjection;
+import com.example.HotelBooking.enums.RoomType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Dados do quarto mantidos junto ao índice de disponibilidade (sem imageData).
+ */
+@Value
+@Builder
+public class IndexedRoom {
+
+    Long id;
+    Integer roomNumber;
+    RoomType type;
+    BigDecimal pricePerNight;
+    Integer capacity;
+    String description;
+    String title;
+    String imageKey;
+
+    public static IndexedRoom from(RoomAvailableProjection projection) {
+        return IndexedRoom.builder()
+                .id(projection.getId())
+                .roomNumber(projection.getRoomNumber())
+                .type(projection.getType())
+                .pricePerNight(projection.getPricePerNight())
+                .capacity(projection.getCapacity())
+                .description(projection.getDescription())
+                .title(projection.getTitle())
+                .imageKey(projection.getImageKey())
+                .build();
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.HotelBooking.availability;
+
+import com.example.HotelBooking.dtos.BookedIntervalProjection;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória das estadias ativas (BOOKED/CHECKED_IN) de cada quarto.
+ *
+ * É carregado na inicialização ({@link #reload()}) e mantido pelos eventos publicados depois do commit
+ * das reservas, de modo que a busca de quartos disponíveis não precisa consultar o banco. Enquanto o
+ * índice não estiver carregado, {@link #isLoaded()} retorna false e os serviços usam a consulta SQL.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+
+    // Atualizações incrementais usam o lock de leitura (são atômicas por quarto via compute);
+    // o recarregamento completo usa o de escrita para não perder eventos aplicados no meio da carga.
+    private final ReentrantReadWriteLock reloadLock = new ReentrantReadWriteLock();
+
+    private volatile ConcurrentSkipListMap<Long, IndexedRoom> rooms = new ConcurrentSkipListMap<>();
+    private volatile ConcurrentHashMap<Long, RoomTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // Bloqueios temporários durante o pagamento (BookingHoldRegistry). Ficam fora das linhas do tempo
+    // das reservas para que o reload não os descarte; a chave de cada intervalo é o id do bloqueio.
+    private final ConcurrentHashMap<Long, RoomTimeline> holds = new ConcurrentHashMap<>();
+
+    /**
+     * Recarrega quartos e estadias ativas a partir do banco. Estadias já encerradas antes de hoje
+     * não são carregadas, pois nenhuma busca aceita datas no passado.
+     */
+    public void reload() {
+        reloadLock.writeLock().lock();
+        try {
+            long startedAt = System.currentTimeMillis();
+
+            ConcurrentSkipListMap<Long, IndexedRoom> newRooms = new ConcurrentSkipListMap<>();
+            roomRepository.findAllRoomsProjection()
+                    .forEach(p -> newRooms.put(p.getId(), IndexedRoom.from(p)));
+
+            List<BookedIntervalProjection> intervals = bookingRepository.findActiveIntervals(LocalDate.now());
+            Map<Long, List<BookedIntervalProjection>> byRoom = new HashMap<>();
+            for (BookedIntervalProjection interval : intervals) {
+                byRoom.computeIfAbsent(interval.getRoomId(), id -> new ArrayList<>()).add(interval);
+            }
+
+            ConcurrentHashMap<Long, RoomTimeline> newTimelines = new ConcurrentHashMap<>();
+            byRoom.forEach((roomId, roomIntervals) -> newTimelines.put(roomId, toTimeline(roomIntervals)));
+
+            this.rooms = newRooms;
+            this.timelines = newTimelines;
+            this.loaded = true;
+
+            log.info("Índice de disponibilidade carregado: {} quartos, {} estadias ativas em {} ms",
+                    newRooms.size(), intervals.size(), System.currentTimeMillis() - startedAt);
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Quartos sem estadia ativa nem bloqueio temporário em alguma noite de [checkInDate, checkOutDate),
+     * filtrados pelo tipo quando informado. Mesma semântica de {@code RoomRepository.findAvailableRoomsProjection}.
+     */
+    public List<IndexedRoom> findAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, RoomType roomType) {
+        long from = checkInDate.toEpochDay();
+        long to = checkOutDate.toEpochDay();
+        Map<Long, RoomTimeline> currentTimelines = timelines;
+
+        List<IndexedRoom> available = new ArrayList<>();
+        for (IndexedRoom room : rooms.values()) {
+            if (roomType != null && room.getType() != roomType) {
+                continue;
+            }
+            RoomTimeline timeline = currentTimelines.getOrDefault(room.getId(), RoomTimeline.EMPTY);
+            if (!timeline.overlaps(from, to) && !holds.getOrDefault(room.getId(), RoomTimeline.EMPTY).overlaps(from, to)) {
+                available.add(room);
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Noites ocupadas de cada quarto no intervalo [from, to], na ordem dos ids dos quartos.
+     * O bit 0 de cada {@link BitSet} corresponde a {@code from}; o dia de saída de uma estadia não é marcado.
+     */
+    public Map<IndexedRoom, BitSet> occupiedDays(LocalDate from, LocalDate to, RoomType roomType) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        Map<Long, RoomTimeline> currentTimelines = timelines;
+
+        Map<IndexedRoom, BitSet> calendar = new LinkedHashMap<>();
+        for (IndexedRoom room : rooms.values()) {
+            if (roomType != null && room.getType() != roomType) {
+                continue;
+            }
+            BitSet occupied = new BitSet((int) (toDay - fromDay + 1));
+            currentTimelines.getOrDefault(room.getId(), RoomTimeline.EMPTY).markOccupied(fromDay, toDay, occupied);
+            holds.getOrDefault(room.getId(), RoomTimeline.EMPTY).markOccupied(fromDay, toDay, occupied);
+            calendar.put(room, occupied);
+        }
+        return calendar;
+    }
+
+    public boolean isRoomAvailable(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        long from = checkInDate.toEpochDay();
+        long to = checkOutDate.toEpochDay();
+        return !timelines.getOrDefault(roomId, RoomTimeline.EMPTY).overlaps(from, to)
+                && !holds.getOrDefault(roomId, RoomTimeline.EMPTY).overlaps(from, to);
+    }
+
+    public void addHold(long holdId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        long start = checkInDate.toEpochDay();
+        long end = checkOutDate.toEpochDay();
+        holds.compute(roomId, (id, timeline) -> (timeline == null ? RoomTimeline.EMPTY : timeline).with(holdId, start, end));
+    }
+
+    public void removeHold(long holdId, Long roomId) {
+        holds.computeIfPresent(roomId, (id, timeline) -> {
+            RoomTimeline updated = timeline.without(holdId);
+            return updated.size() == 0 ? null : updated;
+        });
+    }
+
+    public void clearHolds() {
+        holds.clear();
+    }
+
+    public int activeHoldCount() {
+        return holds.values().stream().mapToInt(RoomTimeline::size).sum();
+    }
+
+    public int activeStayCount() {
+        return timelines.values().stream().mapToInt(RoomTimeline::size).sum();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        reloadLock.readLock().lock();
+        try {
+            for (BookingChange change : event.getChanges()) {
+                apply(change);
+            }
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        reloadLock.readLock().lock();
+        try {
+            if (event.isDeleted()) {
+                rooms.remove(event.getRoomId());
+                timelines.remove(event.getRoomId());
+                holds.remove(event.getRoomId());
+                return;
+            }
+            roomRepository.findRoomProjectionById(event.getRoomId())
+                    .ifPresentOrElse(
+                            p -> rooms.put(p.getId(), IndexedRoom.from(p)),
+                            () -> rooms.remove(event.getRoomId()));
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        reload();
+    }
+
+    private void apply(BookingChange change) {
+        if (change.getRoomId() == null || change.getBookingId() == null) {
+            return;
+        }
+        long bookingId = change.getBookingId();
+        if (isActive(change.getBookingStatus()) && change.getCheckInDate() != null && change.getCheckOutDate() != null) {
+            long start = change.getCheckInDate().toEpochDay();
+            long end = change.getCheckOutDate().toEpochDay();
+            timelines.compute(change.getRoomId(), (roomId, timeline) ->
+                    (timeline == null ? RoomTimeline.EMPTY : timeline).with(bookingId, start, end));
+        } else {
+            timelines.computeIfPresent(change.getRoomId(), (roomId, timeline) -> {
+                RoomTimeline updated = timeline.without(bookingId);
+                return updated.size() == 0 ? null : updated;
+            });
+        }
+    }
+
+    static boolean isActive(BookingStatus status) {
+        return status == BookingStatus.BOOKED || status == BookingStatus.CHECKED_IN;
+    }
+
+    private static RoomTimeline toTimeline(List<BookedIntervalProjection> intervals) {
+        int size = intervals.size();
+        long[] ids = new long[size];
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        for (int i = 0; i < size; i++) {
+            BookedIntervalProjection interval = intervals.get(i);
+            ids[i] = interval.getId();
+            starts[i] = interval.getCheckInDate().toEpochDay();
+            ends[i] = interval.getCheckOutDate().toEpochDay();
+        }
+        return RoomTimeline.of(ids, starts, ends);
+    }
+}
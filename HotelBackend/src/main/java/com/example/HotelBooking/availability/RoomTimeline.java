@@ -0,0 +1,174 @@
+package com.example.HotelBooking.availability;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Linha do tempo imutável das estadias ativas de um quarto.
+ *
+ * Cada estadia ocupa as noites [entrada, saída): o dia de saída fica livre para a próxima entrada.
+ * Os intervalos ficam ordenados pelo dia de entrada (epoch day) e {@code maxEnds[i]} guarda o maior
+ * dia de saída entre as posições {@code 0..i}. Com isso a pergunta "existe alguma estadia que
+ * sobrepõe [from, to)?" é respondida com uma busca binária, mesmo que existam sobreposições antigas
+ * gravadas no banco. Alterações geram uma nova instância (copy-on-write), então leituras não precisam
+ * de lock.
+ */
+final class RoomTimeline {
+
+    static final RoomTimeline EMPTY = new RoomTimeline(new long[0], new long[0], new long[0]);
+
+    private final long[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private RoomTimeline(long[] bookingIds, long[] starts, long[] ends) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[starts.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    /**
+     * Monta a linha do tempo a partir de arrays paralelos ainda não ordenados.
+     */
+    static RoomTimeline of(long[] bookingIds, long[] starts, long[] ends) {
+        int size = bookingIds.length;
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+
+        long[] sortedIds = new long[size];
+        long[] sortedStarts = new long[size];
+        long[] sortedEnds = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = bookingIds[order[i]];
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+        }
+        return new RoomTimeline(sortedIds, sortedStarts, sortedEnds);
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    /**
+     * Verifica se alguma estadia [start, end) da linha do tempo divide uma noite com [from, to),
+     * mesma regra da consulta {@code findAvailableRoomsProjection} e da restrição de exclusão do banco.
+     */
+    boolean overlaps(long from, long to) {
+        int last = upperBound(to - 1) - 1;
+        return last >= 0 && maxEnds[last] > from;
+    }
+
+    /**
+     * Marca em {@code occupied} (bit 0 = {@code from}) as noites de [from, to] ocupadas por alguma estadia.
+     * Como {@code maxEnds} é crescente, a varredura começa na primeira estadia que termina depois de {@code from}.
+     */
+    void markOccupied(long from, long to, BitSet occupied) {
+        int first = firstEndingAfter(from);
+        int last = upperBound(to);
+        for (int i = first; i < last; i++) {
+            if (ends[i] > from) {
+                int fromBit = (int) (Math.max(starts[i], from) - from);
+                int toBit = (int) (Math.min(ends[i] - 1, to) - from);
+                occupied.set(fromBit, toBit + 1);
+            }
+        }
+    }
+
+    private int firstEndingAfter(long day) {
+        int low = 0;
+        int high = maxEnds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primeira posição cujo dia de entrada é maior que {@code day}.
+     */
+    int upperBound(long day) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Retorna uma nova linha do tempo contendo a reserva informada, substituindo a versão anterior
+     * dela caso já exista.
+     */
+    RoomTimeline with(long bookingId, long start, long end) {
+        RoomTimeline base = without(bookingId);
+        int size = base.size();
+        int position = base.upperBound(start);
+
+        long[] newIds = new long[size + 1];
+        long[] newStarts = new long[size + 1];
+        long[] newEnds = new long[size + 1];
+        copyAround(base.bookingIds, newIds, position, bookingId);
+        copyAround(base.starts, newStarts, position, start);
+        copyAround(base.ends, newEnds, position, end);
+        return new RoomTimeline(newIds, newStarts, newEnds);
+    }
+
+    /**
+     * Retorna uma nova linha do tempo sem a reserva informada (ou a própria instância, se ela não existir).
+     */
+    RoomTimeline without(long bookingId) {
+        int index = indexOf(bookingId);
+        if (index < 0) {
+            return this;
+        }
+        int size = size();
+        long[] newIds = new long[size - 1];
+        long[] newStarts = new long[size - 1];
+        long[] newEnds = new long[size - 1];
+        copyWithout(bookingIds, newIds, index);
+        copyWithout(starts, newStarts, index);
+        copyWithout(ends, newEnds, index);
+        return new RoomTimeline(newIds, newStarts, newEnds);
+    }
+
+    private int indexOf(long bookingId) {
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void copyAround(long[] source, long[] target, int position, long value) {
+        System.arraycopy(source, 0, target, 0, position);
+        target[position] = value;
+        System.arraycopy(source, position, target, position + 1, source.length - position);
+    }
+
+    private static void copyWithout(long[] source, long[] target, int index) {
+        System.arraycopy(source, 0, target, 0, index);
+        System.arraycopy(source, index + 1, target, index, source.length - index - 1);
+    }
+}
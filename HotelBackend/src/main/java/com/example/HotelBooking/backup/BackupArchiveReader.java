@@ -0,0 +1,225 @@
+package com.example.HotelBooking.backup;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Lê um arquivo gravado pelo {@link BackupArchiveWriter}, seção por seção, sem carregar o arquivo
+ * inteiro: cada chamada a {@link #readRow()} decodifica só a linha seguinte.
+ */
+public class BackupArchiveReader {
+
+    // Limite de segurança para textos e blocos num arquivo enviado pelo usuário
+    private static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+
+    private final DataInputStream in;
+    private int columnCount = -1;
+    private ImageContentStream openImage;
+
+    public BackupArchiveReader(InputStream source) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(source, 64 * 1024), 64 * 1024));
+        byte[] magic = in.readNBytes(BackupFormat.MAGIC.length);
+        if (!Arrays.equals(magic, BackupFormat.MAGIC)) {
+            throw new IOException("Arquivo não é um backup da Pousada");
+        }
+        int version = in.readUnsignedByte();
+        if (version != BackupFormat.VERSION) {
+            throw new IOException("Versão de backup sem suporte: " + version);
+        }
+    }
+
+    /**
+     * Retorna o tipo da próxima seção: {@link BackupFormat#SECTION_TABLE}, {@link BackupFormat#SECTION_IMAGE}
+     * ou {@link BackupFormat#SECTION_END}.
+     */
+    public byte nextSection() throws IOException {
+        skipOpenImage();
+        byte section = in.readByte();
+        if (section != BackupFormat.SECTION_TABLE && section != BackupFormat.SECTION_IMAGE
+                && section != BackupFormat.SECTION_END) {
+            throw new IOException("Seção inválida no backup: " + section);
+        }
+        return section;
+    }
+
+    public TableHeader readTableHeader() throws IOException {
+        String table = readString();
+        int count = (int) readVarLong();
+        if (count <= 0 || count > 1000) {
+            throw new IOException("Quantidade de colunas inválida em " + table);
+        }
+        List<String> columns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            columns.add(readString());
+        }
+        columnCount = count;
+        return new TableHeader(table, List.copyOf(columns));
+    }
+
+    /**
+     * Próxima linha da tabela atual, ou {@code null} quando a tabela termina.
+     */
+    public Object[] readRow() throws IOException {
+        byte marker = in.readByte();
+        if (marker == BackupFormat.END_OF_ROWS) {
+            columnCount = -1;
+            return null;
+        }
+        if (marker != BackupFormat.ROW || columnCount < 0) {
+            throw new IOException("Linha inválida no backup");
+        }
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = readValue();
+        }
+        return values;
+    }
+
+    /**
+     * Cabeçalho da imagem seguinte e um stream limitado ao tamanho dela, lido direto do arquivo. O stream
+     * vale até a próxima chamada a {@link #nextSection()}, que pula o que não tiver sido lido.
+     */
+    public ImageEntry readImage() throws IOException {
+        String key = readString();
+        String contentType = readString();
+        long size = readVarLong();
+        if (size < 0 || size > MAX_BLOCK_SIZE) {
+            throw new IOException("Tamanho de imagem inválido: " + size);
+        }
+        openImage = new ImageContentStream(in, size);
+        return new ImageEntry(key, contentType.isEmpty() ? null : contentType, size, openImage);
+    }
+
+    private void skipOpenImage() throws IOException {
+        if (openImage != null) {
+            openImage.skipRemaining();
+            openImage = null;
+        }
+    }
+
+    private Object readValue() throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case BackupFormat.NULL -> null;
+            case BackupFormat.LONG -> unzigzag(readVarLong());
+            case BackupFormat.STRING -> readString();
+            case BackupFormat.DECIMAL -> {
+                int scale = (int) unzigzag(readVarLong());
+                yield new BigDecimal(new BigInteger(readBlock()), scale);
+            }
+            case BackupFormat.TRUE -> Boolean.TRUE;
+            case BackupFormat.FALSE -> Boolean.FALSE;
+            case BackupFormat.DATE -> LocalDate.ofEpochDay(unzigzag(readVarLong()));
+            case BackupFormat.TIMESTAMP -> {
+                long seconds = unzigzag(readVarLong());
+                yield LocalDateTime.ofEpochSecond(seconds, (int) readVarLong(), ZoneOffset.UTC);
+            }
+            case BackupFormat.BYTES -> readBlock();
+            case BackupFormat.DOUBLE -> in.readDouble();
+            default -> throw new IOException("Tipo de valor inválido no backup: " + type);
+        };
+    }
+
+    private String readString() throws IOException {
+        return new String(readBlock(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBlock() throws IOException {
+        long length = readVarLong();
+        if (length < 0 || length > MAX_BLOCK_SIZE) {
+            throw new IOException("Bloco inválido no backup: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Número malformado no backup");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public record TableHeader(String table, List<String> columns) {
+    }
+
+    public record ImageEntry(String key, String contentType, long size, InputStream content) {
+    }
+
+    /**
+     * Trecho do arquivo com os bytes de uma imagem. Fechar não fecha o arquivo; um fim antes do
+     * tamanho declarado é erro, para que uma imagem truncada não seja gravada como completa.
+     */
+    private static final class ImageContentStream extends InputStream {
+
+        private final InputStream source;
+        private long remaining;
+
+        private ImageContentStream(InputStream source, long size) {
+            this.source = source;
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining == 0) {
+                return -1;
+            }
+            int b = source.read();
+            if (b < 0) {
+                throw new EOFException("Backup terminou no meio de uma imagem");
+            }
+            remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (remaining == 0) {
+                return -1;
+            }
+            int read = source.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read < 0) {
+                throw new EOFException("Backup terminou no meio de uma imagem");
+            }
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(source.available(), remaining);
+        }
+
+        private void skipRemaining() throws IOException {
+            source.skipNBytes(remaining);
+            remaining = 0;
+        }
+    }
+}
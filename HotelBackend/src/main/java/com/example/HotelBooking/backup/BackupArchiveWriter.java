@@ -0,0 +1,142 @@
+package com.example.HotelBooking.backup;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escreve um arquivo de backup no formato descrito em {@link BackupFormat}. As linhas são gravadas à
+ * medida que chegam; o stream de destino não é fechado por {@link #finish()}.
+ */
+public class BackupArchiveWriter {
+
+    private final GZIPOutputStream gzip;
+    private final DataOutputStream out;
+    private long rows;
+
+    public BackupArchiveWriter(OutputStream target) throws IOException {
+        this.gzip = new GZIPOutputStream(target, 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+        this.out = new DataOutputStream(new BufferedOutputStream(gzip, 64 * 1024));
+        out.write(BackupFormat.MAGIC);
+        out.writeByte(BackupFormat.VERSION);
+    }
+
+    public void beginTable(String table, List<String> columns) throws IOException {
+        out.writeByte(BackupFormat.SECTION_TABLE);
+        writeString(table);
+        writeVarLong(columns.size());
+        for (String column : columns) {
+            writeString(column);
+        }
+    }
+
+    public void writeRow(Object[] values) throws IOException {
+        out.writeByte(BackupFormat.ROW);
+        for (Object value : values) {
+            writeValue(value);
+        }
+        rows++;
+    }
+
+    public void endTable() throws IOException {
+        out.writeByte(BackupFormat.END_OF_ROWS);
+    }
+
+    public void writeImage(String key, String contentType, long size, InputStream content) throws IOException {
+        out.writeByte(BackupFormat.SECTION_IMAGE);
+        writeString(key);
+        writeString(contentType == null ? "" : contentType);
+        writeVarLong(size);
+        long copied = content.transferTo(out);
+        if (copied != size) {
+            throw new IOException("Imagem " + key + " mudou durante o backup");
+        }
+    }
+
+    public void finish() throws IOException {
+        out.writeByte(BackupFormat.SECTION_END);
+        out.flush();
+        gzip.finish();
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(BackupFormat.NULL);
+            case Long l -> writeLong(l);
+            case Integer i -> writeLong(i);
+            case Short s -> writeLong(s);
+            case String s -> {
+                out.writeByte(BackupFormat.STRING);
+                writeString(s);
+            }
+            case BigDecimal d -> {
+                out.writeByte(BackupFormat.DECIMAL);
+                writeVarLong(zigzag(d.scale()));
+                writeBytes(d.unscaledValue().toByteArray());
+            }
+            case Boolean b -> out.writeByte(b ? BackupFormat.TRUE : BackupFormat.FALSE);
+            case LocalDate date -> {
+                out.writeByte(BackupFormat.DATE);
+                writeVarLong(zigzag(date.toEpochDay()));
+            }
+            case LocalDateTime time -> {
+                out.writeByte(BackupFormat.TIMESTAMP);
+                writeVarLong(zigzag(time.toEpochSecond(ZoneOffset.UTC)));
+                writeVarLong(time.getNano());
+            }
+            case byte[] bytes -> {
+                out.writeByte(BackupFormat.BYTES);
+                writeBytes(bytes);
+            }
+            case Double d -> {
+                out.writeByte(BackupFormat.DOUBLE);
+                out.writeDouble(d);
+            }
+            default -> throw new IOException("Tipo sem suporte no backup: " + value.getClass().getName());
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        out.writeByte(BackupFormat.LONG);
+        writeVarLong(zigzag(value));
+    }
+
+    private void writeString(String value) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        writeVarLong(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
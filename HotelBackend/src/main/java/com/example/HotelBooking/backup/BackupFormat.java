@@ -0,0 +1,68 @@
+package com.example.HotelBooking.backup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Layout do arquivo de backup (sempre comprimido com gzip):
+ *
+ * <pre>
+ * cabeçalho  = "PSDBKP" versão(1 byte)
+ * seção      = 'T' tabela | 'I' imagem | 'E' fim
+ * tabela     = nome nColunas nome* (1 valor*)* 0
+ * imagem     = chave contentType tamanho bytes
+ * valor      = tipo(1 byte) dados
+ * </pre>
+ *
+ * Textos e blocos de bytes levam o tamanho em varint; inteiros e datas usam varint em zigzag.
+ * Cada valor carrega o próprio tipo, então o arquivo pode ser lido sem consultar o banco.
+ */
+public final class BackupFormat {
+
+    static final byte[] MAGIC = "PSDBKP".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    public static final byte SECTION_TABLE = 'T';
+    public static final byte SECTION_IMAGE = 'I';
+    public static final byte SECTION_END = 'E';
+
+    static final byte ROW = 1;
+    static final byte END_OF_ROWS = 0;
+
+    static final byte NULL = 0;
+    static final byte LONG = 1;
+    static final byte STRING = 2;
+    static final byte DECIMAL = 3;
+    static final byte TRUE = 4;
+    static final byte FALSE = 5;
+    static final byte DATE = 6;
+    static final byte TIMESTAMP = 7;
+    static final byte BYTES = 8;
+    static final byte DOUBLE = 9;
+
+    /**
+     * Tabelas incluídas, na ordem em que podem ser inseridas sem violar chaves estrangeiras.
+     */
+    public static final List<String> TABLES = List.of(
+            "users", "rooms", "rate_rules", "rate_rule_days", "bookings", "payments", "notifications");
+
+    /**
+     * Colunas que não entram no backup: image_data é a coluna antiga de imagens (as imagens vão nas
+     * seções próprias) e stay é gerada pelo PostgreSQL a partir das datas da reserva.
+     */
+    public static final Set<String> EXCLUDED_COLUMNS = Set.of("rooms.image_data", "bookings.stay");
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private BackupFormat() {
+    }
+
+    /**
+     * Nomes vindos de um arquivo enviado entram no SQL da restauração; só identificadores simples passam.
+     */
+    public static boolean isSafeIdentifier(String name) {
+        return name != null && name.length() <= 63 && IDENTIFIER.matcher(name).matches();
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.HotelBooking.cache;
+
+import com.example.HotelBooking.dtos.CacheStatsDTO;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache LRU com número máximo de entradas e carregamento "single-flight": várias requisições
+ * simultâneas pela mesma chave ausente esperam uma única execução do loader.
+ *
+ * Uma invalidação que atinge a chave de um carregamento em andamento impede que o resultado dele seja
+ * gravado, já que ele pode ter lido dados anteriores à alteração. Carregamentos de outras chaves não
+ * são afetados.
+ *
+ * Com {@code expireAfterWrite} cada entrada vale só por esse tempo depois de gravada: as invalidações
+ * vêm de eventos locais, e o prazo limita por quanto tempo uma alteração feita em outra instância
+ * deixa de aparecer aqui.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Timed<V>> entries;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    // Carregamentos em andamento; protegido pelo lock de entries, como as invalidações que os marcam
+    private final Set<PendingLoad<K>> pendingLoads = new HashSet<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedCache(String name, int maxEntries) {
+        this(name, maxEntries, Duration.ZERO);
+    }
+
+    /**
+     * @param expireAfterWrite validade de cada entrada; zero para não expirar
+     */
+    public BoundedCache(String name, int maxEntries, Duration expireAfterWrite) {
+        this(name, maxEntries, expireAfterWrite, System::nanoTime);
+    }
+
+    BoundedCache(String name, int maxEntries, Duration expireAfterWrite, LongSupplier ticker) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries deve ser maior que zero");
+        }
+        if (expireAfterWrite.isNegative()) {
+            throw new IllegalArgumentException("expireAfterWrite não pode ser negativo");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Timed<V>> eldest) {
+                if (size() > BoundedCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Timed<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (expireAfterWriteNanos > 0 && ticker.getAsLong() - entry.writtenAt() >= expireAfterWriteNanos) {
+                entries.remove(key);
+                evictions.increment();
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    public V getOrLoad(K key, Supplier<V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            // outro carregamento pode ter terminado entre a primeira leitura e o registro do future
+            V value = getIfPresent(key);
+            if (value == null) {
+                PendingLoad<K> pending = new PendingLoad<>(key);
+                synchronized (entries) {
+                    pendingLoads.add(pending);
+                }
+                try {
+                    value = loader.get();
+                    loads.increment();
+                    store(pending, value);
+                } finally {
+                    synchronized (entries) {
+                        pendingLoads.remove(pending);
+                    }
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Timed<>(value, ticker.getAsLong()));
+        }
+    }
+
+    public int invalidateIf(Predicate<K> predicate) {
+        int removed = 0;
+        synchronized (entries) {
+            for (PendingLoad<K> pending : pendingLoads) {
+                if (predicate.test(pending.key)) {
+                    pending.invalidated = true;
+                }
+            }
+            var iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (predicate.test(iterator.next())) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        // novas requisições não devem aguardar um carregamento que começou antes da alteração
+        inFlight.keySet().removeIf(predicate);
+        invalidations.add(removed);
+        return removed;
+    }
+
+    public void invalidate(K key) {
+        invalidateIf(key::equals);
+    }
+
+    public void invalidateAll() {
+        invalidateIf(key -> true);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(size())
+                .maxEntries(maxEntries)
+                .hits(hitCount)
+                .misses(missCount)
+                .loads(loads.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .hitRatio(total == 0 ? 0.0 : (double) hitCount / total)
+                .build();
+    }
+
+    private void store(PendingLoad<K> pending, V value) {
+        if (value == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (!pending.invalidated) {
+                entries.put(pending.key, new Timed<>(value, ticker.getAsLong()));
+            }
+        }
+    }
+
+    private record Timed<V>(V value, long writtenAt) {
+    }
+
+    // Igualdade por identidade: duas cargas da mesma chave (antes e depois de uma invalidação) são distintas
+    private static final class PendingLoad<K> {
+        private final K key;
+        private boolean invalidated;
+
+        private PendingLoad(K key) {
+            this.key = key;
+        }
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
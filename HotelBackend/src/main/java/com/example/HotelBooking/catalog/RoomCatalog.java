@@ -0,0 +1,180 @@
+package com.example.HotelBooking.catalog;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.mappers.RoomMapper;
+import com.example.HotelBooking.repositories.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Catálogo de quartos em memória, consultado antes do banco por {@code RoomServiceImpl} e
+ * {@code BookingServiceImpl}.
+ *
+ * Guarda um snapshot imutável com os dados de cada quarto (sem imageData) e o {@link RoomDTO} já
+ * montado, inclusive a lista completa em ordem de id decrescente. As leituras apenas devolvem
+ * essas instâncias compartilhadas, por isso os DTOs do catálogo não devem ser alterados por quem
+ * os recebe. Cada alteração de quarto ({@link RoomChangedEvent}) gera um novo snapshot com a versão
+ * incrementada. O evento só chega à instância que alterou o quarto: as demais recarregam o catálogo a cada
+ * {@code rooms.catalog.refresh-interval}, e preço e tipo nunca ficam mais antigos que isso.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RoomCatalog {
+
+    private final RoomRepository roomRepository;
+
+    @Value("${rooms.catalog.refresh-interval:PT1M}")
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    private final Object writeLock = new Object();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public void reload() {
+        long startedAt = System.currentTimeMillis();
+        TreeMap<Long, Entry> entries = new TreeMap<>(Comparator.reverseOrder());
+        roomRepository.findAllRoomsProjection().forEach(p -> {
+            IndexedRoom room = IndexedRoom.from(p);
+            entries.put(room.getId(), new Entry(room, RoomMapper.toDTO(room)));
+        });
+        synchronized (writeLock) {
+            snapshot = new Snapshot(nextVersion(), System.nanoTime(), entries);
+        }
+        log.info("Catálogo de quartos carregado: {} quartos em {} ms", entries.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public long getVersion() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.version;
+    }
+
+    public Optional<IndexedRoom> findRoom(Long id) {
+        return findEntry(id).map(entry -> entry.room);
+    }
+
+    /**
+     * DTO compartilhado do quarto; não deve ser modificado.
+     */
+    public Optional<RoomDTO> findRoomDTO(Long id) {
+        return findEntry(id).map(entry -> entry.dto);
+    }
+
+    /**
+     * Todos os quartos em ordem de id decrescente (lista imutável e compartilhada).
+     */
+    public List<RoomDTO> getAllRooms() {
+        return loadedSnapshot().allRooms;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (!isLoaded()) {
+            return; // será carregado por completo na primeira leitura
+        }
+        Optional<IndexedRoom> updated = event.isDeleted()
+                ? Optional.empty()
+                : roomRepository.findRoomProjectionById(event.getRoomId()).map(IndexedRoom::from);
+        replace(event.getRoomId(), updated.orElse(null));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        reload();
+    }
+
+    private Optional<Entry> findEntry(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Entry entry = loadedSnapshot().entries.get(id);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        // Leitura direta: quarto criado por outra instância ou evento ainda não aplicado
+        Optional<IndexedRoom> loaded = roomRepository.findRoomProjectionById(id).map(IndexedRoom::from);
+        loaded.ifPresent(room -> replace(id, room));
+        return loaded.map(room -> new Entry(room, RoomMapper.toDTO(room)));
+    }
+
+    private Snapshot loadedSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            return snapshot;
+        }
+        // Uma thread recarrega o snapshot vencido; as outras seguem com o atual enquanto isso
+        if (System.nanoTime() - current.loadedAt >= refreshInterval.toNanos() && reloadLock.tryLock()) {
+            try {
+                if (snapshot.loadedAt == current.loadedAt) {
+                    reload();
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private void replace(Long id, IndexedRoom room) {
+        synchronized (writeLock) {
+            Snapshot current = loadedSnapshot();
+            TreeMap<Long, Entry> entries = new TreeMap<>(current.entries);
+            if (room == null) {
+                entries.remove(id);
+            } else {
+                entries.put(id, new Entry(room, RoomMapper.toDTO(room)));
+            }
+            snapshot = new Snapshot(nextVersion(), current.loadedAt, entries);
+        }
+    }
+
+    private long nextVersion() {
+        Snapshot current = snapshot;
+        return current == null ? 1 : current.version + 1;
+    }
+
+    private record Entry(IndexedRoom room, RoomDTO dto) {
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final long loadedAt;
+        private final SortedMap<Long, Entry> entries;
+        private final List<RoomDTO> allRooms;
+
+        private Snapshot(long version, long loadedAt, TreeMap<Long, Entry> entries) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.entries = Collections.unmodifiableSortedMap(entries);
+            List<RoomDTO> rooms = new ArrayList<>(entries.size());
+            entries.values().forEach(entry -> rooms.add(entry.dto));
+            this.allRooms = Collections.unmodifiableList(rooms);
+        }
+    }
+}
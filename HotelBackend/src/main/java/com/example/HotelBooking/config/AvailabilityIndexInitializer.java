@@ -0,0 +1,25 @@
+package com.example.HotelBooking.config;
+
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AvailabilityIndexInitializer implements CommandLineRunner {
+
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Override
+    public void run(String... args) {
+        try {
+            roomAvailabilityIndex.reload();
+        } catch (Exception e) {
+            // Sem o índice a busca continua funcionando pela consulta no banco
+            log.error("Falha ao carregar o índice de disponibilidade: {}", e.getMessage(), e);
+        }
+    }
+}
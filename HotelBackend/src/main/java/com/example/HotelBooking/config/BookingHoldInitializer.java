@@ -0,0 +1,25 @@
+package com.example.HotelBooking.config;
+
+import com.example.HotelBooking.holds.BookingHoldRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookingHoldInitializer implements CommandLineRunner {
+
+    private final BookingHoldRegistry bookingHoldRegistry;
+
+    @Override
+    public void run(String... args) {
+        try {
+            bookingHoldRegistry.reload();
+        } catch (Exception e) {
+            // createBooking continua respeitando os bloqueios gravados no banco
+            log.error("Falha ao recuperar os bloqueios temporários: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.HotelBooking.config;
+
+import com.example.HotelBooking.reference.BookingReferenceIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookingReferenceIndexInitializer implements CommandLineRunner {
+
+    private final BookingReferenceIndex bookingReferenceIndex;
+
+    @Override
+    public void run(String... args) {
+        try {
+            bookingReferenceIndex.reload();
+        } catch (Exception e) {
+            // Sem o filtro toda referência com formato válido é procurada no banco
+            log.error("Falha ao carregar o filtro de referências de reserva: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.HotelBooking.config;
+
+import com.example.HotelBooking.availability.AvailabilityKey;
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.dtos.BookingDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public BoundedCache<AvailabilityKey, List<IndexedRoom>> availabilityCache(
+            @Value("${cache.availability.max-entries:2000}") int maxEntries) {
+        return new BoundedCache<>("availability", maxEntries);
+    }
+
+    @Bean
+    public BoundedCache<Long, List<BookingDTO>> bookingHistoryCache(
+            @Value("${cache.booking-history.max-entries:5000}") int maxEntries,
+            @Value("${cache.booking-history.expire-after-write:PT1M}") Duration expireAfterWrite) {
+        return new BoundedCache<>("bookingHistory", maxEntries, expireAfterWrite);
+    }
+
+    // Pagamento e cancelamento gravados em outra instância não invalidam este cache: o prazo limita o atraso
+    @Bean
+    public BoundedCache<String, BookingDTO> bookingReferenceCache(
+            @Value("${cache.booking-reference.max-entries:1000}") int maxEntries,
+            @Value("${cache.booking-reference.expire-after-write:PT30S}") Duration expireAfterWrite) {
+        return new BoundedCache<>("bookingByReference", maxEntries, expireAfterWrite);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.HotelBooking.config;
+
+import com.example.HotelBooking.catalog.RoomCatalog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RoomCatalogInitializer implements CommandLineRunner {
+
+    private final RoomCatalog roomCatalog;
+
+    @Override
+    public void run(String... args) {
+        try {
+            roomCatalog.reload();
+        } catch (Exception e) {
+            // O catálogo é carregado novamente na primeira leitura
+            log.error("Falha ao carregar o catálogo de quartos: {}", e.getMessage(), e);
+        }
+    }
+}
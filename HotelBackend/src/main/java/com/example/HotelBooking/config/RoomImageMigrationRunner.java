@@ -0,0 +1,75 @@
+package com.example.HotelBooking.config;
+
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.storage.ImageDerivativeService;
+import com.example.HotelBooking.storage.ImageStorage;
+import com.example.HotelBooking.storage.ImageType;
+import com.example.HotelBooking.storage.StoredImage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Migração única das imagens gravadas na coluna image_data para o {@link ImageStorage}.
+ *
+ * Só roda com {@code images.migration.enabled=true}. Cada quarto é migrado na sua própria transação
+ * (lê o blob, grava o arquivo, preenche imageKey e zera image_data), então a migração pode ser
+ * interrompida e executada de novo: quartos já migrados não são mais selecionados.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "images.migration.enabled", havingValue = "true")
+public class RoomImageMigrationRunner implements CommandLineRunner {
+
+    private final RoomRepository roomRepository;
+    private final ImageStorage imageStorage;
+    private final ImageDerivativeService imageDerivativeService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        List<Long> roomIds = roomRepository.findIdsWithLegacyImage();
+        log.info("Migrando imagens de {} quartos para o armazenamento de arquivos", roomIds.size());
+
+        int migrated = 0;
+        for (Long roomId : roomIds) {
+            try {
+                Boolean moved = transactionTemplate.execute(status -> migrate(roomId));
+                if (Boolean.TRUE.equals(moved)) {
+                    migrated++;
+                }
+            } catch (Exception e) {
+                log.error("Falha ao migrar a imagem do quarto {}: {}", roomId, e.getMessage(), e);
+            }
+        }
+        log.info("Migração de imagens concluída: {} de {} quartos", migrated, roomIds.size());
+    }
+
+    private boolean migrate(Long roomId) {
+        byte[] data = roomRepository.findLegacyImageData(roomId);
+        if (data == null) {
+            return false;
+        }
+        try {
+            ImageType type = ImageType.detect(data, data.length);
+            // As imagens antigas foram gravadas sem o tipo; só JPEG e PNG eram aceitos
+            StoredImage stored = imageStorage.store(new ByteArrayInputStream(data),
+                    type != null ? type.getContentType() : ImageType.JPEG.getContentType());
+            boolean moved = roomRepository.moveLegacyImage(roomId, stored.getKey(), stored.getContentType(), stored.getSize()) == 1;
+            if (moved) {
+                imageDerivativeService.submit(stored.getKey());
+            }
+            return moved;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
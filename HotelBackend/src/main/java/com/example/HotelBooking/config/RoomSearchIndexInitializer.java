@@ -0,0 +1,25 @@
+package com.example.HotelBooking.config;
+
+import com.example.HotelBooking.search.RoomSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RoomSearchIndexInitializer implements CommandLineRunner {
+
+    private final RoomSearchIndex roomSearchIndex;
+
+    @Override
+    public void run(String... args) {
+        try {
+            roomSearchIndex.reload();
+        } catch (Exception e) {
+            // O índice é carregado novamente na primeira busca
+            log.error("Falha ao carregar o índice de busca de quartos: {}", e.getMessage(), e);
+        }
+    }
+}
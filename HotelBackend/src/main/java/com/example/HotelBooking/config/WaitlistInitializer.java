@@ -0,0 +1,25 @@
+package com.example.HotelBooking.config;
+
+import com.example.HotelBooking.waitlist.WaitlistEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class WaitlistInitializer implements CommandLineRunner {
+
+    private final WaitlistEngine waitlistEngine;
+
+    @Override
+    public void run(String... args) {
+        try {
+            waitlistEngine.reload();
+        } catch (Exception e) {
+            // As entradas continuam gravadas e voltam na próxima inicialização
+            log.error("Falha ao carregar a lista de espera: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.HotelBooking.controllers;
+
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.services.BackupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/backup")
+@RequiredArgsConstructor
+public class BackupController {
+
+    private final BackupService backupService;
+
+    /**
+     * Baixa o backup completo (tabelas e imagens dos quartos) em formato binário comprimido.
+     */
+    @GetMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBackup() {
+        StreamingResponseBody body = backupService::exportBackup;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("pousada-" + LocalDate.now() + ".psdbkp")
+                        .build().toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    /**
+     * Substitui o conteúdo do banco pelo backup enviado no corpo da requisição (sem multipart, para que
+     * o arquivo seja lido enquanto chega).
+     */
+    @PostMapping(value = "/restore", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> restoreBackup(InputStream body) throws IOException {
+        return ResponseEntity.ok(backupService.restoreBackup(body));
+    }
+}
@@ -2,11 +2,29 @@ package com.example.HotelBooking.controllers;
 
 import com.example.HotelBooking.dtos.BookingDTO;
 import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.export.ExportFormat;
+import com.example.HotelBooking.history.BookingHistoryView;
+import com.example.HotelBooking.security.AuthUser;
+import com.example.HotelBooking.services.BookingHoldService;
 import com.example.HotelBooking.services.BookingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -14,11 +32,63 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingHoldService bookingHoldService;
+    private final BookingHistoryView bookingHistoryView;
 
     @GetMapping("/all")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<Response> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<Response> getAllBookings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) BookingStatus bookingStatus,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean unpaged
+    ) {
+        if (unpaged) {
+            return ResponseEntity.ok(bookingService.getAllBookings());
+        }
+        return ResponseEntity.ok(bookingService.getBookingsPage(bookingStatus, paymentStatus, from, to, after, limit));
+    }
+
+    /**
+     * Exporta as reservas em NDJSON ou CSV, escrevendo enquanto lê do banco. Se o cliente aceita gzip,
+     * a resposta vai comprimida.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                bookingService.exportBookings(status, from, to, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                bookingService.exportBookings(status, from, to, exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("reservas-" + LocalDate.now() + "." + exportFormat.getParam())
+                        .build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noStore());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @PostMapping
@@ -38,9 +108,47 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.updateBooking(bookingDTO));
     }
 
+    /**
+     * Atualiza o status de várias reservas numa transação (ex.: check-out da manhã). Cada item informa
+     * id, bookingStatus e/ou paymentStatus; a resposta traz o resultado de cada um.
+     */
+    @PutMapping("/update-batch")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> updateBookings(@RequestBody List<BookingDTO> bookingDTOs) {
+        return ResponseEntity.ok(bookingService.updateBookings(bookingDTOs));
+    }
+
+    /**
+     * Segura o quarto e as datas por alguns minutos enquanto o hóspede paga; o id retornado vai em
+     * {@code holdId} no {@code /book}.
+     */
+    @PostMapping("/holds")
+    @PreAuthorize("hasAuthority('CUSTOMER') or hasAuthority('ADMIN')")
+    public ResponseEntity<Response> placeHold(@RequestBody BookingDTO bookingDTO) {
+        return ResponseEntity.ok(bookingHoldService.placeHold(bookingDTO));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @PreAuthorize("hasAuthority('CUSTOMER') or hasAuthority('ADMIN')")
+    public ResponseEntity<Response> releaseHold(@PathVariable Long holdId) {
+        return ResponseEntity.ok(bookingHoldService.releaseHold(holdId));
+    }
+
+    /**
+     * Histórico do usuário logado. Com {@code If-None-Match} igual à versão atual responde 304 sem
+     * consultar as reservas.
+     */
     @GetMapping("/my")
     @PreAuthorize("hasAuthority('CUSTOMER') or hasAuthority('ADMIN')")
-    public ResponseEntity<Response> getBookingsByCurrentUser() {
-        return ResponseEntity.ok(bookingService.getBookingsByCurrentUser());
+    public ResponseEntity<Response> getBookingsByCurrentUser(@AuthenticationPrincipal AuthUser authUser, WebRequest request) {
+        Long userId = authUser.getUser().getId();
+        String etag = bookingHistoryView.etag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(bookingService.getBookingsByUser(userId));
     }
 }
@@ -0,0 +1,26 @@
+package com.example.HotelBooking.controllers;
+
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.dtos.CacheStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final List<BoundedCache<?, ?>> caches;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(caches.stream().map(BoundedCache::stats).toList());
+    }
+}
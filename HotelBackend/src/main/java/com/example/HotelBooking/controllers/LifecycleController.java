@@ -0,0 +1,34 @@
+package com.example.HotelBooking.controllers;
+
+import com.example.HotelBooking.dtos.LifecycleStatsDTO;
+import com.example.HotelBooking.lifecycle.BookingLifecycleEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/bookings/lifecycle")
+@RequiredArgsConstructor
+public class LifecycleController {
+
+    private final BookingLifecycleEngine engine;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<LifecycleStatsDTO> getStats() {
+        return ResponseEntity.ok(engine.stats());
+    }
+
+    /**
+     * Executa o ciclo agora, sem esperar o agendamento.
+     */
+    @PostMapping("/run")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<LifecycleStatsDTO> run() {
+        return ResponseEntity.ok(engine.runOnce());
+    }
+}
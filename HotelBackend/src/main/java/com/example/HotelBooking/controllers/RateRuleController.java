@@ -0,0 +1,39 @@
+package com.example.HotelBooking.controllers;
+
+import com.example.HotelBooking.dtos.RateRuleDTO;
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.services.PricingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/rate-rules")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ADMIN')")
+public class RateRuleController {
+
+    private final PricingService pricingService;
+
+    @GetMapping("/all")
+    public ResponseEntity<Response> getRateRules() {
+        return ResponseEntity.ok(pricingService.getRateRules());
+    }
+
+    @PostMapping("/add")
+    public ResponseEntity<Response> addRateRule(@RequestBody @Valid RateRuleDTO rateRuleDTO) {
+        return ResponseEntity.ok(pricingService.addRateRule(rateRuleDTO));
+    }
+
+    @PutMapping("/update")
+    public ResponseEntity<Response> updateRateRule(@RequestBody @Valid RateRuleDTO rateRuleDTO) {
+        return ResponseEntity.ok(pricingService.updateRateRule(rateRuleDTO));
+    }
+
+    @DeleteMapping("/delete/{id}")
+    public ResponseEntity<Response> deleteRateRule(@PathVariable Long id) {
+        return ResponseEntity.ok(pricingService.deleteRateRule(id));
+    }
+}
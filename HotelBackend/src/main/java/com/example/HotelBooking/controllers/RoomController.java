@@ -2,18 +2,31 @@ package com.example.HotelBooking.controllers;
 
 import com.example.HotelBooking.dtos.Response;
 import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.dtos.RoomImageProjection;
 import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.services.PricingService;
 import com.example.HotelBooking.services.RoomService;
+import com.example.HotelBooking.storage.ImageContent;
+import com.example.HotelBooking.storage.ImageUrls;
+import com.example.HotelBooking.storage.ImageVariant;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -21,6 +34,7 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final PricingService pricingService;
 
     @PostMapping(value = "/add", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -37,8 +51,16 @@ public class RoomController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllRooms() {
-        return ResponseEntity.ok(roomService.getAllRooms());
+    public ResponseEntity<Response> getAllRooms(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) RoomType roomType,
+            @RequestParam(defaultValue = "false") boolean unpaged
+    ) {
+        if (unpaged) {
+            return ResponseEntity.ok(roomService.getAllRooms());
+        }
+        return ResponseEntity.ok(roomService.getRoomsPage(after, roomType, limit));
     }
 
     @GetMapping("/{id}")
@@ -47,12 +69,53 @@ public class RoomController {
     }
 
     @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> getRoomImage(@PathVariable Long id) {
-        byte[] imageData = roomService.getRoomImageData(id);
-        if (imageData == null) {
+    public ResponseEntity<Resource> getRoomImage(@PathVariable Long id,
+                                                 @RequestParam(name = "v", required = false) String version,
+                                                 @RequestParam(required = false) String size,
+                                                 WebRequest request) {
+        ImageVariant requested = ImageVariant.fromParam(size);
+        RoomImageProjection info = roomService.getRoomImageInfo(id);
+        boolean versioned = info.getImageKey() != null && ImageUrls.version(info.getImageKey()).equals(version);
+        if (info.getImageKey() != null) {
+            // O ETag da variante pedida sai só dos metadados: 304 sem abrir o arquivo nem agendar derivadas.
+            // Se a variante ainda não existir, o cliente não tem esse ETag e segue para o original abaixo.
+            String etag = ImageUrls.etag(info.getImageKey(), requested);
+            if (request.checkNotModified(etag, toEpochMilli(info.getImageUpdatedAt()))) {
+                CacheControl cacheControl = versioned
+                        ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                        : CacheControl.noCache();
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+        }
+
+        ImageContent image = roomService.getRoomImage(info, requested);
+        if (image == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok().body(imageData);
+        if (image.getKey() == null) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(image.getResource());
+        }
+
+        // URL versionada com o hash atual: o conteúdo nunca muda, pode ficar em cache por um ano.
+        // Se a variante pedida ainda não foi gerada, o original entregue no lugar não pode ser fixado.
+        CacheControl cacheControl = versioned && image.getVariant() == requested
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache();
+        String etag = ImageUrls.etag(image.getKey(), image.getVariant());
+        long lastModified = toEpochMilli(image.getUpdatedAt());
+
+        // Para um Resource o Spring responde Range com 206 (ResourceRegion) e lê o arquivo em partes
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        if (image.getContentType() != null) {
+            response.contentType(MediaType.parseMediaType(image.getContentType()));
+        }
+        return response.body(image.getResource());
     }
 
     @DeleteMapping("/delete/{id}")
@@ -70,6 +133,35 @@ public class RoomController {
         return ResponseEntity.ok(roomService.getAvailableRooms(checkInDate, checkOutDate, roomType));
     }
 
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<Response> quote(
+            @PathVariable Long id,
+            @RequestParam LocalDate checkInDate,
+            @RequestParam LocalDate checkOutDate
+    ) {
+        return ResponseEntity.ok(pricingService.quote(id, checkInDate, checkOutDate));
+    }
+
+    @GetMapping("/available/flexible")
+    public ResponseEntity<Response> getFlexibleAvailability(
+            @RequestParam LocalDate earliest,
+            @RequestParam LocalDate latest,
+            @RequestParam int nights,
+            @RequestParam(required = false) RoomType roomType,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(roomService.getFlexibleAvailability(earliest, latest, nights, roomType, limit));
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<Response> getRoomCalendar(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(required = false) RoomType roomType
+    ) {
+        return ResponseEntity.ok(roomService.getRoomCalendar(from, to, roomType));
+    }
+
     @GetMapping("/types")
     public ResponseEntity<List<String>> getAllRoomTypes() {
         List<String> types = java.util.Arrays.stream(RoomType.values())
@@ -79,8 +171,18 @@ public class RoomController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Response> searchRoom(@RequestParam String input) {
-        return ResponseEntity.ok(roomService.searchRoom(input));
+    public ResponseEntity<Response> searchRoom(
+            @RequestParam(required = false) String input,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer capacity,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(roomService.searchRoom(input, minPrice, maxPrice, capacity, page, size));
     }
-}
 
+    private static long toEpochMilli(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.HotelBooking.controllers;
+
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.services.StatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final StatsService statsService;
+
+    /**
+     * Ocupação, ADR e receita por dia e tipo de quarto (padrão: próximos 30 dias).
+     */
+    @GetMapping("/daily")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> getDailyStats(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to) {
+        return ResponseEntity.ok(statsService.getDailyStats(from, to));
+    }
+
+    /**
+     * Recalcula todas as estatísticas a partir das reservas.
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Response> rebuild() {
+        return ResponseEntity.ok(statsService.rebuild());
+    }
+}
@@ -2,11 +2,17 @@ package com.example.HotelBooking.controllers;
 
 import com.example.HotelBooking.dtos.Response;
 import com.example.HotelBooking.dtos.UserDTO;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.history.BookingHistoryView;
+import com.example.HotelBooking.security.AuthUser;
 import com.example.HotelBooking.services.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/users")
@@ -14,11 +20,20 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final BookingHistoryView bookingHistoryView;
 
     @GetMapping("/all")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<Response> getAllUsers(){
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<Response> getAllUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) UserRole role,
+            @RequestParam(defaultValue = "false") boolean unpaged
+    ){
+        if (unpaged) {
+            return ResponseEntity.ok(userService.getAllUsers());
+        }
+        return ResponseEntity.ok(userService.getUsersPage(role, after, limit));
     }
 
 
@@ -39,8 +54,16 @@ public class UserController {
 
 
     @GetMapping("/bookings")
-    public ResponseEntity<Response> getMyBookingHistory(){
-        return ResponseEntity.ok(userService.getMyBookingHistory());
+    public ResponseEntity<Response> getMyBookingHistory(@AuthenticationPrincipal AuthUser authUser, WebRequest request){
+        Long userId = authUser.getUser().getId();
+        String etag = bookingHistoryView.etag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(userService.getBookingHistory(userId));
     }
 
 
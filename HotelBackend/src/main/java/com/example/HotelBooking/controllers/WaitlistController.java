@@ -0,0 +1,39 @@
+package com.example.HotelBooking.controllers;
+
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.dtos.WaitlistEntryDTO;
+import com.example.HotelBooking.services.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * Registra interesse num tipo de quarto para um período sem disponibilidade. Se um quarto desse tipo
+     * for liberado, ele fica bloqueado em nome do hóspede e o aviso vai por e-mail.
+     */
+    @PostMapping
+    @PreAuthorize("hasAuthority('CUSTOMER') or hasAuthority('ADMIN')")
+    public ResponseEntity<Response> joinWaitlist(@RequestBody WaitlistEntryDTO waitlistEntryDTO) {
+        return ResponseEntity.ok(waitlistService.joinWaitlist(waitlistEntryDTO));
+    }
+
+    @GetMapping("/my")
+    @PreAuthorize("hasAuthority('CUSTOMER') or hasAuthority('ADMIN')")
+    public ResponseEntity<Response> getMyWaitlist() {
+        return ResponseEntity.ok(waitlistService.getMyWaitlist());
+    }
+
+    @DeleteMapping("/{entryId}")
+    @PreAuthorize("hasAuthority('CUSTOMER') or hasAuthority('ADMIN')")
+    public ResponseEntity<Response> cancelWaitlistEntry(@PathVariable Long entryId) {
+        return ResponseEntity.ok(waitlistService.cancelWaitlistEntry(entryId));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.HotelBooking.dtos;
+
+import java.time.LocalDate;
+
+public interface BookedIntervalProjection {
+    Long getId();
+    Long getRoomId();
+    LocalDate getCheckInDate();
+    LocalDate getCheckOutDate();
+}
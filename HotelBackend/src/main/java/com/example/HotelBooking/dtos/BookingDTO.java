@@ -42,4 +42,7 @@ public class BookingDTO {
 
     private BookingStatus bookingStatus;
 
+    // Bloqueio temporário obtido em POST /api/bookings/holds; consumido ao criar a reserva
+    private Long holdId;
+
 }
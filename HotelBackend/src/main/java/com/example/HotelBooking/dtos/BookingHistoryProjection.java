@@ -16,8 +16,12 @@ public interface BookingHistoryProjection {
     Integer getRoomCapacity();
     String getRoomDescription();
     String getRoomTitle();
+    String getRoomImageKey();
     Long getUserId();
     String getUserEmail();
+    String getUserFirstName();
+    String getUserLastName();
+    String getUserPhoneNumber();
     LocalDate getCheckInDate();
     LocalDate getCheckOutDate();
     BigDecimal getTotalPrice();
@@ -1,5 +1,6 @@
 package com.example.HotelBooking.dtos;
 
+import com.example.HotelBooking.enums.BookingStatus;
 import com.example.HotelBooking.enums.PaymentStatus;
 import java.math.BigDecimal;
 
@@ -7,6 +8,7 @@ public interface BookingPaymentProjection {
     Long getId();
     String getBookingReference();
     PaymentStatus getPaymentStatus();
+    BookingStatus getBookingStatus();
     BigDecimal getTotalPrice();
 }
 
@@ -0,0 +1,17 @@
+package com.example.HotelBooking.dtos;
+
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface BookingStatsProjection {
+    RoomType getRoomType();
+    LocalDate getCheckInDate();
+    LocalDate getCheckOutDate();
+    BigDecimal getTotalPrice();
+    BookingStatus getBookingStatus();
+    PaymentStatus getPaymentStatus();
+}
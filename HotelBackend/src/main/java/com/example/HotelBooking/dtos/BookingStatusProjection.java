@@ -0,0 +1,19 @@
+package com.example.HotelBooking.dtos;
+
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface BookingStatusProjection {
+    Long getId();
+    Long getRoomId();
+    Long getUserId();
+    String getBookingReference();
+    LocalDate getCheckInDate();
+    LocalDate getCheckOutDate();
+    BigDecimal getTotalPrice();
+    BookingStatus getBookingStatus();
+    PaymentStatus getPaymentStatus();
+}
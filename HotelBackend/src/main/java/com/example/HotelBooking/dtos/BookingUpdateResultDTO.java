@@ -0,0 +1,27 @@
+package com.example.HotelBooking.dtos;
+
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um item da atualização de reservas em lote. Com {@code updated} falso a reserva não foi
+ * alterada e {@code message} explica o motivo.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingUpdateResultDTO {
+
+    private Long id;
+    private boolean updated;
+    private String message;
+    private BookingStatus bookingStatus;
+    private PaymentStatus paymentStatus;
+}
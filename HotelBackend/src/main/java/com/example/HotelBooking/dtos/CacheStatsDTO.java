@@ -0,0 +1,25 @@
+package com.example.HotelBooking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheStatsDTO {
+
+    private String name;
+    private int size;
+    private int maxEntries;
+
+    private long hits;
+    private long misses;
+    private long loads;
+    private long evictions;
+    private long invalidations;
+
+    private double hitRatio;
+}
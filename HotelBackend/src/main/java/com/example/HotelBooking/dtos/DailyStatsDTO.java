@@ -0,0 +1,32 @@
+package com.example.HotelBooking.dtos;
+
+import com.example.HotelBooking.enums.RoomType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Indicadores de um dia (ou do período inteiro, quando {@code date} é nulo) para um tipo de quarto.
+ * occupancyRate = roomsSold / roomsAvailable; averageDailyRate (ADR) = roomRevenue / roomsSold.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DailyStatsDTO {
+
+    private LocalDate date;
+    private RoomType roomType;
+    private Integer roomsSold;
+    private Integer roomsAvailable;
+    private BigDecimal occupancyRate;
+    private BigDecimal averageDailyRate;
+    private BigDecimal roomRevenue;
+    private BigDecimal paidRevenue;
+}
@@ -0,0 +1,29 @@
+package com.example.HotelBooking.dtos;
+
+import com.example.HotelBooking.enums.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Uma combinação (quarto, data de entrada) livre na busca com datas flexíveis, já com o valor da estadia.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FlexibleStayDTO {
+
+    private Long roomId;
+    private Integer roomNumber;
+    private RoomType type;
+    private String title;
+
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private BigDecimal totalPrice;
+}
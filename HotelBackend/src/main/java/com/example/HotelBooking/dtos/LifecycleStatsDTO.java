@@ -0,0 +1,31 @@
+package com.example.HotelBooking.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contadores do ciclo de vida das reservas: totais desde o início da aplicação e números da última execução.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LifecycleStatsDTO {
+
+    private long runs;
+    private long failures;
+    private long expired;
+    private long checkedOut;
+
+    private LocalDateTime lastRunAt;
+    private long lastRunMillis;
+    private int lastExpired;
+    private int lastCheckedOut;
+    private String lastError;
+}
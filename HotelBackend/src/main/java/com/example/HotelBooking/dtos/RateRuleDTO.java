@@ -0,0 +1,43 @@
+package com.example.HotelBooking.dtos;
+
+import com.example.HotelBooking.enums.RoomType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RateRuleDTO {
+
+    private Long id;
+
+    @NotBlank(message = "O nome da tarifa é obrigatório")
+    private String name;
+
+    private Long roomId;
+    private RoomType roomType;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "O preço da diária é obrigatório")
+    @DecimalMin(value = "0.1", message = "O preço da diária deve ser maior que zero")
+    private BigDecimal nightlyPrice;
+
+    private Integer priority;
+}
@@ -32,10 +32,30 @@ public class Response {
     // Saída de dados de reserva
     private BookingDTO booking;
     private List<BookingDTO> bookings;
+    private List<BookingUpdateResultDTO> bookingUpdates;
+    private BookingHoldDTO hold;
+    private WaitlistEntryDTO waitlistEntry;
+    private List<WaitlistEntryDTO> waitlistEntries;
 
     // Saída de dados dos quartos
     private RoomDTO room;
     private List<RoomDTO> rooms;
+    private List<RoomCalendarDTO> calendar;
+    private List<FlexibleStayDTO> flexibleStays;
+
+    // Tarifas
+    private QuoteDTO quote;
+    private RateRuleDTO rateRule;
+    private List<RateRuleDTO> rateRules;
+
+    // Estatísticas do painel administrativo
+    private List<DailyStatsDTO> dailyStats;
+    private List<DailyStatsDTO> statsSummary;
+
+    // Paginação
+    private Long totalElements;
+    private Integer totalPages;
+    private Long nextCursor; // id a ser enviado em "after" para buscar a próxima página; nulo na última
 
     // Saída de dados de pagamento
     private PaymentDTO payment;
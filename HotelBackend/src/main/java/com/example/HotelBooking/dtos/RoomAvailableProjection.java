@@ -11,5 +11,6 @@ public interface RoomAvailableProjection {
     Integer getCapacity();
     String getDescription();
     String getTitle();
+    String getImageKey();
 }
 
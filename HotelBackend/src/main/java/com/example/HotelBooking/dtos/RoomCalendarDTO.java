@@ -0,0 +1,30 @@
+package com.example.HotelBooking.dtos;
+
+import com.example.HotelBooking.enums.RoomType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoomCalendarDTO {
+
+    private Long roomId;
+    private Integer roomNumber;
+    private RoomType type;
+    private String title;
+
+    private LocalDate from;
+    private LocalDate to;
+
+    private List<LocalDate> occupiedDates; // noites ocupadas; o dia de saída de uma estadia pode ser a entrada de outra
+    private Integer freeDays;
+}
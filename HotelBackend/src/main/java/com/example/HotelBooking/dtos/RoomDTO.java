@@ -37,4 +37,6 @@ public class RoomDTO {
     private String title; // título para os quartos
 
     private String imageUrl;
+
+    private BigDecimal totalPrice; // total da estadia, preenchido apenas na busca por disponibilidade
 }
@@ -0,0 +1,11 @@
+package com.example.HotelBooking.dtos;
+
+import java.time.LocalDateTime;
+
+public interface RoomImageProjection {
+    Long getId();
+    String getImageKey();
+    String getImageContentType();
+    Long getImageSize();
+    LocalDateTime getImageUpdatedAt();
+}
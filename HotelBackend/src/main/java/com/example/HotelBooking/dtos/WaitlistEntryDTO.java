@@ -0,0 +1,30 @@
+package com.example.HotelBooking.dtos;
+
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.WaitlistStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WaitlistEntryDTO {
+
+    private Long id;
+    private RoomType roomType;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private WaitlistStatus status;
+    private LocalDateTime createdAt;
+    private Long offeredRoomId;
+    private Long holdId;
+    private LocalDateTime offeredAt;
+}
@@ -13,7 +13,16 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "ux_bookings_reference", columnList = "bookingReference", unique = true),
+        @Index(name = "idx_bookings_status_id", columnList = "bookingStatus, id"),
+        @Index(name = "idx_bookings_payment_status_id", columnList = "paymentStatus, id"),
+        @Index(name = "idx_bookings_dates", columnList = "checkInDate, checkOutDate"),
+        @Index(name = "idx_bookings_status_check_out", columnList = "bookingStatus, checkOutDate"),
+        @Index(name = "idx_bookings_status_created_at", columnList = "bookingStatus, createdAt"),
+        @Index(name = "idx_bookings_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_bookings_room_id", columnList = "room_id")
+})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,49 @@
+package com.example.HotelBooking.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cópia persistida de um bloqueio temporário de quarto enquanto o hóspede paga. A fonte das expirações
+ * é a roda de temporização em memória; a tabela serve para recuperar os bloqueios depois de um reinício
+ * e para a verificação de conflito em {@code createBooking}, que vale entre instâncias.
+ */
+@Entity
+@Data
+@Table(name = "booking_holds", indexes = {
+        @Index(name = "idx_booking_holds_room_dates", columnList = "roomId, checkInDate, checkOutDate"),
+        @Index(name = "idx_booking_holds_expires_at", columnList = "expiresAt")
+})
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Ids simples em vez de relacionamentos: o bloqueio é descartável e não deve impedir a exclusão do quarto
+    @Column(nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(nullable = false)
+    private LocalDate checkOutDate;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime createdAt;
+}
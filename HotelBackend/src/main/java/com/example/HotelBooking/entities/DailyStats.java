@@ -0,0 +1,48 @@
+package com.example.HotelBooking.entities;
+
+import com.example.HotelBooking.enums.RoomType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais pré-agregados de um dia por tipo de quarto, mantidos a cada alteração de reserva.
+ *
+ * Uma estadia conta nas noites [entrada, saída) enquanto não estiver cancelada; o valor total é
+ * dividido igualmente entre as noites. paidRevenue considera só reservas com pagamento concluído.
+ */
+@Entity
+@Data
+@Table(name = "daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_stats_day_type", columnNames = {"stat_date", "room_type"})
+})
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false)
+    private RoomType roomType;
+
+    @Column(nullable = false)
+    private int roomsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal roomRevenue;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal paidRevenue;
+}
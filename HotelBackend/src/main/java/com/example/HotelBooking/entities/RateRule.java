@@ -0,0 +1,58 @@
+package com.example.HotelBooking.entities;
+
+import com.example.HotelBooking.enums.RoomType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Tarifa por diária que substitui o preço base do quarto nas noites em que se aplica.
+ *
+ * Sem quarto nem tipo, vale para todos os quartos. Sem datas, vale o ano todo; sem dias da semana,
+ * vale todos os dias. Temporadas, fins de semana e feriados são regras com prioridades diferentes.
+ */
+@Entity
+@Data
+@Table(name = "rate_rules")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RateRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "O nome da tarifa é obrigatório")
+    private String name;
+
+    private Long roomId; // quarto específico (opcional)
+
+    @Enumerated(EnumType.STRING)
+    private RoomType roomType; // tipo de quarto (opcional)
+
+    private LocalDate startDate; // primeira noite, inclusive
+    private LocalDate endDate; // última noite, inclusive
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "rate_rule_days", joinColumns = @JoinColumn(name = "rate_rule_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "O preço da diária é obrigatório")
+    @DecimalMin(value = "0.1", message = "O preço da diária deve ser maior que zero")
+    private BigDecimal nightlyPrice;
+
+    private int priority; // maior prioridade vence quando mais de uma regra se aplica à mesma noite
+}
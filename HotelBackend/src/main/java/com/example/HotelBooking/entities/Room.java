@@ -12,6 +12,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Data
@@ -43,6 +44,14 @@ public class Room {
 
     private String title; // titulo para os quartos
 
+    // Imagem no ImageStorage, endereçada pelo SHA-256 do conteúdo
+    @JsonIgnore
+    private String imageKey;
+    private String imageContentType;
+    private Long imageSize;
+    private LocalDateTime imageUpdatedAt;
+
+    // Coluna antiga; é esvaziada pela migração RoomImageMigrationRunner e não recebe novas imagens
     @Lob
     @Basic(fetch = FetchType.LAZY)
     @JsonIgnore
@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_id", columnList = "role, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -0,0 +1,57 @@
+package com.example.HotelBooking.entities;
+
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Interesse de um hóspede num tipo de quarto para um período sem disponibilidade. Quando uma reserva é
+ * cancelada ou um bloqueio vence, a primeira entrada que cabe no quarto liberado recebe um bloqueio
+ * temporário em nome do hóspede ({@code holdId}) e passa a OFFERED.
+ */
+@Entity
+@Data
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_status_check_in", columnList = "status, checkInDate"),
+        @Index(name = "idx_waitlist_user_id", columnList = "userId, id")
+})
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Ids simples, como em BookingHold: a entrada não deve impedir a exclusão do usuário ou do quarto
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoomType roomType;
+
+    @Column(nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(nullable = false)
+    private LocalDate checkOutDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+
+    private LocalDateTime createdAt;
+
+    private Long offeredRoomId;
+    private Long holdId;
+    private LocalDateTime offeredAt;
+}
@@ -0,0 +1,65 @@
+package com.example.HotelBooking.events;
+
+import com.example.HotelBooking.entities.Booking;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Estado de uma reserva antes e depois de uma alteração já persistida.
+ * Os campos "previous" ficam nulos quando a reserva acabou de ser criada.
+ */
+@Value
+@Builder(toBuilder = true)
+public class BookingChange {
+
+    Long bookingId;
+    Long roomId;
+    Long userId;
+    String bookingReference;
+
+    LocalDate checkInDate;
+    LocalDate checkOutDate;
+    BigDecimal totalPrice;
+
+    BookingStatus previousBookingStatus;
+    BookingStatus bookingStatus;
+
+    PaymentStatus previousPaymentStatus;
+    PaymentStatus paymentStatus;
+
+    /**
+     * Monta a alteração a partir da reserva já gravada e dos status que ela tinha antes.
+     */
+    public static BookingChange of(Booking booking, BookingStatus previousBookingStatus, PaymentStatus previousPaymentStatus) {
+        return BookingChange.builder()
+                .bookingId(booking.getId())
+                .roomId(booking.getRoom() != null ? booking.getRoom().getId() : null)
+                .userId(booking.getUser() != null ? booking.getUser().getId() : null)
+                .bookingReference(booking.getBookingReference())
+                .checkInDate(booking.getCheckInDate())
+                .checkOutDate(booking.getCheckOutDate())
+                .totalPrice(booking.getTotalPrice())
+                .previousBookingStatus(previousBookingStatus)
+                .bookingStatus(booking.getBookingStatus())
+                .previousPaymentStatus(previousPaymentStatus)
+                .paymentStatus(booking.getPaymentStatus())
+                .build();
+    }
+
+    public boolean isCreated() {
+        return previousBookingStatus == null;
+    }
+
+    public boolean isBookingStatusChanged() {
+        return previousBookingStatus != bookingStatus;
+    }
+
+    public boolean isPaymentStatusChanged() {
+        return previousPaymentStatus != paymentStatus;
+    }
+}
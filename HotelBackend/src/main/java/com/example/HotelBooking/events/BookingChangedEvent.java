@@ -0,0 +1,19 @@
+package com.example.HotelBooking.events;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Publicado pelos serviços de reserva depois de gravar uma ou mais alterações.
+ * Os ouvintes usam {@code @TransactionalEventListener}; quase todos reagem somente após o commit.
+ */
+@Value
+public class BookingChangedEvent {
+
+    List<BookingChange> changes;
+
+    public static BookingChangedEvent of(BookingChange change) {
+        return new BookingChangedEvent(List.of(change));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.HotelBooking.events;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Publicado quando um bloqueio temporário é criado ou liberado (pelo hóspede ou ao virar reserva).
+ * {@code consumed} distingue a liberação que virou reserva, em que as noites continuam ocupadas.
+ * Expirações publicam {@link BookingHoldExpiredEvent}.
+ */
+@Value
+public class BookingHoldChangedEvent {
+
+    Long holdId;
+    Long roomId;
+    LocalDate checkInDate;
+    LocalDate checkOutDate;
+    LocalDateTime expiresAt;
+    boolean released;
+    boolean consumed;
+}
@@ -0,0 +1,18 @@
+package com.example.HotelBooking.events;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Publicado pela roda de temporização quando um bloqueio vence sem virar reserva. O quarto já saiu do
+ * índice de disponibilidade quando o evento é entregue.
+ */
+@Value
+public class BookingHoldExpiredEvent {
+
+    Long holdId;
+    Long roomId;
+    LocalDate checkInDate;
+    LocalDate checkOutDate;
+}
@@ -0,0 +1,13 @@
+package com.example.HotelBooking.events;
+
+import lombok.Value;
+
+/**
+ * Publicado quando o banco inteiro é substituído por um backup. Estruturas em memória montadas a partir
+ * do banco devem ser recarregadas por completo.
+ */
+@Value
+public class DatabaseRestoredEvent {
+
+    long rows;
+}
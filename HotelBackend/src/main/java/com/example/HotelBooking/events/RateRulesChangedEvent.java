@@ -0,0 +1,12 @@
+package com.example.HotelBooking.events;
+
+import lombok.Value;
+
+/**
+ * Publicado quando uma regra de tarifa é criada, alterada ou removida pelo administrador.
+ */
+@Value
+public class RateRulesChangedEvent {
+
+    Long ruleId;
+}
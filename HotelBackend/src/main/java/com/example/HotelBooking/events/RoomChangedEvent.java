@@ -0,0 +1,13 @@
+package com.example.HotelBooking.events;
+
+import lombok.Value;
+
+/**
+ * Publicado quando um quarto é criado, atualizado ou removido pelo administrador.
+ */
+@Value
+public class RoomChangedEvent {
+
+    Long roomId;
+    boolean deleted;
+}
@@ -0,0 +1,15 @@
+package com.example.HotelBooking.events;
+
+import com.example.HotelBooking.enums.RoomType;
+import lombok.Value;
+
+/**
+ * Publicado quando o administrador muda o tipo de um quarto, dentro da transação da alteração.
+ */
+@Value
+public class RoomTypeChangedEvent {
+
+    Long roomId;
+    RoomType previousType;
+    RoomType type;
+}
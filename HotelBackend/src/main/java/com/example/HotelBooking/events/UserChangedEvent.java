@@ -0,0 +1,14 @@
+package com.example.HotelBooking.events;
+
+import lombok.Value;
+
+/**
+ * Publicado quando o usuário altera ou exclui a própria conta. Nome, e-mail e telefone do hóspede
+ * aparecem nas reservas em cache.
+ */
+@Value
+public class UserChangedEvent {
+
+    Long userId;
+    boolean deleted;
+}
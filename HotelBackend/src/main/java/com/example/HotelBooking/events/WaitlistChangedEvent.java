@@ -0,0 +1,20 @@
+package com.example.HotelBooking.events;
+
+import com.example.HotelBooking.enums.RoomType;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Publicado quando um hóspede entra na lista de espera ou cancela a própria entrada.
+ */
+@Value
+public class WaitlistChangedEvent {
+
+    Long entryId;
+    Long userId;
+    RoomType roomType;
+    LocalDate checkInDate;
+    LocalDate checkOutDate;
+    boolean removed;
+}
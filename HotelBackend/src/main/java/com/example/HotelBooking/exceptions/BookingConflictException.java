@@ -0,0 +1,10 @@
+package com.example.HotelBooking.exceptions;
+
+/**
+ * O quarto já tem uma estadia ativa em alguma noite do período pedido (HTTP 409).
+ */
+public class BookingConflictException extends InvalidBookingStateAndDateException {
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.HotelBooking.exceptions;
+
+public class InvalidImageException extends RuntimeException {
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.HotelBooking.export;
+
+import com.example.HotelBooking.dtos.BookingHistoryProjection;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Escreve reservas, uma a uma, no formato pedido. Nada é acumulado além do buffer do {@link Writer}:
+ * a memória usada não depende da quantidade de linhas exportadas.
+ *
+ * As colunas são as mesmas nos dois formatos. Datas saem em ISO-8601 e valores como texto decimal.
+ * O stream recebido não é fechado; quem o criou (ex.: o GZIP da resposta) decide quando terminá-lo.
+ */
+public final class BookingExportWriter implements Flushable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", BookingHistoryProjection::getId),
+            new Column("bookingReference", BookingHistoryProjection::getBookingReference),
+            new Column("bookingStatus", BookingHistoryProjection::getBookingStatus),
+            new Column("paymentStatus", BookingHistoryProjection::getPaymentStatus),
+            new Column("checkInDate", BookingHistoryProjection::getCheckInDate),
+            new Column("checkOutDate", BookingHistoryProjection::getCheckOutDate),
+            new Column("totalPrice", BookingHistoryProjection::getTotalPrice),
+            new Column("createdAt", BookingHistoryProjection::getCreatedAt),
+            new Column("roomId", BookingHistoryProjection::getRoomId),
+            new Column("roomNumber", BookingHistoryProjection::getRoomNumber),
+            new Column("roomType", BookingHistoryProjection::getRoomType),
+            new Column("userId", BookingHistoryProjection::getUserId),
+            new Column("userEmail", BookingHistoryProjection::getUserEmail),
+            new Column("userFirstName", BookingHistoryProjection::getUserFirstName),
+            new Column("userLastName", BookingHistoryProjection::getUserLastName),
+            new Column("userPhoneNumber", BookingHistoryProjection::getUserPhoneNumber));
+
+    private final Writer writer;
+    private final JsonGenerator json;
+    private long rows;
+
+    public BookingExportWriter(ExportFormat format, OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.NDJSON) {
+            this.json = JSON_FACTORY.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.json.setRootValueSeparator(null);
+        } else {
+            this.json = null;
+            writeCsvHeader();
+        }
+    }
+
+    public void write(BookingHistoryProjection booking) throws IOException {
+        if (json != null) {
+            writeJson(booking);
+        } else {
+            writeCsv(booking);
+        }
+        rows++;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeJson(BookingHistoryProjection booking) throws IOException {
+        json.writeStartObject();
+        for (Column column : COLUMNS) {
+            Object value = column.value().apply(booking);
+            json.writeFieldName(column.name());
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof Number number) {
+                json.writeNumber(number.toString());
+            } else {
+                json.writeString(value.toString());
+            }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeCsvHeader() throws IOException {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(COLUMNS.get(i).name());
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsv(BookingHistoryProjection booking) throws IOException {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = COLUMNS.get(i).value().apply(booking);
+            if (value != null) {
+                writeCsvField(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: campos com vírgula, aspas ou quebra de linha vão entre aspas, com aspas internas duplicadas
+    private void writeCsvField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private record Column(String name, Function<BookingHistoryProjection, Object> value) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.HotelBooking.export;
+
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+
+import java.util.Locale;
+
+/**
+ * Formatos da exportação de reservas: NDJSON (um objeto JSON por linha) ou CSV com cabeçalho.
+ */
+public enum ExportFormat {
+
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String param;
+    private final String contentType;
+
+    ExportFormat(String param, String contentType) {
+        this.param = param;
+        this.contentType = contentType;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Converte o parâmetro {@code ?format=} da URL; nulo significa NDJSON.
+     */
+    public static ExportFormat fromParam(String format) {
+        if (format == null || format.isBlank()) {
+            return NDJSON;
+        }
+        String normalized = format.trim().toLowerCase(Locale.ROOT);
+        for (ExportFormat value : values()) {
+            if (value.param.equals(normalized)) {
+                return value;
+            }
+        }
+        throw new InvalidBookingStateAndDateException("Formato de exportação inválido: " + format);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.HotelBooking.history;
+
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.events.UserChangedEvent;
+import com.example.HotelBooking.mappers.BookingHistoryMapper;
+import com.example.HotelBooking.repositories.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Histórico de reservas de cada usuário, mantido em cache e identificado por uma versão.
+ *
+ * A versão do usuário avança quando uma reserva ou pagamento dele muda, ou quando ele altera a conta; a
+ * época avança quando todos os históricos ficam inválidos (quarto alterado, restauração do banco). O ETag
+ * junta as duas, e a época começa no horário de inicialização para que ETags emitidos antes de um restart
+ * não sejam aceitos.
+ *
+ * Versão e época são desta instância e só avançam com eventos locais. Por isso o cache expira
+ * ({@code cache.booking-history.expire-after-write}) e o ETag só se repete enquanto o histórico está em
+ * cache: alterações feitas em outra instância aparecem aqui, e deixam de receber 304, depois desse prazo.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingHistoryView {
+
+    private final BoundedCache<Long, List<BookingDTO>> bookingHistoryCache;
+    private final BookingRepository bookingRepository;
+
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * ETag atual do histórico do usuário, calculado sem consultar o banco. Deve ser lido antes de
+     * {@link #get}: se o histórico mudar no meio, o cliente recebe um ETag já vencido e recarrega na
+     * próxima vez, em vez de guardar dados antigos com um ETag novo.
+     */
+    public String etag(Long userId) {
+        if (bookingHistoryCache.getIfPresent(userId) == null) {
+            // Sem histórico em cache (expirado ou nunca carregado) o próximo será lido do banco: ETag novo
+            versions.merge(userId, 1L, Long::sum);
+        }
+        return "\"h" + userId + "-" + Long.toString(epoch.get(), 36) + "-" + versions.getOrDefault(userId, 0L) + "\"";
+    }
+
+    public List<BookingDTO> get(Long userId) {
+        return bookingHistoryCache.getOrLoad(userId, () -> bookingRepository.findBookingHistoryByUserId(userId)
+                .stream()
+                .map(BookingHistoryMapper::toDTO)
+                .toList());
+    }
+
+    public void invalidate(Long userId) {
+        versions.merge(userId, 1L, Long::sum);
+        bookingHistoryCache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        versions.clear();
+        bookingHistoryCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (BookingChange change : event.getChanges()) {
+            if (change.getUserId() == null) {
+                invalidateAll();
+                return;
+            }
+            userIds.add(change.getUserId());
+        }
+        userIds.forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // nome, e-mail e telefone do hóspede aparecem no histórico
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        // número, título e imagem do quarto aparecem em cada item do histórico
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        invalidateAll();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.HotelBooking.holds;
+
+import com.example.HotelBooking.availability.AvailabilityKey;
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.entities.BookingHold;
+import com.example.HotelBooking.events.BookingHoldChangedEvent;
+import com.example.HotelBooking.events.BookingHoldExpiredEvent;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bloqueios temporários ativos desta instância, com o prazo de cada um numa {@link HashedTimerWheel}.
+ *
+ * Criar e liberar um bloqueio atualiza o {@link RoomAvailabilityIndex} (a busca deixa de oferecer o quarto)
+ * e remove do cache só as buscas que dividem alguma noite com ele. A cada tick, os bloqueios vencidos saem
+ * da roda em O(1) cada e a linha espelho é apagada pela chave primária, sem varrer tabelas. Na inicialização
+ * ({@link #reload()}) os bloqueios ainda válidos são recuperados da tabela {@code booking_holds}.
+ */
+@Component
+@Slf4j
+public class BookingHoldRegistry {
+
+    static final int WHEEL_SIZE = 512;
+
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final BoundedCache<AvailabilityKey, List<IndexedRoom>> availabilityCache;
+    private final BookingHoldRepository bookingHoldRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HashedTimerWheel<Hold> wheel;
+    private final ConcurrentHashMap<Long, HashedTimerWheel.Timeout<Hold>> active = new ConcurrentHashMap<>();
+
+    public BookingHoldRegistry(RoomAvailabilityIndex roomAvailabilityIndex,
+                               BoundedCache<AvailabilityKey, List<IndexedRoom>> availabilityCache,
+                               BookingHoldRepository bookingHoldRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${booking.hold.tick:PT1S}") Duration tick) {
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.availabilityCache = availabilityCache;
+        this.bookingHoldRepository = bookingHoldRepository;
+        this.eventPublisher = eventPublisher;
+        this.wheel = new HashedTimerWheel<>(tick.toMillis(), WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /**
+     * Apaga as linhas vencidas e registra as demais (recuperação depois de reinício).
+     */
+    @Transactional
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = bookingHoldRepository.deleteExpired(now);
+        List<BookingHold> holds = bookingHoldRepository.findByExpiresAtAfter(now);
+        holds.forEach(hold -> register(new Hold(hold.getId(), hold.getRoomId(), hold.getCheckInDate(),
+                hold.getCheckOutDate()), hold.getExpiresAt()));
+        log.info("Bloqueios temporários recuperados: {} ativos, {} vencidos removidos", holds.size(), removed);
+    }
+
+    // Antes dos demais ouvintes: a lista de espera confere a liberação no RoomAvailabilityIndex
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldChanged(BookingHoldChangedEvent event) {
+        Hold hold = new Hold(event.getHoldId(), event.getRoomId(), event.getCheckInDate(), event.getCheckOutDate());
+        if (event.isReleased()) {
+            release(hold);
+        } else {
+            register(hold, event.getExpiresAt());
+        }
+    }
+
+    // As linhas saem junto com o quarto (RoomServiceImpl.deleteRoom); aqui só os prazos pendentes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (!event.isDeleted()) {
+            return;
+        }
+        active.values().removeIf(timeout -> {
+            if (!timeout.getValue().roomId().equals(event.getRoomId())) {
+                return false;
+            }
+            wheel.cancel(timeout);
+            return true;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        // Os bloqueios apontam para quartos do banco anterior; as linhas já foram apagadas pela restauração
+        active.values().forEach(wheel::cancel);
+        active.clear();
+        roomAvailabilityIndex.clearHolds();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.tick:PT1S}")
+    public void expireDue() {
+        expireDue(System.currentTimeMillis());
+    }
+
+    int expireDue(long nowMillis) {
+        return wheel.advance(nowMillis, this::expire);
+    }
+
+    public int activeHolds() {
+        return active.size();
+    }
+
+    private void register(Hold hold, LocalDateTime expiresAt) {
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        HashedTimerWheel.Timeout<Hold> previous = active.put(hold.id(), wheel.schedule(hold, deadline));
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+        roomAvailabilityIndex.addHold(hold.id(), hold.roomId(), hold.checkInDate(), hold.checkOutDate());
+        invalidate(hold);
+    }
+
+    private void release(Hold hold) {
+        HashedTimerWheel.Timeout<Hold> timeout = active.remove(hold.id());
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+        roomAvailabilityIndex.removeHold(hold.id(), hold.roomId());
+        invalidate(hold);
+    }
+
+    private void expire(Hold hold) {
+        if (active.remove(hold.id()) == null) {
+            return;
+        }
+        roomAvailabilityIndex.removeHold(hold.id(), hold.roomId());
+        invalidate(hold);
+        try {
+            bookingHoldRepository.deleteById(hold.id());
+        } catch (RuntimeException e) {
+            // A linha vencida não bloqueia mais nada (expiresAt é conferido) e sai no próximo reload
+            log.warn("Não foi possível apagar o bloqueio {} vencido: {}", hold.id(), e.getMessage());
+        }
+        eventPublisher.publishEvent(new BookingHoldExpiredEvent(hold.id(), hold.roomId(), hold.checkInDate(), hold.checkOutDate()));
+    }
+
+    private void invalidate(Hold hold) {
+        availabilityCache.invalidateIf(key -> key.overlaps(hold.checkInDate(), hold.checkOutDate()));
+    }
+
+    record Hold(long id, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+}
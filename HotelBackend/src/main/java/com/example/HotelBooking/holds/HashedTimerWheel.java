@@ -0,0 +1,167 @@
+package com.example.HotelBooking.holds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Roda de temporização com hash (hashed timing wheel): cada prazo cai no balde
+ * {@code (tick do prazo) & (wheelSize - 1)} e guarda quantas voltas completas ainda faltam.
+ *
+ * Agendar e cancelar custam O(1) (lista duplamente ligada por balde). {@link #advance} percorre só os
+ * baldes dos ticks que passaram, expirando cada item em O(1), sem varrer todos os prazos pendentes.
+ * A precisão é de um tick: um item pode expirar até {@code tickMillis} depois do prazo, nunca antes.
+ * Os métodos são sincronizados; o consumidor de {@link #advance} roda fora do lock.
+ */
+public class HashedTimerWheel<T> {
+
+    private final long tickMillis;
+    private final Bucket<T>[] wheel;
+    private final int mask;
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis deve ser positivo");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize deve ser potência de 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = wheelSize - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Agenda {@code value} para expirar em {@code deadlineMillis}. Prazos já vencidos expiram no próximo tick.
+     */
+    public synchronized Timeout<T> schedule(T value, long deadlineMillis) {
+        // Arredonda para cima: o item nunca expira antes do prazo
+        long deadlineTick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        long ticksAhead = deadlineTick - currentTick;
+        Timeout<T> timeout = new Timeout<>(value, deadlineMillis, (ticksAhead - 1) / wheel.length);
+        wheel[(int) (deadlineTick & mask)].add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Remove o item antes do prazo. Retorna false se ele já expirou ou foi cancelado.
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Avança a roda até {@code nowMillis}, entregando a {@code onExpired} os itens vencidos.
+     *
+     * @return quantidade de itens expirados
+     */
+    public int advance(long nowMillis, Consumer<T> onExpired) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = nowMillis / tickMillis;
+            // Mais de uma volta atrasada: uma volta completa já visita todos os baldes
+            long firstTick = Math.max(currentTick + 1, targetTick - wheel.length + 1);
+            long skipped = firstTick - currentTick - 1;
+            for (long tick = firstTick; tick <= targetTick; tick++) {
+                collect(wheel[(int) (tick & mask)], expired, skipped + (tick - firstTick));
+            }
+            currentTick = Math.max(currentTick, targetTick);
+        }
+        expired.forEach(onExpired);
+        return expired.size();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void collect(Bucket<T> bucket, List<T> expired, long ticksSkipped) {
+        long roundsSkipped = ticksSkipped / wheel.length;
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.remainingRounds -= roundsSkipped;
+            if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                size--;
+                expired.add(timeout.value);
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Item agendado; use em {@link #cancel(Timeout)}.
+     */
+    public static final class Timeout<T> {
+        private final T value;
+        private final long deadlineMillis;
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineMillis, long remainingRounds) {
+            this.value = value;
+            this.deadlineMillis = deadlineMillis;
+            this.remainingRounds = remainingRounds;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.HotelBooking.lifecycle;
+
+import com.example.HotelBooking.dtos.LifecycleStatsDTO;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transições automáticas de status das reservas, executadas em lotes pelo {@link BookingLifecycleScheduler}.
+ *
+ * <ul>
+ *     <li>reservas BOOKED sem pagamento concluído, criadas há mais de {@code booking.lifecycle.unpaid-timeout},
+ *     são canceladas e liberam o quarto;</li>
+ *     <li>estadias com saída já passada (CHECKED_IN, ou BOOKED e pagas) vão para CHECKED_OUT.</li>
+ * </ul>
+ *
+ * Cada lote roda numa transação curta: seleciona até {@code batch-size} linhas com
+ * {@code FOR UPDATE SKIP LOCKED} pelos índices de status, atualiza todas num único UPDATE por id e publica
+ * um {@link BookingChangedEvent} para os índices e estatísticas. Várias instâncias podem rodar ao mesmo
+ * tempo: cada uma pula as linhas travadas pelas outras. O UPDATE não confere o status de novo: as linhas
+ * ficam travadas pelo {@code FOR UPDATE} até o commit, e quem mais altera o status (pagamento, atualização
+ * em lote) trava a mesma linha antes de ler.
+ */
+@Component
+@Slf4j
+public class BookingLifecycleEngine {
+
+    private static final String COLUMNS = "id, room_id, user_id, booking_reference, check_in_date, check_out_date, "
+            + "total_price, booking_status, payment_status";
+
+    private static final String SELECT_UNPAID = "SELECT " + COLUMNS + " FROM bookings"
+            + " WHERE (booking_status = 'BOOKED' OR booking_status IS NULL)"
+            + " AND created_at < ?"
+            + " AND (payment_status IS NULL OR payment_status IN ('PENDING', 'FAILED'))"
+            + " ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+
+    private static final String SELECT_PAST_CHECK_OUT = "SELECT " + COLUMNS + " FROM bookings"
+            + " WHERE (booking_status IN ('BOOKED', 'CHECKED_IN') OR booking_status IS NULL)"
+            + " AND check_out_date < ?"
+            + " AND (booking_status = 'CHECKED_IN' OR payment_status = 'COMPLETED')"
+            + " ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+
+    private static final RowMapper<BookingChange> ROW_MAPPER = (rs, rowNum) -> {
+        Date checkIn = rs.getDate("check_in_date");
+        Date checkOut = rs.getDate("check_out_date");
+        String bookingStatus = rs.getString("booking_status");
+        String paymentStatus = rs.getString("payment_status");
+        return BookingChange.builder()
+                .bookingId(rs.getLong("id"))
+                .roomId(rs.getLong("room_id"))
+                .userId(rs.getLong("user_id"))
+                .bookingReference(rs.getString("booking_reference"))
+                .checkInDate(checkIn != null ? checkIn.toLocalDate() : null)
+                .checkOutDate(checkOut != null ? checkOut.toLocalDate() : null)
+                .totalPrice(rs.getBigDecimal("total_price"))
+                // Mesma regra da listagem: sem status conta como BOOKED/PENDING
+                .previousBookingStatus(bookingStatus != null ? BookingStatus.valueOf(bookingStatus) : BookingStatus.BOOKED)
+                .previousPaymentStatus(paymentStatus != null ? PaymentStatus.valueOf(paymentStatus) : PaymentStatus.PENDING)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration unpaidTimeout;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder checkedOut = new LongAdder();
+    private final AtomicReference<LifecycleStatsDTO> lastRun = new AtomicReference<>();
+
+    public BookingLifecycleEngine(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${booking.lifecycle.unpaid-timeout:PT2H}") Duration unpaidTimeout,
+                                  @Value("${booking.lifecycle.batch-size:500}") int batchSize,
+                                  @Value("${booking.lifecycle.max-batches:20}") int maxBatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.unpaidTimeout = unpaidTimeout;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Executa as duas transições até esgotar as linhas elegíveis ou atingir {@code max-batches} lotes de cada.
+     */
+    public LifecycleStatsDTO runOnce() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int expiredNow = drain(SELECT_UNPAID, Timestamp.valueOf(now.minus(unpaidTimeout)), BookingStatus.CANCELLED);
+            int checkedOutNow = drain(SELECT_PAST_CHECK_OUT, Date.valueOf(LocalDate.now()), BookingStatus.CHECKED_OUT);
+            expired.add(expiredNow);
+            checkedOut.add(checkedOutNow);
+
+            LifecycleStatsDTO result = LifecycleStatsDTO.builder()
+                    .lastRunAt(now)
+                    .lastRunMillis(System.currentTimeMillis() - startedAt)
+                    .lastExpired(expiredNow)
+                    .lastCheckedOut(checkedOutNow)
+                    .build();
+            lastRun.set(result);
+            if (expiredNow > 0 || checkedOutNow > 0) {
+                log.info("Ciclo de vida das reservas: {} canceladas por falta de pagamento, {} com check-out em {} ms",
+                        expiredNow, checkedOutNow, result.getLastRunMillis());
+            }
+            return result;
+        } catch (RuntimeException e) {
+            failures.increment();
+            lastRun.set(LifecycleStatsDTO.builder()
+                    .lastRunAt(now)
+                    .lastRunMillis(System.currentTimeMillis() - startedAt)
+                    .lastError(e.getMessage())
+                    .build());
+            throw e;
+        } finally {
+            runs.increment();
+        }
+    }
+
+    public LifecycleStatsDTO stats() {
+        LifecycleStatsDTO last = lastRun.get();
+        return LifecycleStatsDTO.builder()
+                .runs(runs.sum())
+                .failures(failures.sum())
+                .expired(expired.sum())
+                .checkedOut(checkedOut.sum())
+                .lastRunAt(last != null ? last.getLastRunAt() : null)
+                .lastRunMillis(last != null ? last.getLastRunMillis() : 0)
+                .lastExpired(last != null ? last.getLastExpired() : 0)
+                .lastCheckedOut(last != null ? last.getLastCheckedOut() : 0)
+                .lastError(last != null ? last.getLastError() : null)
+                .build();
+    }
+
+    private int drain(String select, Object cutoff, BookingStatus target) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer updated = transactionTemplate.execute(status -> applyBatch(select, cutoff, target));
+            total += updated != null ? updated : 0;
+            if (updated == null || updated < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int applyBatch(String select, Object cutoff, BookingStatus target) {
+        List<BookingChange> rows = jdbcTemplate.query(select, ROW_MAPPER, cutoff, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Object[] args = new Object[rows.size() + 1];
+        args[0] = target.name();
+        for (int i = 0; i < rows.size(); i++) {
+            args[i + 1] = rows.get(i).getBookingId();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(rows.size(), "?"));
+        int updated = jdbcTemplate.update("UPDATE bookings SET booking_status = ? WHERE id IN (" + placeholders + ")", args);
+
+        List<BookingChange> changes = rows.stream()
+                .map(row -> row.toBuilder().bookingStatus(target).paymentStatus(row.getPreviousPaymentStatus()).build())
+                .toList();
+        eventPublisher.publishEvent(new BookingChangedEvent(changes));
+        return updated;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.HotelBooking.lifecycle;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dispara o {@link BookingLifecycleEngine} periodicamente. Desligado por padrão: só é criado com
+ * {@code booking.lifecycle.enabled=true}, porque cancela reservas ainda não pagas após o prazo.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "booking.lifecycle.enabled", havingValue = "true")
+public class BookingLifecycleScheduler {
+
+    private final BookingLifecycleEngine engine;
+
+    @Scheduled(initialDelayString = "${booking.lifecycle.initial-delay:PT1M}",
+            fixedDelayString = "${booking.lifecycle.interval:PT5M}")
+    public void run() {
+        try {
+            engine.runOnce();
+        } catch (RuntimeException e) {
+            // A próxima execução tenta de novo; os contadores registram a falha
+            log.error("Falha no ciclo de vida das reservas: {}", e.getMessage(), e);
+        }
+    }
+}
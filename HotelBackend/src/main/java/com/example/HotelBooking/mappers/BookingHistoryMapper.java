@@ -0,0 +1,46 @@
+package com.example.HotelBooking.mappers;
+
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.BookingHistoryProjection;
+import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.dtos.UserDTO;
+import com.example.HotelBooking.storage.ImageUrls;
+
+/**
+ * Converte a projeção de histórico de reservas (sem imageData e sem carregar entidades) em {@link BookingDTO}.
+ */
+public final class BookingHistoryMapper {
+
+    private BookingHistoryMapper() {
+    }
+
+    public static BookingDTO toDTO(BookingHistoryProjection p) {
+        return BookingDTO.builder()
+                .id(p.getId())
+                .checkInDate(p.getCheckInDate())
+                .checkOutDate(p.getCheckOutDate())
+                .totalPrice(p.getTotalPrice())
+                .bookingReference(p.getBookingReference())
+                .createdAt(p.getCreatedAt())
+                .bookingStatus(p.getBookingStatus())
+                .paymentStatus(p.getPaymentStatus())
+                .user(UserDTO.builder()
+                        .id(p.getUserId())
+                        .email(p.getUserEmail())
+                        .firstName(p.getUserFirstName())
+                        .lastName(p.getUserLastName())
+                        .phoneNumber(p.getUserPhoneNumber())
+                        .build())
+                .room(RoomDTO.builder()
+                        .id(p.getRoomId())
+                        .roomNumber(p.getRoomNumber())
+                        .type(p.getRoomType())
+                        .pricePerNight(p.getRoomPricePerNight())
+                        .capacity(p.getRoomCapacity())
+                        .description(p.getRoomDescription())
+                        .title(p.getRoomTitle())
+                        .imageUrl(ImageUrls.roomImage(p.getRoomId(), p.getRoomImageKey()))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.HotelBooking.mappers;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.dtos.RoomAvailableProjection;
+import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.storage.ImageUrls;
+
+/**
+ * Conversões de quarto escritas à mão, usadas no lugar do ModelMapper em todas as listagens.
+ *
+ * As leituras partem sempre de projeções ({@link RoomAvailableProjection}/{@link IndexedRoom}), que não
+ * trazem a coluna image_data, e cada conversão é apenas uma chamada ao builder, sem reflexão por linha.
+ */
+public final class RoomMapper {
+
+    private RoomMapper() {
+    }
+
+    public static RoomDTO toDTO(IndexedRoom room) {
+        return RoomDTO.builder()
+                .id(room.getId())
+                .roomNumber(room.getRoomNumber())
+                .type(room.getType())
+                .pricePerNight(room.getPricePerNight())
+                .capacity(room.getCapacity())
+                .description(room.getDescription())
+                .title(room.getTitle())
+                .imageUrl(ImageUrls.roomImage(room.getId(), room.getImageKey()))
+                .build();
+    }
+
+    public static RoomDTO toDTO(RoomAvailableProjection room) {
+        return RoomDTO.builder()
+                .id(room.getId())
+                .roomNumber(room.getRoomNumber())
+                .type(room.getType())
+                .pricePerNight(room.getPricePerNight())
+                .capacity(room.getCapacity())
+                .description(room.getDescription())
+                .title(room.getTitle())
+                .imageUrl(ImageUrls.roomImage(room.getId(), room.getImageKey()))
+                .build();
+    }
+
+    /**
+     * Novo quarto a partir do formulário. O id não é copiado, para que um cadastro nunca sobrescreva
+     * um quarto existente; a imagem é tratada à parte pelo serviço.
+     */
+    public static Room toNewEntity(RoomDTO dto) {
+        return Room.builder()
+                .roomNumber(dto.getRoomNumber())
+                .type(dto.getType())
+                .pricePerNight(dto.getPricePerNight())
+                .capacity(dto.getCapacity())
+                .description(dto.getDescription())
+                .title(dto.getTitle())
+                .build();
+    }
+}
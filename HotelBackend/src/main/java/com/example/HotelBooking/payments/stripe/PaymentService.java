@@ -4,13 +4,19 @@ package com.example.HotelBooking.payments.stripe;
 import com.example.HotelBooking.dtos.NotificationDTO;
 import com.example.HotelBooking.entities.Booking;
 import com.example.HotelBooking.entities.PaymentEntity;
+import com.example.HotelBooking.enums.BookingStatus;
 import com.example.HotelBooking.enums.NotificationType;
 import com.example.HotelBooking.enums.PaymentGateway;
 import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
 import com.example.HotelBooking.exceptions.NotFoundException;
 import com.example.HotelBooking.payments.stripe.dto.PaymentRequest;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
 import com.example.HotelBooking.repositories.BookingRepository;
 import com.example.HotelBooking.repositories.PaymentRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
 import com.example.HotelBooking.services.NotificationService;
 import com.stripe.Stripe;
 import com.stripe.model.PaymentIntent;
@@ -18,9 +24,11 @@ import com.stripe.param.PaymentIntentCreateParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Service
@@ -30,7 +38,12 @@ public class PaymentService {
 
     private final BookingRepository bookingRepository;
     private final PaymentRepository paymentRepository;
+    private final RoomRepository roomRepository;
+    private final BookingHoldRepository bookingHoldRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    static final String REFUND_REASON = "Reserva cancelada antes da confirmação do pagamento: estorno pendente";
 
     @Value("${stripe.api.secret.key}")
     private String secreteKey;
@@ -52,6 +65,10 @@ public class PaymentService {
         if (bookingProjection.getPaymentStatus() == PaymentStatus.COMPLETED) {
             throw new NotFoundException("Pagamento já efetuado para esta reserva");
         }
+        if (bookingProjection.getBookingStatus() == BookingStatus.CANCELLED) {
+            // Inclui reservas expiradas por falta de pagamento (BookingLifecycleEngine)
+            throw new InvalidBookingStateAndDateException("Reserva cancelada, faça uma nova reserva");
+        }
 
         try{
             PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
@@ -76,8 +93,13 @@ public class PaymentService {
                 throw new IllegalArgumentException("Referência da reserva é obrigatória");
             }
 
-            Booking booking = bookingRepository.findByBookingReference(bookingReference)
+            // Travada até o commit: um cancelamento (manual ou por falta de pagamento) não se perde entre a
+            // leitura e a gravação, e um cancelamento já gravado é visto aqui
+            Booking booking = bookingRepository.lockByBookingReference(bookingReference)
                     .orElseThrow(() -> new NotFoundException("Reserva não encontrada: " + bookingReference));
+            // Reservas antigas sem status são tratadas como BOOKED/PENDING, igual à listagem
+            BookingStatus bookingStatus = booking.getBookingStatus() != null ? booking.getBookingStatus() : BookingStatus.BOOKED;
+            PaymentStatus previousPaymentStatus = booking.getPaymentStatus() != null ? booking.getPaymentStatus() : PaymentStatus.PENDING;
 
             PaymentEntity payment = new PaymentEntity();
             payment.setPaymentGateway(PaymentGateway.STRIPE);
@@ -92,6 +114,18 @@ public class PaymentService {
                 payment.setFailureReason(paymentRequest.getFailureReason());
             }
 
+            // Confirmação da Stripe para reserva já cancelada (ex.: expirou antes do pagamento): volta a BOOKED
+            // se o quarto ainda estiver livre; senão continua cancelada e o pagamento fica marcado para estorno
+            boolean refundPending = false;
+            if (paymentRequest.isSuccess() && bookingStatus == BookingStatus.CANCELLED) {
+                if (canRestore(booking)) {
+                    booking.setBookingStatus(BookingStatus.BOOKED);
+                } else {
+                    refundPending = true;
+                    payment.setFailureReason(REFUND_REASON);
+                }
+            }
+
             paymentRepository.save(payment);
 
             NotificationDTO notificationDTO = NotificationDTO.builder()
@@ -100,9 +134,35 @@ public class PaymentService {
                     .bookingReference(bookingReference)
                     .build();
 
-            if (paymentRequest.isSuccess()) {
+            if (refundPending) {
+                booking.setPaymentStatus(PaymentStatus.COMPLETED);
+                bookingRepository.save(booking);
+                eventPublisher.publishEvent(BookingChangedEvent.of(BookingChange.of(booking, bookingStatus, previousPaymentStatus)));
+                log.warn("Pagamento {} recebido para a reserva cancelada {}: estorno pendente",
+                        paymentRequest.getTransactionId(), bookingReference);
+
+                notificationDTO.setSubject("Reserva cancelada: pagamento será estornado | Quinta do Ypuã");
+                notificationDTO.setBody(String.format(
+                    "Prezado(a) %s,\n\n" +
+                    "Recebemos o pagamento da reserva %s, mas ela já havia sido cancelada e o quarto não está mais disponível nessas datas.\n" +
+                    "O valor de R$ %.2f será estornado na forma de pagamento utilizada.\n\n" +
+                    "Se ainda desejar se hospedar conosco, faça uma nova reserva ou entre em contato.\n\n" +
+                    "Atenciosamente,\n" +
+                    "Equipe Quinta do Ypuã",
+                    booking.getUser().getFirstName(),
+                    bookingReference,
+                    payment.getAmount()
+                ));
+
+                try {
+                    notificationService.sendEmail(notificationDTO);
+                } catch (Exception e) {
+                    log.error("Erro ao enviar email de estorno");
+                }
+            } else if (paymentRequest.isSuccess()) {
                 booking.setPaymentStatus(PaymentStatus.COMPLETED);
                 bookingRepository.save(booking);
+                eventPublisher.publishEvent(BookingChangedEvent.of(BookingChange.of(booking, bookingStatus, previousPaymentStatus)));
 
                 StringBuilder messageBuilder = new StringBuilder();
                 messageBuilder.append(String.format("Prezado(a) %s,\n\n", booking.getUser().getFirstName()));
@@ -137,6 +197,7 @@ public class PaymentService {
             } else {
                 booking.setPaymentStatus(PaymentStatus.FAILED);
                 bookingRepository.save(booking);
+                eventPublisher.publishEvent(BookingChangedEvent.of(BookingChange.of(booking, bookingStatus, previousPaymentStatus)));
 
                 notificationDTO.setSubject("Falha no pagamento da reserva");
                 notificationDTO.setBody(String.format(
@@ -160,5 +221,17 @@ public class PaymentService {
             throw new RuntimeException("Erro ao processar pagamento: " + e.getMessage());
         }
     }
+
+    // Mesma conferência da criação da reserva, sob a trava do quarto: noites livres e sem bloqueio de outro checkout
+    private boolean canRestore(Booking booking) {
+        if (booking.getCheckInDate().isBefore(LocalDate.now())) {
+            return false;
+        }
+        Long roomId = booking.getRoom().getId();
+        roomRepository.lockById(roomId);
+        return bookingRepository.isRoomAvailable(roomId, booking.getCheckInDate(), booking.getCheckOutDate())
+                && !bookingHoldRepository.existsConflictingHold(roomId, booking.getCheckInDate(),
+                        booking.getCheckOutDate(), LocalDateTime.now(), null);
+    }
 }
 
@@ -0,0 +1,181 @@
+package com.example.HotelBooking.pricing;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.entities.RateRule;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RateRulesChangedEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.repositories.RateRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Calcula o valor das estadias a partir do preço base dos quartos e das {@link RateRule}s.
+ *
+ * Cada quarto ganha, na primeira cotação, um {@link RoomRateCalendar} com as diárias de hoje até
+ * {@code pricing.horizon-days}; a partir daí qualquer cotação dentro do horizonte custa uma subtração.
+ * Estadias fora do horizonte são somadas noite a noite com as mesmas regras. Alterar as regras descarta
+ * todos os calendários; alterar o preço ou o tipo de um quarto descarta apenas o dele.
+ *
+ * Os eventos só chegam à instância que fez a alteração: as demais recarregam as regras a cada
+ * {@code pricing.refresh-interval}, o que limita por quanto tempo cobram uma tarifa antiga.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PricingEngine {
+
+    // Maior prioridade primeiro; no empate, regra de um quarto vence regra de tipo, que vence regra geral
+    private static final Comparator<RateRule> PRECEDENCE = Comparator
+            .comparingInt(RateRule::getPriority).reversed()
+            .thenComparing(Comparator.comparingInt(PricingEngine::specificity).reversed())
+            .thenComparing(RateRule::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final RateRuleRepository rateRuleRepository;
+
+    @Value("${pricing.horizon-days:730}")
+    private int horizonDays = 730;
+
+    @Value("${pricing.refresh-interval:PT1M}")
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile State state;
+
+    public void reload() {
+        List<RateRule> rules = rateRuleRepository.findAll().stream().sorted(PRECEDENCE).toList();
+        state = new State(LocalDate.now().toEpochDay(), System.nanoTime(), rules);
+        log.info("Tarifas carregadas: {} regras", rules.size());
+    }
+
+    /**
+     * Valor total das noites de [checkInDate, checkOutDate) para o quarto informado.
+     */
+    public BigDecimal quote(IndexedRoom room, LocalDate checkInDate, LocalDate checkOutDate) {
+        long fromDay = checkInDate.toEpochDay();
+        long toDay = checkOutDate.toEpochDay();
+        if (toDay <= fromDay) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        State current = currentState();
+        RoomRateCalendar calendar = current.calendars.compute(room.getId(), (id, existing) ->
+                existing != null && existing.builtFor(room.getPricePerNight(), room.getType())
+                        ? existing
+                        : RoomRateCalendar.build(current.baseDay, horizonDays, day -> nightlyCents(current, room, day),
+                                room.getPricePerNight(), room.getType()));
+
+        long cents;
+        if (calendar.covers(fromDay, toDay)) {
+            cents = calendar.totalCents(fromDay, toDay);
+        } else {
+            cents = 0;
+            for (long day = fromDay; day < toDay; day++) {
+                cents += nightlyCents(current, room, day);
+            }
+        }
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRateRulesChanged(RateRulesChangedEvent event) {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        State current = state;
+        if (current != null && event.isDeleted()) {
+            current.calendars.remove(event.getRoomId());
+        }
+    }
+
+    private State currentState() {
+        State current = state;
+        if (current == null) {
+            reload();
+            return state;
+        }
+        // Recalcula quando metade do horizonte já passou, para que as próximas datas continuem cobertas, e
+        // quando as regras passam do intervalo. Uma thread recarrega; as outras seguem com as regras atuais.
+        boolean stale = LocalDate.now().toEpochDay() - current.baseDay > horizonDays / 2
+                || System.nanoTime() - current.loadedAt >= refreshInterval.toNanos();
+        if (stale && reloadLock.tryLock()) {
+            try {
+                if (state == current) {
+                    reload();
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+            current = state;
+        }
+        return current;
+    }
+
+    private static long nightlyCents(State state, IndexedRoom room, long day) {
+        LocalDate night = LocalDate.ofEpochDay(day);
+        for (RateRule rule : state.rules) {
+            if (appliesTo(rule, room) && appliesOn(rule, night)) {
+                return toCents(rule.getNightlyPrice());
+            }
+        }
+        return toCents(room.getPricePerNight());
+    }
+
+    private static boolean appliesTo(RateRule rule, IndexedRoom room) {
+        return (rule.getRoomId() == null || rule.getRoomId().equals(room.getId()))
+                && (rule.getRoomType() == null || rule.getRoomType() == room.getType());
+    }
+
+    private static boolean appliesOn(RateRule rule, LocalDate night) {
+        if (rule.getStartDate() != null && night.isBefore(rule.getStartDate())) {
+            return false;
+        }
+        if (rule.getEndDate() != null && night.isAfter(rule.getEndDate())) {
+            return false;
+        }
+        Set<DayOfWeek> days = rule.getDaysOfWeek();
+        return days == null || days.isEmpty() || days.contains(night.getDayOfWeek());
+    }
+
+    private static int specificity(RateRule rule) {
+        return (rule.getRoomId() != null ? 2 : 0) + (rule.getRoomType() != null ? 1 : 0);
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price == null ? 0 : price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static final class State {
+        private final long baseDay;
+        private final long loadedAt;
+        private final List<RateRule> rules;
+        private final Map<Long, RoomRateCalendar> calendars = new ConcurrentHashMap<>();
+
+        private State(long baseDay, long loadedAt, List<RateRule> rules) {
+            this.baseDay = baseDay;
+            this.loadedAt = loadedAt;
+            this.rules = rules;
+        }
+    }
+}
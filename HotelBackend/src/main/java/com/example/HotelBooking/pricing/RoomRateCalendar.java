@@ -0,0 +1,53 @@
+package com.example.HotelBooking.pricing;
+
+import com.example.HotelBooking.enums.RoomType;
+
+import java.math.BigDecimal;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Somas prefixadas das diárias de um quarto, em centavos, a partir de {@code baseDay} (epoch day).
+ *
+ * {@code prefix[i]} é o total das noites {@code baseDay .. baseDay + i - 1}, então o valor de qualquer
+ * estadia dentro do horizonte é {@code prefix[saída] - prefix[entrada]}, sem percorrer as noites.
+ * Guarda o preço base e o tipo usados na montagem para saber quando o quarto mudou.
+ */
+final class RoomRateCalendar {
+
+    private final long baseDay;
+    private final long[] prefix;
+    private final BigDecimal basePrice;
+    private final RoomType roomType;
+
+    private RoomRateCalendar(long baseDay, long[] prefix, BigDecimal basePrice, RoomType roomType) {
+        this.baseDay = baseDay;
+        this.prefix = prefix;
+        this.basePrice = basePrice;
+        this.roomType = roomType;
+    }
+
+    static RoomRateCalendar build(long baseDay, int days, LongUnaryOperator nightlyCents,
+                                  BigDecimal basePrice, RoomType roomType) {
+        long[] prefix = new long[days + 1];
+        for (int i = 0; i < days; i++) {
+            prefix[i + 1] = prefix[i] + nightlyCents.applyAsLong(baseDay + i);
+        }
+        return new RoomRateCalendar(baseDay, prefix, basePrice, roomType);
+    }
+
+    /**
+     * Indica se todas as noites de [fromDay, toDay) estão dentro do horizonte calculado.
+     */
+    boolean covers(long fromDay, long toDay) {
+        return fromDay >= baseDay && toDay - baseDay < prefix.length;
+    }
+
+    long totalCents(long fromDay, long toDay) {
+        return prefix[(int) (toDay - baseDay)] - prefix[(int) (fromDay - baseDay)];
+    }
+
+    boolean builtFor(BigDecimal price, RoomType type) {
+        return (basePrice == null ? price == null : price != null && basePrice.compareTo(price) == 0)
+                && roomType == type;
+    }
+}
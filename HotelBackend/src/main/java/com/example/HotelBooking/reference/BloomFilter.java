@@ -0,0 +1,79 @@
+package com.example.HotelBooking.reference;
+
+/**
+ * Filtro de Bloom para strings: {@link #mightContain} nunca responde {@code false} para um valor
+ * adicionado, e responde {@code true} para um valor ausente com probabilidade próxima de {@code fpp}
+ * enquanto o número de valores não passa de {@code expectedInsertions}.
+ *
+ * Não é thread-safe para escrita: é preenchido por uma thread e só depois publicado para leitura.
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private long insertions;
+
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions deve ser maior que zero");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp deve estar entre 0 e 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        insertions++;
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getInsertions() {
+        return insertions;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    // FNV-1a de 64 bits seguido de um finalizador que espalha os bits altos e baixos
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.HotelBooking.reference;
+
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.events.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Remove do cache de consulta por referência as reservas cujo status ou pagamento mudou. Alterações de
+ * quarto ou de conta de usuário limpam o cache inteiro: são raras e não compensam um índice reverso.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingReferenceCacheInvalidator {
+
+    private final BoundedCache<String, BookingDTO> bookingReferenceCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Set<String> references = new HashSet<>();
+        for (BookingChange change : event.getChanges()) {
+            if (change.getBookingReference() == null) {
+                bookingReferenceCache.invalidateAll();
+                return;
+            }
+            references.add(change.getBookingReference());
+        }
+        if (!references.isEmpty()) {
+            bookingReferenceCache.invalidateIf(references::contains);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        bookingReferenceCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        bookingReferenceCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        bookingReferenceCache.invalidateAll();
+    }
+}
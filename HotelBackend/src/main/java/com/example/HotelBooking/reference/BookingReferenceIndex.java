@@ -0,0 +1,107 @@
+package com.example.HotelBooking.reference;
+
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.services.BookingCodeGenerator;
+import com.example.HotelBooking.services.BookingReferenceFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom com as referências de reserva existentes, para responder "não encontrada" sem ir ao
+ * banco quando alguém testa códigos aleatórios.
+ *
+ * O filtro é uma foto do banco no momento da carga. Uma referência ausente do filtro só é descartada se
+ * não puder ter sido criada depois dela: referências antigas (não são mais geradas) ou no formato novo
+ * com o segundo de emissão anterior à carga, descontada a margem de relógio entre instâncias. As
+ * emitidas depois da carga, nesta ou em outra instância, seguem para o banco. A foto é refeita
+ * periodicamente para essa janela não crescer, e depois de uma restauração.
+ */
+@Component
+@Slf4j
+public class BookingReferenceIndex {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long clockMarginSeconds;
+    private final long minCapacity;
+    private final double fpp;
+
+    private final LongAdder rejected = new LongAdder();
+    private volatile Snapshot snapshot;
+
+    public BookingReferenceIndex(BookingRepository bookingRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${booking.reference.filter.clock-margin:PT5M}") Duration clockMargin,
+                                 @Value("${booking.reference.filter.min-capacity:100000}") long minCapacity,
+                                 @Value("${booking.reference.filter.fpp:0.001}") double fpp) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clockMarginSeconds = clockMargin.getSeconds();
+        this.minCapacity = minCapacity;
+        this.fpp = fpp;
+    }
+
+    @Scheduled(initialDelayString = "${booking.reference.filter.refresh:PT6H}",
+            fixedDelayString = "${booking.reference.filter.refresh:PT6H}")
+    public void reload() {
+        long startedAt = Instant.now().getEpochSecond();
+        BloomFilter filter = transactionTemplate.execute(status -> {
+            // folga para as reservas criadas até a próxima carga sem perder a taxa de falsos positivos
+            BloomFilter loaded = new BloomFilter(Math.max(minCapacity, bookingRepository.count() * 2), fpp);
+            try (Stream<String> references = bookingRepository.streamAllReferences()) {
+                references.forEach(loaded::put);
+            }
+            return loaded;
+        });
+        snapshot = new Snapshot(filter, startedAt - clockMarginSeconds);
+        log.info("Filtro de referências carregado: {} referências, {} KB",
+                filter.getInsertions(), filter.getBitCount() / 8 / 1024);
+    }
+
+    /**
+     * {@code false} quando a referência (normalizada e com formato válido) com certeza não existe.
+     */
+    public boolean mightExist(String reference) {
+        Snapshot current = snapshot;
+        if (current == null || current.filter().mightContain(reference)) {
+            return true;
+        }
+        if (!BookingReferenceFormat.isLegacy(reference)) {
+            long issuedAt = BookingCodeGenerator.issuedAtEpochSecond(reference);
+            long now = Instant.now().getEpochSecond();
+            if (issuedAt >= current.coveredBefore() && issuedAt <= now + clockMarginSeconds) {
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        // até a nova carga terminar, toda referência vai ao banco
+        snapshot = null;
+        reload();
+    }
+
+    private record Snapshot(BloomFilter filter, long coveredBefore) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.HotelBooking.repositories;
+
+import com.example.HotelBooking.entities.BookingHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingHoldRepository extends JpaRepository<BookingHold, Long> {
+
+    // Bloqueio ainda válido de outro checkout que divide alguma noite com [checkIn, checkOut)
+    @Query("""
+        SELECT COUNT(h) > 0 FROM BookingHold h
+        WHERE h.roomId = :roomId
+        AND h.checkInDate < :checkOut
+        AND h.checkOutDate > :checkIn
+        AND h.expiresAt > :now
+        AND (:excludeId IS NULL OR h.id <> :excludeId)
+    """)
+    boolean existsConflictingHold(@Param("roomId") Long roomId,
+                                  @Param("checkIn") LocalDate checkIn,
+                                  @Param("checkOut") LocalDate checkOut,
+                                  @Param("now") LocalDateTime now,
+                                  @Param("excludeId") Long excludeId);
+
+    Optional<BookingHold> findFirstByUserIdAndRoomIdAndCheckInDateAndCheckOutDateAndExpiresAtAfter(
+            Long userId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate, LocalDateTime now);
+
+    List<BookingHold> findByExpiresAtAfter(LocalDateTime now);
+
+    // Consome o bloqueio do próprio hóspede ao reservar: só apaga se ainda valer para o mesmo quarto e datas
+    @Modifying
+    @Query("""
+        DELETE FROM BookingHold h
+        WHERE h.id = :id
+        AND h.userId = :userId
+        AND h.roomId = :roomId
+        AND h.checkInDate = :checkIn
+        AND h.checkOutDate = :checkOut
+        AND h.expiresAt > :now
+    """)
+    int deleteOwnHold(@Param("id") Long id,
+                      @Param("userId") Long userId,
+                      @Param("roomId") Long roomId,
+                      @Param("checkIn") LocalDate checkIn,
+                      @Param("checkOut") LocalDate checkOut,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // Bloqueios de um quarto excluído: não há mais o que reservar nem o que devolver à lista de espera
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.roomId = :roomId")
+    int deleteByRoomId(@Param("roomId") Long roomId);
+}
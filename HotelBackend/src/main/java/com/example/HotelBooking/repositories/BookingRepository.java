@@ -1,13 +1,22 @@
 package com.example.HotelBooking.repositories;
 
 import com.example.HotelBooking.entities.Booking;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
@@ -22,24 +31,136 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "WHERE b.bookingReference = :reference")
     Optional<Booking> findByBookingReference(@Param("reference") String reference);
 
+    // Trava a linha da reserva até o fim da transação. Sem JOIN FETCH: o PostgreSQL não aceita FOR UPDATE
+    // no lado anulável de um LEFT JOIN; hóspede e quarto carregam sob demanda na mesma transação.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.bookingReference = :reference")
+    Optional<Booking> lockByBookingReference(@Param("reference") String reference);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> lockById(@Param("id") Long id);
+
+    // Estadias ocupam as noites [entrada, saída): sobrepõe quem entra antes da nova saída e sai depois da
+    // nova entrada, inclusive quando envolve todo o período. Mesma regra da restrição bookings_no_overlap.
     @Query("SELECT CASE WHEN COUNT(b) = 0 THEN true ELSE false END FROM Booking b " +
            "WHERE b.room.id = :roomId " +
-           "AND ((b.checkInDate BETWEEN :checkIn AND :checkOut) " +
-           "OR (b.checkOutDate BETWEEN :checkIn AND :checkOut))")
+           "AND b.checkInDate < :checkOut " +
+           "AND b.checkOutDate > :checkIn " +
+           "AND b.bookingStatus IN ('BOOKED', 'CHECKED_IN')")
     boolean isRoomAvailable(@Param("roomId") Long roomId,
                            @Param("checkIn") LocalDate checkIn,
                            @Param("checkOut") LocalDate checkOut);
 
     @Query("""
-        SELECT b.id AS id, b.room.id AS roomId, b.room.roomNumber AS roomNumber, b.room.type AS roomType, b.room.pricePerNight AS roomPricePerNight, b.room.capacity AS roomCapacity, b.room.description AS roomDescription, b.room.title AS roomTitle, b.user.id AS userId, b.user.email AS userEmail, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalPrice AS totalPrice, b.bookingReference AS bookingReference, b.createdAt AS createdAt, b.bookingStatus AS bookingStatus, b.paymentStatus AS paymentStatus
+        SELECT b.id AS id, b.room.id AS roomId, b.room.roomNumber AS roomNumber, b.room.type AS roomType, b.room.pricePerNight AS roomPricePerNight, b.room.capacity AS roomCapacity, b.room.description AS roomDescription, b.room.title AS roomTitle, b.room.imageKey AS roomImageKey, b.user.id AS userId, b.user.email AS userEmail, b.user.firstName AS userFirstName, b.user.lastName AS userLastName, b.user.phoneNumber AS userPhoneNumber, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalPrice AS totalPrice, b.bookingReference AS bookingReference, b.createdAt AS createdAt, b.bookingStatus AS bookingStatus, b.paymentStatus AS paymentStatus
         FROM Booking b
         WHERE b.user.id = :userId
         ORDER BY b.id DESC
     """)
     java.util.List<com.example.HotelBooking.dtos.BookingHistoryProjection> findBookingHistoryByUserId(@Param("userId") Long userId);
 
+    // Paginação por cursor: retorna as reservas com id menor que :after, da mais nova para a mais antiga
+    @Query("""
+        SELECT b.id AS id, b.room.id AS roomId, b.room.roomNumber AS roomNumber, b.room.type AS roomType, b.room.pricePerNight AS roomPricePerNight, b.room.capacity AS roomCapacity, b.room.description AS roomDescription, b.room.title AS roomTitle, b.room.imageKey AS roomImageKey, b.user.id AS userId, b.user.email AS userEmail, b.user.firstName AS userFirstName, b.user.lastName AS userLastName, b.user.phoneNumber AS userPhoneNumber, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalPrice AS totalPrice, b.bookingReference AS bookingReference, b.createdAt AS createdAt, b.bookingStatus AS bookingStatus, b.paymentStatus AS paymentStatus
+        FROM Booking b
+        WHERE (:after IS NULL OR b.id < :after)
+        AND (:bookingStatus IS NULL OR b.bookingStatus = :bookingStatus)
+        AND (:paymentStatus IS NULL OR b.paymentStatus = :paymentStatus)
+        AND (:from IS NULL OR b.checkOutDate >= :from)
+        AND (:to IS NULL OR b.checkInDate <= :to)
+        ORDER BY b.id DESC
+    """)
+    java.util.List<com.example.HotelBooking.dtos.BookingHistoryProjection> findBookingPage(@Param("after") Long after,
+                                                                                         @Param("bookingStatus") BookingStatus bookingStatus,
+                                                                                         @Param("paymentStatus") PaymentStatus paymentStatus,
+                                                                                         @Param("from") LocalDate from,
+                                                                                         @Param("to") LocalDate to,
+                                                                                         Limit limit);
+
+    // Exportação: lida em lotes de 500 por um cursor do banco (no PostgreSQL exige transação aberta)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT b.id AS id, b.room.id AS roomId, b.room.roomNumber AS roomNumber, b.room.type AS roomType, b.room.pricePerNight AS roomPricePerNight, b.room.capacity AS roomCapacity, b.room.description AS roomDescription, b.room.title AS roomTitle, b.room.imageKey AS roomImageKey, b.user.id AS userId, b.user.email AS userEmail, b.user.firstName AS userFirstName, b.user.lastName AS userLastName, b.user.phoneNumber AS userPhoneNumber, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalPrice AS totalPrice, b.bookingReference AS bookingReference, b.createdAt AS createdAt, b.bookingStatus AS bookingStatus, b.paymentStatus AS paymentStatus
+        FROM Booking b
+        WHERE (:bookingStatus IS NULL OR b.bookingStatus = :bookingStatus)
+        AND (:from IS NULL OR b.checkOutDate >= :from)
+        AND (:to IS NULL OR b.checkInDate <= :to)
+        ORDER BY b.id
+    """)
+    Stream<com.example.HotelBooking.dtos.BookingHistoryProjection> streamForExport(@Param("bookingStatus") BookingStatus bookingStatus,
+                                                                                 @Param("from") LocalDate from,
+                                                                                 @Param("to") LocalDate to);
+
+    // Atualização em lote: trava as linhas até o fim da transação, sempre na mesma ordem
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT b.id AS id, b.room.id AS roomId, b.user.id AS userId, b.bookingReference AS bookingReference, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalPrice AS totalPrice, b.bookingStatus AS bookingStatus, b.paymentStatus AS paymentStatus
+        FROM Booking b
+        WHERE b.id IN :ids
+        ORDER BY b.id
+    """)
+    java.util.List<com.example.HotelBooking.dtos.BookingStatusProjection> lockStatusRowsByIds(@Param("ids") java.util.Collection<Long> ids);
+
+    // Carga do filtro de referências existentes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.bookingReference FROM Booking b WHERE b.bookingReference IS NOT NULL")
+    Stream<String> streamAllReferences();
+
+    // Reconstrução das estatísticas diárias: só reservas que ocupam noites (sem status conta como BOOKED)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT b.room.type AS roomType, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalPrice AS totalPrice, b.bookingStatus AS bookingStatus, b.paymentStatus AS paymentStatus
+        FROM Booking b
+        WHERE b.checkInDate IS NOT NULL
+        AND b.checkOutDate > b.checkInDate
+        AND (b.bookingStatus IS NULL OR b.bookingStatus IN ('BOOKED', 'CHECKED_IN', 'CHECKED_OUT'))
+    """)
+    Stream<com.example.HotelBooking.dtos.BookingStatsProjection> streamStatsRows();
+
+    // Mesmas linhas da reconstrução, só de um quarto: troca de tipo do quarto nas estatísticas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+        SELECT b.room.type AS roomType, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalPrice AS totalPrice, b.bookingStatus AS bookingStatus, b.paymentStatus AS paymentStatus
+        FROM Booking b
+        WHERE b.room.id = :roomId
+        AND b.checkInDate IS NOT NULL
+        AND b.checkOutDate > b.checkInDate
+        AND (b.bookingStatus IS NULL OR b.bookingStatus IN ('BOOKED', 'CHECKED_IN', 'CHECKED_OUT'))
+    """)
+    Stream<com.example.HotelBooking.dtos.BookingStatsProjection> streamStatsRowsByRoomId(@Param("roomId") Long roomId);
+
+    @Query("""
+        SELECT b.id AS id, b.room.id AS roomId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate
+        FROM Booking b
+        WHERE b.checkOutDate > :from
+        AND b.checkInDate IS NOT NULL
+        AND b.bookingStatus IN ('BOOKED', 'CHECKED_IN')
+    """)
+    java.util.List<com.example.HotelBooking.dtos.BookedIntervalProjection> findActiveIntervals(@Param("from") LocalDate from);
+
+    @Query("""
+        SELECT b.id AS id, b.room.id AS roomId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate
+        FROM Booking b
+        WHERE b.checkInDate <= :to
+        AND b.checkOutDate > :from
+        AND b.bookingStatus IN ('BOOKED', 'CHECKED_IN')
+        ORDER BY b.room.id, b.checkInDate
+    """)
+    java.util.List<com.example.HotelBooking.dtos.BookedIntervalProjection> findActiveIntervalsBetween(@Param("from") LocalDate from,
+                                                                                                   @Param("to") LocalDate to);
+
     @Query("""
-        SELECT b.id AS id, b.bookingReference AS bookingReference, b.paymentStatus AS paymentStatus, b.totalPrice AS totalPrice
+        SELECT b.id AS id, b.bookingReference AS bookingReference, b.paymentStatus AS paymentStatus, b.bookingStatus AS bookingStatus, b.totalPrice AS totalPrice
         FROM Booking b
         WHERE b.bookingReference = :reference
     """)
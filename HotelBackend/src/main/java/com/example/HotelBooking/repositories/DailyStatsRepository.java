@@ -0,0 +1,12 @@
+package com.example.HotelBooking.repositories;
+
+import com.example.HotelBooking.entities.DailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyStatsRepository extends JpaRepository<DailyStats, Long> {
+
+    List<DailyStats> findByStatDateBetweenOrderByStatDateAscRoomTypeAsc(LocalDate from, LocalDate to);
+}
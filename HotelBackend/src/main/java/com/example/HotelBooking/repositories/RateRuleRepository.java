@@ -0,0 +1,7 @@
+package com.example.HotelBooking.repositories;
+
+import com.example.HotelBooking.entities.RateRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RateRuleRepository extends JpaRepository<RateRule, Long> {
+}
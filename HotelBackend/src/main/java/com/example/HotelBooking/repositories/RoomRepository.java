@@ -2,7 +2,9 @@ package com.example.HotelBooking.repositories;
 
 import com.example.HotelBooking.entities.Room;
 import com.example.HotelBooking.enums.RoomType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -18,8 +20,8 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
                 r.id NOT IN (
                     SELECT b.room.id
                     FROM Booking b
-                    WHERE :checkInDate <= b.checkOutDate
-                    AND :checkOutDate >= b.checkInDate
+                    WHERE :checkInDate < b.checkOutDate
+                    AND :checkOutDate > b.checkInDate
                     AND b.bookingStatus IN ('BOOKED', 'CHECKED_IN')
                 )
                 AND (:roomType IS NULL OR r.type = :roomType)
@@ -31,14 +33,14 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     );
 
     @Query("""
-            SELECT r.id AS id, r.roomNumber AS roomNumber, r.type AS type, r.pricePerNight AS pricePerNight, r.capacity AS capacity, r.description AS description, r.title AS title
+            SELECT r.id AS id, r.roomNumber AS roomNumber, r.type AS type, r.pricePerNight AS pricePerNight, r.capacity AS capacity, r.description AS description, r.title AS title, r.imageKey AS imageKey
             FROM Room r
             WHERE
                 r.id NOT IN (
                     SELECT b.room.id
                     FROM Booking b
-                    WHERE :checkInDate <= b.checkOutDate
-                    AND :checkOutDate >= b.checkInDate
+                    WHERE :checkInDate < b.checkOutDate
+                    AND :checkOutDate > b.checkInDate
                     AND b.bookingStatus IN ('BOOKED', 'CHECKED_IN')
                 )
                 AND (:roomType IS NULL OR r.type = :roomType)
@@ -50,15 +52,53 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     );
 
     @Query("""
-                SELECT r FROM Room r
-                WHERE CAST(r.roomNumber AS string) LIKE %:searchParam%
-                   OR LOWER(r.type) LIKE LOWER(:searchParam)
-                   OR CAST(r.pricePerNight AS string) LIKE %:searchParam%
-                   OR CAST(r.capacity AS string) LIKE %:searchParam%
-                   OR LOWER(r.description) LIKE LOWER(CONCAT('%', :searchParam, '%'))
-                   OR LOWER(r.title) LIKE LOWER(CONCAT('%', :searchParam, '%'))
+            SELECT r.id AS id, r.roomNumber AS roomNumber, r.type AS type, r.pricePerNight AS pricePerNight, r.capacity AS capacity, r.description AS description, r.title AS title, r.imageKey AS imageKey
+            FROM Room r
+            """)
+    List<com.example.HotelBooking.dtos.RoomAvailableProjection> findAllRoomsProjection();
+
+    @Query("""
+            SELECT r.id AS id, r.roomNumber AS roomNumber, r.type AS type, r.pricePerNight AS pricePerNight, r.capacity AS capacity, r.description AS description, r.title AS title, r.imageKey AS imageKey
+            FROM Room r
+            WHERE r.id = :id
+            """)
+    java.util.Optional<com.example.HotelBooking.dtos.RoomAvailableProjection> findRoomProjectionById(@Param("id") Long id);
+
+    @Query("""
+            SELECT r.id AS id, r.roomNumber AS roomNumber, r.type AS type, r.pricePerNight AS pricePerNight, r.capacity AS capacity, r.description AS description, r.title AS title, r.imageKey AS imageKey
+            FROM Room r
+            WHERE (:after IS NULL OR r.id < :after)
+            AND (:type IS NULL OR r.type = :type)
+            ORDER BY r.id DESC
+            """)
+    List<com.example.HotelBooking.dtos.RoomAvailableProjection> findRoomPage(@Param("after") Long after, @Param("type") RoomType type, Limit limit);
+
+    @Query("""
+            SELECT r.id AS id, r.imageKey AS imageKey, r.imageContentType AS imageContentType, r.imageSize AS imageSize, r.imageUpdatedAt AS imageUpdatedAt
+            FROM Room r
+            WHERE r.id = :id
+            """)
+    java.util.Optional<com.example.HotelBooking.dtos.RoomImageProjection> findImageInfoById(@Param("id") Long id);
+
+    // Usados pela migração das imagens antigas (coluna image_data) para o ImageStorage
+    @Query("SELECT r.id FROM Room r WHERE r.imageData IS NOT NULL AND r.imageKey IS NULL ORDER BY r.id")
+    List<Long> findIdsWithLegacyImage();
+
+    @Query("SELECT r.imageData FROM Room r WHERE r.id = :id")
+    byte[] findLegacyImageData(@Param("id") Long id);
+
+    @Modifying
+    @Query("""
+            UPDATE Room r
+            SET r.imageKey = :imageKey, r.imageContentType = :contentType, r.imageSize = :size,
+                r.imageUpdatedAt = CURRENT_TIMESTAMP, r.imageData = NULL
+            WHERE r.id = :id
             """)
-    List<Room> searchRooms(@Param("searchParam") String searchParam);
+    int moveLegacyImage(@Param("id") Long id, @Param("imageKey") String imageKey,
+                        @Param("contentType") String contentType, @Param("size") Long size);
 
 
+    // Trava a linha do quarto até o fim da transação, serializando as reservas do mesmo quarto
+    @Query(value = "SELECT id FROM rooms WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
 }
@@ -1,11 +1,24 @@
 package com.example.HotelBooking.repositories;
 
 import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.enums.UserRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
+
+    @Query("""
+            SELECT u FROM User u
+            WHERE (:after IS NULL OR u.id < :after)
+            AND (:role IS NULL OR u.role = :role)
+            ORDER BY u.id DESC
+            """)
+    List<User> findUserPage(@Param("after") Long after, @Param("role") UserRole role, Limit limit);
 }
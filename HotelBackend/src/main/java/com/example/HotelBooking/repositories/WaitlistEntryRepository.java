@@ -0,0 +1,29 @@
+package com.example.HotelBooking.repositories;
+
+import com.example.HotelBooking.entities.WaitlistEntry;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.WaitlistStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByStatusAndCheckInDateGreaterThanEqual(WaitlistStatus status, LocalDate from);
+
+    boolean existsByUserIdAndRoomTypeAndCheckInDateAndCheckOutDateAndStatus(Long userId, RoomType roomType,
+            LocalDate checkInDate, LocalDate checkOutDate, WaitlistStatus status);
+
+    List<WaitlistEntry> findByUserIdOrderByIdDesc(Long userId);
+
+    // Trava a entrada ao oferecer o quarto: duas liberações simultâneas não oferecem a mesma entrada
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.id = :id")
+    Optional<WaitlistEntry> lockById(@Param("id") Long id);
+}
@@ -0,0 +1,239 @@
+package com.example.HotelBooking.search;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.repositories.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre título, descrição, tipo e número dos quartos.
+ *
+ * Cada termo normalizado ({@link SearchText}) aponta para os quartos que o contêm, com um peso
+ * que depende do campo (título vale mais que descrição). Um termo da consulta casa com o termo
+ * exato, com termos que começam por ele e com termos a até uma ou duas edições de distância, nessa
+ * ordem de pontuação. O índice é carregado na inicialização e atualizado pelo {@link RoomChangedEvent}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RoomSearchIndex {
+
+    static final int ROOM_NUMBER_WEIGHT = 5;
+    static final int TITLE_WEIGHT = 3;
+    static final int TYPE_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double PREFIX_FACTOR = 0.7;
+    private static final double TYPO_FACTOR = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt((Candidate c) -> c.matchedTerms).reversed()
+            .thenComparing(Comparator.comparingDouble((Candidate c) -> c.score).reversed())
+            .thenComparing(c -> c.room.getRoomNumber(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(c -> c.room.getId());
+
+    private final RoomRepository roomRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IndexedRoom> rooms = new HashMap<>();
+    // termo -> (quarto -> peso); TreeMap para a busca por prefixo
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // termos de cada quarto, usados para removê-lo do índice
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    // vocabulário agrupado por tamanho: a busca com erro de digitação só compara termos de tamanho próximo
+    private final Map<Integer, Set<String>> termsByLength = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    public void reload() {
+        List<IndexedRoom> allRooms = roomRepository.findAllRoomsProjection().stream()
+                .map(IndexedRoom::from)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            rooms.clear();
+            postings.clear();
+            documentTerms.clear();
+            termsByLength.clear();
+            allRooms.forEach(this::add);
+            loaded = true;
+            log.info("Índice de busca de quartos carregado: {} quartos, {} termos", rooms.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Busca quartos pelo texto informado e pelos filtros numéricos (todos opcionais). Sem texto,
+     * retorna os quartos que passam nos filtros ordenados pelo número.
+     *
+     * @param page página começando em 0
+     */
+    public RoomSearchPage search(String text, BigDecimal minPrice, BigDecimal maxPrice, Integer minCapacity,
+                                 int page, int size) {
+        List<String> queryTerms = SearchText.tokenize(text);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Candidate> candidates = new HashMap<>();
+            if (queryTerms.isEmpty()) {
+                rooms.values().forEach(room -> candidates.put(room.getId(), new Candidate(room)));
+            }
+            for (String term : queryTerms) {
+                Map<Long, Double> matches = match(term);
+                if (matches.isEmpty()) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) rooms.size() / matches.size());
+                matches.forEach((roomId, weight) -> {
+                    Candidate candidate = candidates.computeIfAbsent(roomId, id -> new Candidate(rooms.get(id)));
+                    candidate.matchedTerms++;
+                    candidate.score += weight * idf;
+                });
+            }
+
+            List<Candidate> ranked = new ArrayList<>(candidates.size());
+            for (Candidate candidate : candidates.values()) {
+                if (passesFilters(candidate.room, minPrice, maxPrice, minCapacity)) {
+                    ranked.add(candidate);
+                }
+            }
+            ranked.sort(RANKING);
+
+            int from = (int) Math.min((long) page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            List<IndexedRoom> pageRooms = ranked.subList(from, to).stream().map(c -> c.room).toList();
+            return new RoomSearchPage(pageRooms, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        IndexedRoom updated = event.isDeleted()
+                ? null
+                : roomRepository.findRoomProjectionById(event.getRoomId()).map(IndexedRoom::from).orElse(null);
+        lock.writeLock().lock();
+        try {
+            remove(event.getRoomId());
+            if (updated != null) {
+                add(updated);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        reload();
+    }
+
+    // Melhor peso de cada quarto para o termo da consulta, considerando termo exato, prefixo e erro de digitação
+    private Map<Long, Double> match(String term) {
+        Map<Long, Double> matches = new HashMap<>();
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((roomId, weight) -> matches.merge(roomId, (double) weight, Math::max));
+        }
+        if (SearchText.isNumeric(term)) {
+            return matches;
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            postings.subMap(term, false, term + Character.MAX_VALUE, false).values().forEach(entries ->
+                    entries.forEach((roomId, weight) -> matches.merge(roomId, weight * PREFIX_FACTOR, Math::max)));
+        }
+        int maxEdits = SearchText.maxEdits(term);
+        for (int length = term.length() - maxEdits; length <= term.length() + maxEdits; length++) {
+            for (String candidate : termsByLength.getOrDefault(length, Set.of())) {
+                int distance = SearchText.boundedDistance(term, candidate, maxEdits);
+                if (distance == 0 || distance > maxEdits) {
+                    continue;
+                }
+                double factor = Math.pow(TYPO_FACTOR, distance);
+                postings.get(candidate).forEach((roomId, weight) -> matches.merge(roomId, weight * factor, Math::max));
+            }
+        }
+        return matches;
+    }
+
+    private static boolean passesFilters(IndexedRoom room, BigDecimal minPrice, BigDecimal maxPrice, Integer minCapacity) {
+        BigDecimal price = room.getPricePerNight();
+        if (minPrice != null && (price == null || price.compareTo(minPrice) < 0)) {
+            return false;
+        }
+        if (maxPrice != null && (price == null || price.compareTo(maxPrice) > 0)) {
+            return false;
+        }
+        return minCapacity == null || (room.getCapacity() != null && room.getCapacity() >= minCapacity);
+    }
+
+    private void add(IndexedRoom room) {
+        Map<String, Integer> weights = new HashMap<>();
+        if (room.getRoomNumber() != null) {
+            weights.merge(String.valueOf(room.getRoomNumber()), ROOM_NUMBER_WEIGHT, Integer::sum);
+        }
+        SearchText.tokenize(room.getTitle()).forEach(t -> weights.merge(t, TITLE_WEIGHT, Integer::sum));
+        if (room.getType() != null) {
+            SearchText.tokenize(room.getType().name()).forEach(t -> weights.merge(t, TYPE_WEIGHT, Integer::sum));
+        }
+        SearchText.tokenize(room.getDescription()).forEach(t -> weights.merge(t, DESCRIPTION_WEIGHT, Integer::sum));
+
+        rooms.put(room.getId(), room);
+        documentTerms.put(room.getId(), new HashSet<>(weights.keySet()));
+        weights.forEach((term, weight) -> {
+            postings.computeIfAbsent(term, t -> {
+                termsByLength.computeIfAbsent(t.length(), l -> new HashSet<>()).add(t);
+                return new HashMap<>();
+            }).put(room.getId(), weight);
+        });
+    }
+
+    private void remove(Long roomId) {
+        rooms.remove(roomId);
+        Set<String> terms = documentTerms.remove(roomId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> entries = postings.get(term);
+            entries.remove(roomId);
+            if (entries.isEmpty()) {
+                postings.remove(term);
+                termsByLength.get(term.length()).remove(term);
+            }
+        }
+    }
+
+    private static final class Candidate {
+        private final IndexedRoom room;
+        private int matchedTerms;
+        private double score;
+
+        private Candidate(IndexedRoom room) {
+            this.room = room;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.HotelBooking.search;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Uma página do resultado da busca, já ordenada por relevância.
+ */
+@Value
+public class RoomSearchPage {
+
+    List<IndexedRoom> rooms;
+    long totalElements;
+}
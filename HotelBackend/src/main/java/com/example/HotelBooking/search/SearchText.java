@@ -0,0 +1,123 @@
+package com.example.HotelBooking.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto usada tanto na indexação quanto na consulta: remove acentos, converte para
+ * minúsculas, descarta stopwords do português e reduz plurais comuns ("quartos" -> "quarto",
+ * "colchões" -> "colchao"), para que "Suíte" e "suites" caiam no mesmo termo.
+ */
+final class SearchText {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos",
+            "e", "ou", "em", "no", "na", "nos", "nas", "com", "sem", "para", "pra", "por", "pelo",
+            "pela", "ao", "aos", "que", "se", "mais", "muito", "sua", "seu", "the", "and", "with");
+
+    private SearchText() {
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Termos distintos do texto, na ordem em que aparecem.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    static boolean isNumeric(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (!Character.isDigit(term.charAt(i))) {
+                return false;
+            }
+        }
+        return !term.isEmpty();
+    }
+
+    // Redução leve de plural; não precisa ser linguisticamente perfeita, apenas igual nos dois lados
+    static String stem(String term) {
+        if (term.length() <= 4 || isNumeric(term)) {
+            return term;
+        }
+        if (term.endsWith("oes") || term.endsWith("aes")) {
+            return term.substring(0, term.length() - 3) + "ao";
+        }
+        if (term.endsWith("ais")) {
+            return term.substring(0, term.length() - 3) + "al";
+        }
+        if (term.endsWith("eis")) {
+            return term.substring(0, term.length() - 3) + "el";
+        }
+        if (term.endsWith("ns")) {
+            return term.substring(0, term.length() - 2) + "m";
+        }
+        if (term.endsWith("s") && !term.endsWith("ss")) {
+            return term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+
+    /**
+     * Quantas edições são toleradas para um termo da consulta: nenhuma para termos curtos, uma até
+     * sete letras e duas a partir daí.
+     */
+    static int maxEdits(String term) {
+        if (term.length() < 4 || isNumeric(term)) {
+            return 0;
+        }
+        return term.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Distância de Levenshtein limitada: retorna {@code max + 1} assim que fica claro que a distância
+     * passa de {@code max}, sem terminar a matriz.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
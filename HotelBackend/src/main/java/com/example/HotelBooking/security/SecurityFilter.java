@@ -2,6 +2,7 @@ package com.example.HotelBooking.security;
 
 import com.example.HotelBooking.exceptions.CustomAccessDenialHandler;
 import com.example.HotelBooking.exceptions.CustomAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,8 @@ public class SecurityFilter {
                                 .authenticationEntryPoint(customAuthenticationEntryPoint)
                 )
                 .authorizeHttpRequests(request -> request
+                        // Respostas em streaming terminam num despacho ASYNC da mesma requisição, já autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**", "/api/rooms/**", "api/bookings/**", "/v3/api-docs/**", "/swagger-ui.html",
                                       "/api/password/forgot", "/api/password/reset").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll() // DOCUMENTAÇÃO SWAGGER
@@ -0,0 +1,13 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.dtos.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface BackupService {
+
+    long exportBackup(OutputStream out) throws IOException;
+    Response restoreBackup(InputStream in) throws IOException;
+}
@@ -1,54 +1,58 @@
 package com.example.HotelBooking.services;
 
-import com.example.HotelBooking.entities.BookingReference;
-import com.example.HotelBooking.repositories.BookingReferenceRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Random;
-
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera referências de reserva únicas sem consultar o banco.
+ *
+ * Cada referência codifica (segundos desde 2025-01-01, contador, nó) em 55 bits: 32 bits de segundos,
+ * 17 de contador (131.072 referências por segundo) e 6 do {@code booking.reference.node-id}, que deve ser
+ * diferente em cada instância da aplicação. Se o contador de um segundo se esgota, as referências seguem
+ * no segundo seguinte; se o relógio volta, o gerador continua a partir do último valor emitido. Na
+ * inicialização o primeiro valor já é do segundo seguinte, para não repetir referências de uma execução
+ * anterior encerrada no mesmo segundo.
+ */
 @Service
-@RequiredArgsConstructor
 public class BookingCodeGenerator {
 
-    private final BookingReferenceRepository bookingReferenceRepository;
-
-
-    public String generateBookingReference(){
-        String bookingReference;
+    static final int COUNTER_BITS = 17;
+    static final int NODE_BITS = 6;
+    static final long EPOCH_SECOND = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond();
 
-        // keep generating until a unique code is found
-        do{
-            bookingReference = generateRandomAlphaNumericCode(10); //gerar código de comprimento 10
+    private final long nodeId;
+    // (segundos << COUNTER_BITS) | contador do último valor emitido
+    private final AtomicLong state;
 
-        }while (isBookingReferenceExist(bookingReference)); //verifique se o código já existe. se não existir, saia
-
-        saveBookingReferenceToDatabase(bookingReference); //salvar o código no banco de dados
-
-        return bookingReference;
+    public BookingCodeGenerator(@Value("${booking.reference.node-id:0}") int nodeId) {
+        if (nodeId < 0 || nodeId >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("booking.reference.node-id deve estar entre 0 e " + ((1 << NODE_BITS) - 1));
+        }
+        this.nodeId = nodeId;
+        this.state = new AtomicLong(((currentSecond() + 1) << COUNTER_BITS) - 1);
     }
 
-
-    private String generateRandomAlphaNumericCode(int length){
-
-        String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ123456789";
-        Random random = new Random();
-
-        StringBuilder stringBuilder = new StringBuilder(length);
-
-        for (int i = 0; i < length; i++){
-            int index = random.nextInt(characters.length());
-            stringBuilder.append(characters.charAt(index));
-        }
-        return stringBuilder.toString();
+    public String generateBookingReference() {
+        long next;
+        long current;
+        do {
+            current = state.get();
+            next = Math.max(current + 1, currentSecond() << COUNTER_BITS);
+        } while (!state.compareAndSet(current, next));
+        return BookingReferenceFormat.encode((next << NODE_BITS) | nodeId);
     }
 
-    private boolean isBookingReferenceExist(String bookingReference){
-        return bookingReferenceRepository.findByReferenceNo(bookingReference).isPresent();
+    /**
+     * Segundo (epoch) em que uma referência no formato novo foi gerada, lido dos 32 bits mais altos.
+     */
+    public static long issuedAtEpochSecond(String reference) {
+        return (BookingReferenceFormat.decode(reference) >>> (COUNTER_BITS + NODE_BITS)) + EPOCH_SECOND;
     }
 
-    private void saveBookingReferenceToDatabase(String bookingReference){
-        BookingReference newBookingReference = BookingReference.builder().referenceNo(bookingReference).build();
-        bookingReferenceRepository.save(newBookingReference);
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000 - EPOCH_SECOND;
     }
 }
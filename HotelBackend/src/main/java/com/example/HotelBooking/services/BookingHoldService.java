@@ -0,0 +1,10 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.Response;
+
+public interface BookingHoldService {
+
+    Response placeHold(BookingDTO bookingDTO);
+    Response releaseHold(Long holdId);
+}
@@ -0,0 +1,103 @@
+package com.example.HotelBooking.services;
+
+import java.util.Locale;
+
+/**
+ * Formato das referências de reserva.
+ *
+ * As novas referências têm 12 caracteres no alfabeto Base32 de Crockford (sem I, L, O e U): 11 codificam
+ * um número de 55 bits e o último é um dígito verificador Luhn mod 32, que detecta qualquer caractere
+ * trocado e a maioria das inversões de vizinhos. As referências antigas (10 caracteres de A-Z e 1-9)
+ * continuam aceitas. Uma referência fora desses formatos não precisa ser procurada no banco.
+ */
+public final class BookingReferenceFormat {
+
+    static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    static final int PAYLOAD_LENGTH = 11;
+    public static final int LENGTH = PAYLOAD_LENGTH + 1;
+
+    private static final String LEGACY_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ123456789";
+    private static final int LEGACY_LENGTH = 10;
+    private static final int BASE = ALPHABET.length();
+
+    private BookingReferenceFormat() {
+    }
+
+    /**
+     * Codifica os 55 bits menos significativos de {@code value} e acrescenta o dígito verificador.
+     */
+    static String encode(long value) {
+        char[] chars = new char[LENGTH];
+        for (int i = PAYLOAD_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (value & (BASE - 1)));
+            value >>>= 5;
+        }
+        chars[PAYLOAD_LENGTH] = ALPHABET.charAt(checkValue(chars, PAYLOAD_LENGTH));
+        return new String(chars);
+    }
+
+    /**
+     * Valor de 55 bits de uma referência no formato novo (já validada), sem o dígito verificador.
+     */
+    static long decode(String reference) {
+        long value = 0;
+        for (int i = 0; i < PAYLOAD_LENGTH; i++) {
+            value = (value << 5) | ALPHABET.indexOf(reference.charAt(i));
+        }
+        return value;
+    }
+
+    public static boolean isLegacy(String reference) {
+        return reference != null && reference.length() == LEGACY_LENGTH;
+    }
+
+    /**
+     * Remove espaços e coloca em maiúsculas (Locale.ROOT: no turco, "i" viraria "İ" e a referência
+     * seria recusada). No formato novo também troca O por 0 e I/L por 1, as confusões de leitura
+     * mais comuns ao digitar a referência.
+     */
+    public static String normalize(String reference) {
+        if (reference == null) {
+            return null;
+        }
+        String normalized = reference.trim().toUpperCase(Locale.ROOT);
+        if (normalized.length() == LENGTH) {
+            normalized = normalized.replace('O', '0').replace('I', '1').replace('L', '1');
+        }
+        return normalized;
+    }
+
+    /**
+     * Verifica se a referência (já normalizada) tem um formato que o sistema gera ou já gerou.
+     */
+    public static boolean isValid(String reference) {
+        if (reference == null) {
+            return false;
+        }
+        if (reference.length() == LEGACY_LENGTH) {
+            return reference.chars().allMatch(c -> LEGACY_ALPHABET.indexOf(c) >= 0);
+        }
+        if (reference.length() != LENGTH) {
+            return false;
+        }
+        char[] chars = reference.toCharArray();
+        for (char c : chars) {
+            if (ALPHABET.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return ALPHABET.indexOf(chars[PAYLOAD_LENGTH]) == checkValue(chars, PAYLOAD_LENGTH);
+    }
+
+    // Luhn mod N: dobra posições alternadas a partir da direita e soma os "dígitos" em base N
+    private static int checkValue(char[] chars, int length) {
+        int factor = 2;
+        int sum = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            int addend = factor * ALPHABET.indexOf(chars[i]);
+            factor = factor == 2 ? 1 : 2;
+            sum += addend / BASE + addend % BASE;
+        }
+        return (BASE - sum % BASE) % BASE;
+    }
+}
@@ -2,12 +2,23 @@ package com.example.HotelBooking.services;
 
 import com.example.HotelBooking.dtos.BookingDTO;
 import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
 
 public interface BookingService {
 
     Response getAllBookings();
+    Response getBookingsPage(BookingStatus bookingStatus, PaymentStatus paymentStatus, LocalDate from, LocalDate to, Long after, int limit);
     Response createBooking(BookingDTO bookingDTO);
     Response findBookingByReferenceNo(String  bookingReference);
     Response updateBooking(BookingDTO bookingDTO);
-    Response getBookingsByCurrentUser();
+    Response updateBookings(List<BookingDTO> bookingDTOs);
+    Response getBookingsByUser(Long userId);
+    long exportBookings(BookingStatus bookingStatus, LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException;
 }
@@ -0,0 +1,14 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.dtos.RateRuleDTO;
+import com.example.HotelBooking.dtos.Response;
+
+import java.time.LocalDate;
+
+public interface PricingService {
+    Response quote(Long roomId, LocalDate checkInDate, LocalDate checkOutDate);
+    Response getRateRules();
+    Response addRateRule(RateRuleDTO rateRuleDTO);
+    Response updateRateRule(RateRuleDTO rateRuleDTO);
+    Response deleteRateRule(Long id);
+}
@@ -2,9 +2,13 @@ package com.example.HotelBooking.services;
 
 import com.example.HotelBooking.dtos.Response;
 import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.dtos.RoomImageProjection;
 import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.storage.ImageContent;
+import com.example.HotelBooking.storage.ImageVariant;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -12,12 +16,15 @@ public interface RoomService {
     Response addRoom(RoomDTO roomDTO, MultipartFile imageFile);
     Response updateRoom(RoomDTO roomDTO, MultipartFile imageFile);
     Response getAllRooms();
+    Response getRoomsPage(Long after, RoomType roomType, int limit);
     Response getRoomById(Long id);
     Response deleteRoom(Long id);
     Response getAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, RoomType roomType);
+    Response getRoomCalendar(LocalDate from, LocalDate to, RoomType roomType);
+    Response getFlexibleAvailability(LocalDate earliest, LocalDate latest, int nights, RoomType roomType, int limit);
     List<RoomType> getAllRoomTypes();
-    Response searchRoom(String input);
-    byte[] getRoomImageDataById(Long id);
-    byte[] getRoomImageData(Long id);
+    Response searchRoom(String input, BigDecimal minPrice, BigDecimal maxPrice, Integer minCapacity, int page, int size);
+    RoomImageProjection getRoomImageInfo(Long id);
+    ImageContent getRoomImage(RoomImageProjection image, ImageVariant variant);
 }
 
@@ -0,0 +1,16 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.BookingChange;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StatsService {
+
+    void applyChanges(List<BookingChange> changes);
+    void moveRoomType(Long roomId, RoomType previousType, RoomType type);
+    Response rebuild();
+    Response getDailyStats(LocalDate from, LocalDate to);
+}
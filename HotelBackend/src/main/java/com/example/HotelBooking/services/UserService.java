@@ -5,15 +5,17 @@ import com.example.HotelBooking.dtos.RegistrationRequest;
 import com.example.HotelBooking.dtos.Response;
 import com.example.HotelBooking.dtos.UserDTO;
 import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.enums.UserRole;
 
 public interface UserService {
 
     Response registerUser(RegistrationRequest registrationRequest);
     Response loginUser(LoginRequest loginRequest);
     Response getAllUsers();
+    Response getUsersPage(UserRole role, Long after, int limit);
     Response getOwnAccountDetails();
     User getCurrentLoggedInUser();
     Response updateOwnAccount(UserDTO userDTO);
     Response deleteOwnAccount();
-    Response getMyBookingHistory();
+    Response getBookingHistory(Long userId);
 }
@@ -0,0 +1,11 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.dtos.WaitlistEntryDTO;
+
+public interface WaitlistService {
+
+    Response joinWaitlist(WaitlistEntryDTO waitlistEntryDTO);
+    Response getMyWaitlist();
+    Response cancelWaitlistEntry(Long entryId);
+}
@@ -0,0 +1,273 @@
+package com.example.HotelBooking.services.impl;
+
+import com.example.HotelBooking.backup.BackupArchiveReader;
+import com.example.HotelBooking.backup.BackupArchiveWriter;
+import com.example.HotelBooking.backup.BackupFormat;
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+import com.example.HotelBooking.services.BackupService;
+import com.example.HotelBooking.storage.ImageDerivativeService;
+import com.example.HotelBooking.storage.ImageStorage;
+import com.example.HotelBooking.storage.StoredImage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Backup lógico das tabelas da aplicação e das imagens dos quartos.
+ *
+ * A exportação roda numa única transação REPEATABLE READ: no PostgreSQL todas as tabelas vêm do mesmo
+ * snapshot, lidas por cursor em lotes de {@value #BATCH_SIZE} linhas. A restauração substitui o conteúdo
+ * das tabelas numa transação só, inserindo em lotes JDBC, e ajusta as sequências de id no final.
+ */
+@Service
+@Slf4j
+public class BackupServiceImpl implements BackupService {
+
+    static final int BATCH_SIZE = 1000;
+    private static final List<String> TRANSIENT_TABLES = List.of("password_reset_token", "booking_holds", "waitlist_entries");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageStorage imageStorage;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BackupServiceImpl(DataSource dataSource,
+                             ImageStorage imageStorage,
+                             ImageDerivativeService imageDerivativeService,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(BATCH_SIZE);
+        this.imageStorage = imageStorage;
+        this.imageDerivativeService = imageDerivativeService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long exportBackup(OutputStream out) throws IOException {
+        BackupArchiveWriter writer = new BackupArchiveWriter(out);
+        try {
+            for (String table : BackupFormat.TABLES) {
+                exportTable(writer, table);
+            }
+            int images = exportImages(writer);
+            writer.finish();
+            log.info("Backup exportado: {} linhas e {} imagens", writer.getRows(), images);
+            return writer.getRows();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    @Transactional
+    public Response restoreBackup(InputStream in) throws IOException {
+        BackupArchiveReader reader = new BackupArchiveReader(in);
+        clearTables();
+
+        Set<String> restoredTables = new HashSet<>();
+        List<String> restoredImages = new ArrayList<>();
+        long rows = 0;
+        for (byte section = reader.nextSection(); section != BackupFormat.SECTION_END; section = reader.nextSection()) {
+            if (section == BackupFormat.SECTION_TABLE) {
+                BackupArchiveReader.TableHeader header = reader.readTableHeader();
+                validate(header);
+                if (!restoredTables.add(header.table())) {
+                    throw new InvalidBookingStateAndDateException("Tabela repetida no backup: " + header.table());
+                }
+                rows += restoreTable(reader, header);
+            } else {
+                restoreImage(reader.readImage()).ifPresent(restoredImages::add);
+            }
+        }
+        for (String table : restoredTables) {
+            resetIdentity(table);
+        }
+
+        // Derivadas são geradas de novo a partir dos originais restaurados
+        restoredImages.forEach(imageDerivativeService::submit);
+        eventPublisher.publishEvent(new DatabaseRestoredEvent(rows));
+        log.info("Backup restaurado: {} linhas e {} imagens", rows, restoredImages.size());
+
+        return Response.builder()
+                .status(200)
+                .message("Backup restaurado: " + rows + " registros e " + restoredImages.size() + " imagens")
+                .build();
+    }
+
+    private void exportTable(BackupArchiveWriter writer, String table) {
+        String orderBy = "rate_rule_days".equals(table) ? "rate_rule_id" : "id";
+        jdbcTemplate.query("SELECT * FROM " + table + " ORDER BY " + orderBy, (ResultSet rs) -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            List<Integer> indexes = new ArrayList<>();
+            List<String> columns = new ArrayList<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                String column = metaData.getColumnLabel(i).toLowerCase(Locale.ROOT);
+                if (!BackupFormat.EXCLUDED_COLUMNS.contains(table + "." + column)) {
+                    indexes.add(i);
+                    columns.add(column);
+                }
+            }
+            int[] types = indexes.stream().mapToInt(i -> columnType(metaData, i)).toArray();
+            try {
+                writer.beginTable(table, columns);
+                Object[] values = new Object[indexes.size()];
+                while (rs.next()) {
+                    for (int c = 0; c < values.length; c++) {
+                        values[c] = readValue(rs, indexes.get(c), types[c]);
+                    }
+                    writer.writeRow(values);
+                }
+                writer.endTable();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private int exportImages(BackupArchiveWriter writer) throws IOException {
+        List<Map<String, Object>> images = jdbcTemplate.queryForList(
+                "SELECT image_key, MAX(image_content_type) AS content_type FROM rooms "
+                        + "WHERE image_key IS NOT NULL GROUP BY image_key");
+        int written = 0;
+        for (Map<String, Object> image : images) {
+            String key = (String) image.get("image_key");
+            Optional<Resource> resource = imageStorage.load(key);
+            if (resource.isEmpty()) {
+                log.warn("Imagem {} referenciada por um quarto não existe no armazenamento", key);
+                continue;
+            }
+            try (InputStream content = resource.get().getInputStream()) {
+                writer.writeImage(key, (String) image.get("content_type"), resource.get().contentLength(), content);
+            }
+            written++;
+        }
+        return written;
+    }
+
+    private void clearTables() {
+        // Tokens de redefinição de senha, bloqueios temporários e a lista de espera não entram no backup, mas
+        // apontam para usuários e quartos do banco atual. Apagados na mesma transação: se a restauração falhar, voltam.
+        if (isPostgres()) {
+            // TRUNCATE também é transacional no PostgreSQL e não precisa varrer as linhas como o DELETE
+            jdbcTemplate.execute("TRUNCATE TABLE " + String.join(", ", TRANSIENT_TABLES) + ", "
+                    + String.join(", ", BackupFormat.TABLES));
+            return;
+        }
+        TRANSIENT_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        for (int i = BackupFormat.TABLES.size() - 1; i >= 0; i--) {
+            jdbcTemplate.update("DELETE FROM " + BackupFormat.TABLES.get(i));
+        }
+    }
+
+    private long restoreTable(BackupArchiveReader reader, BackupArchiveReader.TableHeader header) throws IOException {
+        String sql = "INSERT INTO " + header.table() + " (" + String.join(", ", header.columns()) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(header.columns().size(), "?")) + ")";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long rows = 0;
+        for (Object[] row = reader.readRow(); row != null; row = reader.readRow()) {
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                rows += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            rows += batch.size();
+        }
+        return rows;
+    }
+
+    private Optional<String> restoreImage(BackupArchiveReader.ImageEntry image) throws IOException {
+        // Direto do arquivo para o armazenamento, em blocos: a imagem não é carregada inteira na memória
+        StoredImage stored = imageStorage.store(image.content(), image.contentType());
+        if (!stored.getKey().equals(image.key())) {
+            // A chave é o SHA-256 do conteúdo; se não bate, a imagem foi corrompida no caminho
+            log.warn("Imagem {} restaurada com chave diferente ({})", image.key(), stored.getKey());
+            return Optional.empty();
+        }
+        return Optional.of(stored.getKey());
+    }
+
+    private void validate(BackupArchiveReader.TableHeader header) {
+        if (!BackupFormat.TABLES.contains(header.table())) {
+            throw new InvalidBookingStateAndDateException("Tabela desconhecida no backup: " + header.table());
+        }
+        for (String column : header.columns()) {
+            if (!BackupFormat.isSafeIdentifier(column) || BackupFormat.EXCLUDED_COLUMNS.contains(header.table() + "." + column)) {
+                throw new InvalidBookingStateAndDateException("Coluna inválida no backup: " + header.table() + "." + column);
+            }
+        }
+    }
+
+    private void resetIdentity(String table) {
+        if ("rate_rule_days".equals(table)) {
+            return;
+        }
+        Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+        if (isPostgres()) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), ?, false)",
+                    Long.class, table, next);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private boolean isPostgres() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(database);
+    }
+
+    private static int columnType(ResultSetMetaData metaData, int index) {
+        try {
+            return metaData.getColumnType(index);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object readValue(ResultSet rs, int index, int type) throws SQLException {
+        Object value = switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> rs.getLong(index);
+            case Types.NUMERIC, Types.DECIMAL -> rs.getBigDecimal(index);
+            case Types.BOOLEAN, Types.BIT -> rs.getBoolean(index);
+            case Types.DATE -> rs.getObject(index, LocalDate.class);
+            case Types.TIMESTAMP -> rs.getObject(index, LocalDateTime.class);
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> rs.getDouble(index);
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> rs.getBytes(index);
+            default -> rs.getString(index);
+        };
+        return rs.wasNull() ? null : value;
+    }
+}
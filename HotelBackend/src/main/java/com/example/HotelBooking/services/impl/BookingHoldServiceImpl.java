@@ -0,0 +1,119 @@
+package com.example.HotelBooking.services.impl;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.catalog.RoomCatalog;
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.BookingHoldDTO;
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.entities.BookingHold;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.events.BookingHoldChangedEvent;
+import com.example.HotelBooking.exceptions.BookingConflictException;
+import com.example.HotelBooking.exceptions.NotFoundException;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.services.BookingHoldService;
+import com.example.HotelBooking.services.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bloqueios temporários de quarto durante o checkout. Seguem as mesmas travas de {@code createBooking}
+ * (linha do quarto), então um bloqueio nunca é criado sobre uma reserva ou outro bloqueio válido.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingHoldServiceImpl implements BookingHoldService {
+
+    private final BookingHoldRepository bookingHoldRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final RoomCatalog roomCatalog;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${booking.hold.duration:PT10M}")
+    private Duration holdDuration;
+
+    @Override
+    @Transactional
+    public Response placeHold(BookingDTO bookingDTO) {
+        User currentUser = userService.getCurrentLoggedInUser();
+        IndexedRoom room = roomCatalog.findRoom(bookingDTO.getRoomId())
+                .orElseThrow(() -> new NotFoundException("Quarto não encontrado"));
+        BookingServiceImpl.validateStayDates(bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate());
+
+        LocalDateTime now = LocalDateTime.now();
+        roomRepository.lockById(room.getId());
+        // o quarto oferecido pela lista de espera já está bloqueado em nome do hóspede
+        BookingHold existing = bookingHoldRepository.findFirstByUserIdAndRoomIdAndCheckInDateAndCheckOutDateAndExpiresAtAfter(
+                currentUser.getId(), room.getId(), bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate(), now)
+                .orElse(null);
+        if (existing != null) {
+            return Response.builder()
+                    .status(200)
+                    .message("Quarto reservado para você até " + existing.getExpiresAt().toLocalTime().withNano(0))
+                    .hold(toDTO(existing))
+                    .build();
+        }
+        if (!bookingRepository.isRoomAvailable(room.getId(), bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate())) {
+            throw new BookingConflictException("O quarto não está disponível para os intervalos de datas selecionados");
+        }
+        if (bookingHoldRepository.existsConflictingHold(room.getId(), bookingDTO.getCheckInDate(),
+                bookingDTO.getCheckOutDate(), now, null)) {
+            throw new BookingConflictException(BookingServiceImpl.HELD_MESSAGE);
+        }
+
+        BookingHold hold = bookingHoldRepository.save(BookingHold.builder()
+                .roomId(room.getId())
+                .userId(currentUser.getId())
+                .checkInDate(bookingDTO.getCheckInDate())
+                .checkOutDate(bookingDTO.getCheckOutDate())
+                .expiresAt(now.plus(holdDuration))
+                .createdAt(now)
+                .build());
+        eventPublisher.publishEvent(new BookingHoldChangedEvent(hold.getId(), hold.getRoomId(),
+                hold.getCheckInDate(), hold.getCheckOutDate(), hold.getExpiresAt(), false, false));
+
+        return Response.builder()
+                .status(200)
+                .message("Quarto reservado temporariamente por " + holdDuration.toMinutes() + " minutos")
+                .hold(toDTO(hold))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Response releaseHold(Long holdId) {
+        User currentUser = userService.getCurrentLoggedInUser();
+        BookingHold hold = bookingHoldRepository.findById(holdId)
+                .filter(h -> h.getUserId().equals(currentUser.getId()))
+                .orElseThrow(() -> new NotFoundException("Bloqueio não encontrado"));
+
+        bookingHoldRepository.delete(hold);
+        eventPublisher.publishEvent(new BookingHoldChangedEvent(hold.getId(), hold.getRoomId(),
+                hold.getCheckInDate(), hold.getCheckOutDate(), hold.getExpiresAt(), true, false));
+
+        return Response.builder()
+                .status(200)
+                .message("Bloqueio liberado")
+                .build();
+    }
+
+    private static BookingHoldDTO toDTO(BookingHold hold) {
+        return BookingHoldDTO.builder()
+                .id(hold.getId())
+                .roomId(hold.getRoomId())
+                .checkInDate(hold.getCheckInDate())
+                .checkOutDate(hold.getCheckOutDate())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
@@ -1,49 +1,113 @@
 package com.example.HotelBooking.services.impl;
 
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.catalog.RoomCatalog;
 import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.BookingHistoryProjection;
+import com.example.HotelBooking.dtos.BookingStatusProjection;
+import com.example.HotelBooking.dtos.BookingUpdateResultDTO;
 import com.example.HotelBooking.dtos.NotificationDTO;
 import com.example.HotelBooking.dtos.Response;
 import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.dtos.UserDTO;
 import com.example.HotelBooking.entities.Booking;
-import com.example.HotelBooking.entities.Room;
 import com.example.HotelBooking.entities.User;
 import com.example.HotelBooking.enums.BookingStatus;
 import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.events.BookingHoldChangedEvent;
+import com.example.HotelBooking.exceptions.BookingConflictException;
 import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
 import com.example.HotelBooking.exceptions.NotFoundException;
+import com.example.HotelBooking.export.BookingExportWriter;
+import com.example.HotelBooking.export.ExportFormat;
+import com.example.HotelBooking.history.BookingHistoryView;
+import com.example.HotelBooking.mappers.BookingHistoryMapper;
+import com.example.HotelBooking.mappers.RoomMapper;
+import com.example.HotelBooking.pricing.PricingEngine;
+import com.example.HotelBooking.reference.BookingReferenceIndex;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
 import com.example.HotelBooking.repositories.BookingRepository;
 import com.example.HotelBooking.repositories.RoomRepository;
 import com.example.HotelBooking.services.BookingCodeGenerator;
+import com.example.HotelBooking.services.BookingReferenceFormat;
 import com.example.HotelBooking.services.BookingService;
 import com.example.HotelBooking.services.NotificationService;
 import com.example.HotelBooking.services.UserService;
+import com.example.HotelBooking.storage.ImageUrls;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+    private static final int MAX_BATCH_UPDATE = 500;
+    private static final String UNAVAILABLE_MESSAGE = "O quarto não está disponível para os intervalos de datas selecionados";
+    // Mesmas regras de isRoomAvailable e existsConflictingHold, avaliadas no próprio INSERT
+    private static final String INSERT_IF_AVAILABLE = """
+        INSERT INTO bookings (user_id, room_id, check_in_date, check_out_date, total_price, booking_reference,
+                              booking_status, payment_status, created_at)
+        SELECT CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS DATE), CAST(? AS NUMERIC(38, 2)),
+               CAST(? AS VARCHAR(255)), 'BOOKED', 'PENDING', CAST(? AS TIMESTAMP)
+        WHERE NOT EXISTS (
+            SELECT 1 FROM bookings b
+            WHERE b.room_id = ? AND b.check_in_date < ? AND b.check_out_date > ?
+            AND b.booking_status IN ('BOOKED', 'CHECKED_IN'))
+        AND NOT EXISTS (
+            SELECT 1 FROM booking_holds h
+            WHERE h.room_id = ? AND h.check_in_date < ? AND h.check_out_date > ? AND h.expires_at > ?)
+    """;
+    private static final String UPDATE_STATUS = "UPDATE bookings SET booking_status = ?, payment_status = ? WHERE id = ?";
+    static final String HELD_MESSAGE = "O quarto está reservado temporariamente por outro hóspede que está finalizando o pagamento";
+
     @Value("${fronteendUrl}")
     private String frontendUrl;
 
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
+    private final RoomCatalog roomCatalog;
+    private final PricingEngine pricingEngine;
     private final NotificationService notificationService;
     private final ModelMapper modelMapper;
     private final UserService userService;
     private final BookingCodeGenerator bookingCodeGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingHoldRepository bookingHoldRepository;
+    private final BookingHistoryView bookingHistoryView;
+    private final BookingReferenceIndex bookingReferenceIndex;
+    private final BoundedCache<String, BookingDTO> bookingReferenceCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -65,7 +129,7 @@ public class BookingServiceImpl implements BookingService {
 
                         // Garante que totalPrice seja válido
                         if (booking.getTotalPrice() == null && booking.getCheckInDate() != null && booking.getCheckOutDate() != null) {
-                            booking.setTotalPrice(calculateTotalPrice(booking.getRoom(), BookingDTO.builder()
+                            booking.setTotalPrice(calculateTotalPrice(booking.getRoom().getPricePerNight(), BookingDTO.builder()
                                 .checkInDate(booking.getCheckInDate())
                                 .checkOutDate(booking.getCheckOutDate())
                                 .build()));
@@ -101,43 +165,80 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Response getBookingsPage(BookingStatus bookingStatus, PaymentStatus paymentStatus,
+                                    LocalDate from, LocalDate to, Long after, int limit) {
+        int pageSize = CursorPages.clampLimit(limit);
+        List<BookingHistoryProjection> rows = bookingRepository.findBookingPage(
+                after, bookingStatus, paymentStatus, from, to, Limit.of(pageSize + 1));
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .bookings(CursorPages.page(rows, pageSize).stream().map(BookingHistoryMapper::toDTO).toList())
+                .nextCursor(CursorPages.nextCursor(rows, pageSize, BookingHistoryProjection::getId))
+                .build();
+    }
+
+    @Override
+    @Transactional
     public Response createBooking(BookingDTO bookingDTO) {
         User currentUser = userService.getCurrentLoggedInUser();
-        Room room = roomRepository.findById(bookingDTO.getRoomId())
+        // Preço e título vêm do catálogo em memória; a reserva só precisa da referência ao quarto
+        IndexedRoom room = roomCatalog.findRoom(bookingDTO.getRoomId())
                 .orElseThrow(() -> new NotFoundException("Quarto não encontrado"));
 
-        if (bookingDTO.getCheckInDate().isBefore(LocalDate.now())) {
-            throw new InvalidBookingStateAndDateException("A data de entrada não pode ser antes de hoje");
-        }
+        validateStayDates(bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate());
 
-        if (bookingDTO.getCheckOutDate().isBefore(bookingDTO.getCheckInDate())) {
-            throw new InvalidBookingStateAndDateException("A data de saída não pode ser anterior à data de entrada");
-        }
-
-        if (bookingDTO.getCheckInDate().isEqual(bookingDTO.getCheckOutDate())) {
-            throw new InvalidBookingStateAndDateException("A data de entrada não pode ser igual à data de saída");
-        }
-
-        boolean isAvailable = bookingRepository.isRoomAvailable(room.getId(), bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate());
-        if (!isAvailable) {
-            throw new InvalidBookingStateAndDateException("O quarto não está disponível para os intervalos de datas selecionados");
-        }
-
-        BigDecimal totalPrice = calculateTotalPrice(room, bookingDTO);
+        BigDecimal totalPrice = pricingEngine.quote(room, bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate());
         String bookingReference = bookingCodeGenerator.generateBookingReference();
+        LocalDateTime now = LocalDateTime.now();
 
         Booking booking = new Booking();
         booking.setUser(currentUser);
-        booking.setRoom(room);
+        booking.setRoom(roomRepository.getReferenceById(room.getId()));
         booking.setCheckInDate(bookingDTO.getCheckInDate());
         booking.setCheckOutDate(bookingDTO.getCheckOutDate());
         booking.setTotalPrice(totalPrice);
         booking.setBookingReference(bookingReference);
         booking.setBookingStatus(BookingStatus.BOOKED);
         booking.setPaymentStatus(PaymentStatus.PENDING);
-        booking.setCreatedAt(LocalDateTime.now());
+        booking.setCreatedAt(now);
+
+        // Dois comandos no máximo. Com bloqueio, apagá-lo confirma que ainda é do hóspede e válido; enquanto
+        // existiu, nenhuma outra reserva ou bloqueio entrou nessas noites. Sem bloqueio, a trava da linha do
+        // quarto serializa as reservas do mesmo quarto. Em seguida a inserção condicional confere e grava
+        // de uma vez. No PostgreSQL a restrição bookings_no_overlap garante a regra mesmo fora deste caminho.
+        Long holdId = bookingDTO.getHoldId();
+        if (holdId != null) {
+            if (bookingHoldRepository.deleteOwnHold(holdId, currentUser.getId(), room.getId(),
+                    bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate(), now) == 0) {
+                throw new InvalidBookingStateAndDateException("Bloqueio temporário inválido ou expirado");
+            }
+        } else {
+            roomRepository.lockById(room.getId());
+        }
+
+        Long bookingId;
+        try {
+            bookingId = insertIfAvailable(booking, now);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new BookingConflictException(UNAVAILABLE_MESSAGE);
+            }
+            throw e;
+        }
+        if (bookingId == null) {
+            // Só no caminho de recusa: descobre o motivo para a mensagem
+            throw new BookingConflictException(bookingHoldRepository.existsConflictingHold(room.getId(),
+                    bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate(), now, null) ? HELD_MESSAGE : UNAVAILABLE_MESSAGE);
+        }
+        booking.setId(bookingId);
 
-        bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(BookingChange.of(booking, null, null)));
+        if (holdId != null) {
+            eventPublisher.publishEvent(new BookingHoldChangedEvent(holdId, room.getId(),
+                    bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate(), null, true, true));
+        }
 
         String paymentUrl = frontendUrl + "/payment/" + bookingReference + "/" + totalPrice;
 
@@ -166,50 +267,47 @@ public class BookingServiceImpl implements BookingService {
         return Response.builder()
                 .status(200)
                 .message("Reserva efetuada com sucesso")
-                .booking(modelMapper.map(booking, BookingDTO.class))
+                .booking(toCreatedDTO(booking, currentUser, room))
+                .build();
+    }
+
+    // Monta a resposta sem percorrer o proxy do quarto, que não foi carregado do banco
+    private BookingDTO toCreatedDTO(Booking booking, User user, IndexedRoom room) {
+        return BookingDTO.builder()
+                .id(booking.getId())
+                .roomId(room.getId())
+                .room(RoomMapper.toDTO(room))
+                .user(UserDTO.builder()
+                        .id(user.getId())
+                        .email(user.getEmail())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .phoneNumber(user.getPhoneNumber())
+                        .build())
+                .checkInDate(booking.getCheckInDate())
+                .checkOutDate(booking.getCheckOutDate())
+                .totalPrice(booking.getTotalPrice())
+                .bookingReference(booking.getBookingReference())
+                .createdAt(booking.getCreatedAt())
+                .bookingStatus(booking.getBookingStatus())
+                .paymentStatus(booking.getPaymentStatus())
                 .build();
     }
 
+    /**
+     * Sem transação: uma referência já em cache ou descartada pelo filtro não pega conexão do pool. A
+     * carga traz usuário e quarto por fetch join, que é tudo o que o mapeamento lê.
+     */
     @Override
-    @Transactional(readOnly = true)
     public Response findBookingByReferenceNo(String bookingReference) {
         try {
-            Booking booking = bookingRepository.findByBookingReferenceWithDetails(bookingReference)
-                    .orElseThrow(() -> new NotFoundException("Reserva com referência nº: " + bookingReference + " não encontrada"));
-
-            // Validações de campos obrigatórios
-            if (booking.getUser() == null) {
-                throw new NotFoundException("Usuário associado à reserva não encontrado.");
-            }
-            if (booking.getRoom() == null) {
-                throw new NotFoundException("Quarto associado à reserva não encontrado.");
-            }
-
-            // Limpa o campo imageData explicitamente
-            if (booking.getRoom() != null) {
-                booking.getRoom().setImageData(null);
-            }
-
-            // Garante valores padrão para campos que não podem ser nulos
-            if (booking.getBookingStatus() == null) {
-                booking.setBookingStatus(BookingStatus.BOOKED);
-            }
-            if (booking.getPaymentStatus() == null) {
-                booking.setPaymentStatus(PaymentStatus.PENDING);
-            }
-            if (booking.getTotalPrice() == null && booking.getCheckInDate() != null && booking.getCheckOutDate() != null) {
-                booking.setTotalPrice(calculateTotalPrice(booking.getRoom(), BookingDTO.builder()
-                    .checkInDate(booking.getCheckInDate())
-                    .checkOutDate(booking.getCheckOutDate())
-                    .build()));
-            }
-
-            BookingDTO bookingDTO = modelMapper.map(booking, BookingDTO.class);
-
-            // Configura a URL da imagem do quarto
-            if (bookingDTO.getRoom() != null) {
-                bookingDTO.getRoom().setImageUrl("/api/rooms/" + booking.getRoom().getId() + "/image");
+            // Referências fora do formato (erros de digitação) ou que o filtro garante não existir
+            // são respondidas sem consultar o banco
+            String reference = BookingReferenceFormat.normalize(bookingReference);
+            if (!BookingReferenceFormat.isValid(reference) || !bookingReferenceIndex.mightExist(reference)) {
+                throw new NotFoundException("Reserva com referência nº: " + bookingReference + " não encontrada");
             }
+            BookingDTO bookingDTO = bookingReferenceCache.getOrLoad(reference, () -> loadBookingByReference(reference));
 
             return Response.builder()
                     .status(200)
@@ -217,22 +315,79 @@ public class BookingServiceImpl implements BookingService {
                     .booking(bookingDTO)
                     .build();
 
+        } catch (NotFoundException e) {
+            log.debug("Reserva não encontrada: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao buscar reserva: {}", e.getMessage(), e);
             throw e;
         }
     }
 
+    // O DTO devolvido fica no cache e é compartilhado entre as requisições: não deve ser alterado
+    private BookingDTO loadBookingByReference(String reference) {
+        Booking booking = bookingRepository.findByBookingReferenceWithDetails(reference)
+                .orElseThrow(() -> new NotFoundException("Reserva com referência nº: " + reference + " não encontrada"));
+
+        // Validações de campos obrigatórios
+        if (booking.getUser() == null) {
+            throw new NotFoundException("Usuário associado à reserva não encontrado.");
+        }
+        if (booking.getRoom() == null) {
+            throw new NotFoundException("Quarto associado à reserva não encontrado.");
+        }
+
+        // Limpa o campo imageData explicitamente
+        booking.getRoom().setImageData(null);
+
+        // Garante valores padrão para campos que não podem ser nulos
+        if (booking.getBookingStatus() == null) {
+            booking.setBookingStatus(BookingStatus.BOOKED);
+        }
+        if (booking.getPaymentStatus() == null) {
+            booking.setPaymentStatus(PaymentStatus.PENDING);
+        }
+        if (booking.getTotalPrice() == null && booking.getCheckInDate() != null && booking.getCheckOutDate() != null) {
+            booking.setTotalPrice(calculateTotalPrice(booking.getRoom().getPricePerNight(), BookingDTO.builder()
+                .checkInDate(booking.getCheckInDate())
+                .checkOutDate(booking.getCheckOutDate())
+                .build()));
+        }
+
+        BookingDTO bookingDTO = modelMapper.map(booking, BookingDTO.class);
+
+        // Configura a URL da imagem do quarto
+        if (bookingDTO.getRoom() != null) {
+            bookingDTO.getRoom().setImageUrl(ImageUrls.roomImage(booking.getRoom().getId(), booking.getRoom().getImageKey()));
+        }
+        return bookingDTO;
+    }
+
     @Override
+    @Transactional
     public Response updateBooking(BookingDTO bookingDTO) {
         if (bookingDTO.getId() == null) {
             throw new NotFoundException("ID da reserva é obrigatório.");
         }
 
-        Booking existing = bookingRepository.findById(bookingDTO.getId())
+        // Travada até o commit: o ciclo de vida e o pagamento não gravam status no meio da atualização
+        Booking existing = bookingRepository.lockById(bookingDTO.getId())
                 .orElseThrow(() -> new NotFoundException("Reserva não encontrada."));
 
+        // Reservas antigas sem status são tratadas como BOOKED/PENDING, igual à listagem
+        BookingStatus previousBookingStatus = existing.getBookingStatus() != null ? existing.getBookingStatus() : BookingStatus.BOOKED;
+        PaymentStatus previousPaymentStatus = existing.getPaymentStatus() != null ? existing.getPaymentStatus() : PaymentStatus.PENDING;
+
         if (bookingDTO.getBookingStatus() != null) {
+            // Reativar uma reserva cancelada ou encerrada ocupa as noites de novo: confere como na criação
+            if (reactivates(previousBookingStatus, bookingDTO.getBookingStatus())) {
+                Long roomId = existing.getRoom().getId();
+                roomRepository.lockById(roomId);
+                String conflict = findConflict(roomId, existing.getCheckInDate(), existing.getCheckOutDate());
+                if (conflict != null) {
+                    throw new BookingConflictException(conflict);
+                }
+            }
             existing.setBookingStatus(bookingDTO.getBookingStatus());
         }
 
@@ -240,7 +395,15 @@ public class BookingServiceImpl implements BookingService {
             existing.setPaymentStatus(bookingDTO.getPaymentStatus());
         }
 
-        bookingRepository.save(existing);
+        try {
+            bookingRepository.saveAndFlush(existing);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new BookingConflictException(UNAVAILABLE_MESSAGE);
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(BookingChangedEvent.of(BookingChange.of(existing, previousBookingStatus, previousPaymentStatus)));
 
         return Response.builder()
                 .status(200)
@@ -248,42 +411,212 @@ public class BookingServiceImpl implements BookingService {
                 .build();
     }
 
+    @Override
+    @Transactional
+    public Response updateBookings(List<BookingDTO> bookingDTOs) {
+        if (bookingDTOs == null || bookingDTOs.isEmpty()) {
+            throw new InvalidBookingStateAndDateException("Informe ao menos uma reserva para atualizar");
+        }
+        if (bookingDTOs.size() > MAX_BATCH_UPDATE) {
+            throw new InvalidBookingStateAndDateException("No máximo " + MAX_BATCH_UPDATE + " reservas por requisição");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        bookingDTOs.forEach(dto -> {
+            if (dto.getId() != null) {
+                ids.add(dto.getId());
+            }
+        });
+        // Uma consulta só para todas as reservas, travadas até o commit
+        Map<Long, BookingStatusProjection> existing = new HashMap<>();
+        if (!ids.isEmpty()) {
+            bookingRepository.lockStatusRowsByIds(ids).forEach(row -> existing.put(row.getId(), row));
+        }
+
+        List<BookingUpdateResultDTO> results = new ArrayList<>(bookingDTOs.size());
+        List<BookingChange> changes = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        // Reativações ficam para depois do lote: conferem a disponibilidade já sem as estadias que ele libera
+        Map<Integer, BookingChange> reactivations = new LinkedHashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (BookingDTO dto : bookingDTOs) {
+            BookingStatusProjection row = dto.getId() != null ? existing.get(dto.getId()) : null;
+            String error = dto.getId() == null ? "ID da reserva é obrigatório."
+                    : !seen.add(dto.getId()) ? "Reserva repetida na requisição."
+                    : row == null ? "Reserva não encontrada."
+                    : null;
+            if (error != null) {
+                results.add(BookingUpdateResultDTO.builder().id(dto.getId()).updated(false).message(error).build());
+                continue;
+            }
+
+            // Mesma regra de updateBooking: sem status conta como BOOKED/PENDING, campo nulo não altera
+            BookingStatus previousBookingStatus = row.getBookingStatus() != null ? row.getBookingStatus() : BookingStatus.BOOKED;
+            PaymentStatus previousPaymentStatus = row.getPaymentStatus() != null ? row.getPaymentStatus() : PaymentStatus.PENDING;
+            BookingStatus bookingStatus = dto.getBookingStatus() != null ? dto.getBookingStatus() : previousBookingStatus;
+            PaymentStatus paymentStatus = dto.getPaymentStatus() != null ? dto.getPaymentStatus() : previousPaymentStatus;
+
+            BookingChange change = BookingChange.builder()
+                    .bookingId(row.getId())
+                    .roomId(row.getRoomId())
+                    .userId(row.getUserId())
+                    .bookingReference(row.getBookingReference())
+                    .checkInDate(row.getCheckInDate())
+                    .checkOutDate(row.getCheckOutDate())
+                    .totalPrice(row.getTotalPrice())
+                    .previousBookingStatus(previousBookingStatus)
+                    .bookingStatus(bookingStatus)
+                    .previousPaymentStatus(previousPaymentStatus)
+                    .paymentStatus(paymentStatus)
+                    .build();
+            if (reactivates(previousBookingStatus, bookingStatus)) {
+                reactivations.put(results.size(), change);
+                results.add(null);
+                continue;
+            }
+            batch.add(new Object[]{bookingStatus.name(), paymentStatus.name(), row.getId()});
+            changes.add(change);
+            results.add(updatedResult(change));
+        }
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_STATUS, batch);
+        }
+        if (!reactivations.isEmpty()) {
+            // Trava os quartos sempre na mesma ordem e confere cada reativação como uma reserva nova; cada
+            // uma é gravada antes da próxima conferência, então duas do lote também não se sobrepõem
+            reactivations.values().stream().map(BookingChange::getRoomId).distinct().sorted()
+                    .forEach(roomRepository::lockById);
+            reactivations.forEach((index, change) -> {
+                String conflict = findConflict(change.getRoomId(), change.getCheckInDate(), change.getCheckOutDate());
+                if (conflict != null) {
+                    results.set(index, BookingUpdateResultDTO.builder()
+                            .id(change.getBookingId()).updated(false).message(conflict).build());
+                    return;
+                }
+                try {
+                    jdbcTemplate.update(UPDATE_STATUS, change.getBookingStatus().name(),
+                            change.getPaymentStatus().name(), change.getBookingId());
+                } catch (DataIntegrityViolationException e) {
+                    if (isOverlapViolation(e)) {
+                        throw new BookingConflictException("Reserva " + change.getBookingId() + ": " + UNAVAILABLE_MESSAGE);
+                    }
+                    throw e;
+                }
+                changes.add(change);
+                results.set(index, updatedResult(change));
+            });
+        }
+        if (!changes.isEmpty()) {
+            // Um único evento: índices, cache e estatísticas são atualizados uma vez para o lote inteiro
+            eventPublisher.publishEvent(new BookingChangedEvent(changes));
+        }
+
+        return Response.builder()
+                .status(200)
+                .message(changes.size() + " de " + bookingDTOs.size() + " reservas atualizadas")
+                .bookingUpdates(results)
+                .build();
+    }
+
+    /**
+     * Regras de datas comuns à reserva e ao bloqueio temporário.
+     */
+    static void validateStayDates(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (checkInDate.isBefore(LocalDate.now())) {
+            throw new InvalidBookingStateAndDateException("A data de entrada não pode ser antes de hoje");
+        }
+
+        if (checkOutDate.isBefore(checkInDate)) {
+            throw new InvalidBookingStateAndDateException("A data de saída não pode ser anterior à data de entrada");
+        }
+
+        if (checkInDate.isEqual(checkOutDate)) {
+            throw new InvalidBookingStateAndDateException("A data de entrada não pode ser igual à data de saída");
+        }
+    }
+
+    // Sem transação: um histórico em cache não pega conexão do pool
+    @Override
+    public Response getBookingsByUser(Long userId) {
+        return Response.builder().status(200).bookings(bookingHistoryView.get(userId)).build();
+    }
+
+    @Override
     @Transactional(readOnly = true)
-    public Response getBookingsByCurrentUser() {
-        try {
-            User currentUser = userService.getCurrentLoggedInUser();
-            var projections = bookingRepository.findBookingHistoryByUserId(currentUser.getId());
-            List<BookingDTO> bookingDTOList = projections.stream().map(p -> {
-                BookingDTO dto = BookingDTO.builder()
-                        .id(p.getId())
-                        .checkInDate(p.getCheckInDate())
-                        .checkOutDate(p.getCheckOutDate())
-                        .totalPrice(p.getTotalPrice())
-                        .bookingReference(p.getBookingReference())
-                        .createdAt(p.getCreatedAt())
-                        .bookingStatus(p.getBookingStatus())
-                        .paymentStatus(p.getPaymentStatus())
-                        .room(RoomDTO.builder()
-                                .id(p.getRoomId())
-                                .roomNumber(p.getRoomNumber())
-                                .type(p.getRoomType())
-                                .pricePerNight(p.getRoomPricePerNight())
-                                .capacity(p.getRoomCapacity())
-                                .description(p.getRoomDescription())
-                                .title(p.getRoomTitle())
-                                .imageUrl("/api/rooms/" + p.getRoomId() + "/image")
-                                .build())
-                        .build();
-                return dto;
-            }).toList();
-            return Response.builder().status(200).bookings(bookingDTOList).build();
-        } catch (Exception e) {
-            return Response.builder().status(500).message("Erro ao buscar histórico de reservas: " + e.getMessage()).build();
+    public long exportBookings(BookingStatus bookingStatus, LocalDate from, LocalDate to,
+                               ExportFormat format, OutputStream out) throws IOException {
+        // As linhas são escritas conforme o cursor avança; nenhuma lista de reservas é montada em memória
+        BookingExportWriter writer = new BookingExportWriter(format, out);
+        try (Stream<BookingHistoryProjection> rows = bookingRepository.streamForExport(bookingStatus, from, to)) {
+            for (BookingHistoryProjection row : (Iterable<BookingHistoryProjection>) rows::iterator) {
+                writer.write(row);
+            }
         }
+        writer.flush();
+        log.info("Exportação de reservas ({}) concluída: {} linhas", format.getParam(), writer.getRows());
+        return writer.getRows();
+    }
+
+    /**
+     * Insere a reserva se nenhuma reserva ativa nem bloqueio válido ocupar alguma das noites, e retorna o id
+     * gerado, ou {@code null} quando o quarto está ocupado.
+     */
+    private Long insertIfAvailable(Booking booking, LocalDateTime now) {
+        Long roomId = booking.getRoom().getId();
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        int inserted = jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IF_AVAILABLE, new String[]{"id"});
+            statement.setLong(1, booking.getUser().getId());
+            statement.setLong(2, roomId);
+            statement.setObject(3, booking.getCheckInDate());
+            statement.setObject(4, booking.getCheckOutDate());
+            statement.setBigDecimal(5, booking.getTotalPrice());
+            statement.setString(6, booking.getBookingReference());
+            statement.setObject(7, booking.getCreatedAt());
+            statement.setLong(8, roomId);
+            statement.setObject(9, booking.getCheckOutDate());
+            statement.setObject(10, booking.getCheckInDate());
+            statement.setLong(11, roomId);
+            statement.setObject(12, booking.getCheckOutDate());
+            statement.setObject(13, booking.getCheckInDate());
+            statement.setObject(14, now);
+            return statement;
+        }, keyHolder);
+        return inserted == 0 ? null : keyHolder.getKey().longValue();
+    }
+
+    private static BookingUpdateResultDTO updatedResult(BookingChange change) {
+        return BookingUpdateResultDTO.builder().id(change.getBookingId()).updated(true)
+                .bookingStatus(change.getBookingStatus()).paymentStatus(change.getPaymentStatus()).build();
+    }
+
+    // Cancelada ou encerrada voltando a BOOKED/CHECKED_IN: as noites passam a ser ocupadas de novo
+    private static boolean reactivates(BookingStatus previous, BookingStatus next) {
+        return isActive(next) && !isActive(previous);
+    }
+
+    private static boolean isActive(BookingStatus status) {
+        return status == BookingStatus.BOOKED || status == BookingStatus.CHECKED_IN;
+    }
+
+    // Chamar com a linha do quarto travada. Retorna o motivo da recusa ou null se as noites estão livres.
+    private String findConflict(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (!bookingRepository.isRoomAvailable(roomId, checkInDate, checkOutDate)) {
+            return UNAVAILABLE_MESSAGE;
+        }
+        if (bookingHoldRepository.existsConflictingHold(roomId, checkInDate, checkOutDate, LocalDateTime.now(), null)) {
+            return HELD_MESSAGE;
+        }
+        return null;
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(OVERLAP_CONSTRAINT);
     }
 
-    private BigDecimal calculateTotalPrice(Room room, BookingDTO bookingDTO) {
-        BigDecimal pricePerNight = room.getPricePerNight();
+    private BigDecimal calculateTotalPrice(BigDecimal pricePerNight, BookingDTO bookingDTO) {
         long days = ChronoUnit.DAYS.between(bookingDTO.getCheckInDate(), bookingDTO.getCheckOutDate());
         return pricePerNight.multiply(BigDecimal.valueOf(days));
     }
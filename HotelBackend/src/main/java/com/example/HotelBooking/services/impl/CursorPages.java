@@ -0,0 +1,31 @@
+package com.example.HotelBooking.services.impl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilitários da paginação por cursor (keyset) das listagens administrativas.
+ *
+ * As consultas buscam {@code limit + 1} linhas ordenadas por id decrescente; a linha extra só indica
+ * que existe uma próxima página, cujo cursor é o id da última linha devolvida.
+ */
+final class CursorPages {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private CursorPages() {
+    }
+
+    static int clampLimit(int limit) {
+        return limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    static <T> List<T> page(List<T> rows, int limit) {
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    static <T> Long nextCursor(List<T> rows, int limit, Function<T, Long> id) {
+        return rows.size() > limit ? id.apply(rows.get(limit - 1)) : null;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.HotelBooking.services.impl;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.catalog.RoomCatalog;
+import com.example.HotelBooking.dtos.QuoteDTO;
+import com.example.HotelBooking.dtos.RateRuleDTO;
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.entities.RateRule;
+import com.example.HotelBooking.events.RateRulesChangedEvent;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+import com.example.HotelBooking.exceptions.NotFoundException;
+import com.example.HotelBooking.pricing.PricingEngine;
+import com.example.HotelBooking.repositories.RateRuleRepository;
+import com.example.HotelBooking.services.PricingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PricingServiceImpl implements PricingService {
+
+    private final RateRuleRepository rateRuleRepository;
+    private final RoomCatalog roomCatalog;
+    private final PricingEngine pricingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Response quote(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new InvalidBookingStateAndDateException("A data de saída deve ser posterior à data de entrada");
+        }
+        IndexedRoom room = roomCatalog.findRoom(roomId)
+                .orElseThrow(() -> new NotFoundException("Quarto não encontrado"));
+        QuoteDTO quote = QuoteDTO.builder()
+                .roomId(roomId)
+                .checkInDate(checkInDate)
+                .checkOutDate(checkOutDate)
+                .nights((int) ChronoUnit.DAYS.between(checkInDate, checkOutDate))
+                .totalPrice(pricingEngine.quote(room, checkInDate, checkOutDate))
+                .build();
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .quote(quote)
+                .build();
+    }
+
+    @Override
+    public Response getRateRules() {
+        List<RateRuleDTO> rules = rateRuleRepository.findAll(Sort.by(Sort.Direction.DESC, "priority", "id"))
+                .stream().map(PricingServiceImpl::toDTO).toList();
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .rateRules(rules)
+                .build();
+    }
+
+    @Override
+    public Response addRateRule(RateRuleDTO rateRuleDTO) {
+        RateRule rule = new RateRule();
+        apply(rule, rateRuleDTO);
+        RateRule saved = rateRuleRepository.save(rule);
+        eventPublisher.publishEvent(new RateRulesChangedEvent(saved.getId()));
+        return Response.builder()
+                .status(200)
+                .message("Tarifa adicionada com sucesso")
+                .rateRule(toDTO(saved))
+                .build();
+    }
+
+    @Override
+    public Response updateRateRule(RateRuleDTO rateRuleDTO) {
+        if (rateRuleDTO.getId() == null) {
+            throw new NotFoundException("ID da tarifa é obrigatório.");
+        }
+        RateRule rule = rateRuleRepository.findById(rateRuleDTO.getId())
+                .orElseThrow(() -> new NotFoundException("Tarifa não encontrada"));
+        apply(rule, rateRuleDTO);
+        RateRule saved = rateRuleRepository.save(rule);
+        eventPublisher.publishEvent(new RateRulesChangedEvent(saved.getId()));
+        return Response.builder()
+                .status(200)
+                .message("Tarifa atualizada com sucesso")
+                .rateRule(toDTO(saved))
+                .build();
+    }
+
+    @Override
+    public Response deleteRateRule(Long id) {
+        RateRule rule = rateRuleRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Tarifa não encontrada"));
+        rateRuleRepository.delete(rule);
+        eventPublisher.publishEvent(new RateRulesChangedEvent(id));
+        return Response.builder()
+                .status(200)
+                .message("Tarifa removida com sucesso")
+                .build();
+    }
+
+    private void apply(RateRule rule, RateRuleDTO dto) {
+        if (dto.getStartDate() != null && dto.getEndDate() != null && dto.getEndDate().isBefore(dto.getStartDate())) {
+            throw new InvalidBookingStateAndDateException("A data final da tarifa não pode ser anterior à data inicial");
+        }
+        if (dto.getRoomId() != null && roomCatalog.findRoom(dto.getRoomId()).isEmpty()) {
+            throw new NotFoundException("Quarto não encontrado");
+        }
+        rule.setName(dto.getName());
+        rule.setRoomId(dto.getRoomId());
+        rule.setRoomType(dto.getRoomType());
+        rule.setStartDate(dto.getStartDate());
+        rule.setEndDate(dto.getEndDate());
+        rule.setDaysOfWeek(dto.getDaysOfWeek());
+        rule.setNightlyPrice(dto.getNightlyPrice());
+        rule.setPriority(dto.getPriority() != null ? dto.getPriority() : 0);
+    }
+
+    private static RateRuleDTO toDTO(RateRule rule) {
+        return RateRuleDTO.builder()
+                .id(rule.getId())
+                .name(rule.getName())
+                .roomId(rule.getRoomId())
+                .roomType(rule.getRoomType())
+                .startDate(rule.getStartDate())
+                .endDate(rule.getEndDate())
+                .daysOfWeek(rule.getDaysOfWeek())
+                .nightlyPrice(rule.getNightlyPrice())
+                .priority(rule.getPriority())
+                .build();
+    }
+}
@@ -1,52 +1,95 @@
 package com.example.HotelBooking.services.impl;
 
+import com.example.HotelBooking.availability.AvailabilityKey;
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.catalog.RoomCatalog;
+import com.example.HotelBooking.dtos.BookedIntervalProjection;
+import com.example.HotelBooking.dtos.FlexibleStayDTO;
 import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.dtos.RoomAvailableProjection;
+import com.example.HotelBooking.dtos.RoomCalendarDTO;
 import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.dtos.RoomImageProjection;
 import com.example.HotelBooking.entities.Room;
 import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.events.RoomTypeChangedEvent;
 import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+import com.example.HotelBooking.exceptions.InvalidImageException;
 import com.example.HotelBooking.exceptions.NotFoundException;
+import com.example.HotelBooking.mappers.RoomMapper;
+import com.example.HotelBooking.pricing.PricingEngine;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
+import com.example.HotelBooking.repositories.BookingRepository;
 import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.search.RoomSearchIndex;
+import com.example.HotelBooking.search.RoomSearchPage;
 import com.example.HotelBooking.services.RoomService;
+import com.example.HotelBooking.storage.ImageContent;
+import com.example.HotelBooking.storage.ImageDerivativeService;
+import com.example.HotelBooking.storage.ImageIngestion;
+import com.example.HotelBooking.storage.ImageStorage;
+import com.example.HotelBooking.storage.ImageVariant;
+import com.example.HotelBooking.storage.StoredImage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class RoomServiceImpl implements RoomService {
 
+    private static final int MAX_CALENDAR_DAYS = 90;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_FLEXIBLE_WINDOW_DAYS = 60;
+    private static final int MAX_FLEXIBLE_NIGHTS = 30;
+    private static final int MAX_FLEXIBLE_RESULTS = 500;
+
     private final RoomRepository roomRepository;
-    private final ModelMapper modelMapper;
+    private final BookingRepository bookingRepository;
+    private final BookingHoldRepository bookingHoldRepository;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final BoundedCache<AvailabilityKey, List<IndexedRoom>> availabilityCache;
+    private final RoomSearchIndex roomSearchIndex;
+    private final RoomCatalog roomCatalog;
+    private final PricingEngine pricingEngine;
+    private final ImageStorage imageStorage;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageIngestion imageIngestion;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Response addRoom(RoomDTO roomDTO, MultipartFile imageFile) {
-        Room roomToSave = modelMapper.map(roomDTO, Room.class);
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String contentType = imageFile.getContentType();
-            if (contentType == null ||
-                !(contentType.equals("image/jpeg") || contentType.equals("image/png") || contentType.equals("image/jpg"))) {
-                throw new IllegalArgumentException("Apenas imagens JPEG, JPG ou PNG são permitidas.");
-            }
-            try {
-                roomToSave.setImageData(imageFile.getBytes());
-            } catch (Exception e) {
-                throw new RuntimeException("Erro ao processar a imagem.", e);
-            }
-        }
-        roomRepository.save(roomToSave);
+        Room roomToSave = RoomMapper.toNewEntity(roomDTO);
+        attachImage(roomToSave, imageFile);
+        Room savedRoom = roomRepository.save(roomToSave);
+        eventPublisher.publishEvent(new RoomChangedEvent(savedRoom.getId(), false));
         return Response.builder()
                 .status(200)
                 .message("Quarto adicionado com sucesso")
@@ -54,9 +97,11 @@ public class RoomServiceImpl implements RoomService {
     }
 
     @Override
+    @Transactional
     public Response updateRoom(RoomDTO roomDTO, MultipartFile imageFile) {
         Room existingRoom = roomRepository.findById(roomDTO.getId())
                 .orElseThrow(() -> new NotFoundException("Quarto não encontrado"));
+        RoomType previousType = existingRoom.getType();
 
         if (roomDTO.getRoomNumber() != null && roomDTO.getRoomNumber() >= 0) {
             existingRoom.setRoomNumber(roomDTO.getRoomNumber());
@@ -76,19 +121,13 @@ public class RoomServiceImpl implements RoomService {
         if (roomDTO.getTitle() != null) {
             existingRoom.setTitle(roomDTO.getTitle());
         }
-        if (imageFile != null && !imageFile.isEmpty()) {
-            String contentType = imageFile.getContentType();
-            if (contentType == null ||
-                !(contentType.equals("image/jpeg") || contentType.equals("image/png") || contentType.equals("image/jpg"))) {
-                throw new IllegalArgumentException("Apenas imagens JPEG, JPG ou PNG são permitidas.");
-            }
-            try {
-                existingRoom.setImageData(imageFile.getBytes());
-            } catch (Exception e) {
-                throw new RuntimeException("Erro ao processar a imagem.", e);
-            }
+        attachImage(existingRoom, imageFile);
+        // Grava já: a linha do quarto fica travada antes de as estatísticas lerem as reservas dele
+        roomRepository.saveAndFlush(existingRoom);
+        if (previousType != existingRoom.getType()) {
+            eventPublisher.publishEvent(new RoomTypeChangedEvent(existingRoom.getId(), previousType, existingRoom.getType()));
         }
-        roomRepository.save(existingRoom);
+        eventPublisher.publishEvent(new RoomChangedEvent(existingRoom.getId(), false));
         return Response.builder()
                 .status(200)
                 .message("Quarto atualizado com sucesso")
@@ -97,24 +136,29 @@ public class RoomServiceImpl implements RoomService {
 
     @Override
     public Response getAllRooms() {
-        List<Room> roomList = roomRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
-        List<RoomDTO> roomDTOList = modelMapper.map(roomList, new TypeToken<List<RoomDTO>>() {}.getType());
-        for (int i = 0; i < roomDTOList.size(); i++) {
-            setImageUrl(roomDTOList.get(i), roomList.get(i).getId());
-        }
         return Response.builder()
                 .status(200)
                 .message("success")
-                .rooms(roomDTOList)
+                .rooms(roomCatalog.getAllRooms())
+                .build();
+    }
+
+    @Override
+    public Response getRoomsPage(Long after, RoomType roomType, int limit) {
+        int pageSize = CursorPages.clampLimit(limit);
+        List<RoomAvailableProjection> rows = roomRepository.findRoomPage(after, roomType, Limit.of(pageSize + 1));
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .rooms(CursorPages.page(rows, pageSize).stream().map(p -> RoomMapper.toDTO(p)).toList())
+                .nextCursor(CursorPages.nextCursor(rows, pageSize, RoomAvailableProjection::getId))
                 .build();
     }
 
     @Override
     public Response getRoomById(Long id) {
-        Room room = roomRepository.findById(id)
+        RoomDTO roomDTO = roomCatalog.findRoomDTO(id)
                 .orElseThrow(() -> new NotFoundException("Quarto não encontrado"));
-        RoomDTO roomDTO = modelMapper.map(room, RoomDTO.class);
-        setImageUrl(roomDTO, room.getId());
         return Response.builder()
                 .status(200)
                 .message("success")
@@ -123,10 +167,13 @@ public class RoomServiceImpl implements RoomService {
     }
 
     @Override
+    @Transactional
     public Response deleteRoom(Long id) {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Quarto não encontrado"));
+        bookingHoldRepository.deleteByRoomId(id);
         roomRepository.delete(room);
+        eventPublisher.publishEvent(new RoomChangedEvent(id, true));
         return Response.builder()
                 .status(200)
                 .message("Quarto deletado com sucesso")
@@ -144,25 +191,163 @@ public class RoomServiceImpl implements RoomService {
         if (checkInDate.isEqual(checkOutDate)) {
             throw new InvalidBookingStateAndDateException("A data de check-in não pode ser igual à data de check-out");
         }
-        var projections = roomRepository.findAvailableRoomsProjection(checkInDate, checkOutDate, roomType);
-        List<RoomDTO> roomDTOList = projections.stream().map(p -> RoomDTO.builder()
-                .id(p.getId())
-                .roomNumber(p.getRoomNumber())
-                .type(p.getType())
-                .pricePerNight(p.getPricePerNight())
-                .capacity(p.getCapacity())
-                .description(p.getDescription())
-                .title(p.getTitle())
-                .imageUrl("/api/rooms/" + p.getId() + "/image")
-                .build()
-        ).toList();
+        List<IndexedRoom> availableRooms = availabilityCache.getOrLoad(
+                new AvailabilityKey(checkInDate, checkOutDate, roomType),
+                () -> loadAvailableRooms(checkInDate, checkOutDate, roomType));
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .rooms(availableRooms.stream().map(room -> {
+                    RoomDTO dto = RoomMapper.toDTO(room);
+                    dto.setTotalPrice(pricingEngine.quote(room, checkInDate, checkOutDate));
+                    return dto;
+                }).toList())
+                .build();
+    }
+
+    private List<IndexedRoom> loadAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, RoomType roomType) {
+        if (roomAvailabilityIndex.isLoaded()) {
+            return List.copyOf(roomAvailabilityIndex.findAvailableRooms(checkInDate, checkOutDate, roomType));
+        }
+        return roomRepository.findAvailableRoomsProjection(checkInDate, checkOutDate, roomType)
+                .stream().map(IndexedRoom::from).toList();
+    }
+
+    @Override
+    public Response getRoomCalendar(LocalDate from, LocalDate to, RoomType roomType) {
+        if (from.isBefore(LocalDate.now())) {
+            throw new InvalidBookingStateAndDateException("A data inicial do calendário não pode ser antes de hoje");
+        }
+        if (to.isBefore(from)) {
+            throw new InvalidBookingStateAndDateException("A data final do calendário não pode ser anterior à data inicial");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_CALENDAR_DAYS) {
+            throw new InvalidBookingStateAndDateException("O calendário permite no máximo " + MAX_CALENDAR_DAYS + " dias por consulta");
+        }
+
+        Map<IndexedRoom, BitSet> occupiedDays = roomAvailabilityIndex.isLoaded()
+                ? roomAvailabilityIndex.occupiedDays(from, to, roomType)
+                : loadOccupiedDays(from, to, roomType);
+
+        List<RoomCalendarDTO> calendar = new ArrayList<>(occupiedDays.size());
+        occupiedDays.forEach((room, occupied) -> {
+            List<LocalDate> occupiedDates = occupied.stream().mapToObj(from::plusDays).toList();
+            calendar.add(RoomCalendarDTO.builder()
+                    .roomId(room.getId())
+                    .roomNumber(room.getRoomNumber())
+                    .type(room.getType())
+                    .title(room.getTitle())
+                    .from(from)
+                    .to(to)
+                    .occupiedDates(occupiedDates)
+                    .freeDays((int) days - occupiedDates.size())
+                    .build());
+        });
         return Response.builder()
                 .status(200)
                 .message("success")
-                .rooms(roomDTOList)
+                .calendar(calendar)
                 .build();
     }
 
+    @Override
+    public Response getFlexibleAvailability(LocalDate earliest, LocalDate latest, int nights, RoomType roomType, int limit) {
+        if (earliest.isBefore(LocalDate.now())) {
+            throw new InvalidBookingStateAndDateException("A primeira data de entrada não pode ser antes de hoje");
+        }
+        if (latest.isBefore(earliest)) {
+            throw new InvalidBookingStateAndDateException("A última data de entrada não pode ser anterior à primeira");
+        }
+        if (ChronoUnit.DAYS.between(earliest, latest) + 1 > MAX_FLEXIBLE_WINDOW_DAYS) {
+            throw new InvalidBookingStateAndDateException("A busca flexível permite no máximo " + MAX_FLEXIBLE_WINDOW_DAYS + " datas de entrada");
+        }
+        if (nights < 1 || nights > MAX_FLEXIBLE_NIGHTS) {
+            throw new InvalidBookingStateAndDateException("A estadia deve ter entre 1 e " + MAX_FLEXIBLE_NIGHTS + " noites");
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_FLEXIBLE_RESULTS));
+
+        // Uma varredura por quarto: noites ocupadas de [earliest, latest + nights - 1], o mesmo bitset do calendário
+        LocalDate to = latest.plusDays(nights - 1);
+        Map<IndexedRoom, BitSet> occupiedDays = roomAvailabilityIndex.isLoaded()
+                ? roomAvailabilityIndex.occupiedDays(earliest, to, roomType)
+                : loadOccupiedDays(earliest, to, roomType);
+
+        int lastStart = (int) ChronoUnit.DAYS.between(earliest, latest);
+        List<FlexibleStayDTO> stays = new ArrayList<>();
+        occupiedDays.forEach((room, occupied) -> {
+            // A estadia ocupa as noites [start, start + nights). Ao encontrar uma noite ocupada dentro
+            // da janela, pula direto para o dia seguinte a ela.
+            int start = 0;
+            while (start <= lastStart) {
+                int blocked = occupied.nextSetBit(start);
+                if (blocked >= 0 && blocked < start + nights) {
+                    start = blocked + 1;
+                    continue;
+                }
+                LocalDate checkIn = earliest.plusDays(start);
+                LocalDate checkOut = checkIn.plusDays(nights);
+                stays.add(FlexibleStayDTO.builder()
+                        .roomId(room.getId())
+                        .roomNumber(room.getRoomNumber())
+                        .type(room.getType())
+                        .title(room.getTitle())
+                        .checkInDate(checkIn)
+                        .checkOutDate(checkOut)
+                        .totalPrice(pricingEngine.quote(room, checkIn, checkOut))
+                        .build());
+                start++;
+            }
+        });
+
+        stays.sort(Comparator.comparing(FlexibleStayDTO::getCheckInDate)
+                .thenComparing(FlexibleStayDTO::getTotalPrice, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(FlexibleStayDTO::getRoomId));
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .flexibleStays(stays.size() > maxResults ? List.copyOf(stays.subList(0, maxResults)) : stays)
+                .totalElements((long) stays.size())
+                .build();
+    }
+
+    // Usado enquanto o índice não está carregado: uma única varredura das reservas do período,
+    // ordenadas por quarto e data de entrada
+    private Map<IndexedRoom, BitSet> loadOccupiedDays(LocalDate from, LocalDate to, RoomType roomType) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        int days = (int) (toDay - fromDay + 1);
+
+        Map<IndexedRoom, BitSet> calendar = new LinkedHashMap<>();
+        Map<Long, BitSet> byRoomId = new LinkedHashMap<>();
+        roomRepository.findAllRoomsProjection().stream()
+                .filter(p -> roomType == null || p.getType() == roomType)
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .forEach(p -> {
+                    BitSet occupied = new BitSet(days);
+                    calendar.put(IndexedRoom.from(p), occupied);
+                    byRoomId.put(p.getId(), occupied);
+                });
+
+        Long currentRoomId = null;
+        BitSet current = null;
+        for (BookedIntervalProjection interval : bookingRepository.findActiveIntervalsBetween(from, to)) {
+            if (!interval.getRoomId().equals(currentRoomId)) {
+                currentRoomId = interval.getRoomId();
+                current = byRoomId.get(currentRoomId);
+            }
+            if (current == null) {
+                continue; // quarto de outro tipo
+            }
+            long start = Math.max(interval.getCheckInDate().toEpochDay(), fromDay);
+            long end = Math.min(interval.getCheckOutDate().toEpochDay() - 1, toDay); // o dia de saída fica livre
+            if (end >= start) {
+                current.set((int) (start - fromDay), (int) (end - fromDay) + 1);
+            }
+        }
+        return calendar;
+    }
+
     @Override
     public List<RoomType> getAllRoomTypes() {
         // Implementação omitida para brevidade
@@ -170,32 +355,69 @@ public class RoomServiceImpl implements RoomService {
     }
 
     @Override
-    public Response searchRoom(String input) {
-        List<Room> roomList = roomRepository.searchRooms(input);
-        List<RoomDTO> roomDTOList = modelMapper.map(roomList, new TypeToken<List<RoomDTO>>() {}.getType());
-        for (int i = 0; i < roomDTOList.size(); i++) {
-            setImageUrl(roomDTOList.get(i), roomList.get(i).getId());
+    public Response searchRoom(String input, BigDecimal minPrice, BigDecimal maxPrice, Integer minCapacity,
+                               int page, int size) {
+        if (!roomSearchIndex.isLoaded()) {
+            roomSearchIndex.reload();
         }
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        RoomSearchPage result = roomSearchIndex.search(input, minPrice, maxPrice, minCapacity, Math.max(page, 0), pageSize);
         return Response.builder()
                 .status(200)
                 .message("success")
-                .rooms(roomDTOList)
+                .rooms(result.getRooms().stream().map(RoomMapper::toDTO).toList())
+                .totalElements(result.getTotalElements())
+                .totalPages((int) ((result.getTotalElements() + pageSize - 1) / pageSize))
                 .build();
     }
 
     @Override
-    public byte[] getRoomImageData(Long id) {
-        Room room = roomRepository.findById(id)
+    public RoomImageProjection getRoomImageInfo(Long id) {
+        return roomRepository.findImageInfoById(id)
                 .orElseThrow(() -> new NotFoundException("Quarto não encontrado"));
-        return room.getImageData();
     }
 
     @Override
-    public byte[] getRoomImageDataById(Long id) {
-        return getRoomImageData(id);
+    public ImageContent getRoomImage(RoomImageProjection image, ImageVariant variant) {
+        String key = image.getImageKey();
+        if (key != null) {
+            if (variant != null) {
+                Optional<Resource> derived = imageStorage.loadVariant(key, variant);
+                if (derived.isPresent()) {
+                    return new ImageContent(derived.get(), "image/jpeg", key, variant, image.getImageUpdatedAt());
+                }
+                // Variante ainda não gerada: agenda e entrega o original por enquanto
+                imageDerivativeService.submit(key);
+            }
+            return imageStorage.load(key)
+                    .map(resource -> new ImageContent(resource, image.getImageContentType(), key, null,
+                            image.getImageUpdatedAt()))
+                    .orElse(null);
+        }
+        // Quarto ainda não migrado: a imagem continua na coluna image_data
+        byte[] legacy = roomRepository.findLegacyImageData(image.getId());
+        return legacy == null ? null : new ImageContent(new ByteArrayResource(legacy), null, null, null, null);
     }
 
-    private void setImageUrl(RoomDTO dto, Long roomId) {
-        dto.setImageUrl("/api/rooms/" + roomId + "/image");
+    private void attachImage(Room room, MultipartFile imageFile) {
+        if (imageFile == null || imageFile.isEmpty()) {
+            return;
+        }
+        if (imageFile.getSize() > imageIngestion.getMaxUploadBytes()) {
+            throw new InvalidImageException("A imagem excede o tamanho máximo de "
+                    + imageIngestion.getMaxUploadBytes() / (1024 * 1024) + " MB.");
+        }
+        // O tipo é conferido pelos bytes do arquivo; o Content-Type enviado pelo cliente é ignorado
+        try (InputStream content = imageFile.getInputStream()) {
+            StoredImage stored = imageIngestion.ingest(content);
+            room.setImageKey(stored.getKey());
+            room.setImageContentType(stored.getContentType());
+            room.setImageSize(stored.getSize());
+            room.setImageUpdatedAt(LocalDateTime.now());
+            room.setImageData(null);
+            imageDerivativeService.submit(stored.getKey());
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao processar a imagem.", e);
+        }
     }
 }
@@ -0,0 +1,269 @@
+package com.example.HotelBooking.services.impl;
+
+import com.example.HotelBooking.catalog.RoomCatalog;
+import com.example.HotelBooking.dtos.BookingStatsProjection;
+import com.example.HotelBooking.dtos.DailyStatsDTO;
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.entities.DailyStats;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.DailyStatsRepository;
+import com.example.HotelBooking.services.StatsService;
+import com.example.HotelBooking.stats.DailyStatsAggregator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Estatísticas diárias de ocupação e receita do painel administrativo.
+ *
+ * Cada alteração de reserva soma sua diferença nas linhas de {@code daily_stats} dentro da mesma transação
+ * que gravou a reserva (upsert em lote), então o painel lê poucas linhas já prontas em vez de varrer as
+ * reservas. {@link #rebuild()} recalcula tudo do zero a partir das reservas.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StatsServiceImpl implements StatsService {
+
+    static final int MAX_RANGE_DAYS = 366;
+    static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO daily_stats (stat_date, room_type, rooms_sold, room_revenue, paid_revenue)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (stat_date, room_type) DO UPDATE SET
+                rooms_sold = daily_stats.rooms_sold + EXCLUDED.rooms_sold,
+                room_revenue = daily_stats.room_revenue + EXCLUDED.room_revenue,
+                paid_revenue = daily_stats.paid_revenue + EXCLUDED.paid_revenue
+            """;
+
+    private static final String MERGE_UPSERT = """
+            MERGE INTO daily_stats t
+            USING (VALUES (CAST(? AS DATE), CAST(? AS VARCHAR(20)), CAST(? AS INTEGER), CAST(? AS NUMERIC(14, 2)), CAST(? AS NUMERIC(14, 2))))
+                AS s (stat_date, room_type, rooms_sold, room_revenue, paid_revenue)
+            ON t.stat_date = s.stat_date AND t.room_type = s.room_type
+            WHEN MATCHED THEN UPDATE SET
+                rooms_sold = t.rooms_sold + s.rooms_sold,
+                room_revenue = t.room_revenue + s.room_revenue,
+                paid_revenue = t.paid_revenue + s.paid_revenue
+            WHEN NOT MATCHED THEN INSERT (stat_date, room_type, rooms_sold, room_revenue, paid_revenue)
+                VALUES (s.stat_date, s.room_type, s.rooms_sold, s.room_revenue, s.paid_revenue)
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO daily_stats (stat_date, room_type, rooms_sold, room_revenue, paid_revenue)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final DailyStatsRepository dailyStatsRepository;
+    private final RoomCatalog roomCatalog;
+
+    @Override
+    @Transactional
+    public void applyChanges(List<BookingChange> changes) {
+        // O tipo atual do quarto é o mesmo usado pela reconstrução. Lido do banco com a linha travada, e não
+        // do catálogo do nó: uma troca de tipo em andamento (moveRoomType) termina antes ou vê esta reserva.
+        Map<Long, RoomType> roomTypes = lockRoomTypes(changes.stream()
+                .map(BookingChange::getRoomId).filter(Objects::nonNull).distinct().sorted().toList());
+        DailyStatsAggregator aggregator = new DailyStatsAggregator();
+        for (BookingChange change : changes) {
+            RoomType roomType = roomTypes.get(change.getRoomId());
+            if (roomType != null) {
+                aggregator.addChange(change, roomType);
+            }
+        }
+        upsert(aggregator);
+    }
+
+    /**
+     * Move as estadias do quarto do tipo antigo para o novo, como a reconstrução faria. Chamado na transação
+     * que trocou o tipo, com a linha do quarto já travada pelo UPDATE.
+     */
+    @Override
+    @Transactional
+    public void moveRoomType(Long roomId, RoomType previousType, RoomType type) {
+        if (previousType == type) {
+            return;
+        }
+        DailyStatsAggregator aggregator = new DailyStatsAggregator();
+        try (Stream<BookingStatsProjection> rows = bookingRepository.streamStatsRowsByRoomId(roomId)) {
+            for (BookingStatsProjection row : (Iterable<BookingStatsProjection>) rows::iterator) {
+                aggregator.addStay(previousType, row.getCheckInDate(), row.getCheckOutDate(), row.getTotalPrice(),
+                        row.getBookingStatus(), row.getPaymentStatus(), -1);
+                aggregator.addStay(type, row.getCheckInDate(), row.getCheckOutDate(), row.getTotalPrice(),
+                        row.getBookingStatus(), row.getPaymentStatus(), 1);
+            }
+        }
+        upsert(aggregator);
+    }
+
+    private Map<Long, RoomType> lockRoomTypes(List<Long> roomIds) {
+        Map<Long, RoomType> types = new HashMap<>();
+        if (roomIds.isEmpty()) {
+            return types;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(roomIds.size(), "?"));
+        jdbcTemplate.query("SELECT id, type FROM rooms WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+                rs -> {
+                    types.put(rs.getLong("id"), RoomType.valueOf(rs.getString("type")));
+                }, roomIds.toArray());
+        return types;
+    }
+
+    private void upsert(DailyStatsAggregator aggregator) {
+        Map<DailyStatsAggregator.Key, DailyStatsAggregator.Delta> deltas = aggregator.getDeltas();
+        if (!deltas.isEmpty()) {
+            write(isPostgres() ? POSTGRES_UPSERT : MERGE_UPSERT, deltas);
+        }
+    }
+
+    @Override
+    @Transactional
+    public Response rebuild() {
+        long startedAt = System.currentTimeMillis();
+        if (isPostgres()) {
+            // Bloqueia os upserts de outras transações até o commit: reservas gravadas depois da leitura
+            // abaixo só aplicam sua diferença sobre a tabela já reconstruída
+            jdbcTemplate.execute("LOCK TABLE daily_stats IN EXCLUSIVE MODE");
+        }
+        jdbcTemplate.update("DELETE FROM daily_stats");
+
+        DailyStatsAggregator aggregator = new DailyStatsAggregator();
+        long bookings = 0;
+        try (Stream<BookingStatsProjection> rows = bookingRepository.streamStatsRows()) {
+            for (BookingStatsProjection row : (Iterable<BookingStatsProjection>) rows::iterator) {
+                aggregator.addStay(row.getRoomType(), row.getCheckInDate(), row.getCheckOutDate(), row.getTotalPrice(),
+                        row.getBookingStatus(), row.getPaymentStatus(), 1);
+                bookings++;
+            }
+        }
+        Map<DailyStatsAggregator.Key, DailyStatsAggregator.Delta> deltas = aggregator.getDeltas();
+        write(INSERT, deltas);
+        log.info("Estatísticas diárias reconstruídas: {} reservas, {} linhas em {} ms",
+                bookings, deltas.size(), System.currentTimeMillis() - startedAt);
+
+        return Response.builder()
+                .status(200)
+                .message("Estatísticas reconstruídas: " + deltas.size() + " linhas a partir de " + bookings + " reservas")
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Response getDailyStats(LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_RANGE_DAYS - 1);
+        if (end.isBefore(start)) {
+            throw new InvalidBookingStateAndDateException("A data final deve ser igual ou posterior à data inicial");
+        }
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new InvalidBookingStateAndDateException("O período deve ter no máximo " + MAX_RANGE_DAYS + " dias");
+        }
+
+        Map<RoomType, Integer> inventory = new EnumMap<>(RoomType.class);
+        roomCatalog.getAllRooms().forEach(room -> inventory.merge(room.getType(), 1, Integer::sum));
+
+        Map<LocalDate, Map<RoomType, DailyStats>> stored = new HashMap<>();
+        for (DailyStats row : dailyStatsRepository.findByStatDateBetweenOrderByStatDateAscRoomTypeAsc(start, end)) {
+            stored.computeIfAbsent(row.getStatDate(), d -> new EnumMap<>(RoomType.class)).put(row.getRoomType(), row);
+        }
+
+        // Todos os dias do período aparecem, inclusive os sem reservas
+        List<DailyStatsDTO> daily = new ArrayList<>();
+        Map<RoomType, DailyStatsDTO> totals = new EnumMap<>(RoomType.class);
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            Map<RoomType, DailyStats> byType = stored.getOrDefault(day, Map.of());
+            for (RoomType type : RoomType.values()) {
+                DailyStats row = byType.get(type);
+                int available = inventory.getOrDefault(type, 0);
+                if (row == null && available == 0) {
+                    continue;
+                }
+                int sold = row != null ? row.getRoomsSold() : 0;
+                BigDecimal revenue = row != null ? row.getRoomRevenue() : BigDecimal.ZERO;
+                BigDecimal paid = row != null ? row.getPaidRevenue() : BigDecimal.ZERO;
+                daily.add(toDTO(day, type, sold, available, revenue, paid));
+
+                DailyStatsDTO total = totals.get(type);
+                totals.put(type, total == null
+                        ? toDTO(null, type, sold, available, revenue, paid)
+                        : toDTO(null, type, total.getRoomsSold() + sold, total.getRoomsAvailable() + available,
+                                total.getRoomRevenue().add(revenue), total.getPaidRevenue().add(paid)));
+            }
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("sucesso")
+                .dailyStats(daily)
+                .statsSummary(new ArrayList<>(totals.values()))
+                .build();
+    }
+
+    private void write(String sql, Map<DailyStatsAggregator.Key, DailyStatsAggregator.Delta> deltas) {
+        List<Object[]> batch = new ArrayList<>(Math.min(deltas.size(), BATCH_SIZE));
+        for (Map.Entry<DailyStatsAggregator.Key, DailyStatsAggregator.Delta> entry : deltas.entrySet()) {
+            DailyStatsAggregator.Delta delta = entry.getValue();
+            batch.add(new Object[]{
+                    Date.valueOf(entry.getKey().day()),
+                    entry.getKey().roomType().name(),
+                    delta.getRoomsSold(),
+                    delta.getRoomRevenue(),
+                    delta.getPaidRevenue()
+            });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private static DailyStatsDTO toDTO(LocalDate day, RoomType type, int sold, int available,
+                                       BigDecimal revenue, BigDecimal paid) {
+        return DailyStatsDTO.builder()
+                .date(day)
+                .roomType(type)
+                .roomsSold(sold)
+                .roomsAvailable(available)
+                .occupancyRate(available > 0
+                        ? BigDecimal.valueOf(sold).divide(BigDecimal.valueOf(available), 4, RoundingMode.HALF_UP)
+                        : null)
+                .averageDailyRate(sold > 0 ? revenue.divide(BigDecimal.valueOf(sold), 2, RoundingMode.HALF_UP) : null)
+                .roomRevenue(revenue)
+                .paidRevenue(paid)
+                .build();
+    }
+
+    private boolean isPostgres() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(database);
+    }
+}
@@ -4,17 +4,22 @@ import com.example.HotelBooking.dtos.*;
 import com.example.HotelBooking.entities.Booking;
 import com.example.HotelBooking.entities.User;
 import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.events.UserChangedEvent;
 import com.example.HotelBooking.exceptions.InvalidCredentialException;
 import com.example.HotelBooking.exceptions.NotFoundException;
-import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.history.BookingHistoryView;
 import com.example.HotelBooking.repositories.UserRepository;
+import com.example.HotelBooking.security.AuthUser;
 import com.example.HotelBooking.security.JwtUtils;
 import com.example.HotelBooking.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -31,7 +36,8 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final ModelMapper modelMapper;
-    private final BookingRepository bookingRepository;
+    private final BookingHistoryView bookingHistoryView;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -96,6 +102,20 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
 
+    @Override
+    public Response getUsersPage(UserRole role, Long after, int limit) {
+        int pageSize = CursorPages.clampLimit(limit);
+        List<User> rows = userRepository.findUserPage(after, role, Limit.of(pageSize + 1));
+        List<UserDTO> userDTOList = modelMapper.map(CursorPages.page(rows, pageSize), new TypeToken<List<UserDTO>>(){}.getType());
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .users(userDTOList)
+                .nextCursor(CursorPages.nextCursor(rows, pageSize, User::getId))
+                .build();
+    }
+
     @Override
     public Response getOwnAccountDetails() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -118,9 +138,13 @@ public class UserServiceImpl implements UserService {
     @Override
     public User getCurrentLoggedInUser() {
 
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // O AuthFilter já carregou o usuário desta requisição; não precisa ir ao banco de novo
+        if (authentication.getPrincipal() instanceof AuthUser authUser) {
+            return authUser.getUser();
+        }
 
-        return userRepository.findByEmail(email)
+        return userRepository.findByEmail(authentication.getName())
                 .orElseThrow(()-> new NotFoundException("Usuário não encontrado"));
     }
 
@@ -138,6 +162,7 @@ public class UserServiceImpl implements UserService {
             existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         }
         userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserChangedEvent(existingUser.getId(), false));
 
         return Response.builder()
                 .status(200)
@@ -149,6 +174,7 @@ public class UserServiceImpl implements UserService {
     public Response deleteOwnAccount() {
         User user = getCurrentLoggedInUser();
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), true));
 
         return Response.builder()
                 .status(200)
@@ -157,43 +183,12 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Response getMyBookingHistory() {
-        try {
-            User user = getCurrentLoggedInUser();
-            var projections = bookingRepository.findBookingHistoryByUserId(user.getId());
-            List<BookingDTO> bookingDTOList = projections.stream().map(p -> BookingDTO.builder()
-                    .id(p.getId())
-                    .checkInDate(p.getCheckInDate())
-                    .checkOutDate(p.getCheckOutDate())
-                    .totalPrice(p.getTotalPrice())
-                    .bookingReference(p.getBookingReference())
-                    .createdAt(p.getCreatedAt())
-                    .bookingStatus(p.getBookingStatus())
-                    .paymentStatus(p.getPaymentStatus())
-                    .room(com.example.HotelBooking.dtos.RoomDTO.builder()
-                            .id(p.getRoomId())
-                            .roomNumber(p.getRoomNumber())
-                            .type(p.getRoomType())
-                            .pricePerNight(p.getRoomPricePerNight())
-                            .capacity(p.getRoomCapacity())
-                            .description(p.getRoomDescription())
-                            .title(p.getRoomTitle())
-                            .imageUrl("/api/rooms/" + p.getRoomId() + "/image")
-                            .build())
-                    .build()
-            ).toList();
-            return Response.builder()
-                .status(200)
-                .message("Histórico de reservas recuperado com sucesso")
-                .bookings(bookingDTOList)
-                .build();
-        } catch (Exception e) {
-            log.error("Erro ao buscar histórico de reservas: ", e);
-            return Response.builder()
-                .status(500)
-                .message("Erro ao buscar histórico de reservas: " + e.getMessage())
-                .build();
-        }
+    public Response getBookingHistory(Long userId) {
+        return Response.builder()
+            .status(200)
+            .message("Histórico de reservas recuperado com sucesso")
+            .bookings(bookingHistoryView.get(userId))
+            .build();
     }
 
 }
@@ -0,0 +1,124 @@
+package com.example.HotelBooking.services.impl;
+
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.dtos.WaitlistEntryDTO;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.entities.WaitlistEntry;
+import com.example.HotelBooking.enums.WaitlistStatus;
+import com.example.HotelBooking.events.WaitlistChangedEvent;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+import com.example.HotelBooking.exceptions.NotFoundException;
+import com.example.HotelBooking.repositories.WaitlistEntryRepository;
+import com.example.HotelBooking.services.UserService;
+import com.example.HotelBooking.services.WaitlistService;
+import com.example.HotelBooking.waitlist.WaitlistEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Service
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final WaitlistEngine waitlistEngine;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public Response joinWaitlist(WaitlistEntryDTO waitlistEntryDTO) {
+        User currentUser = userService.getCurrentLoggedInUser();
+        if (waitlistEntryDTO.getRoomType() == null) {
+            throw new InvalidBookingStateAndDateException("Informe o tipo de quarto");
+        }
+        if (waitlistEntryDTO.getCheckInDate() == null || waitlistEntryDTO.getCheckOutDate() == null) {
+            throw new InvalidBookingStateAndDateException("Informe as datas de entrada e saída");
+        }
+        BookingServiceImpl.validateStayDates(waitlistEntryDTO.getCheckInDate(), waitlistEntryDTO.getCheckOutDate());
+        long nights = ChronoUnit.DAYS.between(waitlistEntryDTO.getCheckInDate(), waitlistEntryDTO.getCheckOutDate());
+        if (nights > waitlistEngine.getMaxNights()) {
+            throw new InvalidBookingStateAndDateException("A lista de espera aceita estadias de até "
+                    + waitlistEngine.getMaxNights() + " noites");
+        }
+        if (waitlistEntryRepository.existsByUserIdAndRoomTypeAndCheckInDateAndCheckOutDateAndStatus(currentUser.getId(),
+                waitlistEntryDTO.getRoomType(), waitlistEntryDTO.getCheckInDate(), waitlistEntryDTO.getCheckOutDate(),
+                WaitlistStatus.WAITING)) {
+            throw new InvalidBookingStateAndDateException("Você já está na lista de espera para esse período");
+        }
+        if (roomAvailabilityIndex.isLoaded() && !roomAvailabilityIndex.findAvailableRooms(waitlistEntryDTO.getCheckInDate(),
+                waitlistEntryDTO.getCheckOutDate(), waitlistEntryDTO.getRoomType()).isEmpty()) {
+            throw new InvalidBookingStateAndDateException("Há quartos disponíveis para esse período; faça a reserva diretamente");
+        }
+
+        WaitlistEntry entry = waitlistEntryRepository.save(WaitlistEntry.builder()
+                .userId(currentUser.getId())
+                .roomType(waitlistEntryDTO.getRoomType())
+                .checkInDate(waitlistEntryDTO.getCheckInDate())
+                .checkOutDate(waitlistEntryDTO.getCheckOutDate())
+                .status(WaitlistStatus.WAITING)
+                .createdAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new WaitlistChangedEvent(entry.getId(), entry.getUserId(), entry.getRoomType(),
+                entry.getCheckInDate(), entry.getCheckOutDate(), false));
+
+        return Response.builder()
+                .status(200)
+                .message("Você entrou na lista de espera. Avisaremos por e-mail se um quarto for liberado")
+                .waitlistEntry(toDTO(entry))
+                .build();
+    }
+
+    @Override
+    public Response getMyWaitlist() {
+        User currentUser = userService.getCurrentLoggedInUser();
+        return Response.builder()
+                .status(200)
+                .waitlistEntries(waitlistEntryRepository.findByUserIdOrderByIdDesc(currentUser.getId()).stream()
+                        .map(WaitlistServiceImpl::toDTO)
+                        .toList())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Response cancelWaitlistEntry(Long entryId) {
+        User currentUser = userService.getCurrentLoggedInUser();
+        WaitlistEntry entry = waitlistEntryRepository.lockById(entryId)
+                .filter(e -> e.getUserId().equals(currentUser.getId()))
+                .orElseThrow(() -> new NotFoundException("Entrada da lista de espera não encontrada"));
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new InvalidBookingStateAndDateException("Somente entradas aguardando podem ser canceladas");
+        }
+
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        waitlistEntryRepository.save(entry);
+        eventPublisher.publishEvent(new WaitlistChangedEvent(entry.getId(), entry.getUserId(), entry.getRoomType(),
+                entry.getCheckInDate(), entry.getCheckOutDate(), true));
+
+        return Response.builder()
+                .status(200)
+                .message("Você saiu da lista de espera")
+                .build();
+    }
+
+    private static WaitlistEntryDTO toDTO(WaitlistEntry entry) {
+        return WaitlistEntryDTO.builder()
+                .id(entry.getId())
+                .roomType(entry.getRoomType())
+                .checkInDate(entry.getCheckInDate())
+                .checkOutDate(entry.getCheckOutDate())
+                .status(entry.getStatus())
+                .createdAt(entry.getCreatedAt())
+                .offeredRoomId(entry.getOfferedRoomId())
+                .holdId(entry.getHoldId())
+                .offeredAt(entry.getOfferedAt())
+                .build();
+    }
+}
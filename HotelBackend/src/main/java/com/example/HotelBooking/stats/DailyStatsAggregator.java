@@ -0,0 +1,115 @@
+package com.example.HotelBooking.stats;
+
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.BookingChange;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Acumula as diferenças por (dia, tipo de quarto) que uma ou mais reservas causam em {@code daily_stats}.
+ *
+ * A estadia ocupa as noites [entrada, saída); o valor total é dividido em centavos entre as noites e o
+ * resto fica nas primeiras, de modo que a soma das noites é sempre igual ao total da reserva. Para uma
+ * alteração, a diferença é a contribuição depois menos a contribuição antes, então aplicar as mesmas
+ * alterações de forma incremental ou reconstruir tudo do zero chega aos mesmos números.
+ */
+public class DailyStatsAggregator {
+
+    private final Map<Key, Delta> deltas = new HashMap<>();
+
+    /**
+     * Reservas canceladas não vendem noites; sem status conta como BOOKED, igual à listagem.
+     */
+    public static boolean isSold(BookingStatus bookingStatus) {
+        return bookingStatus != BookingStatus.CANCELLED;
+    }
+
+    public static boolean isPaid(BookingStatus bookingStatus, PaymentStatus paymentStatus) {
+        return isSold(bookingStatus) && paymentStatus == PaymentStatus.COMPLETED;
+    }
+
+    public void addChange(BookingChange change, RoomType roomType) {
+        if (!change.isCreated()) {
+            addStay(roomType, change.getCheckInDate(), change.getCheckOutDate(), change.getTotalPrice(),
+                    change.getPreviousBookingStatus(), change.getPreviousPaymentStatus(), -1);
+        }
+        addStay(roomType, change.getCheckInDate(), change.getCheckOutDate(), change.getTotalPrice(),
+                change.getBookingStatus(), change.getPaymentStatus(), 1);
+    }
+
+    /**
+     * Soma (sign = 1) ou retira (sign = -1) a contribuição de uma estadia.
+     */
+    public void addStay(RoomType roomType, LocalDate checkIn, LocalDate checkOut, BigDecimal totalPrice,
+                        BookingStatus bookingStatus, PaymentStatus paymentStatus, int sign) {
+        if (roomType == null || checkIn == null || checkOut == null || !isSold(bookingStatus)) {
+            return;
+        }
+        int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (nights <= 0) {
+            return;
+        }
+        long totalCents = totalPrice == null ? 0 : totalPrice.movePointRight(2).longValue();
+        long nightlyCents = totalCents / nights;
+        long remainder = totalCents % nights;
+        boolean paid = isPaid(bookingStatus, paymentStatus);
+
+        for (int night = 0; night < nights; night++) {
+            long cents = nightlyCents + (night < remainder ? 1 : 0);
+            Delta delta = deltas.computeIfAbsent(new Key(checkIn.plusDays(night), roomType), k -> new Delta());
+            delta.roomsSold += sign;
+            delta.revenueCents += sign * cents;
+            if (paid) {
+                delta.paidCents += sign * cents;
+            }
+        }
+    }
+
+    /**
+     * Diferenças diferentes de zero, ordenadas por dia e tipo (a mesma ordem em todas as transações
+     * evita deadlocks entre atualizações concorrentes das mesmas linhas).
+     */
+    public Map<Key, Delta> getDeltas() {
+        Map<Key, Delta> result = new TreeMap<>(Comparator.comparing(Key::day).thenComparing(Key::roomType));
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                result.put(key, delta);
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    public record Key(LocalDate day, RoomType roomType) {
+    }
+
+    public static final class Delta {
+        private int roomsSold;
+        private long revenueCents;
+        private long paidCents;
+
+        public int getRoomsSold() {
+            return roomsSold;
+        }
+
+        public BigDecimal getRoomRevenue() {
+            return BigDecimal.valueOf(revenueCents, 2);
+        }
+
+        public BigDecimal getPaidRevenue() {
+            return BigDecimal.valueOf(paidCents, 2);
+        }
+
+        boolean isZero() {
+            return roomsSold == 0 && revenueCents == 0 && paidCents == 0;
+        }
+    }
+}
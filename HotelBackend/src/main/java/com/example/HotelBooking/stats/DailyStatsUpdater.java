@@ -0,0 +1,36 @@
+package com.example.HotelBooking.stats;
+
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.RoomTypeChangedEvent;
+import com.example.HotelBooking.services.StatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mantém {@code daily_stats} junto com as reservas. Diferente dos índices em memória, roda antes do
+ * commit: a diferença é gravada na mesma transação da reserva, e se falhar a reserva também é desfeita.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyStatsUpdater {
+
+    private final StatsService statsService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        statsService.applyChanges(event.getChanges());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRoomTypeChanged(RoomTypeChangedEvent event) {
+        statsService.moveRoomType(event.getRoomId(), event.getPreviousType(), event.getType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        statsService.rebuild();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.HotelBooking.storage;
+
+import lombok.Value;
+import org.springframework.core.io.Resource;
+
+import java.time.LocalDateTime;
+
+/**
+ * Imagem pronta para ser enviada na resposta HTTP.
+ */
+@Value
+public class ImageContent {
+
+    Resource resource;
+    String contentType;
+    String key; // SHA-256 do conteúdo, usado como ETag; nulo para imagens ainda na coluna image_data
+    ImageVariant variant; // variante entregue; nulo quando é a imagem original
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,222 @@
+package com.example.HotelBooking.storage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gera em segundo plano as versões redimensionadas ({@link ImageVariant}) de cada imagem enviada.
+ *
+ * O trabalho roda num pool de threads com fila limitada: o upload só agenda a geração e responde.
+ * Se a fila estiver cheia a geração é descartada e refeita na primeira requisição da variante,
+ * que enquanto isso recebe a imagem original.
+ */
+@Component
+@Slf4j
+public class ImageDerivativeService {
+
+    // Ordem de geração: cada variante é reduzida a partir da anterior, que já é menor que o original
+    private static final ImageVariant[] GENERATION_ORDER = {
+            ImageVariant.FULL, ImageVariant.CARD, ImageVariant.THUMBNAIL, ImageVariant.PLACEHOLDER};
+
+    private final ImageStorage imageStorage;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageDerivativeService(ImageStorage imageStorage,
+                                  @Value("${images.derivatives.threads:2}") int threads,
+                                  @Value("${images.derivatives.queue-capacity:100}") int queueCapacity) {
+        this.imageStorage = imageStorage;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Agenda a geração das variantes que ainda não existem para a imagem. Retorna false se nada foi
+     * agendado (variantes prontas, geração em andamento ou fila cheia).
+     */
+    public boolean submit(String key) {
+        if (key == null || allVariantsExist(key) || !inFlight.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(key);
+                } catch (Exception e) {
+                    log.error("Falha ao gerar as variantes da imagem {}: {}", key, e.getMessage(), e);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            log.warn("Fila de geração de imagens cheia; variantes de {} serão geradas sob demanda", key);
+            return false;
+        }
+    }
+
+    void generate(String key) throws IOException {
+        Resource original = imageStorage.load(key).orElse(null);
+        if (original == null) {
+            return;
+        }
+        BufferedImage current;
+        try (InputStream in = original.getInputStream()) {
+            current = decode(in, ImageVariant.FULL.getMaxDimension());
+        }
+        if (current == null) {
+            log.warn("Formato de imagem não reconhecido para {}", key);
+            return;
+        }
+        for (ImageVariant variant : GENERATION_ORDER) {
+            current = scaleToFit(current, variant.getMaxDimension());
+            BufferedImage output = variant == ImageVariant.PLACEHOLDER ? blur(current) : current;
+            if (!imageStorage.variantExists(key, variant)) {
+                imageStorage.storeVariant(key, variant, new ByteArrayInputStream(encodeJpeg(output, variant.getJpegQuality())));
+            }
+        }
+    }
+
+    private boolean allVariantsExist(String key) {
+        return Arrays.stream(GENERATION_ORDER).allMatch(variant -> imageStorage.variantExists(key, variant));
+    }
+
+    // Lê a imagem já subamostrada quando ela é muito maior que o necessário, sem decodificar todos os pixels
+    private static BufferedImage decode(InputStream in, int targetDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int largest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, largest / (targetDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Reduz pela metade enquanto estiver acima do dobro do alvo (mantém a qualidade da interpolação bilinear)
+    static BufferedImage scaleToFit(BufferedImage source, int maxDimension) {
+        BufferedImage current = toRgb(source);
+        int width = current.getWidth();
+        int height = current.getHeight();
+        int largest = Math.max(width, height);
+        if (largest <= maxDimension) {
+            return current;
+        }
+        double ratio = (double) maxDimension / largest;
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight && width > targetWidth * 2) {
+            width /= 2;
+            height /= 2;
+            current = resize(current, width, height);
+        }
+        return resize(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // JPEG não tem transparência: PNGs com alfa são desenhados sobre fundo branco
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, source.getWidth(), source.getHeight());
+            graphics.drawImage(source, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static BufferedImage blur(BufferedImage source) {
+        float[] weights = new float[9];
+        Arrays.fill(weights, 1f / 9f);
+        BufferedImage blurred = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        return new ConvolveOp(new Kernel(3, 3, weights), ConvolveOp.EDGE_NO_OP, null).filter(source, blurred);
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
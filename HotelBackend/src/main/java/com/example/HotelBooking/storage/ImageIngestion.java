@@ -0,0 +1,90 @@
+package com.example.HotelBooking.storage;
+
+import com.example.HotelBooking.exceptions.InvalidImageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+
+/**
+ * Entrada das imagens enviadas pelo painel administrativo.
+ *
+ * O upload nunca é carregado inteiro na memória: o tipo é conferido pelos primeiros bytes, e o
+ * conteúdo segue em blocos para o {@link ImageStorage}, que calcula o hash enquanto grava. O limite
+ * de tamanho é verificado durante a leitura, então um arquivo grande demais é interrompido assim
+ * que ultrapassa {@code images.max-upload-size}, e o arquivo temporário é descartado.
+ */
+@Component
+public class ImageIngestion {
+
+    private final ImageStorage imageStorage;
+    private final long maxUploadBytes;
+
+    public ImageIngestion(ImageStorage imageStorage,
+                          @Value("${images.max-upload-size:20MB}") DataSize maxUploadSize) {
+        this.imageStorage = imageStorage;
+        this.maxUploadBytes = maxUploadSize.toBytes();
+    }
+
+    public long getMaxUploadBytes() {
+        return maxUploadBytes;
+    }
+
+    /**
+     * Valida e grava a imagem lida de {@code content}. O stream não é fechado.
+     *
+     * @throws InvalidImageException se o conteúdo não for JPEG/PNG ou passar do limite
+     */
+    public StoredImage ingest(InputStream content) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(new SizeLimitedInputStream(content, maxUploadBytes),
+                ImageType.MAX_SIGNATURE_LENGTH);
+        byte[] header = new byte[ImageType.MAX_SIGNATURE_LENGTH];
+        int read = in.readNBytes(header, 0, header.length);
+        ImageType type = ImageType.detect(header, read);
+        if (type == null) {
+            throw new InvalidImageException("Apenas imagens JPEG, JPG ou PNG são permitidas.");
+        }
+        in.unread(header, 0, read);
+        return imageStorage.store(in, type.getContentType());
+    }
+
+    private static final class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        private SizeLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            count += n;
+            if (count > limit) {
+                throw new InvalidImageException("A imagem excede o tamanho máximo de " + limit / (1024 * 1024) + " MB.");
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.HotelBooking.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Armazenamento das imagens dos quartos fora do banco de dados.
+ *
+ * As imagens são endereçadas pelo conteúdo: a chave é o SHA-256 dos bytes, de modo que a mesma
+ * imagem enviada duas vezes ocupa um único arquivo e uma chave nunca muda de conteúdo.
+ */
+public interface ImageStorage {
+
+    /**
+     * Grava o conteúdo lido de {@code content} e retorna a chave gerada. O stream não é fechado.
+     */
+    StoredImage store(InputStream content, String contentType) throws IOException;
+
+    Optional<Resource> load(String key);
+
+    boolean exists(String key);
+
+    /**
+     * Grava uma versão derivada da imagem {@code key}. Como a derivada depende só do original, ela é
+     * guardada junto dele e herda a mesma chave.
+     */
+    void storeVariant(String key, ImageVariant variant, InputStream content) throws IOException;
+
+    Optional<Resource> loadVariant(String key, ImageVariant variant);
+
+    boolean variantExists(String key, ImageVariant variant);
+}
@@ -0,0 +1,40 @@
+package com.example.HotelBooking.storage;
+
+import java.util.Arrays;
+
+/**
+ * Formatos de imagem aceitos, reconhecidos pelos primeiros bytes do arquivo (e não pelo
+ * Content-Type informado pelo cliente).
+ */
+public enum ImageType {
+
+    JPEG("image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG("image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A});
+
+    static final int MAX_SIGNATURE_LENGTH = 8;
+
+    private final String contentType;
+    private final byte[] signature;
+
+    ImageType(String contentType, byte[] signature) {
+        this.contentType = contentType;
+        this.signature = signature;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Identifica o formato pelo cabeçalho; retorna nulo se não for um formato aceito.
+     */
+    public static ImageType detect(byte[] header, int length) {
+        for (ImageType type : values()) {
+            if (length >= type.signature.length
+                    && Arrays.equals(header, 0, type.signature.length, type.signature, 0, type.signature.length)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.HotelBooking.storage;
+
+/**
+ * Monta as URLs públicas das imagens dos quartos.
+ *
+ * Quando o quarto já tem imagem no {@link ImageStorage}, a URL leva {@code ?v=} com o início do hash do
+ * conteúdo: uma nova imagem gera uma nova URL, então a resposta pode ser guardada pelo navegador e pelo
+ * proxy como imutável.
+ */
+public final class ImageUrls {
+
+    static final int VERSION_LENGTH = 16;
+
+    private ImageUrls() {
+    }
+
+    public static String roomImage(Long roomId, String imageKey) {
+        String url = "/api/rooms/" + roomId + "/image";
+        return imageKey == null ? url : url + "?v=" + version(imageKey);
+    }
+
+    public static String version(String imageKey) {
+        return imageKey.substring(0, Math.min(VERSION_LENGTH, imageKey.length()));
+    }
+
+    /**
+     * ETag da imagem entregue: o hash identifica o conteúdo e cada variante é um arquivo diferente.
+     */
+    public static String etag(String imageKey, ImageVariant variant) {
+        return "\"" + imageKey + (variant != null ? "-" + variant.getParam() : "") + "\"";
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.HotelBooking.storage;
+
+import com.example.HotelBooking.exceptions.InvalidImageException;
+
+import java.util.Locale;
+
+/**
+ * Tamanhos derivados gerados a partir da imagem original de um quarto. {@code maxDimension} limita
+ * o maior lado; a proporção é mantida.
+ */
+public enum ImageVariant {
+
+    THUMBNAIL("thumbnail", 160, 0.80f),
+    CARD("card", 480, 0.82f),
+    FULL("full", 1280, 0.85f),
+    // Versão minúscula e desfocada, exibida enquanto a imagem real carrega
+    PLACEHOLDER("placeholder", 24, 0.60f);
+
+    private final String param;
+    private final int maxDimension;
+    private final float jpegQuality;
+
+    ImageVariant(String param, int maxDimension, float jpegQuality) {
+        this.param = param;
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public float getJpegQuality() {
+        return jpegQuality;
+    }
+
+    /**
+     * Converte o parâmetro {@code ?size=} da URL; nulo ou "original" significam a imagem enviada.
+     */
+    public static ImageVariant fromParam(String size) {
+        if (size == null || size.isBlank() || size.equalsIgnoreCase("original")) {
+            return null;
+        }
+        String normalized = size.trim().toLowerCase(Locale.ROOT);
+        for (ImageVariant variant : values()) {
+            if (variant.param.equals(normalized)) {
+                return variant;
+            }
+        }
+        throw new InvalidImageException("Tamanho de imagem inválido: " + size);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.HotelBooking.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ImageStorage} em disco local. Cada imagem fica em {@code <raiz>/ab/cd/<sha256>}, onde
+ * "ab" e "cd" são os primeiros bytes do hash, para não concentrar milhares de arquivos num só diretório.
+ *
+ * A gravação vai primeiro para um arquivo temporário e só depois é movida para o nome final, então
+ * um leitor nunca vê uma imagem pela metade.
+ */
+@Component
+public class LocalImageStorage implements ImageStorage {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tempDir;
+
+    public LocalImageStorage(@Value("${images.storage.path:./data/images}") String rootPath) throws IOException {
+        this.root = Paths.get(rootPath).toAbsolutePath().normalize();
+        this.tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+    }
+
+    @Override
+    public StoredImage store(InputStream content, String contentType) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            long size = 0;
+            // Blocos de tamanho fixo: a memória usada não depende do tamanho da imagem
+            byte[] chunk = new byte[CHUNK_SIZE];
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                int read;
+                while ((read = content.read(chunk)) != -1) {
+                    out.write(chunk, 0, read);
+                    size += read;
+                }
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            moveIntoPlace(temp, pathOf(key));
+            return new StoredImage(key, contentType, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void storeVariant(String key, ImageVariant variant, InputStream content) throws IOException {
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Chave de imagem inválida");
+        }
+        Path temp = Files.createTempFile(tempDir, "variant-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                content.transferTo(out);
+            }
+            moveIntoPlace(temp, variantPathOf(key, variant));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> loadVariant(String key, ImageVariant variant) {
+        if (!isValidKey(key)) {
+            return Optional.empty();
+        }
+        Path path = variantPathOf(key, variant);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean variantExists(String key, ImageVariant variant) {
+        return isValidKey(key) && Files.isRegularFile(variantPathOf(key, variant));
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // outra requisição gravou o mesmo conteúdo ao mesmo tempo
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String key) {
+        if (!isValidKey(key)) {
+            return Optional.empty();
+        }
+        Path path = pathOf(key);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return isValidKey(key) && Files.isRegularFile(pathOf(key));
+    }
+
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private Path variantPathOf(String key, ImageVariant variant) {
+        return pathOf(key).resolveSibling(key + "." + variant.getParam() + ".jpg");
+    }
+
+    private static boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
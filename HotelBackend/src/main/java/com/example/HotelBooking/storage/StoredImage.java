@@ -0,0 +1,11 @@
+package com.example.HotelBooking.storage;
+
+import lombok.Value;
+
+@Value
+public class StoredImage {
+
+    String key;
+    String contentType;
+    long size;
+}
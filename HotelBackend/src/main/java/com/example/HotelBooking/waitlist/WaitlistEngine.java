@@ -0,0 +1,262 @@
+package com.example.HotelBooking.waitlist;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.catalog.RoomCatalog;
+import com.example.HotelBooking.dtos.NotificationDTO;
+import com.example.HotelBooking.entities.BookingHold;
+import com.example.HotelBooking.entities.WaitlistEntry;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.NotificationType;
+import com.example.HotelBooking.enums.WaitlistStatus;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.events.BookingHoldChangedEvent;
+import com.example.HotelBooking.events.BookingHoldExpiredEvent;
+import com.example.HotelBooking.events.DatabaseRestoredEvent;
+import com.example.HotelBooking.events.WaitlistChangedEvent;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import com.example.HotelBooking.repositories.WaitlistEntryRepository;
+import com.example.HotelBooking.services.NotificationService;
+import com.example.HotelBooking.waitlist.WaitlistIndex.WaitingGuest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Oferece quartos liberados à lista de espera.
+ *
+ * Quando uma reserva passa a CANCELLED ou um bloqueio vence ou é liberado sem virar reserva, o intervalo liberado é cruzado com o
+ * {@link WaitlistIndex} (só as entradas do mesmo tipo que dividem alguma noite com ele) e cada candidata,
+ * da mais antiga para a mais nova, é conferida no {@link RoomAvailabilityIndex}, que já reflete a
+ * liberação. A primeira que cabe recebe um bloqueio temporário em nome do hóspede, gravado com as mesmas
+ * travas de {@code placeHold}, e um e-mail pelo {@link NotificationService}. As demais continuam na fila:
+ * se o bloqueio vencer ou for liberado sem reserva, a liberação dele leva o quarto à próxima.
+ */
+@Component
+@Slf4j
+public class WaitlistEngine {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy 'às' HH:mm");
+
+    private final WaitlistIndex index;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingHoldRepository bookingHoldRepository;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final RoomCatalog roomCatalog;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration claimDuration;
+    private final String frontendUrl;
+
+    private final LongAdder offered = new LongAdder();
+
+    public WaitlistEngine(WaitlistEntryRepository waitlistEntryRepository,
+                          BookingRepository bookingRepository,
+                          BookingHoldRepository bookingHoldRepository,
+                          RoomRepository roomRepository,
+                          UserRepository userRepository,
+                          RoomCatalog roomCatalog,
+                          RoomAvailabilityIndex roomAvailabilityIndex,
+                          NotificationService notificationService,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${waitlist.max-nights:30}") int maxNights,
+                          @Value("${waitlist.claim-duration:PT2H}") Duration claimDuration,
+                          @Value("${fronteendUrl}") String frontendUrl) {
+        this.index = new WaitlistIndex(maxNights);
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingHoldRepository = bookingHoldRepository;
+        this.roomRepository = roomRepository;
+        this.userRepository = userRepository;
+        this.roomCatalog = roomCatalog;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.notificationService = notificationService;
+        // Os eventos chegam depois do commit de outra transação, que ainda está vinculada à thread
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.claimDuration = claimDuration;
+        this.frontendUrl = frontendUrl;
+    }
+
+    public void reload() {
+        List<WaitlistEntry> entries = waitlistEntryRepository
+                .findByStatusAndCheckInDateGreaterThanEqual(WaitlistStatus.WAITING, LocalDate.now());
+        index.clear();
+        entries.forEach(entry -> index.add(toGuest(entry)));
+        log.info("Lista de espera carregada: {} entradas", entries.size());
+    }
+
+    public int getMaxNights() {
+        return index.getMaxNights();
+    }
+
+    public int waitingCount() {
+        return index.size();
+    }
+
+    public long offeredCount() {
+        return offered.sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        for (BookingChange change : event.getChanges()) {
+            if (change.getBookingStatus() == BookingStatus.CANCELLED
+                    && change.getPreviousBookingStatus() != BookingStatus.CANCELLED
+                    && change.getRoomId() != null && change.getCheckInDate() != null && change.getCheckOutDate() != null) {
+                release(change.getRoomId(), change.getCheckInDate(), change.getCheckOutDate());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldExpired(BookingHoldExpiredEvent event) {
+        release(event.getRoomId(), event.getCheckInDate(), event.getCheckOutDate());
+    }
+
+    // Bloqueio liberado pelo hóspede (inclusive o oferecido pela própria lista); o que virou reserva não libera nada
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldChanged(BookingHoldChangedEvent event) {
+        if (event.isReleased() && !event.isConsumed()) {
+            release(event.getRoomId(), event.getCheckInDate(), event.getCheckOutDate());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaitlistChanged(WaitlistChangedEvent event) {
+        if (event.isRemoved()) {
+            index.remove(event.getEntryId());
+        } else {
+            index.add(new WaitingGuest(event.getEntryId(), event.getUserId(), event.getRoomType(),
+                    event.getCheckInDate(), event.getCheckOutDate()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDatabaseRestored(DatabaseRestoredEvent event) {
+        reload();
+    }
+
+    /**
+     * Oferece o quarto liberado às entradas compatíveis. Retorna quantas receberam o quarto.
+     */
+    public int release(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        IndexedRoom room = roomCatalog.findRoom(roomId).orElse(null);
+        if (room == null) {
+            return 0;
+        }
+        LocalDate today = LocalDate.now();
+        int count = 0;
+        for (WaitingGuest guest : index.findOverlapping(room.getType(), checkInDate, checkOutDate)) {
+            if (guest.checkInDate().isBefore(today)) {
+                index.remove(guest.id());
+                continue;
+            }
+            // o índice já inclui as reservas e os bloqueios, inclusive os oferecidos nesta mesma liberação
+            if (roomAvailabilityIndex.isLoaded()
+                    && !roomAvailabilityIndex.isRoomAvailable(roomId, guest.checkInDate(), guest.checkOutDate())) {
+                continue;
+            }
+            try {
+                if (offer(guest, room)) {
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                // A liberação já foi gravada; a entrada continua na fila para a próxima oportunidade
+                log.error("Falha ao oferecer o quarto {} à entrada {} da lista de espera: {}",
+                        roomId, guest.id(), e.getMessage(), e);
+            }
+        }
+        return count;
+    }
+
+    private boolean offer(WaitingGuest guest, IndexedRoom room) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingHold hold = transactionTemplate.execute(status -> {
+            roomRepository.lockById(room.getId());
+            WaitlistEntry entry = waitlistEntryRepository.lockById(guest.id())
+                    .filter(e -> e.getStatus() == WaitlistStatus.WAITING)
+                    .orElse(null);
+            if (entry == null) {
+                index.remove(guest.id()); // oferecida ou cancelada em outra instância
+                return null;
+            }
+            if (!bookingRepository.isRoomAvailable(room.getId(), guest.checkInDate(), guest.checkOutDate())
+                    || bookingHoldRepository.existsConflictingHold(room.getId(), guest.checkInDate(),
+                    guest.checkOutDate(), now, null)) {
+                return null;
+            }
+            BookingHold saved = bookingHoldRepository.save(BookingHold.builder()
+                    .roomId(room.getId())
+                    .userId(guest.userId())
+                    .checkInDate(guest.checkInDate())
+                    .checkOutDate(guest.checkOutDate())
+                    .expiresAt(now.plus(claimDuration))
+                    .createdAt(now)
+                    .build());
+            entry.setStatus(WaitlistStatus.OFFERED);
+            entry.setOfferedRoomId(room.getId());
+            entry.setHoldId(saved.getId());
+            entry.setOfferedAt(now);
+            waitlistEntryRepository.save(entry);
+            eventPublisher.publishEvent(new BookingHoldChangedEvent(saved.getId(), saved.getRoomId(),
+                    saved.getCheckInDate(), saved.getCheckOutDate(), saved.getExpiresAt(), false, false));
+            return saved;
+        });
+        if (hold == null) {
+            return false;
+        }
+        index.remove(guest.id());
+        offered.increment();
+        notifyGuest(guest, room, hold);
+        return true;
+    }
+
+    private void notifyGuest(WaitingGuest guest, IndexedRoom room, BookingHold hold) {
+        userRepository.findById(guest.userId()).ifPresent(user -> {
+            String body = "Olá " + user.getFirstName() + ",\n\n"
+                    + "Boa notícia! Um quarto que você aguardava na lista de espera ficou disponível.\n\n"
+                    + String.format("• Quarto: %s (nº %d)\n", room.getTitle() != null ? room.getTitle() : room.getType(), room.getRoomNumber())
+                    + String.format("• Check-in: %s\n", guest.checkInDate().format(DATE))
+                    + String.format("• Check-out: %s\n\n", guest.checkOutDate().format(DATE))
+                    + String.format("O quarto está reservado para você até %s. Para confirmar, escolha as mesmas datas em:\n%s\n\n",
+                    hold.getExpiresAt().format(DATE_TIME), frontendUrl + "/room-details/" + room.getId())
+                    + "Atenciosamente,\n"
+                    + "Equipe Quinta do Ypuã";
+            notificationService.sendEmail(NotificationDTO.builder()
+                    .recipient(user.getEmail())
+                    .subject("Quarto disponível na lista de espera | Quinta do Ypuã")
+                    .body(body)
+                    .type(NotificationType.EMAIL)
+                    .build());
+        });
+    }
+
+    private static WaitingGuest toGuest(WaitlistEntry entry) {
+        return new WaitingGuest(entry.getId(), entry.getUserId(), entry.getRoomType(),
+                entry.getCheckInDate(), entry.getCheckOutDate());
+    }
+}
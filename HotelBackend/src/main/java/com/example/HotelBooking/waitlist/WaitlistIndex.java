@@ -0,0 +1,90 @@
+package com.example.HotelBooking.waitlist;
+
+import com.example.HotelBooking.enums.RoomType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Entradas da lista de espera em memória, por tipo de quarto e ordenadas pela data de entrada.
+ *
+ * Como nenhuma entrada passa de {@code maxNights} noites, as que dividem alguma noite com [entrada, saída)
+ * começam no máximo {@code maxNights - 1} dias antes da entrada: a consulta percorre só essa faixa da
+ * {@link TreeMap}, em O(log n + k), sem varrer a lista inteira.
+ */
+public class WaitlistIndex {
+
+    private final int maxNights;
+    private final Map<RoomType, TreeMap<LocalDate, List<WaitingGuest>>> byType = new EnumMap<>(RoomType.class);
+    private final Map<Long, WaitingGuest> byId = new HashMap<>();
+
+    public WaitlistIndex(int maxNights) {
+        this.maxNights = maxNights;
+    }
+
+    public int getMaxNights() {
+        return maxNights;
+    }
+
+    public synchronized void add(WaitingGuest guest) {
+        remove(guest.id());
+        byId.put(guest.id(), guest);
+        byType.computeIfAbsent(guest.roomType(), type -> new TreeMap<>())
+                .computeIfAbsent(guest.checkInDate(), day -> new ArrayList<>(2))
+                .add(guest);
+    }
+
+    public synchronized void remove(long id) {
+        WaitingGuest guest = byId.remove(id);
+        if (guest == null) {
+            return;
+        }
+        TreeMap<LocalDate, List<WaitingGuest>> timeline = byType.get(guest.roomType());
+        List<WaitingGuest> sameDay = timeline.get(guest.checkInDate());
+        sameDay.removeIf(other -> other.id() == id);
+        if (sameDay.isEmpty()) {
+            timeline.remove(guest.checkInDate());
+        }
+    }
+
+    /**
+     * Entradas do tipo que dividem alguma noite com [checkIn, checkOut), da mais antiga para a mais nova.
+     */
+    public synchronized List<WaitingGuest> findOverlapping(RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        TreeMap<LocalDate, List<WaitingGuest>> timeline = byType.get(roomType);
+        if (timeline == null) {
+            return List.of();
+        }
+        NavigableMap<LocalDate, List<WaitingGuest>> candidates =
+                timeline.subMap(checkIn.minusDays(maxNights), false, checkOut, false);
+        List<WaitingGuest> result = new ArrayList<>();
+        for (List<WaitingGuest> sameDay : candidates.values()) {
+            for (WaitingGuest guest : sameDay) {
+                if (guest.checkOutDate().isAfter(checkIn)) {
+                    result.add(guest);
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(WaitingGuest::id));
+        return result;
+    }
+
+    public synchronized void clear() {
+        byType.clear();
+        byId.clear();
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    public record WaitingGuest(long id, long userId, RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+}
@@ -0,0 +1,36 @@
+-- Executado pelo spring.sql.init depois do Hibernate (spring.jpa.defer-datasource-initialization).
+-- Os comandos são separados por @@ porque o bloco DO tem ponto e vírgula internos.
+
+-- Impede duas estadias ativas do mesmo quarto na mesma noite.
+-- As estadias ocupam as noites [entrada, saída): o dia de saída pode ser a entrada de outra reserva.
+CREATE EXTENSION IF NOT EXISTS btree_gist
+@@
+
+-- Datas ausentes ou invertidas (dados antigos) deixam a coluna nula, fora da restrição
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS stay daterange
+    GENERATED ALWAYS AS (
+        CASE WHEN check_out_date > check_in_date THEN daterange(check_in_date, check_out_date, '[)') END
+    ) STORED
+@@
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap') THEN
+        -- Reservas antigas sobrepostas impedem a criação; ficam registradas no log para correção manual
+        IF EXISTS (
+            SELECT 1
+            FROM bookings a
+            JOIN bookings b ON a.room_id = b.room_id AND a.id < b.id AND a.stay && b.stay
+            WHERE a.booking_status IN ('BOOKED', 'CHECKED_IN')
+              AND b.booking_status IN ('BOOKED', 'CHECKED_IN')
+        ) THEN
+            RAISE WARNING 'bookings_no_overlap não criada: existem reservas ativas sobrepostas';
+        ELSE
+            ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+                EXCLUDE USING gist (room_id WITH =, stay WITH &&)
+                WHERE (booking_status IN ('BOOKED', 'CHECKED_IN'));
+        END IF;
+    END IF;
+END
+$$
+@@
@@ -0,0 +1,102 @@
+package com.example.HotelBooking.availability;
+
+import com.example.HotelBooking.dtos.BookedIntervalProjection;
+import com.example.HotelBooking.dtos.RoomAvailableProjection;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compara o índice em memória com a estratégia da consulta {@code NOT IN (SELECT b.room.id ...)},
+ * reproduzida aqui como uma varredura completa das reservas a cada busca (o plano que o banco
+ * executa sem índice em bookings). Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RoomAvailabilityIndexBenchmark {
+
+    private static final int ROOMS = 200;
+    private static final int QUERIES = 2_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100_000, 1_000_000})
+    void compareIndexWithFullScan(int bookings) {
+        LocalDate today = LocalDate.now();
+        Random random = new Random(42);
+
+        List<RoomAvailableProjection> rooms = new ArrayList<>();
+        for (long id = 1; id <= ROOMS; id++) {
+            rooms.add(RoomAvailabilityIndexTest.room(id, RoomType.values()[(int) (id % RoomType.values().length)]));
+        }
+        List<BookedIntervalProjection> intervals = new ArrayList<>(bookings);
+        for (long id = 1; id <= bookings; id++) {
+            long roomId = 1 + random.nextInt(ROOMS);
+            LocalDate checkIn = today.plusDays(random.nextInt(3_650));
+            intervals.add(RoomAvailabilityIndexTest.interval(id, roomId, checkIn, checkIn.plusDays(1 + random.nextInt(7))));
+        }
+
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(roomRepository.findAllRoomsProjection()).thenReturn(rooms);
+        when(bookingRepository.findActiveIntervals(any(LocalDate.class))).thenReturn(intervals);
+
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(roomRepository, bookingRepository);
+        long loadStart = System.nanoTime();
+        index.reload();
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+
+        LocalDate[] checkIns = new LocalDate[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            checkIns[i] = today.plusDays(random.nextInt(3_650));
+        }
+
+        long indexResults = 0;
+        long indexStart = System.nanoTime();
+        for (LocalDate checkIn : checkIns) {
+            indexResults += index.findAvailableRooms(checkIn, checkIn.plusDays(3), null).size();
+        }
+        long indexNanos = System.nanoTime() - indexStart;
+
+        long scanResults = 0;
+        long scanStart = System.nanoTime();
+        for (LocalDate checkIn : checkIns) {
+            scanResults += fullScan(rooms, intervals, checkIn, checkIn.plusDays(3)).size();
+        }
+        long scanNanos = System.nanoTime() - scanStart;
+
+        assertEquals(scanResults, indexResults);
+        System.out.printf("bookings=%d carga=%d ms | índice=%d µs/busca | varredura=%d µs/busca%n",
+                bookings, loadMillis, indexNanos / QUERIES / 1_000, scanNanos / QUERIES / 1_000);
+    }
+
+    private static List<Long> fullScan(List<RoomAvailableProjection> rooms, List<BookedIntervalProjection> intervals,
+                                       LocalDate checkIn, LocalDate checkOut) {
+        Set<Long> occupied = new HashSet<>();
+        for (BookedIntervalProjection interval : intervals) {
+            if (!checkIn.isAfter(interval.getCheckOutDate()) && !checkOut.isBefore(interval.getCheckInDate())) {
+                occupied.add(interval.getRoomId());
+            }
+        }
+        List<Long> available = new ArrayList<>();
+        for (RoomAvailableProjection room : rooms) {
+            if (!occupied.contains(room.getId())) {
+                available.add(room.getId());
+            }
+        }
+        return available;
+    }
+}
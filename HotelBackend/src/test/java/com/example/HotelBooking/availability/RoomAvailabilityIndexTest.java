@@ -0,0 +1,147 @@
+package com.example.HotelBooking.availability;
+
+import com.example.HotelBooking.dtos.BookedIntervalProjection;
+import com.example.HotelBooking.dtos.RoomAvailableProjection;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAvailabilityIndexTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private RoomAvailabilityIndex index;
+
+    private final LocalDate base = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAllRoomsProjection()).thenReturn(List.of(
+                room(1L, RoomType.SINGLE),
+                room(2L, RoomType.DOUBLE),
+                room(3L, RoomType.SINGLE)));
+        when(bookingRepository.findActiveIntervals(any(LocalDate.class))).thenReturn(List.of(
+                interval(10L, 1L, base, base.plusDays(3)),
+                interval(11L, 1L, base.plusDays(10), base.plusDays(12)),
+                interval(12L, 2L, base.minusDays(5), base.plusDays(20))));
+        index.reload();
+    }
+
+    @Test
+    void findAvailableRooms_ShouldExcludeOverlappingStays() {
+        List<IndexedRoom> rooms = index.findAvailableRooms(base.plusDays(1), base.plusDays(2), null);
+
+        assertEquals(List.of(3L), rooms.stream().map(IndexedRoom::getId).toList());
+    }
+
+    @Test
+    void findAvailableRooms_ShouldLeaveCheckOutDayFreeForTheNextStay() {
+        // Estadias ocupam as noites [entrada, saída), mesma regra da restrição bookings_no_overlap
+        assertTrue(index.isRoomAvailable(1L, base.plusDays(3), base.plusDays(5)));
+        assertTrue(index.isRoomAvailable(1L, base.minusDays(2), base));
+        assertFalse(index.isRoomAvailable(1L, base.plusDays(2), base.plusDays(4)));
+        assertFalse(index.isRoomAvailable(1L, base.minusDays(1), base.plusDays(1)));
+    }
+
+    @Test
+    void availabilityKey_ShouldOverlapOnlyStaysSharingANight() {
+        // Mesma regra do índice: a busca em cache só cai quando a estadia alterada divide uma noite com ela
+        AvailabilityKey key = new AvailabilityKey(base, base.plusDays(3), null);
+
+        assertFalse(key.overlaps(base.plusDays(3), base.plusDays(5)));
+        assertFalse(key.overlaps(base.minusDays(2), base));
+        assertTrue(key.overlaps(base.plusDays(2), base.plusDays(4)));
+        assertTrue(key.overlaps(base.minusDays(1), base.plusDays(1)));
+        assertTrue(key.overlaps(base.minusDays(1), base.plusDays(5)));
+    }
+
+    @Test
+    void findAvailableRooms_ShouldDetectStayEnclosingTheRange() {
+        assertFalse(index.isRoomAvailable(2L, base.plusDays(1), base.plusDays(2)));
+    }
+
+    @Test
+    void findAvailableRooms_ShouldFilterByRoomType() {
+        List<IndexedRoom> rooms = index.findAvailableRooms(base.plusDays(30), base.plusDays(31), RoomType.SINGLE);
+
+        assertEquals(List.of(1L, 3L), rooms.stream().map(IndexedRoom::getId).toList());
+    }
+
+    @Test
+    void occupiedDays_ShouldMarkEveryDayCoveredInsideTheWindow() {
+        Map<IndexedRoom, BitSet> calendar = index.occupiedDays(base.plusDays(2), base.plusDays(11), null);
+
+        Map<Long, BitSet> byRoom = calendar.entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey().getId(), Map.Entry::getValue));
+        // quarto 1: noites base..base+2 e base+10..base+11 -> offsets 0 e 8..9
+        assertEquals(BitSet.valueOf(new long[]{0b1100000001L}), byRoom.get(1L));
+        assertEquals(10, byRoom.get(2L).cardinality());
+        assertTrue(byRoom.get(3L).isEmpty());
+    }
+
+    @Test
+    void onBookingChanged_ShouldAddAndReleaseStays() {
+        BookingChange created = BookingChange.builder()
+                .bookingId(20L).roomId(3L)
+                .checkInDate(base.plusDays(1)).checkOutDate(base.plusDays(2))
+                .bookingStatus(BookingStatus.BOOKED)
+                .build();
+        index.onBookingChanged(BookingChangedEvent.of(created));
+        assertFalse(index.isRoomAvailable(3L, base.plusDays(1), base.plusDays(2)));
+
+        BookingChange cancelled = created.toBuilder()
+                .previousBookingStatus(BookingStatus.BOOKED)
+                .bookingStatus(BookingStatus.CANCELLED)
+                .build();
+        index.onBookingChanged(BookingChangedEvent.of(cancelled));
+        assertTrue(index.isRoomAvailable(3L, base.plusDays(1), base.plusDays(2)));
+    }
+
+    static RoomAvailableProjection room(Long id, RoomType type) {
+        return new RoomAvailableProjection() {
+            public Long getId() { return id; }
+            public Integer getRoomNumber() { return id.intValue() + 100; }
+            public RoomType getType() { return type; }
+            public BigDecimal getPricePerNight() { return BigDecimal.valueOf(100); }
+            public Integer getCapacity() { return 2; }
+            public String getDescription() { return null; }
+            public String getTitle() { return "Quarto " + id; }
+            public String getImageKey() { return null; }
+        };
+    }
+
+    static BookedIntervalProjection interval(Long id, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new BookedIntervalProjection() {
+            public Long getId() { return id; }
+            public Long getRoomId() { return roomId; }
+            public LocalDate getCheckInDate() { return checkIn; }
+            public LocalDate getCheckOutDate() { return checkOut; }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.HotelBooking.backup;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackupArchiveReaderTest {
+
+    @Test
+    void readImage_ShouldStreamEachImageAndSkipWhatWasNotRead() throws IOException {
+        byte[] first = "primeira imagem".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "segunda imagem".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        BackupArchiveWriter writer = new BackupArchiveWriter(archive);
+        writer.writeImage("a", "image/jpeg", first.length, new ByteArrayInputStream(first));
+        writer.writeImage("b", "image/png", second.length, new ByteArrayInputStream(second));
+        writer.finish();
+
+        BackupArchiveReader reader = new BackupArchiveReader(new ByteArrayInputStream(archive.toByteArray()));
+
+        assertEquals(BackupFormat.SECTION_IMAGE, reader.nextSection());
+        BackupArchiveReader.ImageEntry partial = reader.readImage();
+        assertEquals(first.length, partial.size());
+        assertArrayEquals(Arrays.copyOf(first, 4), partial.content().readNBytes(4));
+
+        // O restante da primeira imagem é pulado antes da próxima seção
+        assertEquals(BackupFormat.SECTION_IMAGE, reader.nextSection());
+        BackupArchiveReader.ImageEntry full = reader.readImage();
+        assertEquals("b", full.key());
+        assertArrayEquals(second, full.content().readAllBytes());
+        assertEquals(-1, full.content().read());
+        assertEquals(BackupFormat.SECTION_END, reader.nextSection());
+    }
+
+    @Test
+    void readImage_WhenTheArchiveIsTruncated_ShouldFail() throws IOException {
+        byte[] content = new byte[4096];
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        BackupArchiveWriter writer = new BackupArchiveWriter(archive);
+        // Tamanho declarado maior que o conteúdo: o arquivo acaba antes do fim da imagem
+        assertThrows(IOException.class, () ->
+                writer.writeImage("a", "image/jpeg", content.length + 10, new ByteArrayInputStream(content)));
+        writer.finish();
+
+        BackupArchiveReader reader = new BackupArchiveReader(new ByteArrayInputStream(archive.toByteArray()));
+        reader.nextSection();
+        BackupArchiveReader.ImageEntry image = reader.readImage();
+
+        assertThrows(EOFException.class, () -> image.content().readAllBytes());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.HotelBooking.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void getOrLoad_ShouldEvictLeastRecentlyUsedEntry() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 2);
+        cache.getOrLoad("a", () -> "A");
+        cache.getOrLoad("b", () -> "B");
+        cache.getOrLoad("a", () -> "A"); // "a" passa a ser o mais recente
+        cache.getOrLoad("c", () -> "C");
+
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("A", cache.getIfPresent("a"));
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(3, cache.stats().getMisses());
+    }
+
+    @Test
+    void getOrLoad_ConcurrentMisses_ShouldRunLoaderOnce() throws Exception {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10);
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.getOrLoad("key", () -> {
+                loaderCalls.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return 42;
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.getOrLoad("key", () -> {
+                    loaderCalls.incrementAndGet();
+                    return -1;
+                })));
+            }
+            Thread.sleep(100);
+            releaseLoader.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loaderCalls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidateIf_DuringLoad_ShouldNotStoreStaleValue() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+
+        String value = cache.getOrLoad("key", () -> {
+            cache.invalidateIf(key -> true);
+            return "antigo";
+        });
+
+        assertEquals("antigo", value);
+        assertNull(cache.getIfPresent("key"));
+    }
+
+    @Test
+    void invalidateIf_OfAnotherKeyDuringLoad_ShouldStillStoreTheValue() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+
+        cache.getOrLoad("key", () -> {
+            cache.invalidateIf("outra"::equals);
+            return "valor";
+        });
+
+        assertEquals("valor", cache.getIfPresent("key"));
+    }
+
+    @Test
+    void invalidateIf_ShouldRemoveOnlyMatchingKeys() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10);
+        for (int i = 0; i < 5; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        int removed = cache.invalidateIf(key -> key % 2 == 0);
+
+        assertEquals(3, removed);
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.stats().getInvalidations());
+    }
+
+    @Test
+    void getIfPresent_AfterExpireAfterWrite_ShouldReload() {
+        AtomicLong now = new AtomicLong();
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, Duration.ofSeconds(30), now::get);
+        cache.getOrLoad("key", () -> "antigo");
+
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertEquals("antigo", cache.getOrLoad("key", () -> "novo"));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.getIfPresent("key"));
+        assertEquals("novo", cache.getOrLoad("key", () -> "novo"));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
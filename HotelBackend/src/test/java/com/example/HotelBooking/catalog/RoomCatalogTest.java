@@ -0,0 +1,123 @@
+package com.example.HotelBooking.catalog;
+
+import com.example.HotelBooking.dtos.RoomAvailableProjection;
+import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.repositories.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomCatalogTest {
+
+    private static final String IMAGE_KEY = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @InjectMocks
+    private RoomCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAllRoomsProjection()).thenReturn(List.of(
+                room(1L, 100, null),
+                room(3L, 300, IMAGE_KEY),
+                room(2L, 200, null)));
+        catalog.reload();
+    }
+
+    @Test
+    void getAllRooms_ShouldReturnSnapshotOrderedByIdDescending() {
+        List<RoomDTO> rooms = catalog.getAllRooms();
+
+        assertEquals(List.of(3L, 2L, 1L), rooms.stream().map(RoomDTO::getId).toList());
+        assertSame(rooms, catalog.getAllRooms());
+        assertThrows(UnsupportedOperationException.class, () -> rooms.add(new RoomDTO()));
+    }
+
+    @Test
+    void findRoomDTO_ShouldServeFromMemoryWithVersionedImageUrl() {
+        RoomDTO room = catalog.findRoomDTO(3L).orElseThrow();
+
+        assertEquals("/api/rooms/3/image?v=0123456789abcdef", room.getImageUrl());
+        assertEquals("/api/rooms/1/image", catalog.findRoomDTO(1L).orElseThrow().getImageUrl());
+        verify(roomRepository, never()).findRoomProjectionById(anyLong());
+    }
+
+    @Test
+    void findRoom_Miss_ShouldReadThroughAndKeepTheRoom() {
+        when(roomRepository.findRoomProjectionById(4L)).thenReturn(Optional.of(room(4L, 400, null)));
+        long version = catalog.getVersion();
+
+        assertEquals(BigDecimal.valueOf(400), catalog.findRoom(4L).orElseThrow().getPricePerNight());
+        assertTrue(catalog.findRoom(4L).isPresent());
+
+        verify(roomRepository, times(1)).findRoomProjectionById(4L);
+        assertEquals(version + 1, catalog.getVersion());
+        assertEquals(4, catalog.getAllRooms().size());
+    }
+
+    @Test
+    void findRoom_UnknownRoom_ShouldReturnEmpty() {
+        when(roomRepository.findRoomProjectionById(99L)).thenReturn(Optional.empty());
+
+        assertTrue(catalog.findRoom(99L).isEmpty());
+        assertEquals(3, catalog.getAllRooms().size());
+    }
+
+    @Test
+    void onRoomChanged_ShouldPublishNewSnapshotWithoutChangingTheOldOne() {
+        List<RoomDTO> before = catalog.getAllRooms();
+        long version = catalog.getVersion();
+        when(roomRepository.findRoomProjectionById(2L)).thenReturn(Optional.of(room(2L, 250, null)));
+
+        catalog.onRoomChanged(new RoomChangedEvent(2L, false));
+        catalog.onRoomChanged(new RoomChangedEvent(1L, true));
+
+        assertEquals(version + 2, catalog.getVersion());
+        assertEquals(BigDecimal.valueOf(250), catalog.findRoomDTO(2L).orElseThrow().getPricePerNight());
+        assertEquals(List.of(3L, 2L), catalog.getAllRooms().stream().map(RoomDTO::getId).toList());
+        // Quem já leu o snapshot anterior continua vendo a versão antiga
+        assertEquals(3, before.size());
+        assertEquals(BigDecimal.valueOf(200), before.get(1).getPricePerNight());
+    }
+
+    @Test
+    void findRoom_AfterRefreshInterval_ShouldReloadRoomsChangedByAnotherInstance() {
+        ReflectionTestUtils.setField(catalog, "refreshInterval", Duration.ZERO);
+        when(roomRepository.findAllRoomsProjection()).thenReturn(List.of(
+                room(1L, 110, null),
+                room(2L, 200, null)));
+
+        assertEquals(BigDecimal.valueOf(110), catalog.findRoom(1L).orElseThrow().getPricePerNight());
+        assertEquals(List.of(2L, 1L), catalog.getAllRooms().stream().map(RoomDTO::getId).toList());
+    }
+
+    private static RoomAvailableProjection room(Long id, int price, String imageKey) {
+        return new RoomAvailableProjection() {
+            public Long getId() { return id; }
+            public Integer getRoomNumber() { return id.intValue() + 100; }
+            public RoomType getType() { return RoomType.DOUBLE; }
+            public BigDecimal getPricePerNight() { return BigDecimal.valueOf(price); }
+            public Integer getCapacity() { return 2; }
+            public String getDescription() { return null; }
+            public String getTitle() { return "Quarto " + id; }
+            public String getImageKey() { return imageKey; }
+        };
+    }
+}
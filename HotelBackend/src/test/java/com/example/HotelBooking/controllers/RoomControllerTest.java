@@ -0,0 +1,90 @@
+package com.example.HotelBooking.controllers;
+
+import com.example.HotelBooking.dtos.RoomImageProjection;
+import com.example.HotelBooking.services.PricingService;
+import com.example.HotelBooking.services.RoomService;
+import com.example.HotelBooking.storage.ImageContent;
+import com.example.HotelBooking.storage.ImageVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomControllerTest {
+
+    private static final String KEY = "a1b2c3d4e5f6a7b8c9d0";
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private PricingService pricingService;
+
+    @InjectMocks
+    private RoomController roomController;
+
+    @Test
+    void getRoomImage_WithMatchingETag_ShouldAnswer304WithoutLoadingTheImage() {
+        RoomImageProjection info = imageInfo();
+        when(roomService.getRoomImageInfo(1L)).thenReturn(info);
+
+        ResponseEntity<Resource> response = roomController.getRoomImage(1L, "a1b2c3d4e5f6a7b8", "card",
+                request("\"" + KEY + "-card\""));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"" + KEY + "-card\"", response.getHeaders().getETag());
+        verify(roomService, never()).getRoomImage(any(), any());
+    }
+
+    @Test
+    void getRoomImage_WhenTheVariantIsMissing_ShouldServeTheOriginal() {
+        RoomImageProjection info = imageInfo();
+        when(roomService.getRoomImageInfo(1L)).thenReturn(info);
+        when(roomService.getRoomImage(info, ImageVariant.CARD)).thenReturn(new ImageContent(
+                new ByteArrayResource(new byte[]{1, 2, 3}), "image/png", KEY, null, info.getImageUpdatedAt()));
+
+        ResponseEntity<Resource> response = roomController.getRoomImage(1L, "a1b2c3d4e5f6a7b8", "card",
+                request(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"" + KEY + "\"", response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms/1/image");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static RoomImageProjection imageInfo() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 10, 12, 0);
+        return new RoomImageProjection() {
+            public Long getId() { return 1L; }
+            public String getImageKey() { return KEY; }
+            public String getImageContentType() { return "image/png"; }
+            public Long getImageSize() { return 3L; }
+            public LocalDateTime getImageUpdatedAt() { return updatedAt; }
+        };
+    }
+}
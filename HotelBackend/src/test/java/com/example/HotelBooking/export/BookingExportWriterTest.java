@@ -0,0 +1,92 @@
+package com.example.HotelBooking.export;
+
+import com.example.HotelBooking.dtos.BookingHistoryProjection;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingExportWriterTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 3, 10);
+
+    @Test
+    void ndjson_ShouldWriteOneFlatObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BookingExportWriter writer = new BookingExportWriter(ExportFormat.NDJSON, out);
+
+        writer.write(booking(1L, "Ana"));
+        writer.write(booking(2L, null));
+        writer.flush();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("2026-03-10", first.get("checkInDate").asText());
+        assertTrue(lines[0].contains("\"totalPrice\":250.50"));
+        assertEquals("BOOKED", first.get("bookingStatus").asText());
+        assertTrue(new ObjectMapper().readTree(lines[1]).get("userFirstName").isNull());
+        assertEquals(2, writer.getRows());
+    }
+
+    @Test
+    void csv_ShouldWriteHeaderAndQuoteSpecialCharacters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BookingExportWriter writer = new BookingExportWriter(ExportFormat.CSV, out);
+
+        writer.write(booking(1L, "Ana \"Bia\", Souza"));
+        writer.flush();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,bookingReference,bookingStatus,"));
+        assertTrue(lines[1].startsWith("1,REF1,BOOKED,PENDING,2026-03-10,2026-03-12,250.50,"));
+        assertTrue(lines[1].contains(",\"Ana \"\"Bia\"\", Souza\","));
+    }
+
+    @Test
+    void fromParam_ShouldDefaultToNdjsonAndRejectUnknownFormats() {
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromParam(null));
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParam(" CSV "));
+        assertThrows(InvalidBookingStateAndDateException.class, () -> ExportFormat.fromParam("xml"));
+    }
+
+    private static BookingHistoryProjection booking(Long id, String firstName) {
+        return new BookingHistoryProjection() {
+            public Long getId() { return id; }
+            public Long getRoomId() { return 7L; }
+            public Integer getRoomNumber() { return 107; }
+            public RoomType getRoomType() { return RoomType.DOUBLE; }
+            public BigDecimal getRoomPricePerNight() { return new BigDecimal("125.25"); }
+            public Integer getRoomCapacity() { return 2; }
+            public String getRoomDescription() { return null; }
+            public String getRoomTitle() { return "Quarto 107"; }
+            public String getRoomImageKey() { return null; }
+            public Long getUserId() { return 3L; }
+            public String getUserEmail() { return "hospede@pousada.com"; }
+            public String getUserFirstName() { return firstName; }
+            public String getUserLastName() { return "Silva"; }
+            public String getUserPhoneNumber() { return "+55 48 99999-0000"; }
+            public LocalDate getCheckInDate() { return CHECK_IN; }
+            public LocalDate getCheckOutDate() { return CHECK_IN.plusDays(2); }
+            public BigDecimal getTotalPrice() { return new BigDecimal("250.50"); }
+            public String getBookingReference() { return "REF" + id; }
+            public LocalDateTime getCreatedAt() { return CHECK_IN.minusDays(5).atTime(14, 30); }
+            public BookingStatus getBookingStatus() { return BookingStatus.BOOKED; }
+            public PaymentStatus getPaymentStatus() { return PaymentStatus.PENDING; }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.HotelBooking.history;
+
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.BookingHistoryProjection;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.repositories.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingHistoryViewTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingHistoryView historyView;
+
+    @BeforeEach
+    void setUp() {
+        historyView = new BookingHistoryView(new BoundedCache<>("bookingHistory", 10), bookingRepository);
+        lenient().when(bookingRepository.findBookingHistoryByUserId(anyLong())).thenAnswer(invocation -> List.of(history(1L)));
+    }
+
+    @Test
+    void get_RepeatedReads_ShouldQueryOnceAndKeepTheEtag() {
+        String etag = historyView.etag(7L);
+
+        List<BookingDTO> first = historyView.get(7L);
+        List<BookingDTO> second = historyView.get(7L);
+
+        assertSame(first, second);
+        assertEquals(etag, historyView.etag(7L));
+        verify(bookingRepository, times(1)).findBookingHistoryByUserId(7L);
+    }
+
+    @Test
+    void etag_AfterTheCachedHistoryExpires_ShouldChange() {
+        // Alteração feita em outra instância não gera evento aqui: só a expiração força a nova leitura
+        historyView = new BookingHistoryView(new BoundedCache<>("bookingHistory", 10, Duration.ofNanos(1)), bookingRepository);
+        String etag = historyView.etag(7L);
+        historyView.get(7L);
+
+        assertNotEquals(etag, historyView.etag(7L));
+        historyView.get(7L);
+        verify(bookingRepository, times(2)).findBookingHistoryByUserId(7L);
+    }
+
+    @Test
+    void onBookingChanged_ShouldBumpOnlyTheOwnersVersion() {
+        historyView.get(7L);
+        historyView.get(8L);
+        String owner = historyView.etag(7L);
+        String other = historyView.etag(8L);
+
+        // mudança só de pagamento também altera o que o histórico mostra
+        historyView.onBookingChanged(BookingChangedEvent.of(BookingChange.builder()
+                .bookingId(1L).userId(7L)
+                .previousBookingStatus(BookingStatus.BOOKED).bookingStatus(BookingStatus.BOOKED)
+                .previousPaymentStatus(PaymentStatus.PENDING).paymentStatus(PaymentStatus.COMPLETED)
+                .build()));
+
+        assertNotEquals(owner, historyView.etag(7L));
+        assertEquals(other, historyView.etag(8L));
+        historyView.get(7L);
+        historyView.get(8L);
+        verify(bookingRepository, times(2)).findBookingHistoryByUserId(7L);
+        verify(bookingRepository, times(1)).findBookingHistoryByUserId(8L);
+    }
+
+    @Test
+    void onRoomChanged_ShouldInvalidateEveryHistory() {
+        historyView.get(7L);
+        String etag = historyView.etag(7L);
+
+        historyView.onRoomChanged(new RoomChangedEvent(3L, false));
+
+        assertNotEquals(etag, historyView.etag(7L));
+        historyView.get(7L);
+        verify(bookingRepository, times(2)).findBookingHistoryByUserId(7L);
+    }
+
+    private static BookingHistoryProjection history(Long id) {
+        BookingHistoryProjection projection = mock(BookingHistoryProjection.class);
+        lenient().when(projection.getId()).thenReturn(id);
+        lenient().when(projection.getRoomId()).thenReturn(3L);
+        return projection;
+    }
+}
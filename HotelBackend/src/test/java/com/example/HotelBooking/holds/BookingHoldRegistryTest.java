@@ -0,0 +1,137 @@
+package com.example.HotelBooking.holds;
+
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.exceptions.BookingConflictException;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import com.example.HotelBooking.services.BookingHoldService;
+import com.example.HotelBooking.services.BookingService;
+import com.example.HotelBooking.services.NotificationService;
+import com.example.HotelBooking.services.RoomService;
+import com.example.HotelBooking.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bloqueios temporários de ponta a ponta: criação, conflito com outro hóspede, consumo pela reserva,
+ * expiração pela roda de temporização e exclusão do quarto.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:holdtest;LOCK_TIMEOUT=30000")
+class BookingHoldRegistryTest {
+
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingHoldRegistry bookingHoldRegistry;
+
+    @Autowired
+    private BookingHoldRepository bookingHoldRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void holds_ShouldBlockOtherGuestsUntilConsumedOrExpired() {
+        User owner = guest("dono@teste.com");
+        User other = guest("outro@teste.com");
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(951).type(RoomType.TRIPLE).pricePerNight(BigDecimal.valueOf(200)).capacity(3).build());
+        roomAvailabilityIndex.reload();
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        BookingDTO stay = BookingDTO.builder().roomId(room.getId()).checkInDate(checkIn).checkOutDate(checkIn.plusDays(2)).build();
+
+        // Primeiro bloqueio: o quarto some da busca e outro hóspede não consegue reservar nem bloquear
+        when(userService.getCurrentLoggedInUser()).thenReturn(owner);
+        Response placed = bookingHoldService.placeHold(stay);
+        Long holdId = placed.getHold().getId();
+        assertFalse(roomAvailabilityIndex.isRoomAvailable(room.getId(), checkIn.plusDays(1), checkIn.plusDays(3)));
+        assertEquals(1, bookingHoldRegistry.activeHolds());
+
+        when(userService.getCurrentLoggedInUser()).thenReturn(other);
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(stay));
+        assertThrows(BookingConflictException.class, () -> bookingHoldService.placeHold(stay));
+
+        // O dono consome o bloqueio ao reservar
+        when(userService.getCurrentLoggedInUser()).thenReturn(owner);
+        bookingService.createBooking(BookingDTO.builder().roomId(room.getId())
+                .checkInDate(checkIn).checkOutDate(checkIn.plusDays(2)).holdId(holdId).build());
+        assertFalse(bookingHoldRepository.existsById(holdId));
+        assertEquals(0, bookingHoldRegistry.activeHolds());
+
+        // Um bloqueio que vence sai da roda e da tabela sem intervenção
+        BookingDTO later = BookingDTO.builder().roomId(room.getId())
+                .checkInDate(checkIn.plusDays(5)).checkOutDate(checkIn.plusDays(6)).build();
+        Long expiringId = bookingHoldService.placeHold(later).getHold().getId();
+        assertFalse(roomAvailabilityIndex.isRoomAvailable(room.getId(), later.getCheckInDate(), later.getCheckOutDate()));
+
+        assertEquals(1, bookingHoldRegistry.expireDue(System.currentTimeMillis() + 11 * 60_000));
+        assertTrue(roomAvailabilityIndex.isRoomAvailable(room.getId(), later.getCheckInDate(), later.getCheckOutDate()));
+        assertFalse(bookingHoldRepository.existsById(expiringId));
+    }
+
+    @Test
+    void deletedRoom_ShouldDropItsHolds() {
+        User owner = guest("excluido@teste.com");
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(952).type(RoomType.SINGLE).pricePerNight(BigDecimal.valueOf(150)).capacity(1).build());
+        roomAvailabilityIndex.reload();
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        int registered = bookingHoldRegistry.activeHolds();
+        int indexed = roomAvailabilityIndex.activeHoldCount();
+
+        when(userService.getCurrentLoggedInUser()).thenReturn(owner);
+        Long holdId = bookingHoldService.placeHold(BookingDTO.builder().roomId(room.getId())
+                .checkInDate(checkIn).checkOutDate(checkIn.plusDays(2)).build()).getHold().getId();
+        assertEquals(registered + 1, bookingHoldRegistry.activeHolds());
+
+        roomService.deleteRoom(room.getId());
+
+        assertFalse(bookingHoldRepository.existsById(holdId));
+        assertEquals(registered, bookingHoldRegistry.activeHolds());
+        assertEquals(indexed, roomAvailabilityIndex.activeHoldCount());
+    }
+
+    private User guest(String email) {
+        return userRepository.save(User.builder()
+                .email(email).password("senha").firstName("Hóspede")
+                .phoneNumber("48999990000").role(UserRole.CUSTOMER).isActive(true).build());
+    }
+}
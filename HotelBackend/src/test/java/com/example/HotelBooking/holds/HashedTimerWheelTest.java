@@ -0,0 +1,68 @@
+package com.example.HotelBooking.holds;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimerWheelTest {
+
+    @Test
+    void advance_ShouldExpireItemsOnlyAfterTheirDeadline() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 100);
+        List<String> expired = new ArrayList<>();
+
+        assertEquals(0, wheel.advance(99, expired::add));
+        assertEquals(1, wheel.advance(100, expired::add));
+        assertEquals(0, wheel.advance(299, expired::add));
+        assertEquals(1, wheel.advance(300, expired::add));
+        assertEquals(List.of("b", "a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldCountFullRoundsForDeadlinesBeyondTheWheel() {
+        // 8 baldes de 100 ms: o prazo de 2.050 ms cai no mesmo balde que 450 ms, duas voltas depois
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        wheel.schedule("longo", 2_050);
+        wheel.schedule("curto", 450);
+        List<String> expired = new ArrayList<>();
+
+        for (long now = 100; now <= 2_000; now += 100) {
+            wheel.advance(now, expired::add);
+        }
+        assertEquals(List.of("curto"), expired);
+        wheel.advance(2_100, expired::add);
+        assertEquals(List.of("curto", "longo"), expired);
+    }
+
+    @Test
+    void advance_AfterALongPause_ShouldExpireEverythingDueInOneCall() {
+        HashedTimerWheel<Integer> wheel = new HashedTimerWheel<>(100, 8, 0);
+        for (int i = 1; i <= 50; i++) {
+            wheel.schedule(i, i * 100L);
+        }
+        List<Integer> expired = new ArrayList<>();
+
+        assertEquals(30, wheel.advance(3_000, expired::add));
+        assertTrue(expired.stream().allMatch(i -> i <= 30));
+        assertEquals(20, wheel.size());
+    }
+
+    @Test
+    void cancel_ShouldRemoveTheItemBeforeItExpires() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        HashedTimerWheel.Timeout<String> timeout = wheel.schedule("a", 200);
+        wheel.schedule("b", 200);
+
+        assertTrue(wheel.cancel(timeout));
+        assertFalse(wheel.cancel(timeout));
+        List<String> expired = new ArrayList<>();
+        wheel.advance(1_000, expired::add);
+        assertEquals(List.of("b"), expired);
+    }
+}
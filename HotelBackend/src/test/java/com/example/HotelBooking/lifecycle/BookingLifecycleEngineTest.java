@@ -0,0 +1,111 @@
+package com.example.HotelBooking.lifecycle;
+
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.dtos.LifecycleStatsDTO;
+import com.example.HotelBooking.entities.Booking;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda o ciclo de vida sobre reservas reais no H2, com lotes de 2 linhas para exercitar a paginação.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lifecycletest;LOCK_TIMEOUT=30000",
+        "booking.lifecycle.batch-size=2",
+        "booking.lifecycle.unpaid-timeout=PT1H"
+})
+class BookingLifecycleEngineTest {
+
+    @Autowired
+    private BookingLifecycleEngine engine;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Test
+    void runOnce_ShouldExpireUnpaidAndCheckOutPastStays() {
+        User guest = userRepository.save(User.builder()
+                .email("ciclo@teste.com").password("senha").firstName("Hóspede")
+                .phoneNumber("48999990000").role(UserRole.CUSTOMER).isActive(true).build());
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(901).type(RoomType.DOUBLE).pricePerNight(BigDecimal.valueOf(150)).capacity(2).build());
+        roomAvailabilityIndex.reload();
+
+        LocalDate future = LocalDate.now().plusDays(20);
+        LocalDateTime old = LocalDateTime.now().minusHours(3);
+        Booking stale1 = save(guest, room, future, future.plusDays(2), BookingStatus.BOOKED, PaymentStatus.PENDING, old);
+        Booking stale2 = save(guest, room, future.plusDays(2), future.plusDays(4), BookingStatus.BOOKED, PaymentStatus.FAILED, old);
+        Booking stale3 = save(guest, room, future.plusDays(4), future.plusDays(5), null, null, old);
+        Booking recent = save(guest, room, future.plusDays(6), future.plusDays(7), BookingStatus.BOOKED, PaymentStatus.PENDING,
+                LocalDateTime.now());
+        Booking paid = save(guest, room, future.plusDays(8), future.plusDays(9), BookingStatus.BOOKED, PaymentStatus.COMPLETED, old);
+        LocalDate past = LocalDate.now().minusDays(5);
+        Booking stayed = save(guest, room, past, past.plusDays(2), BookingStatus.CHECKED_IN, PaymentStatus.COMPLETED, old);
+        Booking paidNoCheckIn = save(guest, room, past.plusDays(2), past.plusDays(4), BookingStatus.BOOKED, PaymentStatus.COMPLETED, old);
+        roomAvailabilityIndex.reload();
+        assertFalse(roomAvailabilityIndex.isRoomAvailable(room.getId(), future, future.plusDays(2)));
+
+        LifecycleStatsDTO result = engine.runOnce();
+
+        assertEquals(3, result.getLastExpired());
+        assertEquals(2, result.getLastCheckedOut());
+        assertEquals(BookingStatus.CANCELLED, statusOf(stale1));
+        assertEquals(BookingStatus.CANCELLED, statusOf(stale2));
+        assertEquals(BookingStatus.CANCELLED, statusOf(stale3));
+        assertEquals(BookingStatus.BOOKED, statusOf(recent));
+        assertEquals(BookingStatus.BOOKED, statusOf(paid));
+        assertEquals(BookingStatus.CHECKED_OUT, statusOf(stayed));
+        assertEquals(BookingStatus.CHECKED_OUT, statusOf(paidNoCheckIn));
+        // O índice de disponibilidade recebeu os eventos e liberou as noites
+        assertTrue(roomAvailabilityIndex.isRoomAvailable(room.getId(), future, future.plusDays(5)));
+
+        // Segunda execução não encontra mais nada
+        assertEquals(0, engine.runOnce().getLastExpired());
+        LifecycleStatsDTO stats = engine.stats();
+        assertEquals(2, stats.getRuns());
+        assertEquals(3, stats.getExpired());
+        assertEquals(2, stats.getCheckedOut());
+    }
+
+    private Booking save(User guest, Room room, LocalDate checkIn, LocalDate checkOut,
+                         BookingStatus bookingStatus, PaymentStatus paymentStatus, LocalDateTime createdAt) {
+        return bookingRepository.save(Booking.builder()
+                .user(guest).room(room).checkInDate(checkIn).checkOutDate(checkOut)
+                .totalPrice(BigDecimal.valueOf(300)).bookingReference("R" + checkIn + checkOut)
+                .bookingStatus(bookingStatus).paymentStatus(paymentStatus).createdAt(createdAt)
+                .build());
+    }
+
+    private BookingStatus statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getBookingStatus();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.HotelBooking.mappers;
+
+import com.example.HotelBooking.config.ModelMapperConfig;
+import com.example.HotelBooking.dtos.RoomAvailableProjection;
+import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.enums.RoomType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara a listagem antiga (entidades {@link Room} convertidas pelo ModelMapper configurado em
+ * {@link ModelMapperConfig}) com a conversão manual das projeções feita pelo {@link RoomMapper}.
+ * Mede apenas a conversão em memória: a leitura de image_data que a consulta por entidade também
+ * fazia não entra na conta. Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RoomMapperBenchmark {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 50;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000})
+    void compareModelMapperWithProjectionMapper(int rooms) {
+        List<Room> entities = new ArrayList<>(rooms);
+        List<RoomAvailableProjection> projections = new ArrayList<>(rooms);
+        for (long id = 1; id <= rooms; id++) {
+            entities.add(entity(id));
+            projections.add(projection(id));
+        }
+        ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            viaModelMapper(modelMapper, entities);
+            viaRoomMapper(projections);
+        }
+
+        long modelMapperStart = System.nanoTime();
+        long modelMapperCount = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            modelMapperCount += viaModelMapper(modelMapper, entities).size();
+        }
+        long modelMapperNanos = System.nanoTime() - modelMapperStart;
+
+        long roomMapperStart = System.nanoTime();
+        long roomMapperCount = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            roomMapperCount += viaRoomMapper(projections).size();
+        }
+        long roomMapperNanos = System.nanoTime() - roomMapperStart;
+
+        assertEquals(modelMapperCount, roomMapperCount);
+        System.out.printf("quartos=%d | ModelMapper=%d µs/listagem | RoomMapper=%d µs/listagem%n",
+                rooms, modelMapperNanos / ROUNDS / 1_000, roomMapperNanos / ROUNDS / 1_000);
+    }
+
+    private static List<RoomDTO> viaModelMapper(ModelMapper modelMapper, List<Room> entities) {
+        return modelMapper.map(entities, new TypeToken<List<RoomDTO>>() {}.getType());
+    }
+
+    private static List<RoomDTO> viaRoomMapper(List<RoomAvailableProjection> projections) {
+        return projections.stream().map(RoomMapper::toDTO).toList();
+    }
+
+    private static Room entity(long id) {
+        return Room.builder()
+                .id(id)
+                .roomNumber((int) id)
+                .type(RoomType.values()[(int) (id % RoomType.values().length)])
+                .pricePerNight(BigDecimal.valueOf(100 + id % 50))
+                .capacity(2)
+                .description("Quarto com vista para a lagoa " + id)
+                .title("Quarto " + id)
+                .build();
+    }
+
+    private static RoomAvailableProjection projection(long id) {
+        Room room = entity(id);
+        return new RoomAvailableProjection() {
+            public Long getId() { return room.getId(); }
+            public Integer getRoomNumber() { return room.getRoomNumber(); }
+            public RoomType getType() { return room.getType(); }
+            public BigDecimal getPricePerNight() { return room.getPricePerNight(); }
+            public Integer getCapacity() { return room.getCapacity(); }
+            public String getDescription() { return room.getDescription(); }
+            public String getTitle() { return room.getTitle(); }
+            public String getImageKey() { return null; }
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.HotelBooking.payments.stripe;
+
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.NotificationDTO;
+import com.example.HotelBooking.entities.Booking;
+import com.example.HotelBooking.entities.PaymentEntity;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.payments.stripe.dto.PaymentRequest;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.PaymentRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import com.example.HotelBooking.services.BookingService;
+import com.example.HotelBooking.services.NotificationService;
+import com.example.HotelBooking.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Confirmação da Stripe que chega depois do cancelamento da reserva: volta a BOOKED se o quarto ainda estiver
+ * livre, senão a reserva continua cancelada e o pagamento fica marcado para estorno.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:paymenttest;LOCK_TIMEOUT=30000")
+class PaymentServiceTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void paymentForCancelledBooking_ShouldRestoreItWhenTheRoomIsStillFree() {
+        User owner = guest("pagante@teste.com");
+        Room room = room(971);
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        Booking booking = cancelledBooking(owner, room, checkIn);
+
+        paymentService.updatePaymentBooking(payment(booking.getBookingReference()));
+
+        Booking paid = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(BookingStatus.BOOKED, paid.getBookingStatus());
+        assertEquals(PaymentStatus.COMPLETED, paid.getPaymentStatus());
+        assertFalse(roomAvailabilityIndex.isRoomAvailable(room.getId(), checkIn, checkIn.plusDays(2)));
+        PaymentEntity payment = paymentFor(booking.getBookingReference());
+        assertEquals(PaymentStatus.COMPLETED, payment.getPaymentStatus());
+        assertNull(payment.getFailureReason());
+    }
+
+    @Test
+    void paymentForCancelledBooking_ShouldFlagRefundWhenTheRoomWasTaken() {
+        User owner = guest("atrasado@teste.com");
+        User other = guest("outro@teste.com");
+        Room room = room(972);
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        Booking booking = cancelledBooking(owner, room, checkIn);
+
+        // Outro hóspede reserva uma das noites liberadas antes de a confirmação chegar
+        when(userService.getCurrentLoggedInUser()).thenReturn(other);
+        bookingService.createBooking(BookingDTO.builder().roomId(room.getId())
+                .checkInDate(checkIn.plusDays(1)).checkOutDate(checkIn.plusDays(2)).build());
+
+        paymentService.updatePaymentBooking(payment(booking.getBookingReference()));
+
+        Booking paid = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(BookingStatus.CANCELLED, paid.getBookingStatus());
+        assertEquals(PaymentStatus.COMPLETED, paid.getPaymentStatus());
+        assertEquals(PaymentService.REFUND_REASON, paymentFor(booking.getBookingReference()).getFailureReason());
+
+        ArgumentCaptor<NotificationDTO> email = ArgumentCaptor.forClass(NotificationDTO.class);
+        verify(notificationService, atLeastOnce()).sendEmail(email.capture());
+        assertEquals("atrasado@teste.com", email.getValue().getRecipient());
+        assertTrue(email.getValue().getBody().contains("estornado"));
+    }
+
+    private Booking cancelledBooking(User owner, Room room, LocalDate checkIn) {
+        when(userService.getCurrentLoggedInUser()).thenReturn(owner);
+        bookingService.createBooking(BookingDTO.builder().roomId(room.getId())
+                .checkInDate(checkIn).checkOutDate(checkIn.plusDays(2)).build());
+        Booking booking = bookingRepository.findAll().stream()
+                .filter(b -> b.getUser().getId().equals(owner.getId()))
+                .findFirst().orElseThrow();
+        bookingService.updateBooking(BookingDTO.builder().id(booking.getId()).bookingStatus(BookingStatus.CANCELLED).build());
+        return booking;
+    }
+
+    private PaymentEntity paymentFor(String bookingReference) {
+        return paymentRepository.findAll().stream()
+                .filter(p -> bookingReference.equals(p.getBookingReference()))
+                .findFirst().orElseThrow();
+    }
+
+    private static PaymentRequest payment(String bookingReference) {
+        return new PaymentRequest(bookingReference, BigDecimal.valueOf(600), "pi_teste", true, null);
+    }
+
+    private Room room(int number) {
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(number).type(RoomType.DOUBLE).pricePerNight(BigDecimal.valueOf(300)).capacity(2).build());
+        roomAvailabilityIndex.reload();
+        return room;
+    }
+
+    private User guest(String email) {
+        return userRepository.save(User.builder()
+                .email(email).password("senha").firstName("Hóspede")
+                .phoneNumber("48999990000").role(UserRole.CUSTOMER).isActive(true).build());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.HotelBooking.pricing;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.entities.RateRule;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.RateRulesChangedEvent;
+import com.example.HotelBooking.repositories.RateRuleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PricingEngineTest {
+
+    // Segunda-feira futura, para que os fins de semana caiam em posições conhecidas
+    private final LocalDate monday = LocalDate.now().plusDays(30).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    private final IndexedRoom room = IndexedRoom.builder()
+            .id(1L).type(RoomType.DOUBLE).pricePerNight(new BigDecimal("100.00")).build();
+
+    @Mock
+    private RateRuleRepository rateRuleRepository;
+
+    @InjectMocks
+    private PricingEngine engine;
+
+    @Test
+    void quote_WithoutRules_ShouldMultiplyBasePrice() {
+        when(rateRuleRepository.findAll()).thenReturn(List.of());
+
+        assertEquals(new BigDecimal("300.00"), engine.quote(room, monday, monday.plusDays(3)));
+    }
+
+    @Test
+    void quote_ShouldApplyWeekendRateOnlyOnMatchingNights() {
+        when(rateRuleRepository.findAll()).thenReturn(List.of(
+                rule(1L, null, null, null, null, Set.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), "150", 1)));
+
+        // seg..dom: 5 noites a 100 + sexta e sábado a 150
+        assertEquals(new BigDecimal("800.00"), engine.quote(room, monday, monday.plusDays(7)));
+        assertEquals(new BigDecimal("150.00"), engine.quote(room, monday.plusDays(4), monday.plusDays(5)));
+    }
+
+    @Test
+    void quote_ShouldPreferHigherPriorityAndMoreSpecificRules() {
+        LocalDate holiday = monday.plusDays(2);
+        when(rateRuleRepository.findAll()).thenReturn(List.of(
+                rule(1L, null, null, monday, monday.plusDays(6), null, "120", 1),            // temporada
+                rule(2L, null, RoomType.DOUBLE, monday, monday.plusDays(6), null, "130", 1), // temporada do tipo
+                rule(3L, null, null, holiday, holiday, null, "300", 5),                      // feriado
+                rule(4L, 2L, null, monday, monday.plusDays(6), null, "999", 9)));             // outro quarto
+
+        // seg e ter a 130 (tipo vence geral), quarta é feriado, quinta a 130
+        assertEquals(new BigDecimal("690.00"), engine.quote(room, monday, monday.plusDays(4)));
+    }
+
+    @Test
+    void quote_BeyondHorizon_ShouldMatchNightByNightSum() {
+        when(rateRuleRepository.findAll()).thenReturn(List.of(
+                rule(1L, null, null, null, null, Set.of(DayOfWeek.SATURDAY), "180", 1)));
+        LocalDate far = LocalDate.now().plusDays(800).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        assertEquals(new BigDecimal("780.00"), engine.quote(room, far, far.plusDays(7)));
+    }
+
+    @Test
+    void quote_ShouldRebuildCalendarWhenRoomPriceOrRulesChange() {
+        List<RateRule> rules = new ArrayList<>();
+        when(rateRuleRepository.findAll()).thenAnswer(invocation -> List.copyOf(rules));
+        assertEquals(new BigDecimal("200.00"), engine.quote(room, monday, monday.plusDays(2)));
+
+        IndexedRoom repriced = IndexedRoom.builder()
+                .id(1L).type(RoomType.DOUBLE).pricePerNight(new BigDecimal("110.50")).build();
+        assertEquals(new BigDecimal("221.00"), engine.quote(repriced, monday, monday.plusDays(2)));
+
+        rules.add(rule(1L, 1L, null, null, null, null, "90", 0));
+        engine.onRateRulesChanged(new RateRulesChangedEvent(1L));
+        assertEquals(new BigDecimal("180.00"), engine.quote(repriced, monday, monday.plusDays(2)));
+    }
+
+    @Test
+    void quote_ShouldPickUpRulesChangedByAnotherInstanceAfterTheRefreshInterval() {
+        ReflectionTestUtils.setField(engine, "refreshInterval", Duration.ZERO);
+        List<RateRule> rules = new ArrayList<>();
+        when(rateRuleRepository.findAll()).thenAnswer(invocation -> List.copyOf(rules));
+        assertEquals(new BigDecimal("200.00"), engine.quote(room, monday, monday.plusDays(2)));
+
+        // Nenhum evento local: a regra foi gravada por outra instância
+        rules.add(rule(1L, null, null, null, null, null, "80", 0));
+        assertEquals(new BigDecimal("160.00"), engine.quote(room, monday, monday.plusDays(2)));
+    }
+
+    private static RateRule rule(Long id, Long roomId, RoomType type, LocalDate start, LocalDate end,
+                                 Set<DayOfWeek> days, String price, int priority) {
+        return RateRule.builder()
+                .id(id).name("regra " + id)
+                .roomId(roomId).roomType(type)
+                .startDate(start).endDate(end)
+                .daysOfWeek(days)
+                .nightlyPrice(new BigDecimal(price))
+                .priority(priority)
+                .build();
+    }
+}
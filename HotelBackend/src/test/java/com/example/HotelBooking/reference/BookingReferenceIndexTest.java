@@ -0,0 +1,94 @@
+package com.example.HotelBooking.reference;
+
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.services.BookingCodeGenerator;
+import com.example.HotelBooking.services.BookingReferenceFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingReferenceIndexTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private BookingReferenceIndex index;
+
+    private final String stored = withCheckDigit("00000000001");
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(bookingRepository.count()).thenReturn(2L);
+        when(bookingRepository.streamAllReferences()).thenReturn(Stream.of(stored, "ABCDEFGH12"));
+        index = new BookingReferenceIndex(bookingRepository, transactionTemplate, Duration.ofMinutes(5), 1000, 0.001);
+        index.reload();
+    }
+
+    @Test
+    void mightExist_ShouldAcceptEveryStoredReference() {
+        assertTrue(index.mightExist(stored));
+        assertTrue(index.mightExist("ABCDEFGH12"));
+    }
+
+    @Test
+    void mightExist_ShouldRejectMissingReferencesIssuedBeforeTheLoad() {
+        assertFalse(index.mightExist(withCheckDigit("00000000002")));
+        assertFalse(index.mightExist("ZZZZZZZZ99"));
+        // segundo de emissão no futuro: nenhuma instância gerou essa referência
+        assertFalse(index.mightExist(withCheckDigit("ZZZZZZZZZZZ")));
+        assertEquals(3, index.getRejected());
+    }
+
+    @Test
+    void mightExist_ShouldSendReferencesIssuedAfterTheLoadToTheDatabase() {
+        // gerada agora, possivelmente por outra instância: o filtro não tem como saber
+        String recent = new BookingCodeGenerator(7).generateBookingReference();
+
+        assertTrue(index.mightExist(recent));
+        assertEquals(0, index.getRejected());
+    }
+
+    @Test
+    void bloomFilter_ShouldKeepFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("IN-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain("IN-" + (i % 10_000)));
+            if (filter.mightContain("OUT-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+    }
+
+    private static String withCheckDigit(String payload) {
+        for (char c : ALPHABET.toCharArray()) {
+            if (BookingReferenceFormat.isValid(payload + c)) {
+                return payload + c;
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
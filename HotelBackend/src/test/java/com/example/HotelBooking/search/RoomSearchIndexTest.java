@@ -0,0 +1,102 @@
+package com.example.HotelBooking.search;
+
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.dtos.RoomAvailableProjection;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.repositories.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomSearchIndexTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @InjectMocks
+    private RoomSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAllRoomsProjection()).thenReturn(List.of(
+                room(1L, 101, RoomType.SINGLE, "150", 1, "Quarto Econômico", "Cama de solteiro e ventilador"),
+                room(2L, 102, RoomType.DOUBLE, "280", 2, "Suíte Vista Mar", "Varanda com vista para o mar e banheira"),
+                room(3L, 201, RoomType.TRIPLE, "350", 3, "Quarto Família", "Três camas e colchões extras")));
+        index.reload();
+    }
+
+    @Test
+    void search_ShouldIgnoreAccentsAndCase() {
+        assertEquals(List.of(2L), ids(index.search("SUITE vista", null, null, null, 0, 20)));
+        assertEquals(List.of(3L), ids(index.search("familia", null, null, null, 0, 20)));
+    }
+
+    @Test
+    void search_ShouldTolerateTyposAndPlurals() {
+        assertEquals(List.of(2L), ids(index.search("banheria", null, null, null, 0, 20)));
+        assertEquals(List.of(3L), ids(index.search("colchao", null, null, null, 0, 20)));
+    }
+
+    @Test
+    void search_ShouldRankRoomsMatchingMoreTermsFirst() {
+        // "quarto" está no título de 1 e 3, "colchões" só na descrição de 3
+        assertEquals(List.of(3L, 1L), ids(index.search("quarto colchoes", null, null, null, 0, 20)));
+    }
+
+    @Test
+    void search_ShouldMatchRoomNumberExactly() {
+        assertEquals(List.of(2L), ids(index.search("102", null, null, null, 0, 20)));
+    }
+
+    @Test
+    void search_ShouldApplyNumericFiltersAndPaginate() {
+        RoomSearchPage page = index.search(null, new BigDecimal("200"), null, 2, 0, 1);
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(2L), ids(page));
+        assertEquals(List.of(3L), ids(index.search(null, new BigDecimal("200"), null, 2, 1, 1)));
+    }
+
+    @Test
+    void onRoomChanged_ShouldReindexUpdatedAndDeletedRooms() {
+        when(roomRepository.findRoomProjectionById(1L)).thenReturn(Optional.of(
+                room(1L, 101, RoomType.SINGLE, "150", 1, "Quarto Jardim", "Vista para o jardim")));
+
+        index.onRoomChanged(new RoomChangedEvent(1L, false));
+        assertEquals(List.of(1L), ids(index.search("jardins", null, null, null, 0, 20)));
+        assertTrue(ids(index.search("ventilador", null, null, null, 0, 20)).isEmpty());
+
+        index.onRoomChanged(new RoomChangedEvent(1L, true));
+        assertTrue(ids(index.search("jardim", null, null, null, 0, 20)).isEmpty());
+    }
+
+    private static List<Long> ids(RoomSearchPage page) {
+        return page.getRooms().stream().map(IndexedRoom::getId).toList();
+    }
+
+    private static RoomAvailableProjection room(Long id, int number, RoomType type, String price, int capacity,
+                                                String title, String description) {
+        return new RoomAvailableProjection() {
+            public Long getId() { return id; }
+            public Integer getRoomNumber() { return number; }
+            public RoomType getType() { return type; }
+            public BigDecimal getPricePerNight() { return new BigDecimal(price); }
+            public Integer getCapacity() { return capacity; }
+            public String getDescription() { return description; }
+            public String getTitle() { return title; }
+            public String getImageKey() { return null; }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.HotelBooking.services;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ida e volta de um backup com um milhão de reservas no H2 em memória. Orçamento: exportação e
+ * restauração somadas em até {@value #BUDGET_SECONDS} s. Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:backupbenchmark;LOCK_TIMEOUT=30000")
+class BackupServiceBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int ROOMS = 100;
+    private static final int BOOKINGS = 1_000_000;
+    private static final long BUDGET_SECONDS = 120;
+
+    @Autowired
+    private BackupService backupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void roundTripOneMillionBookings() throws Exception {
+        seed();
+        long bookings = count("bookings");
+
+        long exportStart = System.nanoTime();
+        ByteArrayOutputStream archive = new ByteArrayOutputStream(64 * 1024 * 1024);
+        backupService.exportBackup(archive);
+        long exportNanos = System.nanoTime() - exportStart;
+
+        emptyTables();
+        long restoreStart = System.nanoTime();
+        backupService.restoreBackup(new ByteArrayInputStream(archive.toByteArray()));
+        long restoreNanos = System.nanoTime() - restoreStart;
+
+        assertEquals(bookings, count("bookings"));
+        System.out.printf("reservas=%d | arquivo=%d KB (%.1f bytes/reserva) | exportação=%d ms | restauração=%d ms%n",
+                bookings, archive.size() / 1024, (double) archive.size() / bookings,
+                exportNanos / 1_000_000, restoreNanos / 1_000_000);
+        assertTrue(exportNanos + restoreNanos < BUDGET_SECONDS * 1_000_000_000L,
+                "ida e volta acima do orçamento de " + BUDGET_SECONDS + " s");
+    }
+
+    private void seed() {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"hospede" + i + "@teste.com", "senha", "Hóspede", "Número " + i,
+                    "4899999" + i, "CUSTOMER", true, Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, first_name, last_name, phone_number, role, "
+                + "is_active, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+
+        List<Object[]> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(new Object[]{5000 + i, "DOUBLE", BigDecimal.valueOf(150 + i), 2, "Quarto " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rooms (room_number, type, price_per_night, capacity, title) "
+                + "VALUES (?, ?, ?, ?, ?)", rooms);
+
+        Long firstUser = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        Long firstRoom = jdbcTemplate.queryForObject("SELECT MIN(id) FROM rooms", Long.class);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDate checkIn = base.plusDays(i / ROOMS * 2L % 3000);
+            batch.add(new Object[]{firstUser + i % USERS, firstRoom + i % ROOMS, "COMPLETED",
+                    Date.valueOf(checkIn), Date.valueOf(checkIn.plusDays(2)), BigDecimal.valueOf(300 + i % 50, 0),
+                    String.format("%010d", i), Timestamp.valueOf(checkIn.atStartOfDay().minusDays(10)), "CHECKED_OUT"});
+            if (batch.size() == 10_000) {
+                insertBookings(batch);
+                batch.clear();
+            }
+        }
+        insertBookings(batch);
+    }
+
+    private void insertBookings(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (user_id, room_id, payment_status, check_in_date, "
+                + "check_out_date, total_price, booking_reference, created_at, booking_status) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    // Restauração numa base vazia, como ao recuperar numa instância nova. No H2 um DELETE seguido de
+    // reinserção das mesmas chaves na mesma transação degrada muito; no PostgreSQL o serviço usa TRUNCATE.
+    private void emptyTables() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        for (String table : List.of("password_reset_token", "notifications", "payments", "bookings",
+                "rate_rule_days", "rate_rules", "rooms", "users")) {
+            jdbcTemplate.execute("TRUNCATE TABLE " + table);
+        }
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.backup.BackupArchiveWriter;
+import com.example.HotelBooking.catalog.RoomCatalog;
+import com.example.HotelBooking.entities.Booking;
+import com.example.HotelBooking.entities.BookingHold;
+import com.example.HotelBooking.entities.PaymentEntity;
+import com.example.HotelBooking.entities.RateRule;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.entities.WaitlistEntry;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentGateway;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.enums.WaitlistStatus;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.PaymentRepository;
+import com.example.HotelBooking.repositories.RateRuleRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import com.example.HotelBooking.repositories.WaitlistEntryRepository;
+import com.example.HotelBooking.storage.ImageStorage;
+import com.example.HotelBooking.storage.StoredImage;
+import com.example.HotelBooking.waitlist.WaitlistEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exporta um conjunto pequeno de dados, altera o banco e restaura, conferindo que tudo volta como era.
+ * Usa um banco H2 próprio porque a restauração apaga todas as tabelas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:backuptest;LOCK_TIMEOUT=30000")
+class BackupServiceTest {
+
+    @Autowired
+    private BackupService backupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private RateRuleRepository rateRuleRepository;
+
+    @Autowired
+    private BookingHoldRepository bookingHoldRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private WaitlistEngine waitlistEngine;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Test
+    void restoreBackup_ShouldRoundTripTablesAndImages() throws Exception {
+        User guest = userRepository.save(User.builder()
+                .email("backup@teste.com").password("senha").firstName("Hóspede").lastName("Ção")
+                .phoneNumber("48999990000").role(UserRole.CUSTOMER).isActive(true).build());
+        StoredImage image = imageStorage.store(
+                new ByteArrayInputStream("imagem do quarto".getBytes(StandardCharsets.UTF_8)), "image/jpeg");
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(701).type(RoomType.SUIT).pricePerNight(new BigDecimal("321.45")).capacity(3)
+                .title("Suíte, \"vista\" para o mar").description("Descrição\ncom quebra de linha")
+                .imageKey(image.getKey()).imageContentType("image/jpeg").imageSize(image.getSize())
+                .imageUpdatedAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 123_456_000))
+                .build());
+        Booking booking = bookingRepository.save(Booking.builder()
+                .user(guest).room(room)
+                .checkInDate(LocalDate.of(2026, 12, 20)).checkOutDate(LocalDate.of(2026, 12, 27))
+                .totalPrice(new BigDecimal("2250.15")).bookingReference("ABCDEFGH12")
+                .bookingStatus(BookingStatus.BOOKED).paymentStatus(PaymentStatus.COMPLETED)
+                .createdAt(LocalDateTime.of(2026, 10, 1, 9, 30)).build());
+        paymentRepository.save(PaymentEntity.builder()
+                .transactionId("pi_123").amount(new BigDecimal("2250.15")).paymentGateway(PaymentGateway.STRIPE)
+                .paymentDate(LocalDateTime.of(2026, 10, 1, 9, 31)).paymentStatus(PaymentStatus.COMPLETED)
+                .bookingReference("ABCDEFGH12").user(guest).build());
+        RateRule rule = rateRuleRepository.save(RateRule.builder()
+                .name("Fim de semana").roomType(RoomType.SUIT)
+                .daysOfWeek(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY))
+                .nightlyPrice(new BigDecimal("400.00")).priority(1).build());
+        long users = userRepository.count();
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        backupService.exportBackup(archive);
+
+        // Muda o banco depois do backup: a restauração deve desfazer tudo
+        bookingRepository.deleteAll();
+        bookingHoldRepository.save(BookingHold.builder()
+                .roomId(room.getId()).userId(guest.getId())
+                .checkInDate(LocalDate.now().plusDays(5)).checkOutDate(LocalDate.now().plusDays(6))
+                .expiresAt(LocalDateTime.now().plusMinutes(10)).createdAt(LocalDateTime.now()).build());
+        waitlistEntryRepository.save(WaitlistEntry.builder()
+                .userId(guest.getId()).roomType(RoomType.SUIT).status(WaitlistStatus.WAITING)
+                .checkInDate(LocalDate.now().plusDays(5)).checkOutDate(LocalDate.now().plusDays(6))
+                .createdAt(LocalDateTime.now()).build());
+        waitlistEngine.reload();
+        roomRepository.save(Room.builder().roomNumber(702).type(RoomType.SINGLE)
+                .pricePerNight(BigDecimal.TEN).capacity(1).build());
+
+        backupService.restoreBackup(new ByteArrayInputStream(archive.toByteArray()));
+
+        assertEquals(users, userRepository.count());
+        assertEquals(1, roomRepository.count());
+        Room restoredRoom = roomRepository.findById(room.getId()).orElseThrow();
+        assertEquals(room.getTitle(), restoredRoom.getTitle());
+        assertEquals(room.getDescription(), restoredRoom.getDescription());
+        assertEquals(0, room.getPricePerNight().compareTo(restoredRoom.getPricePerNight()));
+        assertEquals(room.getImageUpdatedAt(), restoredRoom.getImageUpdatedAt());
+        Booking restoredBooking = bookingRepository.findByBookingReference("ABCDEFGH12").orElseThrow();
+        assertEquals(booking.getId(), restoredBooking.getId());
+        assertEquals(booking.getCheckOutDate(), restoredBooking.getCheckOutDate());
+        assertEquals(BookingStatus.BOOKED, restoredBooking.getBookingStatus());
+        assertEquals(1, paymentRepository.count());
+        assertEquals(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY),
+                rateRuleRepository.findById(rule.getId()).orElseThrow().getDaysOfWeek());
+        assertTrue(imageStorage.exists(image.getKey()));
+        // Bloqueios não fazem parte do backup e apontavam para o banco substituído
+        assertEquals(0, bookingHoldRepository.count());
+        // Nem a lista de espera: o motor recarrega vazio e não oferece quartos a usuários do banco antigo
+        assertEquals(0, waitlistEntryRepository.count());
+        assertEquals(0, waitlistEngine.waitingCount());
+        // Catálogo recarregado: o quarto 702 não existe mais
+        assertEquals(List.of(701), roomCatalog.getAllRooms().stream().map(r -> r.getRoomNumber()).toList());
+
+        // Sequências ajustadas: novos registros não colidem com os ids restaurados
+        Room next = roomRepository.save(Room.builder().roomNumber(703).type(RoomType.SINGLE)
+                .pricePerNight(BigDecimal.TEN).capacity(1).build());
+        assertTrue(next.getId() > room.getId());
+    }
+
+    @Test
+    void restoreBackup_WithUnknownTable_ShouldRejectAndKeepCurrentData() throws Exception {
+        long rooms = roomRepository.count();
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        BackupArchiveWriter writer = new BackupArchiveWriter(archive);
+        writer.beginTable("rooms; DROP TABLE users", List.of("id"));
+        writer.endTable();
+        writer.finish();
+
+        assertThrows(InvalidBookingStateAndDateException.class,
+                () -> backupService.restoreBackup(new ByteArrayInputStream(archive.toByteArray())));
+        assertEquals(rooms, roomRepository.count());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.HotelBooking.services;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede quantas referências por segundo o {@link BookingCodeGenerator} emite com várias threads
+ * concorrendo. A versão anterior fazia ao menos duas idas ao banco por referência (consulta e
+ * inserção em booking_references). Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BookingCodeGeneratorBenchmark {
+
+    private static final int PER_THREAD = 500_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 16})
+    void generateReferencesConcurrently(int threads) throws Exception {
+        BookingCodeGenerator generator = new BookingCodeGenerator(0);
+        for (int i = 0; i < 200_000; i++) {
+            generator.generateBookingReference();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    int length = 0;
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        length += generator.generateBookingReference().length();
+                    }
+                    return length;
+                }));
+            }
+            long total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            long nanos = System.nanoTime() - start;
+
+            assertEquals((long) threads * PER_THREAD * BookingReferenceFormat.LENGTH, total);
+            System.out.printf("threads=%d | %,d referências/s%n",
+                    threads, (long) threads * PER_THREAD * 1_000_000_000L / nanos);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
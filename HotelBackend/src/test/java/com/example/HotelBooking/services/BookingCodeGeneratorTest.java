@@ -0,0 +1,97 @@
+package com.example.HotelBooking.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCodeGeneratorTest {
+
+    @Test
+    void generateBookingReference_ShouldProduceUniqueValidReferencesAcrossThreads() throws Exception {
+        BookingCodeGenerator generator = new BookingCodeGenerator(3);
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        references.add(generator.generateBookingReference());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(400_000, references.size());
+        assertTrue(references.stream().allMatch(BookingReferenceFormat::isValid));
+    }
+
+    @Test
+    void generateBookingReference_DifferentNodesShouldNotCollide() {
+        BookingCodeGenerator first = new BookingCodeGenerator(0);
+        BookingCodeGenerator second = new BookingCodeGenerator(1);
+
+        assertNotEquals(first.generateBookingReference(), second.generateBookingReference());
+    }
+
+    @Test
+    void isValid_ShouldRejectEverySingleCharacterTypo() {
+        String reference = new BookingCodeGenerator(0).generateBookingReference();
+        assertEquals(BookingReferenceFormat.LENGTH, reference.length());
+
+        for (int i = 0; i < reference.length(); i++) {
+            for (char c : BookingReferenceFormat.ALPHABET.toCharArray()) {
+                if (c != reference.charAt(i)) {
+                    String typo = reference.substring(0, i) + c + reference.substring(i + 1);
+                    assertFalse(BookingReferenceFormat.isValid(typo), typo);
+                }
+            }
+        }
+    }
+
+    @Test
+    void normalize_ShouldAcceptLowerCaseAndConfusableCharacters() {
+        String reference = BookingReferenceFormat.encode(0L);
+
+        assertEquals("000000000000", reference);
+        assertTrue(BookingReferenceFormat.isValid(BookingReferenceFormat.normalize(" oOOoOOOOOOOO ")));
+    }
+
+    @Test
+    void normalize_ShouldNotDependOnTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals("ABCDEFGHI2", BookingReferenceFormat.normalize("abcdefghi2"));
+            assertEquals("111111111111", BookingReferenceFormat.normalize("iiiiiiiiiiii"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void isValid_ShouldKeepAcceptingLegacyReferences() {
+        assertTrue(BookingReferenceFormat.isValid("ABCDEFGH12"));
+        assertFalse(BookingReferenceFormat.isValid("ABCDEFGH10"));
+        assertFalse(BookingReferenceFormat.isValid("INVALID"));
+        assertFalse(BookingReferenceFormat.isValid(null));
+    }
+
+    @Test
+    void constructor_ShouldRejectNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new BookingCodeGenerator(64));
+    }
+}
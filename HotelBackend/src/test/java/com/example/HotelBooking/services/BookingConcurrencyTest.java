@@ -0,0 +1,124 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.exceptions.BookingConflictException;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dispara centenas de reservas simultâneas para o mesmo quarto e período e confere que exatamente uma
+ * é gravada. No H2 dos testes a garantia vem da trava da linha do quarto; no PostgreSQL a restrição
+ * bookings_no_overlap (schema-postgresql.sql) também barra a sobreposição.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingConcurrencyTest {
+
+    private static final int ATTEMPTS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void createBooking_ConcurrentRequestsForTheSameNights_ShouldAcceptExactlyOne() throws Exception {
+        User guest = userRepository.save(User.builder()
+                .email("concorrencia@teste.com")
+                .password("senha")
+                .firstName("Hóspede")
+                .phoneNumber("48999990000")
+                .role(UserRole.CUSTOMER)
+                .isActive(true)
+                .build());
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(9001)
+                .type(RoomType.DOUBLE)
+                .pricePerNight(BigDecimal.valueOf(150))
+                .capacity(2)
+                .title("Quarto de teste")
+                .build());
+        when(userService.getCurrentLoggedInUser()).thenReturn(guest);
+
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                // Períodos diferentes que compartilham a noite checkIn + 2
+                int shift = i % 3;
+                BookingDTO request = BookingDTO.builder()
+                        .roomId(room.getId())
+                        .checkInDate(checkIn.plusDays(shift))
+                        .checkOutDate(checkIn.plusDays(shift + 3 - shift % 2))
+                        .build();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.createBooking(request);
+                        accepted.incrementAndGet();
+                    } catch (BookingConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS); // falha o teste se alguma thread lançar outra exceção
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, accepted.get());
+        assertEquals(ATTEMPTS - 1, conflicts.get());
+        long stored = bookingRepository.findAll().stream()
+                .filter(b -> b.getRoom().getId().equals(room.getId()))
+                .count();
+        assertEquals(1, stored);
+        assertTrue(bookingRepository.isRoomAvailable(room.getId(), checkIn.plusDays(5), checkIn.plusDays(6)));
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.catalog.RoomCatalog;
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.entities.Booking;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.events.BookingChange;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import com.example.HotelBooking.security.AuthUser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latência de {@code createBooking} com várias threads reservando ao mesmo tempo, comparada com o caminho
+ * anterior reproduzido aqui: usuário buscado pelo e-mail, trava do quarto, consulta de disponibilidade,
+ * consulta de bloqueios e INSERT com os mesmos eventos (cinco comandos, contra trava e INSERT condicional).
+ * No H2 em memória a ida e volta ao banco quase não custa; com o PostgreSQL na rede cada comando a menos
+ * economiza uma latência de rede. Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:bookingbenchmark;LOCK_TIMEOUT=30000")
+class BookingCreationBenchmark {
+
+    private static final int ROOMS = 50;
+    private static final int REQUESTS = 4_000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingCodeGenerator bookingCodeGenerator;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingHoldRepository bookingHoldRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void compareWithPreviousPath() throws Exception {
+        User guest = userRepository.save(User.builder()
+                .email("latencia@teste.com").password("senha").firstName("Hóspede")
+                .phoneNumber("48999990000").role(UserRole.CUSTOMER).isActive(true).build());
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(roomRepository.save(Room.builder()
+                    .roomNumber(7000 + i).type(RoomType.DOUBLE).pricePerNight(BigDecimal.valueOf(150)).capacity(2).build()));
+        }
+        roomCatalog.reload();
+        LocalDate base = LocalDate.now().plusDays(1);
+        // Linhas de estatística já existentes: no H2 o MERGE concorrente de uma linha nova viola a chave única
+        List<Object[]> days = new ArrayList<>();
+        for (int day = 0; day <= REQUESTS / ROOMS * 4 + 4; day++) {
+            days.add(new Object[]{base.plusDays(day), RoomType.DOUBLE.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO daily_stats (stat_date, room_type, rooms_sold, room_revenue, paid_revenue) "
+                + "VALUES (?, ?, 0, 0, 0)", days);
+        AuthUser principal = AuthUser.builder().user(guest).build();
+
+        // Cada requisição pega um quarto e uma noite próprios: as threads disputam a trava dos quartos, não as
+        // noites. A primeira rodada de cada caminho só aquece a JVM e o pool de conexões.
+        long[][] latencies = new long[4][];
+        for (int round = 0; round < 4; round++) {
+            int slot = round;
+            latencies[round] = run(i -> {
+                Room room = rooms.get(i % ROOMS);
+                LocalDate checkIn = base.plusDays(i / ROOMS * 4L + slot);
+                if (slot % 2 == 0) {
+                    previousPath(guest.getEmail(), room, checkIn, checkIn.plusDays(1));
+                } else {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                    bookingService.createBooking(BookingDTO.builder().roomId(room.getId())
+                            .checkInDate(checkIn).checkOutDate(checkIn.plusDays(1)).build());
+                }
+            });
+        }
+
+        assertEquals(4L * REQUESTS, bookingRepository.count());
+        report("antes", latencies[2]);
+        report("depois", latencies[3]);
+    }
+
+    private void previousPath(String email, Room room, LocalDate checkIn, LocalDate checkOut) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findByEmail(email).orElseThrow();
+            roomRepository.lockById(room.getId());
+            if (!bookingRepository.isRoomAvailable(room.getId(), checkIn, checkOut)
+                    || bookingHoldRepository.existsConflictingHold(room.getId(), checkIn, checkOut, LocalDateTime.now(), null)) {
+                throw new IllegalStateException("quarto ocupado");
+            }
+            Booking booking = bookingRepository.save(Booking.builder()
+                    .user(user).room(roomRepository.getReferenceById(room.getId()))
+                    .checkInDate(checkIn).checkOutDate(checkOut).totalPrice(BigDecimal.valueOf(150))
+                    .bookingReference(bookingCodeGenerator.generateBookingReference())
+                    .bookingStatus(BookingStatus.BOOKED).paymentStatus(PaymentStatus.PENDING)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            eventPublisher.publishEvent(BookingChangedEvent.of(BookingChange.of(booking, null, null)));
+        });
+    }
+
+    private long[] run(IntConsumer request) throws Exception {
+        long[] latencies = new long[REQUESTS];
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    request.accept(index);
+                    latencies[index] = System.nanoTime() - requestStart;
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+            System.out.printf("%d requisições em %d ms com %d threads%n",
+                    REQUESTS, (System.nanoTime() - start) / 1_000_000, THREADS);
+        } finally {
+            executor.shutdownNow();
+        }
+        return latencies;
+    }
+
+    private static void report(String label, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%s: p50=%d µs | p95=%d µs | p99=%d µs%n", label,
+                sorted[sorted.length / 2] / 1_000, sorted[sorted.length * 95 / 100] / 1_000,
+                sorted[sorted.length * 99 / 100] / 1_000);
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.HotelBooking.services;
 
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.catalog.RoomCatalog;
 import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.BookingHistoryProjection;
+import com.example.HotelBooking.dtos.BookingStatusProjection;
+import com.example.HotelBooking.dtos.BookingUpdateResultDTO;
 import com.example.HotelBooking.dtos.NotificationDTO;
 import com.example.HotelBooking.dtos.Response;
 import com.example.HotelBooking.entities.Booking;
@@ -8,8 +14,14 @@ import com.example.HotelBooking.entities.Room;
 import com.example.HotelBooking.entities.User;
 import com.example.HotelBooking.enums.BookingStatus;
 import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.events.BookingChangedEvent;
+import com.example.HotelBooking.exceptions.BookingConflictException;
 import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
 import com.example.HotelBooking.exceptions.NotFoundException;
+import com.example.HotelBooking.history.BookingHistoryView;
+import com.example.HotelBooking.pricing.PricingEngine;
+import com.example.HotelBooking.reference.BookingReferenceIndex;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
 import com.example.HotelBooking.repositories.BookingRepository;
 import com.example.HotelBooking.repositories.RoomRepository;
 import com.example.HotelBooking.services.impl.BookingServiceImpl;
@@ -18,16 +30,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +61,12 @@ class BookingServiceTest {
     @Mock
     private RoomRepository roomRepository;
 
+    @Mock
+    private RoomCatalog roomCatalog;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
     @Mock
     private NotificationService notificationService;
 
@@ -48,6 +76,27 @@ class BookingServiceTest {
     @Mock
     private BookingCodeGenerator bookingCodeGenerator;
 
+    @Mock
+    private ModelMapper modelMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private BookingHoldRepository bookingHoldRepository;
+
+    @Mock
+    private BookingHistoryView bookingHistoryView;
+
+    @Mock
+    private BookingReferenceIndex bookingReferenceIndex;
+
+    @Spy
+    private BoundedCache<String, BookingDTO> bookingReferenceCache = new BoundedCache<>("bookingByReference", 10);
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -75,11 +124,15 @@ class BookingServiceTest {
     void createBooking_WithValidData_ShouldReturnSuccess() {
         // Arrange
         when(userService.getCurrentLoggedInUser()).thenReturn(testUser);
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(bookingRepository.isRoomAvailable(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(true);
+        when(roomCatalog.findRoom(1L)).thenReturn(Optional.of(catalogRoom()));
+        when(roomRepository.getReferenceById(1L)).thenReturn(testRoom);
+        when(pricingEngine.quote(any(IndexedRoom.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(BigDecimal.valueOf(200));
         when(bookingCodeGenerator.generateBookingReference()).thenReturn("BOOK123");
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+            invocation.<KeyHolder>getArgument(1).getKeyList().add(Map.of("id", 10L));
+            return 1;
+        });
 
         // Act
         Response response = bookingService.createBooking(testBookingDTO);
@@ -87,32 +140,264 @@ class BookingServiceTest {
         // Assert
         assertEquals(200, response.getStatus());
         assertEquals("Reserva efetuada com sucesso", response.getMessage());
+        assertEquals(10L, response.getBooking().getId());
+        assertEquals(BigDecimal.valueOf(200), response.getBooking().getTotalPrice());
+        assertEquals(1L, response.getBooking().getRoom().getId());
+        // Trava do quarto e inserção condicional: nada de consultas separadas de disponibilidade
+        verify(roomRepository).lockById(1L);
+        verify(roomRepository, never()).findById(anyLong());
+        verify(bookingRepository, never()).isRoomAvailable(anyLong(), any(LocalDate.class), any(LocalDate.class));
+        verify(bookingRepository, never()).save(any(Booking.class));
         verify(notificationService, times(1)).sendEmail(any(NotificationDTO.class));
+        verify(eventPublisher, times(1)).publishEvent(any(BookingChangedEvent.class));
     }
 
     @Test
     void createBooking_WithUnavailableRoom_ShouldThrowException() {
         // Arrange
         when(userService.getCurrentLoggedInUser()).thenReturn(testUser);
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(bookingRepository.isRoomAvailable(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(false);
+        when(roomCatalog.findRoom(1L)).thenReturn(Optional.of(catalogRoom()));
+        when(roomRepository.getReferenceById(1L)).thenReturn(testRoom);
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class), any(KeyHolder.class))).thenReturn(0);
 
         // Act & Assert
-        assertThrows(InvalidBookingStateAndDateException.class, () -> {
+        BookingConflictException e = assertThrows(BookingConflictException.class, () -> {
             bookingService.createBooking(testBookingDTO);
         });
+        assertTrue(e.getMessage().startsWith("O quarto não está disponível"));
+        verify(eventPublisher, never()).publishEvent(any(BookingChangedEvent.class));
+        verify(notificationService, never()).sendEmail(any(NotificationDTO.class));
+    }
+
+    @Test
+    void createBooking_WithExpiredHold_ShouldRejectBeforeInserting() {
+        // Arrange
+        when(userService.getCurrentLoggedInUser()).thenReturn(testUser);
+        when(roomCatalog.findRoom(1L)).thenReturn(Optional.of(catalogRoom()));
+        when(roomRepository.getReferenceById(1L)).thenReturn(testRoom);
+        testBookingDTO.setHoldId(5L);
+        when(bookingHoldRepository.deleteOwnHold(eq(5L), eq(1L), eq(1L), any(LocalDate.class), any(LocalDate.class),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(InvalidBookingStateAndDateException.class, () -> bookingService.createBooking(testBookingDTO));
+        verify(roomRepository, never()).lockById(anyLong());
+        verifyNoInteractions(jdbcTemplate);
     }
 
 
     @Test
     void findBookingByReferenceNo_WithNonExistingReference_ShouldThrowException() {
         // Arrange
-        when(bookingRepository.findByBookingReference("INVALID")).thenReturn(Optional.empty());
+        when(bookingReferenceIndex.mightExist("ABCDEFGH12")).thenReturn(true);
+        when(bookingRepository.findByBookingReferenceWithDetails("ABCDEFGH12")).thenReturn(Optional.empty());
 
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> {
+            bookingService.findBookingByReferenceNo("abcdefgh12 ");
+        });
+    }
+
+    @Test
+    void findBookingByReferenceNo_WithReferenceRejectedByFilter_ShouldNotQueryDatabase() {
+        // Arrange
+        when(bookingReferenceIndex.mightExist("ABCDEFGH12")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> bookingService.findBookingByReferenceNo("ABCDEFGH12"));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void findBookingByReferenceNo_RepeatedLookup_ShouldBeServedFromCache() {
+        // Arrange
+        Booking booking = Booking.builder()
+                .id(5L)
+                .user(testUser)
+                .room(testRoom)
+                .bookingReference("ABCDEFGH12")
+                .bookingStatus(BookingStatus.BOOKED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .totalPrice(BigDecimal.valueOf(200))
+                .build();
+        when(bookingReferenceIndex.mightExist("ABCDEFGH12")).thenReturn(true);
+        when(bookingRepository.findByBookingReferenceWithDetails("ABCDEFGH12")).thenReturn(Optional.of(booking));
+        when(modelMapper.map(booking, BookingDTO.class)).thenReturn(BookingDTO.builder().id(5L).build());
+
+        // Act
+        bookingService.findBookingByReferenceNo("ABCDEFGH12");
+        Response response = bookingService.findBookingByReferenceNo("abcdefgh12");
+
+        // Assert
+        assertEquals(5L, response.getBooking().getId());
+        verify(bookingRepository, times(1)).findByBookingReferenceWithDetails("ABCDEFGH12");
+        assertEquals(1, bookingReferenceCache.stats().getHits());
+    }
+
+    @Test
+    void findBookingByReferenceNo_WithMalformedReference_ShouldNotQueryDatabase() {
         // Act & Assert
         assertThrows(NotFoundException.class, () -> {
             bookingService.findBookingByReferenceNo("INVALID");
         });
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void updateBooking_ShouldPublishPreviousAndNewStatus() {
+        // Arrange
+        Booking existing = Booking.builder()
+                .id(5L)
+                .room(testRoom)
+                .user(testUser)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(3))
+                .bookingStatus(BookingStatus.BOOKED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .build();
+        when(bookingRepository.lockById(5L)).thenReturn(Optional.of(existing));
+
+        BookingDTO update = BookingDTO.builder().id(5L).bookingStatus(BookingStatus.CANCELLED).build();
+
+        // Act
+        bookingService.updateBooking(update);
+
+        // Assert
+        org.mockito.ArgumentCaptor<BookingChangedEvent> captor = org.mockito.ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        var change = captor.getValue().getChanges().get(0);
+        assertEquals(BookingStatus.BOOKED, change.getPreviousBookingStatus());
+        assertEquals(BookingStatus.CANCELLED, change.getBookingStatus());
+        assertEquals(1L, change.getRoomId());
+    }
+
+    @Test
+    void updateBookings_ShouldBatchValidItemsAndPublishOneEvent() {
+        // Arrange: 5 e 6 existem, 7 não; o 5 aparece duas vezes e um item vem sem id
+        List<BookingStatusProjection> rows = List.of(
+                statusRow(5L, BookingStatus.CHECKED_IN, PaymentStatus.COMPLETED),
+                statusRow(6L, null, null));
+        when(bookingRepository.lockStatusRowsByIds(any())).thenReturn(rows);
+        List<BookingDTO> updates = List.of(
+                BookingDTO.builder().id(5L).bookingStatus(BookingStatus.CHECKED_OUT).build(),
+                BookingDTO.builder().id(6L).paymentStatus(PaymentStatus.COMPLETED).build(),
+                BookingDTO.builder().id(7L).bookingStatus(BookingStatus.CANCELLED).build(),
+                BookingDTO.builder().id(5L).bookingStatus(BookingStatus.CANCELLED).build(),
+                BookingDTO.builder().bookingStatus(BookingStatus.CANCELLED).build());
+
+        // Act
+        Response response = bookingService.updateBookings(updates);
+
+        // Assert
+        assertEquals(List.of(true, true, false, false, false),
+                response.getBookingUpdates().stream().map(BookingUpdateResultDTO::isUpdated).toList());
+        assertEquals(BookingStatus.BOOKED, response.getBookingUpdates().get(1).getBookingStatus());
+
+        org.mockito.ArgumentCaptor<List<Object[]>> batch = org.mockito.ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertArrayEquals(new Object[]{"CHECKED_OUT", "COMPLETED", 5L}, batch.getValue().get(0));
+        assertArrayEquals(new Object[]{"BOOKED", "COMPLETED", 6L}, batch.getValue().get(1));
+
+        org.mockito.ArgumentCaptor<BookingChangedEvent> event = org.mockito.ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getChanges().size());
+        assertEquals(PaymentStatus.PENDING, event.getValue().getChanges().get(1).getPreviousPaymentStatus());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void updateBookings_ShouldRejectReactivationOverAnotherStay() {
+        // Arrange: 8 e 9 canceladas voltam a BOOKED; só as noites da 9 ainda estão livres
+        List<BookingStatusProjection> rows = List.of(
+                statusRow(8L, BookingStatus.CANCELLED, PaymentStatus.PENDING),
+                statusRow(9L, BookingStatus.CANCELLED, PaymentStatus.PENDING));
+        when(bookingRepository.lockStatusRowsByIds(any())).thenReturn(rows);
+        when(bookingRepository.isRoomAvailable(eq(1L), any(), any())).thenReturn(false, true);
+        List<BookingDTO> updates = List.of(
+                BookingDTO.builder().id(8L).bookingStatus(BookingStatus.BOOKED).build(),
+                BookingDTO.builder().id(9L).bookingStatus(BookingStatus.BOOKED).build());
+
+        // Act
+        Response response = bookingService.updateBookings(updates);
+
+        // Assert: falha só no item em conflito, o outro é gravado depois da trava do quarto
+        List<BookingUpdateResultDTO> results = response.getBookingUpdates();
+        assertFalse(results.get(0).isUpdated());
+        assertTrue(results.get(1).isUpdated());
+        assertEquals("1 de 2 reservas atualizadas", response.getMessage());
+        verify(roomRepository).lockById(1L);
+        verify(jdbcTemplate, never()).update(anyString(), eq("BOOKED"), eq("PENDING"), eq(8L));
+        verify(jdbcTemplate).update(anyString(), eq("BOOKED"), eq("PENDING"), eq(9L));
+    }
+
+    @Test
+    void updateBooking_ReactivationOverAnotherStay_ShouldThrowConflict() {
+        Booking cancelled = Booking.builder()
+                .id(5L)
+                .room(testRoom)
+                .user(testUser)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(3))
+                .bookingStatus(BookingStatus.CANCELLED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .build();
+        when(bookingRepository.lockById(5L)).thenReturn(Optional.of(cancelled));
+        when(bookingRepository.isRoomAvailable(1L, cancelled.getCheckInDate(), cancelled.getCheckOutDate())).thenReturn(false);
+
+        BookingDTO update = BookingDTO.builder().id(5L).bookingStatus(BookingStatus.BOOKED).build();
+
+        assertThrows(BookingConflictException.class, () -> bookingService.updateBooking(update));
+        verify(roomRepository).lockById(1L);
+        verify(bookingRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void getBookingsPage_ShouldReturnCursorWhenMoreRowsExist() {
+        // Arrange: limite 2, o repositório devolve 3 linhas (a extra indica a próxima página)
+        List<BookingHistoryProjection> rows = List.of(history(30L), history(20L), history(10L));
+        when(bookingRepository.findBookingPage(null, BookingStatus.BOOKED, null, null, null, Limit.of(3)))
+                .thenReturn(rows);
+
+        // Act
+        Response response = bookingService.getBookingsPage(BookingStatus.BOOKED, null, null, null, null, 2);
+
+        // Assert
+        assertEquals(2, response.getBookings().size());
+        assertEquals(20L, response.getNextCursor());
+    }
+
+    @Test
+    void getBookingsPage_LastPage_ShouldNotReturnCursor() {
+        List<BookingHistoryProjection> rows = List.of(history(10L));
+        when(bookingRepository.findBookingPage(20L, null, null, null, null, Limit.of(3))).thenReturn(rows);
+
+        Response response = bookingService.getBookingsPage(null, null, null, null, 20L, 2);
+
+        assertEquals(1, response.getBookings().size());
+        assertNull(response.getNextCursor());
+    }
+
+    private IndexedRoom catalogRoom() {
+        return IndexedRoom.builder()
+                .id(testRoom.getId())
+                .pricePerNight(testRoom.getPricePerNight())
+                .title("Suíte")
+                .build();
+    }
+
+    private static BookingStatusProjection statusRow(Long id, BookingStatus bookingStatus, PaymentStatus paymentStatus) {
+        BookingStatusProjection projection = mock(BookingStatusProjection.class);
+        lenient().when(projection.getId()).thenReturn(id);
+        lenient().when(projection.getRoomId()).thenReturn(1L);
+        lenient().when(projection.getBookingStatus()).thenReturn(bookingStatus);
+        lenient().when(projection.getPaymentStatus()).thenReturn(paymentStatus);
+        return projection;
+    }
+
+    private static BookingHistoryProjection history(Long id) {
+        BookingHistoryProjection projection = mock(BookingHistoryProjection.class);
+        lenient().when(projection.getId()).thenReturn(id);
+        return projection;
     }
-}
\ No newline at end of file
+}
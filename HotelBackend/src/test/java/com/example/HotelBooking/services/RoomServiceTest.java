@@ -1,10 +1,20 @@
 package com.example.HotelBooking.services;
 
+import com.example.HotelBooking.availability.AvailabilityKey;
+import com.example.HotelBooking.availability.IndexedRoom;
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.cache.BoundedCache;
+import com.example.HotelBooking.catalog.RoomCatalog;
+import com.example.HotelBooking.dtos.FlexibleStayDTO;
 import com.example.HotelBooking.dtos.Response;
 import com.example.HotelBooking.dtos.RoomDTO;
 import com.example.HotelBooking.entities.Room;
 import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.RoomChangedEvent;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
 import com.example.HotelBooking.exceptions.NotFoundException;
+import com.example.HotelBooking.pricing.PricingEngine;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
 import com.example.HotelBooking.repositories.RoomRepository;
 import com.example.HotelBooking.services.impl.RoomServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,18 +22,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +47,22 @@ class RoomServiceTest {
     private RoomRepository roomRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private BookingHoldRepository bookingHoldRepository;
+
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Spy
+    private BoundedCache<AvailabilityKey, List<IndexedRoom>> availabilityCache = new BoundedCache<>("availability", 10);
+
+    @Mock
+    private RoomCatalog roomCatalog;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private RoomServiceImpl roomService;
@@ -59,23 +88,23 @@ class RoomServiceTest {
     }
 
     @Test
-    void getRoomById_WithExistingId_ShouldReturnRoom() {
+    void getRoomById_WithExistingId_ShouldReturnRoomFromCatalog() {
         // Arrange
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(modelMapper.map(testRoom, RoomDTO.class)).thenReturn(testRoomDTO);
+        when(roomCatalog.findRoomDTO(1L)).thenReturn(Optional.of(testRoomDTO));
 
         // Act
         Response response = roomService.getRoomById(1L);
 
         // Assert
         assertEquals(200, response.getStatus());
-        assertNotNull(response.getRoom());
+        assertSame(testRoomDTO, response.getRoom());
+        verifyNoInteractions(roomRepository);
     }
 
     @Test
     void getRoomById_WithNonExistingId_ShouldThrowException() {
         // Arrange
-        when(roomRepository.findById(99L)).thenReturn(Optional.empty());
+        when(roomCatalog.findRoomDTO(99L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> {
@@ -86,11 +115,7 @@ class RoomServiceTest {
     @Test
     void getAllRooms_ShouldReturnAllRooms() {
         // Arrange
-        List<Room> rooms = Arrays.asList(testRoom);
-        when(roomRepository.findAll(Sort.by(Sort.Direction.DESC, "id"))).thenReturn(rooms);
-        when(modelMapper.map(rooms, new TypeToken<List<RoomDTO>>() {}.getType()))
-                .thenReturn(Collections.singletonList(testRoomDTO));
-
+        when(roomCatalog.getAllRooms()).thenReturn(List.of(testRoomDTO));
 
         // Act
         Response response = roomService.getAllRooms();
@@ -98,25 +123,121 @@ class RoomServiceTest {
         // Assert
         assertEquals(200, response.getStatus());
         assertEquals(1, response.getRooms().size());
+        verifyNoInteractions(roomRepository);
+    }
+
+    @Test
+    void getAvailableRooms_WithLoadedIndex_ShouldNotQueryDatabase() {
+        // Arrange
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.findAvailableRooms(checkIn, checkOut, RoomType.SINGLE))
+                .thenReturn(List.of(IndexedRoom.builder().id(1L).roomNumber(101).type(RoomType.SINGLE).build()));
+
+        // Act
+        Response response = roomService.getAvailableRooms(checkIn, checkOut, RoomType.SINGLE);
+
+        // Assert
+        assertEquals(1, response.getRooms().size());
+        assertEquals("/api/rooms/1/image", response.getRooms().get(0).getImageUrl());
+        verify(roomRepository, never()).findAvailableRoomsProjection(any(), any(), any());
+    }
+
+    @Test
+    void getAvailableRooms_RepeatedSearch_ShouldBeServedFromCache() {
+        // Arrange
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.findAvailableRooms(checkIn, checkOut, null))
+                .thenReturn(List.of(IndexedRoom.builder().id(1L).build()));
+
+        // Act
+        roomService.getAvailableRooms(checkIn, checkOut, null);
+        Response response = roomService.getAvailableRooms(checkIn, checkOut, null);
+
+        // Assert
+        assertEquals(1, response.getRooms().size());
+        verify(roomAvailabilityIndex, times(1)).findAvailableRooms(checkIn, checkOut, null);
+        assertEquals(1, availabilityCache.stats().getHits());
+    }
+
+    @Test
+    void getFlexibleAvailability_ShouldSkipWindowsTouchingOccupiedDaysAndBoundTheResult() {
+        // Arrange: entradas possíveis de hoje+1 a hoje+5, estadias de 2 noites
+        LocalDate earliest = LocalDate.now().plusDays(1);
+        LocalDate latest = earliest.plusDays(4);
+        IndexedRoom busy = IndexedRoom.builder().id(1L).roomNumber(101).type(RoomType.SINGLE).build();
+        IndexedRoom free = IndexedRoom.builder().id(2L).roomNumber(102).type(RoomType.SINGLE).build();
+        BitSet busyDays = new BitSet();
+        busyDays.set(3);
+        Map<IndexedRoom, BitSet> occupied = new LinkedHashMap<>();
+        occupied.put(busy, busyDays);
+        occupied.put(free, new BitSet());
+        when(roomAvailabilityIndex.isLoaded()).thenReturn(true);
+        when(roomAvailabilityIndex.occupiedDays(earliest, latest.plusDays(1), null)).thenReturn(occupied);
+        when(pricingEngine.quote(any(IndexedRoom.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(BigDecimal.valueOf(200));
+
+        // Act
+        Response all = roomService.getFlexibleAvailability(earliest, latest, 2, null, 100);
+        Response bounded = roomService.getFlexibleAvailability(earliest, latest, 2, null, 3);
+
+        // Assert: a noite +3 do quarto 1 bloqueia as entradas em +2 e +3; o quarto 2 aceita as cinco
+        assertEquals(8L, all.getTotalElements());
+        assertEquals(List.of(earliest, earliest.plusDays(1), latest), all.getFlexibleStays().stream()
+                .filter(stay -> stay.getRoomId() == 1L).map(FlexibleStayDTO::getCheckInDate).toList());
+        assertEquals(3, bounded.getFlexibleStays().size());
+        assertEquals(8L, bounded.getTotalElements());
+        assertEquals(List.of(1L, 2L, 1L), bounded.getFlexibleStays().stream().map(FlexibleStayDTO::getRoomId).toList());
+        verify(roomRepository, never()).findAllRoomsProjection();
+    }
+
+    @Test
+    void getFlexibleAvailability_WithTooManyNights_ShouldThrowException() {
+        LocalDate earliest = LocalDate.now().plusDays(1);
+
+        assertThrows(InvalidBookingStateAndDateException.class,
+                () -> roomService.getFlexibleAvailability(earliest, earliest.plusDays(3), 31, null, 100));
+    }
+
+    @Test
+    void addRoom_ShouldMapFormWithoutCopyingTheId() {
+        // Arrange
+        testRoomDTO.setTitle("Suíte Master");
+        when(roomRepository.save(any(Room.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        roomService.addRoom(testRoomDTO, null);
+
+        // Assert
+        org.mockito.ArgumentCaptor<Room> captor = org.mockito.ArgumentCaptor.forClass(Room.class);
+        verify(roomRepository).save(captor.capture());
+        assertNull(captor.getValue().getId());
+        assertEquals("Suíte Master", captor.getValue().getTitle());
+        assertEquals(BigDecimal.valueOf(100), captor.getValue().getPricePerNight());
     }
 
     @Test
     void deleteRoom_WithExistingId_ShouldDeleteSuccessfully() {
         // Arrange
-        when(roomRepository.existsById(1L)).thenReturn(true);
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
 
         // Act
         Response response = roomService.deleteRoom(1L);
 
         // Assert
         assertEquals(200, response.getStatus());
-        verify(roomRepository, times(1)).deleteById(1L);
+        verify(bookingHoldRepository).deleteByRoomId(1L);
+        verify(roomRepository, times(1)).delete(testRoom);
+        verify(eventPublisher, times(1)).publishEvent(new RoomChangedEvent(1L, true));
     }
 
     @Test
     void deleteRoom_WithNonExistingId_ShouldThrowException() {
         // Arrange
-        when(roomRepository.existsById(99L)).thenReturn(false);
+        when(roomRepository.findById(99L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> {
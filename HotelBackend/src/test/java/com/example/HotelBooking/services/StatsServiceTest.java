@@ -0,0 +1,152 @@
+package com.example.HotelBooking.services;
+
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.DailyStatsDTO;
+import com.example.HotelBooking.dtos.Response;
+import com.example.HotelBooking.dtos.RoomDTO;
+import com.example.HotelBooking.entities.Booking;
+import com.example.HotelBooking.entities.DailyStats;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.DailyStatsRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cria e altera reservas pelo serviço e confere que as estatísticas mantidas a cada alteração são iguais
+ * às reconstruídas do zero. Usa um banco H2 próprio porque a reconstrução apaga daily_stats.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:statstest;LOCK_TIMEOUT=30000")
+class StatsServiceTest {
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DailyStatsRepository dailyStatsRepository;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void incrementalUpdates_ShouldMatchRebuildAndFeedTheDashboard() {
+        User guest = userRepository.save(User.builder()
+                .email("estatisticas@teste.com").password("senha").firstName("Hóspede")
+                .phoneNumber("48999990000").role(UserRole.CUSTOMER).isActive(true).build());
+        Room single = roomRepository.save(Room.builder()
+                .roomNumber(801).type(RoomType.SINGLE).pricePerNight(new BigDecimal("100.00")).capacity(1).build());
+        Room suite = roomRepository.save(Room.builder()
+                .roomNumber(802).type(RoomType.SUIT).pricePerNight(new BigDecimal("300.00")).capacity(3).build());
+        when(userService.getCurrentLoggedInUser()).thenReturn(guest);
+
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        bookingService.createBooking(BookingDTO.builder()
+                .roomId(single.getId()).checkInDate(checkIn).checkOutDate(checkIn.plusDays(3)).build());
+        bookingService.createBooking(BookingDTO.builder()
+                .roomId(suite.getId()).checkInDate(checkIn.plusDays(1)).checkOutDate(checkIn.plusDays(3)).build());
+        bookingService.createBooking(BookingDTO.builder()
+                .roomId(single.getId()).checkInDate(checkIn.plusDays(3)).checkOutDate(checkIn.plusDays(4)).build());
+
+        List<Booking> bookings = bookingRepository.findAll();
+        Booking paid = bookings.stream().filter(b -> b.getRoom().getId().equals(suite.getId())).findFirst().orElseThrow();
+        Booking cancelled = bookings.stream()
+                .filter(b -> b.getCheckInDate().equals(checkIn.plusDays(3))).findFirst().orElseThrow();
+        bookingService.updateBooking(BookingDTO.builder().id(paid.getId()).paymentStatus(PaymentStatus.COMPLETED).build());
+        Response batch = bookingService.updateBookings(List.of(
+                BookingDTO.builder().id(cancelled.getId()).bookingStatus(BookingStatus.CANCELLED).build()));
+        assertTrue(batch.getBookingUpdates().get(0).isUpdated());
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(cancelled.getId()).orElseThrow().getBookingStatus());
+
+        List<String> incremental = snapshot();
+        statsService.rebuild();
+        assertEquals(snapshot(), incremental);
+
+        Response response = statsService.getDailyStats(checkIn, checkIn.plusDays(3));
+        DailyStatsDTO suiteNight = response.getDailyStats().stream()
+                .filter(d -> d.getDate().equals(checkIn.plusDays(1)) && d.getRoomType() == RoomType.SUIT)
+                .findFirst().orElseThrow();
+        assertEquals(1, suiteNight.getRoomsSold());
+        assertEquals(0, new BigDecimal("300.00").compareTo(suiteNight.getAverageDailyRate()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(suiteNight.getPaidRevenue()));
+        DailyStatsDTO singleSummary = response.getStatsSummary().stream()
+                .filter(d -> d.getRoomType() == RoomType.SINGLE).findFirst().orElseThrow();
+        assertEquals(3, singleSummary.getRoomsSold());
+        assertEquals(0, new BigDecimal("0.7500").compareTo(singleSummary.getOccupancyRate()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(singleSummary.getRoomRevenue()));
+    }
+
+    @Test
+    void roomTypeChange_ShouldMoveTheRoomStaysToTheNewType() {
+        User guest = userRepository.save(User.builder()
+                .email("tipo@teste.com").password("senha").firstName("Hóspede")
+                .phoneNumber("48999990000").role(UserRole.CUSTOMER).isActive(true).build());
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(811).type(RoomType.TRIPLE).pricePerNight(new BigDecimal("200.00")).capacity(3).build());
+        when(userService.getCurrentLoggedInUser()).thenReturn(guest);
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+        bookingService.createBooking(BookingDTO.builder()
+                .roomId(room.getId()).checkInDate(checkIn).checkOutDate(checkIn.plusDays(2)).build());
+        Booking booking = bookingRepository.findAll().stream()
+                .filter(b -> b.getRoom().getId().equals(room.getId())).findFirst().orElseThrow();
+
+        // Troca o tipo com a reserva ativa e depois cancela: a retirada cai no tipo novo, onde a estadia está
+        roomService.updateRoom(RoomDTO.builder().id(room.getId()).type(RoomType.DOUBLE).build(), null);
+        assertEquals(1, dailyStatsRepository.findAll().stream()
+                .filter(row -> row.getStatDate().equals(checkIn) && row.getRoomType() == RoomType.DOUBLE)
+                .mapToInt(DailyStats::getRoomsSold).sum());
+        bookingService.updateBooking(BookingDTO.builder().id(booking.getId()).bookingStatus(BookingStatus.CANCELLED).build());
+
+        List<String> incremental = snapshot();
+        assertTrue(dailyStatsRepository.findAll().stream().noneMatch(row -> row.getRoomsSold() < 0), incremental.toString());
+        statsService.rebuild();
+        assertEquals(snapshot(), incremental);
+    }
+
+    private List<String> snapshot() {
+        return dailyStatsRepository.findAll().stream()
+                .filter(row -> row.getRoomsSold() != 0 || row.getRoomRevenue().signum() != 0 || row.getPaidRevenue().signum() != 0)
+                .sorted(java.util.Comparator.comparing(DailyStats::getStatDate).thenComparing(DailyStats::getRoomType))
+                .map(row -> row.getStatDate() + " " + row.getRoomType() + " " + row.getRoomsSold()
+                        + " " + row.getRoomRevenue().stripTrailingZeros().toPlainString()
+                        + " " + row.getPaidRevenue().stripTrailingZeros().toPlainString())
+                .toList();
+    }
+}
@@ -3,9 +3,12 @@ package com.example.HotelBooking.services;
 import com.example.HotelBooking.dtos.*;
 import com.example.HotelBooking.entities.User;
 import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.events.UserChangedEvent;
 import com.example.HotelBooking.exceptions.InvalidCredentialException;
 import com.example.HotelBooking.exceptions.NotFoundException;
+import com.example.HotelBooking.history.BookingHistoryView;
 import com.example.HotelBooking.repositories.UserRepository;
+import com.example.HotelBooking.security.AuthUser;
 import com.example.HotelBooking.security.JwtUtils;
 import com.example.HotelBooking.services.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -40,6 +44,12 @@ class UserServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private BookingHistoryView bookingHistoryView;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -144,6 +154,22 @@ class UserServiceTest {
         assertEquals("test@example.com", user.getEmail());
     }
 
+    @Test
+    void getCurrentLoggedInUser_WithAuthUserPrincipal_ShouldNotQueryTheDatabase() {
+        // Arrange
+        AuthUser principal = AuthUser.builder().user(testUser).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new org.springframework.security.authentication.UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities()));
+
+        // Act
+        User user = userService.getCurrentLoggedInUser();
+
+        // Assert
+        assertSame(testUser, user);
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void updateOwnAccount_WithValidData_ShouldUpdateSuccessfully() {
         // Arrange
@@ -168,5 +194,6 @@ class UserServiceTest {
         assertEquals(200, response.getStatus());
         assertEquals("Usuário atualizado com sucesso", response.getMessage());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(testUser.getId(), false));
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.HotelBooking.stats;
+
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.PaymentStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.events.BookingChange;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyStatsAggregatorTest {
+
+    private final LocalDate checkIn = LocalDate.of(2026, 12, 20);
+
+    @Test
+    void addStay_ShouldSplitTheTotalAcrossNightsWithoutLosingCents() {
+        DailyStatsAggregator aggregator = new DailyStatsAggregator();
+
+        aggregator.addStay(RoomType.DOUBLE, checkIn, checkIn.plusDays(3), new BigDecimal("100.00"),
+                BookingStatus.BOOKED, PaymentStatus.PENDING, 1);
+
+        Map<DailyStatsAggregator.Key, DailyStatsAggregator.Delta> deltas = aggregator.getDeltas();
+        assertEquals(List.of(checkIn, checkIn.plusDays(1), checkIn.plusDays(2)),
+                deltas.keySet().stream().map(DailyStatsAggregator.Key::day).toList());
+        assertEquals(List.of(new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33")),
+                deltas.values().stream().map(DailyStatsAggregator.Delta::getRoomRevenue).toList());
+        assertTrue(deltas.values().stream().allMatch(d -> d.getRoomsSold() == 1));
+        assertTrue(deltas.values().stream().allMatch(d -> d.getPaidRevenue().signum() == 0));
+    }
+
+    @Test
+    void addChange_PaymentCompleted_ShouldOnlyMovePaidRevenue() {
+        DailyStatsAggregator aggregator = new DailyStatsAggregator();
+
+        aggregator.addChange(change(BookingStatus.BOOKED, PaymentStatus.PENDING,
+                BookingStatus.BOOKED, PaymentStatus.COMPLETED), RoomType.SINGLE);
+
+        DailyStatsAggregator.Delta first = aggregator.getDeltas().values().iterator().next();
+        assertEquals(0, first.getRoomsSold());
+        assertEquals(0, first.getRoomRevenue().signum());
+        assertEquals(new BigDecimal("75.00"), first.getPaidRevenue());
+    }
+
+    @Test
+    void addChange_CreateThenCancel_ShouldCancelOut() {
+        DailyStatsAggregator aggregator = new DailyStatsAggregator();
+
+        aggregator.addChange(change(null, null, BookingStatus.BOOKED, PaymentStatus.COMPLETED), RoomType.SINGLE);
+        aggregator.addChange(change(BookingStatus.BOOKED, PaymentStatus.COMPLETED,
+                BookingStatus.CANCELLED, PaymentStatus.REFUNDED), RoomType.SINGLE);
+
+        assertTrue(aggregator.getDeltas().isEmpty());
+    }
+
+    private BookingChange change(BookingStatus previousBookingStatus, PaymentStatus previousPaymentStatus,
+                                 BookingStatus bookingStatus, PaymentStatus paymentStatus) {
+        return BookingChange.builder()
+                .bookingId(1L).roomId(1L)
+                .checkInDate(checkIn).checkOutDate(checkIn.plusDays(2))
+                .totalPrice(new BigDecimal("150.00"))
+                .previousBookingStatus(previousBookingStatus).bookingStatus(bookingStatus)
+                .previousPaymentStatus(previousPaymentStatus).paymentStatus(paymentStatus)
+                .build();
+    }
+}
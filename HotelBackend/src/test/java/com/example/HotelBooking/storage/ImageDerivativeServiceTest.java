@@ -0,0 +1,67 @@
+package com.example.HotelBooking.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageDerivativeServiceTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void generate_ShouldStoreEveryVariantWithinItsBounds() throws Exception {
+        LocalImageStorage storage = new LocalImageStorage(root.toString());
+        ImageDerivativeService service = new ImageDerivativeService(storage, 1, 10);
+        StoredImage original = storage.store(new ByteArrayInputStream(png(3000, 2000)), "image/png");
+
+        service.generate(original.getKey());
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage image;
+            try (InputStream in = storage.loadVariant(original.getKey(), variant).orElseThrow().getInputStream()) {
+                image = ImageIO.read(in);
+            }
+            assertEquals(variant.getMaxDimension(), image.getWidth(), variant.name());
+            assertEquals(Math.round(variant.getMaxDimension() * 2 / 3.0), image.getHeight(), 1, variant.name());
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void generate_SmallImage_ShouldNotUpscale() throws Exception {
+        LocalImageStorage storage = new LocalImageStorage(root.toString());
+        ImageDerivativeService service = new ImageDerivativeService(storage, 1, 10);
+        StoredImage original = storage.store(new ByteArrayInputStream(png(100, 50)), "image/png");
+
+        service.generate(original.getKey());
+
+        try (InputStream in = storage.loadVariant(original.getKey(), ImageVariant.FULL).orElseThrow().getInputStream()) {
+            assertEquals(100, ImageIO.read(in).getWidth());
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void scaleToFit_ShouldKeepAspectRatio() {
+        BufferedImage scaled = ImageDerivativeService.scaleToFit(new BufferedImage(1000, 4000, BufferedImage.TYPE_INT_ARGB), 160);
+
+        assertEquals(40, scaled.getWidth());
+        assertEquals(160, scaled.getHeight());
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.HotelBooking.storage;
+
+import com.example.HotelBooking.exceptions.InvalidImageException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageIngestionTest {
+
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+    @TempDir
+    Path root;
+
+    @Test
+    void ingest_ShouldDetectTypeFromMagicBytes() throws Exception {
+        ImageIngestion ingestion = new ImageIngestion(new LocalImageStorage(root.toString()), DataSize.ofKilobytes(1));
+        byte[] content = new byte[100];
+        System.arraycopy(PNG_HEADER, 0, content, 0, PNG_HEADER.length);
+
+        StoredImage stored = ingestion.ingest(new ByteArrayInputStream(content));
+
+        assertEquals("image/png", stored.getContentType());
+        assertEquals(100, stored.getSize());
+    }
+
+    @Test
+    void ingest_NonImageContent_ShouldBeRejected() throws Exception {
+        ImageIngestion ingestion = new ImageIngestion(new LocalImageStorage(root.toString()), DataSize.ofKilobytes(1));
+
+        assertThrows(InvalidImageException.class,
+                () -> ingestion.ingest(new ByteArrayInputStream("<html>não é imagem</html>".getBytes())));
+    }
+
+    @Test
+    void ingest_OversizeStream_ShouldStopReadingAndLeaveNoFile() throws Exception {
+        ImageIngestion ingestion = new ImageIngestion(new LocalImageStorage(root.toString()), DataSize.ofKilobytes(64));
+        // Stream "infinito": só termina se a leitura for interrompida pelo limite
+        InputStream endless = new InputStream() {
+            private long position;
+
+            @Override
+            public int read() {
+                return position < PNG_HEADER.length ? PNG_HEADER[(int) position++] & 0xFF : (int) (position++ & 0x7F);
+            }
+        };
+
+        assertThrows(InvalidImageException.class, () -> ingestion.ingest(endless));
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+}
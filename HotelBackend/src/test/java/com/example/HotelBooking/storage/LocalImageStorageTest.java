@@ -0,0 +1,57 @@
+package com.example.HotelBooking.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalImageStorageTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void store_ShouldUseSha256AsKeyAndLoadSameBytes() throws Exception {
+        LocalImageStorage storage = new LocalImageStorage(root.toString());
+        byte[] content = "imagem de teste".getBytes(StandardCharsets.UTF_8);
+
+        StoredImage stored = storage.store(new ByteArrayInputStream(content), "image/png");
+
+        String expectedKey = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertEquals(expectedKey, stored.getKey());
+        assertEquals(content.length, stored.getSize());
+        Resource resource = storage.load(stored.getKey()).orElseThrow();
+        assertArrayEquals(content, resource.getContentAsByteArray());
+    }
+
+    @Test
+    void store_SameContentTwice_ShouldKeepSingleFile() throws Exception {
+        LocalImageStorage storage = new LocalImageStorage(root.toString());
+        byte[] content = "mesma imagem".getBytes(StandardCharsets.UTF_8);
+
+        StoredImage first = storage.store(new ByteArrayInputStream(content), "image/jpeg");
+        StoredImage second = storage.store(new ByteArrayInputStream(content), "image/jpeg");
+
+        assertEquals(first.getKey(), second.getKey());
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void load_InvalidKey_ShouldNotEscapeRoot() throws Exception {
+        LocalImageStorage storage = new LocalImageStorage(root.toString());
+
+        assertTrue(storage.load("../../etc/passwd").isEmpty());
+        assertFalse(storage.exists("abc"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.HotelBooking.waitlist;
+
+import com.example.HotelBooking.availability.RoomAvailabilityIndex;
+import com.example.HotelBooking.dtos.BookingDTO;
+import com.example.HotelBooking.dtos.NotificationDTO;
+import com.example.HotelBooking.dtos.WaitlistEntryDTO;
+import com.example.HotelBooking.entities.BookingHold;
+import com.example.HotelBooking.entities.Room;
+import com.example.HotelBooking.entities.User;
+import com.example.HotelBooking.entities.WaitlistEntry;
+import com.example.HotelBooking.enums.BookingStatus;
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.enums.UserRole;
+import com.example.HotelBooking.enums.WaitlistStatus;
+import com.example.HotelBooking.exceptions.InvalidBookingStateAndDateException;
+import com.example.HotelBooking.repositories.BookingHoldRepository;
+import com.example.HotelBooking.repositories.BookingRepository;
+import com.example.HotelBooking.repositories.RoomRepository;
+import com.example.HotelBooking.repositories.UserRepository;
+import com.example.HotelBooking.repositories.WaitlistEntryRepository;
+import com.example.HotelBooking.services.BookingHoldService;
+import com.example.HotelBooking.services.BookingService;
+import com.example.HotelBooking.services.NotificationService;
+import com.example.HotelBooking.services.UserService;
+import com.example.HotelBooking.services.WaitlistService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lista de espera de ponta a ponta: o cancelamento libera o quarto para a entrada mais antiga compatível,
+ * que recebe o bloqueio e o e-mail; o vencimento ou a liberação desse bloqueio passa o quarto à próxima.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:waitlisttest;LOCK_TIMEOUT=30000")
+class WaitlistEngineTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private WaitlistEngine waitlistEngine;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingHoldRepository bookingHoldRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void cancellation_ShouldOfferTheRoomToTheOldestMatchingEntry() {
+        User owner = guest("reserva@teste.com");
+        User first = guest("primeiro@teste.com");
+        User second = guest("segundo@teste.com");
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(961).type(RoomType.SUIT).pricePerNight(BigDecimal.valueOf(300)).capacity(2).build());
+        roomAvailabilityIndex.reload();
+        LocalDate checkIn = LocalDate.now().plusDays(40);
+
+        when(userService.getCurrentLoggedInUser()).thenReturn(owner);
+        bookingService.createBooking(BookingDTO.builder().roomId(room.getId())
+                .checkInDate(checkIn).checkOutDate(checkIn.plusDays(3)).build());
+        Long bookingId = bookingRepository.findAll().get(0).getId();
+
+        WaitlistEntryDTO wanted = WaitlistEntryDTO.builder()
+                .roomType(RoomType.SUIT).checkInDate(checkIn.plusDays(1)).checkOutDate(checkIn.plusDays(2)).build();
+        when(userService.getCurrentLoggedInUser()).thenReturn(first);
+        Long firstEntry = waitlistService.joinWaitlist(wanted).getWaitlistEntry().getId();
+        assertThrows(InvalidBookingStateAndDateException.class, () -> waitlistService.joinWaitlist(wanted));
+        when(userService.getCurrentLoggedInUser()).thenReturn(second);
+        Long secondEntry = waitlistService.joinWaitlist(wanted).getWaitlistEntry().getId();
+        assertEquals(2, waitlistEngine.waitingCount());
+
+        // O cancelamento pela atualização de status dispara a oferta depois do commit
+        bookingService.updateBooking(BookingDTO.builder().id(bookingId).bookingStatus(BookingStatus.CANCELLED).build());
+
+        WaitlistEntry offered = waitlistEntryRepository.findById(firstEntry).orElseThrow();
+        assertEquals(WaitlistStatus.OFFERED, offered.getStatus());
+        assertEquals(room.getId(), offered.getOfferedRoomId());
+        BookingHold hold = bookingHoldRepository.findById(offered.getHoldId()).orElseThrow();
+        assertEquals(first.getId(), hold.getUserId());
+        assertFalse(roomAvailabilityIndex.isRoomAvailable(room.getId(), wanted.getCheckInDate(), wanted.getCheckOutDate()));
+        assertEquals(WaitlistStatus.WAITING, waitlistEntryRepository.findById(secondEntry).orElseThrow().getStatus());
+        assertEquals(1, waitlistEngine.waitingCount());
+
+        ArgumentCaptor<NotificationDTO> email = ArgumentCaptor.forClass(NotificationDTO.class);
+        verify(notificationService, atLeastOnce()).sendEmail(email.capture());
+        assertEquals("primeiro@teste.com", email.getValue().getRecipient());
+        assertTrue(email.getValue().getBody().contains("/room-details/" + room.getId()));
+
+        // O hóspede ofertado confirma pela página do quarto e recebe o próprio bloqueio
+        when(userService.getCurrentLoggedInUser()).thenReturn(first);
+        BookingDTO claim = BookingDTO.builder().roomId(room.getId())
+                .checkInDate(wanted.getCheckInDate()).checkOutDate(wanted.getCheckOutDate()).build();
+        assertEquals(hold.getId(), bookingHoldService.placeHold(claim).getHold().getId());
+
+        // O hóspede desiste e libera o bloqueio: o quarto vai à próxima entrada sem esperar o vencimento
+        long offeredBefore = waitlistEngine.offeredCount();
+        bookingHoldService.releaseHold(hold.getId());
+
+        assertEquals(WaitlistStatus.OFFERED, waitlistEntryRepository.findById(secondEntry).orElseThrow().getStatus());
+        assertEquals(0, waitlistEngine.waitingCount());
+        assertEquals(offeredBefore + 1, waitlistEngine.offeredCount());
+    }
+
+    @Test
+    void holdTurnedIntoBooking_ShouldNotOfferTheRoom() {
+        User owner = guest("checkout@teste.com");
+        User waiting = guest("aguardando@teste.com");
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(963).type(RoomType.TRIPLE).pricePerNight(BigDecimal.valueOf(250)).capacity(3).build());
+        roomAvailabilityIndex.reload();
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+        BookingDTO stay = BookingDTO.builder().roomId(room.getId())
+                .checkInDate(checkIn).checkOutDate(checkIn.plusDays(2)).build();
+
+        when(userService.getCurrentLoggedInUser()).thenReturn(owner);
+        Long holdId = bookingHoldService.placeHold(stay).getHold().getId();
+
+        when(userService.getCurrentLoggedInUser()).thenReturn(waiting);
+        Long entryId = waitlistService.joinWaitlist(WaitlistEntryDTO.builder()
+                .roomType(RoomType.TRIPLE).checkInDate(checkIn).checkOutDate(checkIn.plusDays(2)).build())
+                .getWaitlistEntry().getId();
+
+        // O bloqueio vira reserva: as noites continuam ocupadas e a entrada segue aguardando
+        when(userService.getCurrentLoggedInUser()).thenReturn(owner);
+        bookingService.createBooking(BookingDTO.builder().roomId(room.getId()).holdId(holdId)
+                .checkInDate(checkIn).checkOutDate(checkIn.plusDays(2)).build());
+
+        assertEquals(WaitlistStatus.WAITING, waitlistEntryRepository.findById(entryId).orElseThrow().getStatus());
+    }
+
+    private User guest(String email) {
+        return userRepository.save(User.builder()
+                .email(email).password("senha").firstName("Hóspede")
+                .phoneNumber("48999990000").role(UserRole.CUSTOMER).isActive(true).build());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.HotelBooking.waitlist;
+
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.waitlist.WaitlistIndex.WaitingGuest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a busca de entradas compatíveis no índice com uma varredura de toda a lista de espera.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class WaitlistIndexBenchmark {
+
+    private static final int QUERIES = 20_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 50_000})
+    void compareIndexWithFullScan(int entries) {
+        LocalDate today = LocalDate.now();
+        Random random = new Random(42);
+        RoomType[] types = RoomType.values();
+
+        WaitlistIndex index = new WaitlistIndex(30);
+        List<WaitingGuest> all = new ArrayList<>(entries);
+        for (long id = 1; id <= entries; id++) {
+            LocalDate checkIn = today.plusDays(random.nextInt(365));
+            WaitingGuest guest = WaitlistIndexTest.guest(id, types[random.nextInt(types.length)],
+                    checkIn, checkIn.plusDays(1 + random.nextInt(14)));
+            index.add(guest);
+            all.add(guest);
+        }
+
+        RoomType[] queryTypes = new RoomType[QUERIES];
+        LocalDate[] checkIns = new LocalDate[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryTypes[i] = types[random.nextInt(types.length)];
+            checkIns[i] = today.plusDays(random.nextInt(365));
+        }
+
+        long indexResults = 0;
+        long indexStart = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            indexResults += index.findOverlapping(queryTypes[i], checkIns[i], checkIns[i].plusDays(3)).size();
+        }
+        long indexNanos = System.nanoTime() - indexStart;
+
+        long scanResults = 0;
+        long scanStart = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDate checkIn = checkIns[i];
+            LocalDate checkOut = checkIn.plusDays(3);
+            for (WaitingGuest guest : all) {
+                if (guest.roomType() == queryTypes[i]
+                        && guest.checkInDate().isBefore(checkOut) && guest.checkOutDate().isAfter(checkIn)) {
+                    scanResults++;
+                }
+            }
+        }
+        long scanNanos = System.nanoTime() - scanStart;
+
+        assertEquals(scanResults, indexResults);
+        long indexMicros = indexNanos / QUERIES / 1_000;
+        System.out.printf("entradas=%d | índice=%d µs/busca | varredura=%d µs/busca%n",
+                entries, indexMicros, scanNanos / QUERIES / 1_000);
+        assertTrue(indexMicros < 1_000, "busca no índice acima de 1 ms: " + indexMicros + " µs");
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.HotelBooking.waitlist;
+
+import com.example.HotelBooking.enums.RoomType;
+import com.example.HotelBooking.waitlist.WaitlistIndex.WaitingGuest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistIndexTest {
+
+    private final LocalDate day = LocalDate.of(2030, 3, 10);
+    private final WaitlistIndex index = new WaitlistIndex(30);
+
+    @Test
+    void findOverlapping_ShouldReturnOnlyEntriesSharingANightInArrivalOrder() {
+        index.add(guest(3, RoomType.SINGLE, day.minusDays(2), day.plusDays(1))); // cobre a noite de day
+        index.add(guest(1, RoomType.SINGLE, day.plusDays(1), day.plusDays(3)));
+        index.add(guest(2, RoomType.SINGLE, day.minusDays(3), day));              // sai no dia da entrada
+        index.add(guest(4, RoomType.SINGLE, day.plusDays(3), day.plusDays(5)));   // entra no dia da saída
+        index.add(guest(5, RoomType.DOUBLE, day, day.plusDays(2)));               // outro tipo
+
+        List<WaitingGuest> found = index.findOverlapping(RoomType.SINGLE, day, day.plusDays(3));
+
+        assertEquals(List.of(1L, 3L), found.stream().map(WaitingGuest::id).toList());
+    }
+
+    @Test
+    void findOverlapping_ShouldReachLongStaysStartingBeforeTheInterval() {
+        index.add(guest(1, RoomType.SUIT, day.minusDays(29), day.plusDays(1)));
+        index.add(guest(2, RoomType.SUIT, day.minusDays(30), day));
+
+        assertEquals(List.of(1L), index.findOverlapping(RoomType.SUIT, day, day.plusDays(1)).stream()
+                .map(WaitingGuest::id).toList());
+    }
+
+    @Test
+    void remove_ShouldDropTheEntryAndReAddShouldNotDuplicate() {
+        index.add(guest(1, RoomType.SINGLE, day, day.plusDays(2)));
+        index.add(guest(1, RoomType.SINGLE, day, day.plusDays(2)));
+        index.add(guest(2, RoomType.SINGLE, day, day.plusDays(2)));
+        assertEquals(2, index.size());
+
+        index.remove(1);
+        index.remove(99);
+
+        assertEquals(List.of(2L), index.findOverlapping(RoomType.SINGLE, day, day.plusDays(1)).stream()
+                .map(WaitingGuest::id).toList());
+        assertEquals(1, index.size());
+    }
+
+    static WaitingGuest guest(long id, RoomType type, LocalDate checkIn, LocalDate checkOut) {
+        return new WaitingGuest(id, 100 + id, type, checkIn, checkOut);
+    }
+}
@@ -1,12 +1,14 @@
 import React, {useState, useEffect} from "react";
 import { useNavigate } from "react-router-dom";
 import ApiService from '../../service/ApiService';
+import { downloadBookingsExport } from '../../service/BackupGenerator';
 import Swal from "sweetalert2";
 
 const AdminPage = () => {
 
     const [adminName, setAdminName] = useState('');
     const [backupOptions, setBackupOptions] = useState([]);
+    const [statsSummary, setStatsSummary] = useState([]);
     const navigate = useNavigate()
 
 
@@ -77,6 +79,16 @@ const AdminPage = () => {
         fetchAdminName();
     }, []);
 
+    // Resumo dos próximos 30 dias, lido das estatísticas pré-agregadas
+    useEffect(() => {
+        ApiService.getDailyStats()
+            .then(resp => setStatsSummary(resp.statsSummary || []))
+            .catch(error => console.error("Erro ao buscar estatísticas:", error));
+    }, []);
+
+    const formatRate = (value) => value != null ? `${(value * 100).toFixed(1)}%` : '-';
+    const formatMoney = (value) => value != null ? `R$ ${Number(value).toFixed(2)}` : '-';
+
     // Função para realizar o backup dos dados
     const handleBackup = async () => {
         // Criar objeto de opções a partir do backupOptions
@@ -133,27 +145,35 @@ const AdminPage = () => {
                     }
                 });
                 
-                // Obter o backup
-                const backupData = await ApiService.getBackupData(selectedBackupType);
-                
-                // Formatar o JSON para melhor legibilidade
-                const formattedData = JSON.stringify(JSON.parse(backupData), null, 2);
-                
-                // Criar e baixar o arquivo
-                const timestamp = new Date().toISOString().replace(/[:.]/g, '-');
-                const fileName = `backup_${selectedBackupType}_${timestamp}.json`;
-                const blob = new Blob([formattedData], { type: 'application/json' });
-                const url = window.URL.createObjectURL(blob);
-                const link = document.createElement('a');
-                link.href = url;
-                link.setAttribute('download', fileName);
-                document.body.appendChild(link);
-                link.click();
-                document.body.removeChild(link);
-                try {
-                    window.URL.revokeObjectURL(url); // Tentar liberar memória, mas não falhar se não conseguir
-                } catch (e) {
-                    console.warn('Aviso: Não foi possível liberar URL do objeto, isso é normal em alguns navegadores');
+                let fileName;
+                if (selectedBackupType === 'bookings' || selectedBackupType === 'bookings_csv') {
+                    // Reservas vêm da exportação em streaming, sem montar a lista inteira no navegador
+                    fileName = await downloadBookingsExport({
+                        format: selectedBackupType === 'bookings_csv' ? 'csv' : 'ndjson'
+                    });
+                } else {
+                    // Obter o backup
+                    const backupData = await ApiService.getBackupData(selectedBackupType);
+                    
+                    // Formatar o JSON para melhor legibilidade
+                    const formattedData = JSON.stringify(JSON.parse(backupData), null, 2);
+                    
+                    // Criar e baixar o arquivo
+                    const timestamp = new Date().toISOString().replace(/[:.]/g, '-');
+                    fileName = `backup_${selectedBackupType}_${timestamp}.json`;
+                    const blob = new Blob([formattedData], { type: 'application/json' });
+                    const url = window.URL.createObjectURL(blob);
+                    const link = document.createElement('a');
+                    link.href = url;
+                    link.setAttribute('download', fileName);
+                    document.body.appendChild(link);
+                    link.click();
+                    document.body.removeChild(link);
+                    try {
+                        window.URL.revokeObjectURL(url); // Tentar liberar memória, mas não falhar se não conseguir
+                    } catch (e) {
+                        console.warn('Aviso: Não foi possível liberar URL do objeto, isso é normal em alguns navegadores');
+                    }
                 }
                 
                 // Feedback de sucesso com detalhes
@@ -317,6 +337,36 @@ const AdminPage = () => {
                     Backup de Dados
                 </button>
             </div>
+
+            {statsSummary.length > 0 && (
+                <div className="admin-stats">
+                    <h2>Próximos 30 dias</h2>
+                    <table>
+                        <thead>
+                            <tr>
+                                <th>Tipo</th>
+                                <th>Noites vendidas</th>
+                                <th>Ocupação</th>
+                                <th>Diária média</th>
+                                <th>Receita</th>
+                                <th>Recebido</th>
+                            </tr>
+                        </thead>
+                        <tbody>
+                            {statsSummary.map(row => (
+                                <tr key={row.roomType}>
+                                    <td>{row.roomType}</td>
+                                    <td>{row.roomsSold} / {row.roomsAvailable}</td>
+                                    <td>{formatRate(row.occupancyRate)}</td>
+                                    <td>{formatMoney(row.averageDailyRate)}</td>
+                                    <td>{formatMoney(row.roomRevenue)}</td>
+                                    <td>{formatMoney(row.paidRevenue)}</td>
+                                </tr>
+                            ))}
+                        </tbody>
+                    </table>
+                </div>
+            )}
         </div>
     )
 
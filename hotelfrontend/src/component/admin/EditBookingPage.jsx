@@ -521,7 +521,7 @@ const EditBookingPage = () => {
     
     // Obter URL da imagem do quarto
     const imageUrl = bookingDetails.room && bookingDetails.room.id
-      ? `${process.env.REACT_APP_API_BACKEND || ''}/api/rooms/${bookingDetails.room.id}/image`
+      ? `${process.env.REACT_APP_API_BACKEND || ''}${bookingDetails.room.imageUrl || `/api/rooms/${bookingDetails.room.id}/image`}`
       : "/images/no-image.png";
     
     roomSection.innerHTML = `
@@ -727,7 +727,7 @@ const EditBookingPage = () => {
             <div style={{ marginTop: '20px', textAlign: 'center' }}>
               <img
                 src={bookingDetails.room && bookingDetails.room.id
-                  ? `${process.env.REACT_APP_API_BACKEND || ''}/api/rooms/${bookingDetails.room.id}/image`
+                  ? `${process.env.REACT_APP_API_BACKEND || ''}${bookingDetails.room.imageUrl || `/api/rooms/${bookingDetails.room.id}/image`}`
                   : "/images/no-image.png"}
                 alt="Room"
                 style={{ 
@@ -190,18 +190,27 @@ const EditRoomPage = () => {
         }
       });
 
-      const bookings = await ApiService.getAllBookings();
       const today = new Date().toISOString().split('T')[0];
-      
-      // Filtrar reservas ativas (futuras ou atuais) para este quarto
-      const activeBookings = bookings.bookings.filter(booking => {
-        return booking.room.id === roomId && 
-              new Date(booking.checkOutDate).toISOString().split('T')[0] >= today &&
-              booking.bookingStatus !== 'CANCELLED';
-      });
+
+      // Percorrer só as reservas que ainda não saíram (from = hoje), página a página,
+      // parando na primeira reserva ativa (futura ou atual) deste quarto
+      let hasActiveBooking = false;
+      let after = null;
+      do {
+        const page = await ApiService.getAllBookings({
+          from: today,
+          limit: 200,
+          ...(after != null ? { after } : {})
+        });
+        hasActiveBooking = (page.bookings || []).some(booking => {
+          return String(booking.room?.id) === String(roomId) &&
+                booking.bookingStatus !== 'CANCELLED';
+        });
+        after = page.nextCursor ?? null;
+      } while (!hasActiveBooking && after != null);
       
       // Se existirem reservas ativas, impedir a deleção
-      if (activeBookings.length > 0) {
+      if (hasActiveBooking) {
         Swal.fire({
           title: 'Não é possível deletar',
           text: 'Este quarto possui reservas futuras ou atuais. Cancele todas as reservas antes de deletar o quarto.',
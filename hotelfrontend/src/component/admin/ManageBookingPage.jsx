@@ -1,19 +1,25 @@
 import React, { useState, useEffect, useMemo, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import ApiService from '../../service/ApiService';
-import Pagination from '../common/Pagination';
+import CursorPagination from '../common/CursorPagination';
 import Swal from "sweetalert2";
 import html2pdf from 'html2pdf.js';
 
 const ManageBookingsPage = () => {
-  // Estado para armazenar todas as reservas obtidas da API
+  // Estado para armazenar as reservas da página atual obtidas da API
   const [bookings, setBookings] = useState([]);
 
   // Estado para armazenar o termo de pesquisa atual inserido pelo usuário
   const [searchTerm, setSearchTerm] = useState('');
 
-  // Estado para rastrear a página atual para paginação
-  const [currentPage, setCurrentPage] = useState(1);
+  // Filtros aplicados no servidor (status da reserva, status do pagamento e período de entrada)
+  const [filters, setFilters] = useState({ bookingStatus: '', paymentStatus: '', from: '', to: '' });
+
+  // Cursores das páginas visitadas: cursors[i] é o "after" da página i + 1 (a primeira não tem cursor)
+  const [cursors, setCursors] = useState([null]);
+
+  // Cursor devolvido pelo servidor para a próxima página; nulo na última
+  const [nextCursor, setNextCursor] = useState(null);
 
   // Número de reservas a serem exibidas por página
   const bookingsPerPage = 10;
@@ -24,22 +30,36 @@ const ManageBookingsPage = () => {
   // Referência para o container de reservas para geração de PDF
   const bookingsContainerRef = useRef(null);
 
-  //Obter reservas quando o componente for montado
+  const currentPage = cursors.length;
+
+  // Somente os filtros preenchidos vão para a query string
+  const activeFilters = useMemo(() =>
+    Object.fromEntries(Object.entries(filters).filter(([, value]) => value !== '')),
+    [filters]
+  );
+
+  //Obter a página de reservas sempre que a página ou os filtros mudarem
   useEffect(() => {
     const fetchBookings = async () => {
       try {
         Swal.fire({
           title: 'Carregando...',
-          text: 'Buscando todas as reservas',
+          text: 'Buscando reservas',
           allowOutsideClick: false,
           didOpen: () => {
             Swal.showLoading();
           }
         });
         
-        // Chamada de API para buscar todas as reservas
-        const response = await ApiService.getAllBookings();
+        // Chamada de API para buscar uma página de reservas a partir do cursor atual
+        const after = cursors[cursors.length - 1];
+        const response = await ApiService.getAllBookings({
+          ...activeFilters,
+          limit: bookingsPerPage,
+          ...(after != null ? { after } : {})
+        });
         setBookings(response.bookings || []); // Defina reservas ou uma matriz vazia se não houver dados
+        setNextCursor(response.nextCursor ?? null);
         
         Swal.close();
       } catch (error) {
@@ -55,15 +75,15 @@ const ManageBookingsPage = () => {
     };
 
     fetchBookings();
-  }, []);
+  }, [cursors, activeFilters, bookingsPerPage]);
 
   /**
    * useMemo é usado para memorizar reservas filtradas.
-   * - Filtra reservas com base no termo de pesquisa (sem distinção de maiúsculas e minúsculas).
+   * - Filtra as reservas da página atual com base no termo de pesquisa (sem distinção de maiúsculas e minúsculas).
    * - Atualiza somente quando `searchTerm` ou `bookings` são alterados.
    */
   const filteredBookings = useMemo(() => {
-    if (!searchTerm) return bookings; // Se não houver termo de pesquisa, mostrar todas as reservas
+    if (!searchTerm) return bookings; // Se não houver termo de pesquisa, mostrar todas as reservas da página
     
     const filtered = bookings.filter((booking) =>
       booking.bookingReference?.toLowerCase().includes(searchTerm.toLowerCase())
@@ -89,20 +109,9 @@ const ManageBookingsPage = () => {
     return filtered;
   }, [searchTerm, bookings]);
 
-  /**
-   * Calcule as reservas a serem exibidas na página atual.
-   * - Atualiza quando `currentPage`, `filteredBookings` ou `bookingsPerPage` muda.
-   */
-  const currentBookings = useMemo(() => {
-    const indexOfLastBooking = currentPage * bookingsPerPage;
-    const indexOfFirstBooking = indexOfLastBooking - bookingsPerPage;
-    return filteredBookings.slice(indexOfFirstBooking, indexOfLastBooking);
-  }, [currentPage, filteredBookings, bookingsPerPage]);
-
   // Atualizar termo de pesquisa quando o usuário digitar no campo de entrada
   const handleSearchChange = (e) => {
     setSearchTerm(e.target.value);
-    setCurrentPage(1); // Redefinir para a primeira página quando o termo de pesquisa for alterado
     
     // Mostra um toast informativo apenas se estiver digitando algo novo
     if (e.target.value && e.target.value !== searchTerm) {
@@ -121,28 +130,47 @@ const ManageBookingsPage = () => {
     }
   };
 
-  // Função para alterar a página com feedback visual
-  const handlePageChange = (pageNumber) => {
-    setCurrentPage(pageNumber);
-    
-    if (filteredBookings.length > bookingsPerPage) {
-      const Toast = Swal.mixin({
-        toast: true,
-        position: 'bottom',
-        showConfirmButton: false,
-        timer: 1500,
-        timerProgressBar: true
-      });
-      
-      Toast.fire({
-        icon: 'info',
-        title: `Página ${pageNumber}`
-      });
-    }
+  // Alterar um filtro volta para a primeira página, já que os cursores anteriores valem para outro resultado
+  const handleFilterChange = (e) => {
+    const { name, value } = e.target;
+    setFilters((prev) => ({ ...prev, [name]: value }));
+    setCursors([null]);
   };
 
-  // Função para gerar e baixar o PDF com todas as reservas
-  const generateAllBookingsPDF = () => {
+  // Avançar usa o cursor devolvido pelo servidor; voltar descarta o último cursor visitado
+  const handleNextPage = () => {
+    if (nextCursor == null) return;
+    setCursors((prev) => [...prev, nextCursor]);
+  };
+
+  const handlePreviousPage = () => {
+    setCursors((prev) => (prev.length > 1 ? prev.slice(0, -1) : prev));
+  };
+
+  // Função para gerar e baixar o PDF com todas as reservas que atendem aos filtros atuais
+  // (percorre as páginas do servidor em blocos de 200, o limite máximo da API)
+  const generateAllBookingsPDF = async () => {
+    const bookings = [];
+    try {
+      let after = null;
+      do {
+        const response = await ApiService.getAllBookings({
+          ...activeFilters,
+          limit: 200,
+          ...(after != null ? { after } : {})
+        });
+        bookings.push(...(response.bookings || []));
+        after = response.nextCursor ?? null;
+      } while (after != null);
+    } catch (error) {
+      Swal.fire({
+        icon: 'error',
+        title: 'Erro ao Gerar PDF',
+        text: error.response?.data?.message || error.message,
+        confirmButtonColor: '#d33'
+      });
+      return;
+    }
     if (!bookings.length) {
       Swal.fire({
         icon: 'warning',
@@ -384,7 +412,7 @@ const ManageBookingsPage = () => {
       
       // Obter URL da imagem do quarto
       const imageUrl = booking.room && booking.room.id
-        ? `${process.env.REACT_APP_API_BACKEND || ''}/api/rooms/${booking.room.id}/image`
+        ? `${process.env.REACT_APP_API_BACKEND || ''}${booking.room.imageUrl || `/api/rooms/${booking.room.id}/image`}`
         : "/images/no-image.png";
 
       bookingElement.innerHTML = `
@@ -794,7 +822,7 @@ const ManageBookingsPage = () => {
     
     // Obter URL da imagem do quarto
     const imageUrl = booking.room && booking.room.id
-      ? `${process.env.REACT_APP_API_BACKEND || ''}/api/rooms/${booking.room.id}/image`
+      ? `${process.env.REACT_APP_API_BACKEND || ''}${booking.room.imageUrl || `/api/rooms/${booking.room.id}/image`}`
       : "/images/no-image.png";
     
     roomSection.innerHTML = `
@@ -907,9 +935,34 @@ const ManageBookingsPage = () => {
         />
       </div>
 
+      {/*Filtros aplicados no servidor */}
+      <div className="search-div">
+        <label>Status da Reserva:</label>
+        <select name="bookingStatus" value={filters.bookingStatus} onChange={handleFilterChange}>
+          <option value="">Todos</option>
+          <option value="BOOKED">Reservado</option>
+          <option value="CHECKED_IN">Check-in Realizado</option>
+          <option value="CHECKED_OUT">Check-out Realizado</option>
+          <option value="CANCELLED">Cancelado</option>
+        </select>
+        <label>Status do Pagamento:</label>
+        <select name="paymentStatus" value={filters.paymentStatus} onChange={handleFilterChange}>
+          <option value="">Todos</option>
+          <option value="PENDING">Pendente</option>
+          <option value="COMPLETED">Concluído</option>
+          <option value="FAILED">Falhou</option>
+          <option value="REFUNDED">Reembolsado</option>
+          <option value="REVERSED">Revertido</option>
+        </select>
+        <label>Entrada de:</label>
+        <input type="date" name="from" value={filters.from} onChange={handleFilterChange} />
+        <label>até:</label>
+        <input type="date" name="to" value={filters.to} onChange={handleFilterChange} />
+      </div>
+
       {/* Exibir reservas para a página atual */}
       <div className="booking-results">
-        {currentBookings.length === 0 ? (
+        {filteredBookings.length === 0 ? (
           <div className="no-bookings-message" style={{ textAlign: 'center', padding: '20px' }}>
             <h3>Nenhuma reserva encontrada</h3>
             {searchTerm ? (
@@ -920,7 +973,7 @@ const ManageBookingsPage = () => {
           </div>
         ) : (
           // Mapear as reservas e exibi-las
-          currentBookings.map((booking) => {
+          filteredBookings.map((booking) => {
             let paymentStatus;
             switch (booking.paymentStatus) {
               case "PENDING":
@@ -967,7 +1020,7 @@ const ManageBookingsPage = () => {
               <div key={booking.id} className="booking-result-item">
                 <img
                   src={booking.room && booking.room.id
-                    ? `${process.env.REACT_APP_API_BACKEND || ''}/api/rooms/${booking.room.id}/image`
+                    ? `${process.env.REACT_APP_API_BACKEND || ''}${booking.room.imageUrl || `/api/rooms/${booking.room.id}/image`}`
                     : "/images/no-image.png"}
                   alt="Room"
                   className="room-photo"
@@ -1010,11 +1063,12 @@ const ManageBookingsPage = () => {
       </div>
 
       {/*Componente de paginação */}
-      <Pagination
-        roomPerPage={bookingsPerPage}
-        totalRooms={filteredBookings.length}
+      <CursorPagination
         currentPage={currentPage}
-        paginate={handlePageChange}
+        hasPrevious={currentPage > 1}
+        hasNext={nextCursor != null}
+        onPrevious={handlePreviousPage}
+        onNext={handleNextPage}
       />
     </div>
   );
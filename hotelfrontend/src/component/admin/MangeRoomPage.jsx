@@ -1,24 +1,59 @@
 import React, { useState, useEffect } from "react";
 import ApiService from "../../service/ApiService";
-import Pagination from "../common/Pagination";
+import CursorPagination from "../common/CursorPagination";
 import RoomResult from "../common/RoomResult";
 import { useNavigate } from "react-router-dom";
 import Swal from "sweetalert2";
 
 
 
+// Traduzir o tipo para exibição
+const translateType = (type) => {
+    switch (type) {
+        case "SINGLE":
+            return "Solteiro";
+        case "DOUBLE":
+            return "Duplo";
+        case "TRIPLE":
+            return "Triplo";
+        case "SUIT":
+            return "Suíte";
+        default:
+            return type || "Todos";
+    }
+};
+
 const ManageRoomPage = () => {
     
     const [rooms, setRooms] = useState([]);
-    const [filteredRooms, setFilteredRooms] = useState([])
     const [roomTypes, setRoomTypes] = useState([])
-    const [currentPage, setCurrentPage] = useState(1)
+    const [selectedRoomType, setSelectedRoomType] = useState('')
+    // Cursores das páginas visitadas: cursors[i] é o "after" da página i + 1 (a primeira não tem cursor)
+    const [cursors, setCursors] = useState([null])
+    const [nextCursor, setNextCursor] = useState(null)
     const [roomsPerPage] = useState(8)
     const [isLoading, setIsLoading] = useState(true)
     const navigate = useNavigate();
 
+    const currentPage = cursors.length;
+
+
+
+    // Carregando tipos de quartos uma única vez
+    useEffect(() => {
+        const fetchRoomTypes = async () => {
+            try {
+                const typesResp = await ApiService.getRoomTypes();
+                setRoomTypes(Array.isArray(typesResp) ? typesResp : (typesResp ? [typesResp] : []));
+            } catch (error) {
+                setRoomTypes([]);
+            }
+        };
 
+        fetchRoomTypes();
+    }, [])
 
+    // Carregando a página de quartos sempre que a página ou o tipo selecionado mudarem
     useEffect(()=> {
         setIsLoading(true);
         const fetchData = async () => {
@@ -34,38 +69,27 @@ const ManageRoomPage = () => {
                     }
                 });
                 
-                // Carregando quartos
-                const roomsResp = await ApiService.getAllRooms();
-                setRooms(roomsResp.rooms);
-                setFilteredRooms(roomsResp.rooms);
-                
-                // Carregando tipos de quartos
-                const typesResp = await ApiService.getRoomTypes();
-                setRoomTypes(Array.isArray(typesResp) ? typesResp : (typesResp ? [typesResp] : []));
+                // Carregando uma página de quartos a partir do cursor atual; o tipo é filtrado no servidor
+                const after = cursors[cursors.length - 1];
+                const roomsResp = await ApiService.getAllRooms({
+                    limit: roomsPerPage,
+                    ...(selectedRoomType ? { roomType: selectedRoomType } : {}),
+                    ...(after != null ? { after } : {})
+                });
+                setRooms(roomsResp.rooms || []);
+                setNextCursor(roomsResp.nextCursor ?? null);
                 
                 Swal.close();
                 setIsLoading(false);
                 
-                // Mostrar toast de sucesso após carregar
-                const Toast = Swal.mixin({
-                    toast: true,
-                    position: 'top-end',
-                    showConfirmButton: false,
-                    timer: 2000,
-                    timerProgressBar: true
-                });
-                
-                Toast.fire({
-                    icon: 'success',
-                    title: `${roomsResp.rooms?.length || 0} quartos carregados com sucesso`
-                });
-                
                 // Se não houver quartos, mostrar alerta informativo
-                if (!roomsResp.rooms || roomsResp.rooms.length === 0) {
+                if ((!roomsResp.rooms || roomsResp.rooms.length === 0) && after == null) {
                     Swal.fire({
                         icon: 'info',
-                        title: 'Nenhum quarto encontrado',
-                        text: 'Não há quartos cadastrados no sistema. Clique em "Adicionar Quarto" para criar um novo.',
+                        title: selectedRoomType ? 'Sem Resultados' : 'Nenhum quarto encontrado',
+                        text: selectedRoomType
+                            ? `Não há quartos do tipo ${translateType(selectedRoomType)} disponíveis.`
+                            : 'Não há quartos cadastrados no sistema. Clique em "Adicionar Quarto" para criar um novo.',
                         confirmButtonText: 'Ok',
                         confirmButtonColor: '#3085d6'
                     });
@@ -86,151 +110,52 @@ const ManageRoomPage = () => {
                     }
                 });
                 setRooms([]);
-                setFilteredRooms([]);
-                setRoomTypes([]);
+                setNextCursor(null);
+                setIsLoading(false);
             }
         };
 
         fetchData();
-    }, [])
+    }, [cursors, selectedRoomType, roomsPerPage])
 
     const handleRoomTypeChange = (e) => {
-        // Mostra um indicador de carregamento antes de filtrar
-        const loadingToast = Swal.mixin({
-            toast: true,
-            position: 'top-end',
-            showConfirmButton: false,
-            didOpen: () => {
-                Swal.showLoading();
-            }
-        });
-        
-        loadingToast.fire({
-            title: 'Filtrando...'
-        });
-        
-        // Executa a filtragem
-        filterRoomFunction(e.target.value);
-        
-        // Fecha o indicador de carregamento
-        Swal.close();
-        
-        // Toast informativo sobre a filtragem
         const selectedType = e.target.value;
-        let typeText = selectedType ? roomTypes.find(type => type === selectedType) : "Todos";
-        
-        // Traduzir o tipo para exibição
-        switch (typeText) {
-            case "SINGLE":
-                typeText = "Solteiro";
-                break;
-            case "DOUBLE":
-                typeText = "Duplo";
-                break;
-            case "TRIPLE":
-                typeText = "Triplo";
-                break;
-            case "SUIT":
-                typeText = "Suíte";
-                break;
-            default:
-                typeText = typeText || "Todos";
-        }
+
+        // Trocar o tipo volta para a primeira página, já que os cursores anteriores valem para outro resultado
+        setSelectedRoomType(selectedType);
+        setCursors([null]);
         
         const Toast = Swal.mixin({
             toast: true,
             position: 'top-end',
             showConfirmButton: false,
             timer: 2000,
-            timerProgressBar: true,
-            background: '#e6f7ff',
-            color: '#000'
+            timerProgressBar: true
         });
         
         Toast.fire({
             icon: 'success',
-            title: `Filtrando por ${typeText}`
+            title: `Filtrando por ${translateType(selectedType)}`
         });
     }
 
-    const filterRoomFunction = (type) => {
-        if (type === '' || type === null) {
-            setFilteredRooms(rooms)
-        } else {
-            const filtered = rooms.filter((room) => room.type === type)
-            setFilteredRooms(filtered)
-            
-            // Verificar se não há quartos do tipo selecionado
-            if (filtered.length === 0) {
-                // Traduzir o tipo para exibição
-                let typeText = type;
-                switch (type) {
-                    case "SINGLE":
-                        typeText = "Solteiro";
-                        break;
-                    case "DOUBLE":
-                        typeText = "Duplo";
-                        break;
-                    case "TRIPLE":
-                        typeText = "Triplo";
-                        break;
-                    case "SUIT":
-                        typeText = "Suíte";
-                        break;
-                    default:
-                        typeText = type;
-                }
-                
-                Swal.fire({
-                    icon: 'info',
-                    title: 'Sem Resultados',
-                    text: `Não há quartos do tipo ${typeText} disponíveis.`,
-                    confirmButtonColor: '#3085d6'
-                });
-            }
-        }
-        setCurrentPage(1)
-    }
-
-
-    //cálculo de paginação
-    const indexOfLastRoom = currentPage * roomsPerPage;
-    const indexOfFirstRoom = indexOfLastRoom - roomsPerPage;
-    const currentRooms = filteredRooms.slice(indexOfFirstRoom, indexOfLastRoom);
 
-
-    //mudar de página
-    const paginate = (pageNumber) => {
-        setCurrentPage(pageNumber);
-        
-        if (filteredRooms.length > roomsPerPage) {
-            const Toast = Swal.mixin({
-                toast: true,
-                position: 'bottom',
-                showConfirmButton: false,
-                timer: 1500,
-                timerProgressBar: true,
-                background: '#f0f8ff',
-                color: '#000'
-            });
-            
-            const startItem = (pageNumber - 1) * roomsPerPage + 1;
-            const endItem = Math.min(pageNumber * roomsPerPage, filteredRooms.length);
-            
-            Toast.fire({
-                icon: 'info',
-                title: `Página ${pageNumber} (${startItem}-${endItem} de ${filteredRooms.length})`
-            });
-        }
+    //mudar de página: avançar usa o cursor devolvido pelo servidor, voltar descarta o último cursor visitado
+    const nextPage = () => {
+        if (nextCursor == null) return;
+        setCursors((prev) => [...prev, nextCursor]);
     };
 
+    const previousPage = () => {
+        setCursors((prev) => (prev.length > 1 ? prev.slice(0, -1) : prev));
+    };
     return (
         <div className='all-rooms'>
           <h2>Todos os Quartos</h2>
           <div className='all-room-filter-div' style={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center' }}>
             <div className='filter-select-div'>
               <label>Filtra Por Tipo:</label>
-              <select onChange={handleRoomTypeChange}>
+              <select value={selectedRoomType} onChange={handleRoomTypeChange}>
                 <option value="">Todos</option>
                 {Array.isArray(roomTypes) && roomTypes.map((type) => {
                   let translatedType;
@@ -293,13 +218,14 @@ const ManageRoomPage = () => {
             </div>
           </div>
     
-          <RoomResult roomSearchResults={currentRooms} isLoading={isLoading} />
+          <RoomResult roomSearchResults={rooms} isLoading={isLoading} />
     
-          <Pagination
-            roomPerPage={roomsPerPage}
-            totalRooms={filteredRooms.length}
+          <CursorPagination
             currentPage={currentPage}
-            paginate={paginate}
+            hasPrevious={currentPage > 1}
+            hasNext={nextCursor != null}
+            onPrevious={previousPage}
+            onNext={nextPage}
           />
 
         </div>
@@ -1,25 +1,47 @@
 import React, { useState, useEffect } from "react";
 import ApiService from "../../service/ApiService";
 import Pagination from "../common/Pagination";
+import CursorPagination from "../common/CursorPagination";
 import RoomResult from "../common/RoomResult";
 import RoomSearch from "../common/RoomSearch";
 import Swal from "sweetalert2";
 
+// Traduzir o tipo para exibição
+const translateType = (type) => {
+  switch (type) {
+    case "SINGLE":
+      return "Solteiro";
+    case "DOUBLE":
+      return "Duplo";
+    case "TRIPLE":
+      return "Triplo";
+    case "SUIT":
+      return "Suíte";
+    default:
+      return type || "Todos";
+  }
+};
+
 const AllRoomsPage = () => {
+  // Página atual do catálogo, carregada do servidor por cursor (after/limit)
   const [rooms, setRooms] = useState([]);
-  const [filteredRooms, setFilteredRooms] = useState([]);
+  // Resultado da busca por disponibilidade; nulo enquanto o catálogo paginado é exibido
+  const [searchResults, setSearchResults] = useState(null);
   const [roomTypes, setRoomTypes] = useState([]);
   const [selectedRoomType, setSelectedRoomType] = useState("");
   const [isLoading, setIsLoading] = useState(true);
-  // Estado de carregamento inicial removido por não estar em uso
-  
+
+  // Cursores das páginas visitadas do catálogo: cursors[i] é o "after" da página i + 1
+  const [cursors, setCursors] = useState([null]);
+  const [nextCursor, setNextCursor] = useState(null);
+
+  // Paginação local, usada apenas para o resultado da busca (que já vem completo do servidor)
   const [currentPage, setCurrentPage] = useState(1);
   const [roomsPerPage] = useState(9);
 
   const handleSearchResult = (results) => {
     setIsLoading(false);
-    setRooms(results);
-    setFilteredRooms(results);
+    setSearchResults(results || []);
     setCurrentPage(1); // Reinicia a paginação ao buscar
     
     // Feedback visual para os resultados da busca
@@ -45,30 +67,54 @@ const AllRoomsPage = () => {
     }
   };
 
+  //obter tipos de quarto
   useEffect(() => {
+    const ftechRoomsType = async () => {
+      try {
+        const types = await ApiService.getRoomTypes();
+        setRoomTypes(Array.isArray(types) ? types : []);
+      } catch (error) {
+        setRoomTypes([]);
+        Swal.fire({
+          icon: 'warning',
+          title: 'Aviso',
+          text: 'Não foi possível carregar os tipos de quarto. A filtragem pode não funcionar corretamente.',
+          confirmButtonColor: '#f8bb86'
+        });
+      }
+    };
+
+    ftechRoomsType();
+  }, []);
+
+  //pegue a página atual do catálogo (o tipo é filtrado no servidor)
+  useEffect(() => {
+    if (searchResults !== null) return;
+
     // Mostrar indicador de carregamento
     setIsLoading(true);
     
-    //pegue todos os quartos
     const fetchRooms = async () => {
       try {
-        const resp = await ApiService.getAllRooms();
-        setRooms(resp.rooms);
-        setFilteredRooms(resp.rooms);
-        
-        // Mostrar toast de sucesso após carregar
-        if (resp.rooms && resp.rooms.length > 0) {
-          const Toast = Swal.mixin({
-            toast: true,
-            position: 'top-end',
-            showConfirmButton: false,
-            timer: 2000,
-            timerProgressBar: true
-          });
-          
-          Toast.fire({
-            icon: 'success',
-            title: `${resp.rooms.length} quartos carregados`
+        const after = cursors[cursors.length - 1];
+        const resp = await ApiService.getAllRooms({
+          limit: roomsPerPage,
+          ...(selectedRoomType ? { roomType: selectedRoomType } : {}),
+          ...(after != null ? { after } : {})
+        });
+        setRooms(resp.rooms || []);
+        setNextCursor(resp.nextCursor ?? null);
+
+        // Sem quartos na primeira página: nada cadastrado (ou nada do tipo escolhido)
+        if ((!resp.rooms || resp.rooms.length === 0) && after == null) {
+          Swal.fire({
+            icon: 'info',
+            title: selectedRoomType ? 'Sem Resultados' : 'Nenhum quarto disponível',
+            text: selectedRoomType
+              ? `Não há quartos do tipo ${translateType(selectedRoomType)} disponíveis.`
+              : 'No momento não há quartos disponíveis para reserva.',
+            confirmButtonText: 'Ok',
+            confirmButtonColor: '#3085d6'
           });
         }
       } catch (error) {
@@ -79,203 +125,63 @@ const AllRoomsPage = () => {
           text: error.response?.data?.message || error.message || 'Não foi possível carregar os quartos disponíveis',
           confirmButtonColor: '#d33'
         });
+      } finally {
+        setIsLoading(false);
       }
     };
 
-    //obter tipos de quarto
-    const ftechRoomsType = async () => {
-      try {
-        const types = await ApiService.getRoomTypes();
-        setRoomTypes(Array.isArray(types) ? types : []);
-      } catch (error) {
-        setRoomTypes([]);
-        Swal.fire({
-          icon: 'warning',
-          title: 'Aviso',
-          text: 'Não foi possível carregar os tipos de quarto. A filtragem pode não funcionar corretamente.',
-          confirmButtonColor: '#f8bb86'
-        });
-      }
-    };
-    
-    // Executar as duas chamadas e fechar o indicador de carregamento quando ambas terminarem
-    Promise.all([fetchRooms(), ftechRoomsType()])
-      .finally(() => {
-        setIsLoading(false);
-      });
-  }, []); // Manter a dependência vazia para evitar loop infinito
-
-  // Verificar se há quartos disponíveis após o carregamento
-  useEffect(() => {
-    if (!isLoading && rooms && rooms.length === 0) {
-      Swal.fire({
-        icon: 'info',
-        title: 'Nenhum quarto disponível',
-        text: 'No momento não há quartos disponíveis para reserva.',
-        confirmButtonText: 'Ok',
-        confirmButtonColor: '#3085d6'
-      });
-    }
-  }, [rooms, isLoading]);
+    fetchRooms();
+  }, [cursors, selectedRoomType, searchResults, roomsPerPage]);
 
   //lidar com mudanças no filtro de tipo de quarto
   const handleRoomTypeChange = (e) => {
     const selectedType = e.target.value;
     setSelectedRoomType(selectedType);
+    // No catálogo o filtro volta para a primeira página; na busca filtra o resultado já carregado
+    setCursors([null]);
+    setCurrentPage(1);
     
-    // Mostrar indicador de filtragem
-    const loadingToast = Swal.mixin({
+    const Toast = Swal.mixin({
       toast: true,
-      position: 'top',
+      position: 'top-end',
       showConfirmButton: false,
-      timer: 1000,
-      didOpen: () => {
-        Swal.showLoading();
-      }
+      timer: 3000,
+      timerProgressBar: true
     });
     
-    loadingToast.fire({
-      title: 'Filtrando...'
+    Toast.fire({
+      icon: 'success',
+      title: `Filtrando por ${translateType(selectedType)}`
     });
-    
-    filterRooms(selectedType);
-    
-    // Traduzir o tipo para exibição
-    let typeText;
-    switch (selectedType) {
-      case "SINGLE":
-        typeText = "Solteiro";
-        break;
-      case "DOUBLE":
-        typeText = "Duplo";
-        break;
-      case "TRIPLE":
-        typeText = "Triplo";
-        break;
-      case "SUIT":
-        typeText = "Suíte";
-        break;
-      case "":
-        typeText = "Todos";
-        break;
-      default:
-        typeText = selectedType || "Todos";
-    }
-    
-    // Toast de feedback após filtrar
-    setTimeout(() => {
-      const Toast = Swal.mixin({
-        toast: true,
-        position: 'top-end',
-        showConfirmButton: false,
-        timer: 3000,
-        timerProgressBar: true
-      });
-      
-      Toast.fire({
-        icon: 'success',
-        title: `Filtrando por ${typeText}`
-      });
-    }, 1000);
-  };
-
-  //filtrar quartos por tipo
-  const filterRooms = (type) => {
-    let filtered;
-    
-    if (type === "") {
-      setFilteredRooms(rooms);
-      filtered = rooms;
-    } else {
-      filtered = rooms.filter((room) => room.type === type);
-      setFilteredRooms(filtered);
-      
-      // Verificar se não há quartos do tipo selecionado
-      if (filtered.length === 0) {
-        // Traduzir o tipo para exibição
-        let typeText;
-        switch (type) {
-          case "SINGLE":
-            typeText = "Solteiro";
-            break;
-          case "DOUBLE":
-            typeText = "Duplo";
-            break;
-          case "TRIPLE":
-            typeText = "Triplo";
-            break;
-          case "SUIT":
-            typeText = "Suíte";
-            break;
-          default:
-            typeText = type;
-        }
-        
-        setTimeout(() => {
-          Swal.fire({
-            icon: 'info',
-            title: 'Sem Resultados',
-            text: `Não há quartos do tipo ${typeText} disponíveis.`,
-            confirmButtonColor: '#3085d6'
-          });
-        }, 1200);
-      }
-    }
-    
-    setCurrentPage(1);
-    
-    // Mostrar feedback sobre a quantidade de resultados
-    if (filtered && filtered.length > 0) {
-      setTimeout(() => {
-        const Toast = Swal.mixin({
-          toast: true,
-          position: 'bottom',
-          showConfirmButton: false,
-          timer: 3000,
-          timerProgressBar: true
-        });
-        
-        Toast.fire({
-          icon: 'info',
-          title: `${filtered.length} ${filtered.length === 1 ? 'quarto encontrado' : 'quartos encontrados'}`
-        });
-      }, 1200);
-    }
   };
 
-  //cálculo de paginação
+  //resultado da busca filtrado por tipo e paginado localmente
+  const filteredSearchResults = searchResults === null ? [] : searchResults.filter(
+    (room) => selectedRoomType === "" || room.type === selectedRoomType
+  );
   const indexOfLastRoom = currentPage * roomsPerPage;
   const indexOfFirstRoom = indexOfLastRoom - roomsPerPage;
-  const currentRooms = filteredRooms.slice(indexOfFirstRoom, indexOfLastRoom);
+  const currentRooms = searchResults === null
+    ? rooms
+    : filteredSearchResults.slice(indexOfFirstRoom, indexOfLastRoom);
 
   const paginate = (pageNumber) => {
     setCurrentPage(pageNumber);
-    
-    // Toast informativo sobre a mudança de página
-    if (filteredRooms.length > roomsPerPage) {
-      const startItem = (pageNumber - 1) * roomsPerPage + 1;
-      const endItem = Math.min(pageNumber * roomsPerPage, filteredRooms.length);
-      
-      const Toast = Swal.mixin({
-        toast: true,
-        position: 'bottom',
-        showConfirmButton: false,
-        timer: 2000,
-        timerProgressBar: true,
-        background: '#f0f8ff',
-        color: '#000'
-      });
-      
-      Toast.fire({
-        icon: 'info',
-        title: `Página ${pageNumber} (${startItem}-${endItem} de ${filteredRooms.length})`
-      });
-      
-      // Scroll suave para o topo da página
-      window.scrollTo({ top: 0, behavior: 'smooth' });
-    }
+    // Scroll suave para o topo da página
+    window.scrollTo({ top: 0, behavior: 'smooth' });
   };
 
+  // Navegação do catálogo: avançar usa o cursor do servidor, voltar descarta o último cursor visitado
+  const nextPage = () => {
+    if (nextCursor == null) return;
+    setCursors((prev) => [...prev, nextCursor]);
+    window.scrollTo({ top: 0, behavior: 'smooth' });
+  };
+
+  const previousPage = () => {
+    setCursors((prev) => (prev.length > 1 ? prev.slice(0, -1) : prev));
+    window.scrollTo({ top: 0, behavior: 'smooth' });
+  };
   return (
     <div className="all-rooms">
       <h2>Todos os Quartos</h2>
@@ -314,12 +220,22 @@ const AllRoomsPage = () => {
       <RoomSearch handleSearchResult={handleSearchResult} setParentLoading={setIsLoading} />
       <RoomResult roomSearchResults={currentRooms} isLoading={isLoading} />
 
-      <Pagination
-        roomPerPage={roomsPerPage}
-        totalRooms={filteredRooms.length}
-        currentPage={currentPage}
-        paginate={paginate}
-      />
+      {searchResults === null ? (
+        <CursorPagination
+          currentPage={cursors.length}
+          hasPrevious={cursors.length > 1}
+          hasNext={nextCursor != null}
+          onPrevious={previousPage}
+          onNext={nextPage}
+        />
+      ) : (
+        <Pagination
+          roomPerPage={roomsPerPage}
+          totalRooms={filteredSearchResults.length}
+          currentPage={currentPage}
+          paginate={paginate}
+        />
+      )}
     </div>
   );
 };
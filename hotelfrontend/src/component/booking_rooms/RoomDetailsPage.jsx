@@ -19,6 +19,7 @@ const RoomDetailsPage = () => {
   const [showBookingPreview, setShowBookingPreview] = useState(false);
   const [showMessage, setShowMessage] = useState(null);
   const [errorMessage, setErrorMessage] = useState(null);
+  const [holdId, setHoldId] = useState(null);
 
   // Função para construir a URL correta da imagem do quarto
   const getImageUrl = (room) => {
@@ -116,7 +117,7 @@ const RoomDetailsPage = () => {
   };
 
   //lidar com a confirmação da reserva
-  const handleConfirmation = () => {
+  const handleConfirmation = async () => {
     if (!checkInDate || !checkOutDate) {
       setErrorMessage("Selecione as datas de check-in e check-out");
       
@@ -159,8 +160,50 @@ const RoomDetailsPage = () => {
       return;
     }
 
-    const totalPriceValue = calculateTotalPrice();
+    let totalPriceValue = calculateTotalPrice();
+    try {
+      // O valor oficial considera temporadas, fins de semana e feriados
+      const quoteResp = await ApiService.getRoomQuote(
+        room.id,
+        checkInDate.toLocaleDateString("en-CA"),
+        checkOutDate.toLocaleDateString("en-CA")
+      );
+      if (quoteResp.quote?.totalPrice != null) {
+        totalPriceValue = quoteResp.quote.totalPrice;
+      }
+    } catch (error) {
+      // Sem cotação, mantém a estimativa pelo preço da diária
+    }
     setTotalPrice(totalPriceValue);
+
+    // Segura o quarto enquanto o hóspede confirma; sem login a reserva pede autenticação depois
+    if (ApiService.isAthenticated()) {
+      try {
+        const holdResp = await ApiService.placeHold({
+          roomId: room.id,
+          checkInDate: checkInDate.toLocaleDateString("en-CA"),
+          checkOutDate: checkOutDate.toLocaleDateString("en-CA")
+        });
+        setHoldId(holdResp.hold?.id ?? null);
+      } catch (error) {
+        if (error.response?.status === 409) {
+          const choice = await Swal.fire({
+            icon: 'warning',
+            title: 'Quarto indisponível',
+            text: `${error.response?.data?.message ?? ''}. Deseja entrar na lista de espera? Se um quarto desse tipo for liberado, ele fica reservado para você e avisamos por e-mail.`,
+            showCancelButton: true,
+            confirmButtonText: 'Entrar na lista de espera',
+            cancelButtonText: 'Escolher outras datas',
+            confirmButtonColor: '#f8bb86'
+          });
+          if (choice.isConfirmed) {
+            await joinWaitlist();
+          }
+          return;
+        }
+        setHoldId(null);
+      }
+    }
     
     // Toast indicando o cálculo do preço
     const Toast = Swal.mixin({
@@ -180,6 +223,29 @@ const RoomDetailsPage = () => {
     setShowBookingPreview(true);
   };
 
+  const joinWaitlist = async () => {
+    try {
+      const resp = await ApiService.joinWaitlist({
+        roomType: room.type,
+        checkInDate: checkInDate.toLocaleDateString("en-CA"),
+        checkOutDate: checkOutDate.toLocaleDateString("en-CA")
+      });
+      Swal.fire({
+        icon: 'success',
+        title: 'Lista de espera',
+        text: resp.message,
+        confirmButtonColor: '#3085d6'
+      });
+    } catch (error) {
+      Swal.fire({
+        icon: 'info',
+        title: 'Lista de espera',
+        text: error.response?.data?.message || 'Não foi possível entrar na lista de espera',
+        confirmButtonColor: '#f8bb86'
+      });
+    }
+  };
+
   const acceptBooking = async () => {
     // Confirmação antes de fazer a reserva
     const result = await Swal.fire({
@@ -220,6 +286,7 @@ const RoomDetailsPage = () => {
         checkInDate: formattedCheckInDate,
         checkOutDate: formatterdCheckOutDate,
         roomId: room.id,
+        holdId,
       };
 
       const resp = await ApiService.bookRoom(booking);
@@ -673,6 +740,10 @@ const RoomDetailsPage = () => {
                 }}
                 onClick={() => {
                   setShowBookingPreview(false);
+                  if (holdId) {
+                    ApiService.releaseHold(holdId).catch(() => {});
+                    setHoldId(null);
+                  }
                   
                   // Toast indicando o cancelamento
                   const Toast = Swal.mixin({
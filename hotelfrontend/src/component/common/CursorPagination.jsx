@@ -0,0 +1,33 @@
+import React from "react";
+
+// Navegação para listas paginadas por cursor (after/limit): o servidor só informa se existe próxima página
+const CursorPagination = ({ currentPage, hasPrevious, hasNext, onPrevious, onNext }) => {
+
+    if (!hasPrevious && !hasNext) {
+        return null;
+    }
+
+    return(
+        <div className="pagination-nav">
+            <ul className="pagination-ul">
+                <li className="pagination-li">
+                    <button onClick={onPrevious} disabled={!hasPrevious} className="pagination-button">
+                        Anterior
+                    </button>
+                </li>
+                <li className="pagination-li">
+                    <button className="pagination-button current-page" disabled>
+                        {currentPage}
+                    </button>
+                </li>
+                <li className="pagination-li">
+                    <button onClick={onNext} disabled={!hasNext} className="pagination-button">
+                        Próxima
+                    </button>
+                </li>
+            </ul>
+        </div>
+    )
+};
+
+export default CursorPagination;
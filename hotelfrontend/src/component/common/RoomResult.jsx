@@ -8,11 +8,12 @@ const RoomResult = ({roomSearchResults, isLoading}) => {
     const navigate = useNavigate();
     const isAdmin = ApiService.isAdmin();
 
-    // Função para construir a URL correta da imagem
-    const getImageUrl = (room) => {
+    // Função para construir a URL correta da imagem no tamanho desejado (thumbnail, card, full)
+    const getImageUrl = (room, size) => {
         if (room && room.id) {
             const baseUrl = process.env.REACT_APP_API_BACKEND || '';
-            return `${baseUrl}/api/rooms/${room.id}/image`;
+            const path = room.imageUrl || `/api/rooms/${room.id}/image`;
+            return `${baseUrl}${path}${path.includes('?') ? '&' : '?'}size=${size}`;
         }
         return "/images/no-image.png";
     };
@@ -35,7 +36,7 @@ const RoomResult = ({roomSearchResults, isLoading}) => {
                     <p><strong>Descrição:</strong> ${room.description}</p>
                 </div>
             `,
-            imageUrl: getImageUrl(room),
+            imageUrl: getImageUrl(room, 'full'),
             imageAlt: room.title || `Quarto ${room.roomNumber}`,
             imageWidth: 400,
             imageHeight: 300,
@@ -157,7 +158,7 @@ const RoomResult = ({roomSearchResults, isLoading}) => {
                         <div className="room-list-item" key={room.id}>
                             <img 
                                 className="room-list-item-image" 
-                                src={getImageUrl(room)} 
+                                src={getImageUrl(room, 'card')} 
                                 alt={room.title || `Quarto ${room.roomNumber}`}
                                 onError={(e) => {
                                     e.target.onerror = null;
@@ -118,6 +118,16 @@ export default class ApiService {
         return resp.data;
     }
 
+    // Lista de usuários para o admin, paginada por cursor
+    // params: { after, limit, role }; a resposta traz "nextCursor" para a próxima página
+    static async getAllUsers(params = {}) {
+        const resp = await axios.get(`${this.BASE_URL}/users/all`, {
+            headers: this.getHeader(),
+            params
+        });
+        return resp.data;
+    }
+
     // ROOMS
     static async addRoom(roomData) {
         const resp = await axios.post(`${this.BASE_URL}/rooms/add`, roomData, {
@@ -153,8 +163,10 @@ export default class ApiService {
     }
 
     //para obter todos os quartos
-    static async getAllRooms() {
-        const resp = await axios.get(`${this.BASE_URL}/rooms/all`);
+    // params: { after, limit, roomType } para paginação por cursor ou { unpaged: true } para a lista completa
+    // (a lista completa fica restrita ao backup/exportação)
+    static async getAllRooms(params = {}) {
+        const resp = await axios.get(`${this.BASE_URL}/rooms/all`, { params });
         return resp.data;
     }
 
@@ -188,6 +200,24 @@ export default class ApiService {
         return resp.data;
     }
 
+    //valor total da estadia calculado com as tarifas do quarto
+    static async getRoomQuote(roomId, checkInDate, checkOutDate) {
+        const resp = await axios.get(`${this.BASE_URL}/rooms/${roomId}/quote`, {
+            params: { checkInDate, checkOutDate }
+        });
+        return resp.data;
+    }
+
+    //calendário de ocupação de todos os quartos (máximo 90 dias)
+    static async getRoomCalendar(from, to, roomType) {
+        let url = `${this.BASE_URL}/rooms/calendar?from=${from}&to=${to}`;
+        if (roomType) {
+            url += `&roomType=${roomType}`;
+        }
+        const resp = await axios.get(url);
+        return resp.data;
+    }
+
     //BOOKINGS
     static async getBookingByReference(bookingCode) {
         const resp = await axios.get(`${this.BASE_URL}/bookings/${bookingCode}`);
@@ -201,13 +231,53 @@ export default class ApiService {
         return resp.data;
     }
 
-    static async getAllBookings() {
-        const resp = await axios.get(`${this.BASE_URL}/bookings/all`, {
+    // Segura o quarto enquanto o hóspede confirma e paga; resp.hold.id vai em holdId no bookRoom
+    static async placeHold(booking) {
+        const resp = await axios.post(`${this.BASE_URL}/bookings/holds`, booking, {
+            headers: this.getHeader()
+        });
+        return resp.data;
+    }
+
+    static async releaseHold(holdId) {
+        const resp = await axios.delete(`${this.BASE_URL}/bookings/holds/${holdId}`, {
+            headers: this.getHeader()
+        });
+        return resp.data;
+    }
+
+    // LISTA DE ESPERA
+    // waitlistEntry: { roomType, checkInDate, checkOutDate }
+    static async joinWaitlist(waitlistEntry) {
+        const resp = await axios.post(`${this.BASE_URL}/waitlist`, waitlistEntry, {
             headers: this.getHeader()
         });
         return resp.data;
     }
 
+    static async getMyWaitlist() {
+        const resp = await axios.get(`${this.BASE_URL}/waitlist/my`, {
+            headers: this.getHeader()
+        });
+        return resp.data;
+    }
+
+    static async cancelWaitlistEntry(entryId) {
+        const resp = await axios.delete(`${this.BASE_URL}/waitlist/${entryId}`, {
+            headers: this.getHeader()
+        });
+        return resp.data;
+    }
+
+    // params: { after, limit, bookingStatus, paymentStatus, from, to } ou { unpaged: true } (só backup/exportação)
+    static async getAllBookings(params = {}) {
+        const resp = await axios.get(`${this.BASE_URL}/bookings/all`, {
+            headers: this.getHeader(),
+            params
+        });
+        return resp.data;
+    }
+
     static async updateBooking(booking) {
         const resp = await axios.put(`${this.BASE_URL}/bookings/update`, booking, {
             headers: this.getHeader()
@@ -215,6 +285,30 @@ export default class ApiService {
         return resp.data;
     }
 
+    // updates: [{ id, bookingStatus, paymentStatus }]; a resposta traz bookingUpdates com o resultado de cada item
+    static async updateBookings(updates) {
+        const resp = await axios.put(`${this.BASE_URL}/bookings/update-batch`, updates, {
+            headers: this.getHeader()
+        });
+        return resp.data;
+    }
+
+    // Estatísticas diárias do painel (padrão: próximos 30 dias)
+    static async getDailyStats(from, to) {
+        const resp = await axios.get(`${this.BASE_URL}/stats/daily`, {
+            headers: this.getHeader(),
+            params: { from, to }
+        });
+        return resp.data;
+    }
+
+    static async rebuildStats() {
+        const resp = await axios.post(`${this.BASE_URL}/stats/rebuild`, null, {
+            headers: this.getHeader()
+        });
+        return resp.data;
+    }
+
     //Pagamento 
     //função para criar intenção de pagamento
     static async proceedForPayment(body) {
@@ -248,20 +342,20 @@ export default class ApiService {
             // Coleta dados com base no tipo solicitado
             switch (dataType) {
                 case 'rooms':
-                    const rooms = await this.getAllRooms();
+                    const rooms = await this.getAllRooms({ unpaged: true });
                     backupData.rooms = rooms;
                     break;
 
                 case 'bookings':
-                    const bookings = await this.getAllBookings();
+                    const bookings = await this.getAllBookings({ unpaged: true });
                     backupData.bookings = bookings;
                     break;
 
                 case 'all':
                     // Coleta todos os dados disponíveis
                     const [allRooms, allBookings] = await Promise.all([
-                        this.getAllRooms(),
-                        this.getAllBookings()
+                        this.getAllRooms({ unpaged: true }),
+                        this.getAllBookings({ unpaged: true })
                     ]);
                     
                     backupData.rooms = allRooms;
@@ -294,7 +388,12 @@ export default class ApiService {
                 { 
                     id: 'bookings', 
                     name: 'Reservas', 
-                    description: 'Backup de todas as reservas realizadas' 
+                    description: 'Backup de todas as reservas realizadas (NDJSON)' 
+                },
+                { 
+                    id: 'bookings_csv', 
+                    name: 'Reservas (CSV)', 
+                    description: 'Reservas em planilha CSV' 
                 },
                 { 
                     id: 'all', 
@@ -0,0 +1,47 @@
+import ApiService from "./ApiService";
+
+// Formatos aceitos por GET /api/bookings/export
+export const EXPORT_FORMATS = {
+    ndjson: { extension: "ndjson", type: "application/x-ndjson" },
+    csv: { extension: "csv", type: "text/csv" }
+};
+
+/**
+ * Baixa a exportação de reservas. O servidor envia as linhas conforme lê do banco (e comprimidas com
+ * gzip, que o navegador descomprime sozinho); aqui o corpo vai direto para um Blob, sem passar por JSON.
+ * Retorna o nome do arquivo salvo.
+ */
+export async function downloadBookingsExport({ format = "ndjson", from, to, status } = {}) {
+    const params = new URLSearchParams({ format });
+    if (from) params.append("from", from);
+    if (to) params.append("to", to);
+    if (status) params.append("status", status);
+
+    const resp = await fetch(`${ApiService.BASE_URL}/bookings/export?${params}`, {
+        headers: { Authorization: `Bearer ${ApiService.getToken()}` }
+    });
+
+    if (!resp.ok) {
+        // Mesmo formato de erro do axios, para reaproveitar o tratamento das telas
+        const data = await resp.json().catch(() => ({}));
+        const error = new Error(data.message || `Erro ao exportar reservas (${resp.status})`);
+        error.response = { status: resp.status, statusText: resp.statusText, data };
+        throw error;
+    }
+
+    const { extension, type } = EXPORT_FORMATS[format] || EXPORT_FORMATS.ndjson;
+    const timestamp = new Date().toISOString().replace(/[:.]/g, '-');
+    const fileName = `reservas_${timestamp}.${extension}`;
+    const blob = new Blob([await resp.blob()], { type });
+
+    const url = window.URL.createObjectURL(blob);
+    const link = document.createElement('a');
+    link.href = url;
+    link.setAttribute('download', fileName);
+    document.body.appendChild(link);
+    link.click();
+    document.body.removeChild(link);
+    window.URL.revokeObjectURL(url);
+
+    return fileName;
+}